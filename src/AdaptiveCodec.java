@@ -0,0 +1,230 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Picks, for each block of w integers, the cheapest of several block codecs:
+ * each block is a one-byte tag (the index of its codec) followed by the block
+ * as that codec encodes it. The costs come from the block statistics, so
+ * choosing does not encode the block with every candidate, and the estimate
+ * can reuse the statistics shared with the other block models
+ * (BlockStatistics.memo).
+ *
+ * Like the block models of RunCostModels, cost only counts full blocks; if
+ * the length given to encode is not a multiple of w, the last integers form a
+ * shorter block, chosen and encoded the same way.
+ */
+public class AdaptiveCodec {
+
+    private final int w;
+
+    private final BlockCodec[] codecs;
+
+    /**
+     * @param w
+     *                block size (at most 256)
+     * @param codecs
+     *                the candidates, at most 256; the first one wins ties
+     */
+    public AdaptiveCodec(int w, BlockCodec... codecs) {
+        if ((w <= 0) || (w > 256))
+            throw new IllegalArgumentException("block size must be between 1 and 256");
+        if ((codecs.length == 0) || (codecs.length > 256))
+            throw new IllegalArgumentException("between 1 and 256 codecs are needed");
+        this.w = w;
+        this.codecs = codecs;
+    }
+
+    /**
+     * Binary packing, pfor, VByte and Group Varint.
+     *
+     * @param w
+     *                block size (at most 256)
+     */
+    public AdaptiveCodec(int w) {
+        this(w, BlockCodecs.get("binarypacking"), BlockCodecs.get("pfor"),
+                BlockCodecs.get("vbyte"), BlockCodecs.get("groupvarint"));
+    }
+
+    /**
+     * @return block size
+     */
+    public int blockSize() {
+        return this.w;
+    }
+
+    // index of the cheapest codec for the block
+    private int choose(BlockStatistics stats, int block) {
+        int best = 0;
+        int bestcost = this.codecs[0].cost(stats, block);
+        for (int c = 1; c < this.codecs.length; ++c) {
+            final int cost = this.codecs[c].cost(stats, block);
+            if (cost < bestcost) {
+                bestcost = cost;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param stats
+     *                statistics of blocks of w integers
+     * @param counters
+     *                if not null, receives the number of blocks and of bytes
+     *                of each codec
+     * @return bytes used by the full blocks, tags included
+     */
+    public long cost(BlockStatistics stats, Map<String, Long> counters) {
+        final long[] blocks = new long[this.codecs.length];
+        final long[] bytes = new long[this.codecs.length];
+        long cost = 0;
+        for (int block = 0; block < stats.blocks(); ++block) {
+            final int c = choose(stats, block);
+            final int b = 1 + this.codecs[c].cost(stats, block);
+            ++blocks[c];
+            bytes[c] += b;
+            cost += b;
+        }
+        if (counters != null)
+            for (int c = 0; c < this.codecs.length; ++c)
+                if (blocks[c] > 0) {
+                    final String label = "auto (" + this.w + ") " + this.codecs[c].name();
+                    counters.merge(label + " blocks", blocks[c], Long::sum);
+                    counters.merge(label + " bytes", bytes[c], Long::sum);
+                }
+        return cost;
+    }
+
+    /**
+     * @param data
+     *                the gaps
+     * @param counters
+     *                if not null, receives the number of blocks and of bytes
+     *                of each codec
+     * @return bytes used by the full blocks, tags included
+     */
+    public long cost(int[] data, Map<String, Long> counters) {
+        return cost(new BlockStatistics(data, this.w), counters);
+    }
+
+    /**
+     * @param length
+     *                number of integers
+     * @return upper bound on the number of bytes used to encode them
+     */
+    public int maxCompressedBytes(int length) {
+        // a tag, and at most 5 bytes per integer plus 2 for each candidate
+        return 3 * ((length + this.w - 1) / this.w) + 5 * length;
+    }
+
+    /**
+     * Encodes integers starting at the position of the buffer, and advances
+     * the position. The buffer must be little endian.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param length
+     *                number of integers
+     * @param out
+     *                destination buffer
+     * @return number of bytes written
+     */
+    public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+        final int start = out.position();
+        final int[] copy = Arrays.copyOfRange(in, inpos, inpos + length);
+        final BlockStatistics stats = new BlockStatistics(copy, this.w);
+        for (int block = 0; block < stats.blocks(); ++block)
+            encodeBlock(copy, block * this.w, this.w, stats, block, out);
+        final int done = stats.blocks() * this.w;
+        if (done < length) {
+            final int[] tail = Arrays.copyOfRange(copy, done, length);
+            encodeBlock(tail, 0, tail.length, new BlockStatistics(tail, tail.length), 0, out);
+        }
+        return out.position() - start;
+    }
+
+    private void encodeBlock(int[] in, int inpos, int n, BlockStatistics stats,
+            int block, ByteBuffer out) {
+        final int c = choose(stats, block);
+        out.put((byte) c);
+        this.codecs[c].encode(in, inpos, n, out);
+    }
+
+    /**
+     * Decodes integers starting at the position of the buffer, and advances
+     * the position. The buffer must be little endian.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers to decode
+     */
+    public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+        for (int k = outpos; k < outpos + length; k += this.w) {
+            final int c = in.get() & 0xFF;
+            this.codecs[c].decode(in, out, k, Math.min(this.w, outpos + length - k));
+        }
+    }
+
+    /**
+     * Checks that the encoded size matches the estimate and that decoding
+     * gives back the data, and reports the share of each codec and the
+     * decoding speed.
+     *
+     * @param args
+     *                block size (default 128), then the candidates (default
+     *                binarypacking pfor vbyte groupvarint), and "-seed s" for
+     *                the data of an earlier run (the seed is printed)
+     */
+    public static void main(String[] args) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        final int w = ((args.length > 0) && !args[0].startsWith("-")) ? Integer.parseInt(args[0]) : 128;
+        AdaptiveCodec codec;
+        // the candidates follow the block size, up to the first option
+        int end = ((args.length > 0) && !args[0].startsWith("-")) ? 1 : 0;
+        while ((end > 0) && (end < args.length) && !args[end].startsWith("-"))
+            ++end;
+        if (end > 1) {
+            BlockCodec[] candidates = new BlockCodec[end - 1];
+            for (int k = 1; k < end; ++k)
+                candidates[k - 1] = BlockCodecs.get(args[k]);
+            codec = new AdaptiveCodec(w, candidates);
+        } else
+            codec = new AdaptiveCodec(w);
+        final int N = (1 << 20) / w * w;
+        int[] data = new ClusteredDataGenerator(Util.seed(args)).generateClustered(N, 1 << 25);
+        for (int k = data.length - 1; k > 0; --k)
+            data[k] -= data[k - 1] + 1;
+        ByteBuffer buf = ByteBuffer.allocateDirect(codec.maxCompressedBytes(N))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int bytes = codec.encode(data, 0, N, buf);
+        Map<String, Long> counters = new LinkedHashMap<String, Long>();
+        if (bytes != codec.cost(data, counters))
+            throw new RuntimeException("size does not match the model");
+        int[] back = new int[N];
+        long best = Long.MAX_VALUE;
+        for (int t = 0; t < 50; ++t) {
+            buf.position(0);
+            long bef = System.nanoTime();
+            codec.decode(buf, back, 0, N);
+            best = Math.min(best, System.nanoTime() - bef);
+        }
+        if (!Arrays.equals(data, back))
+            throw new RuntimeException("bug");
+        System.out.println("auto (" + w + ") " + df.format(bytes * 8.0 / N)
+                + " bits/int, decoding " + df.format(N * 1.0 / best) + " ints/ns");
+        for (Map.Entry<String, Long> e : counters.entrySet())
+            if (e.getKey().endsWith(" blocks"))
+                System.out.println("  " + e.getKey() + ": " + e.getValue() + " ("
+                        + df.format(100.0 * e.getValue() / (N / w)) + "%)");
+    }
+}
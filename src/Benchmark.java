@@ -0,0 +1,348 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Micro-benchmark harness for the cost models, the Util kernels, the data
+ * generators and the codecs. Each benchmark is run for a number of warm-up
+ * iterations (so that the JIT compiles it) followed by measured iterations;
+ * an iteration repeats the operation for at least 100 ms. Results go through
+ * a sink so that the JIT cannot drop the work.
+ *
+ * Usage:
+ *
+ * java Benchmark [-n 131072,1048576] [-d clustered,uniform:0.1] [-f regex]
+ * [-wi 5] [-i 10] [-seed s]
+ *
+ * where -n lists the array sizes, -d the distributions (clustered, or uniform
+ * with density p), -f selects benchmarks by name, -wi and -i give the number
+ * of warm-up and measured iterations. The seed is printed; given again with
+ * -seed, it gives the same datasets, so that two runs time the same work.
+ */
+public class Benchmark {
+
+    /**
+     * Input of a benchmark: N gaps drawn from some distribution over [0,Max).
+     */
+    public static class Dataset {
+        public final String distribution;
+        public final int N;
+        public final int Max;
+        // seed of the gaps, also used by the benchmarks drawing more data
+        public final long seed;
+        public final int[] gaps;
+
+        Dataset(String distribution, int N, int Max, long seed, int[] gaps) {
+            this.distribution = distribution;
+            this.N = N;
+            this.Max = Max;
+            this.seed = seed;
+            this.gaps = gaps;
+        }
+    }
+
+    /**
+     * A benchmark: prepare does the set-up work for a dataset (e.g., encoding
+     * it) and returns the operation to time.
+     */
+    public static class Case {
+        public final String name;
+        final Function<Dataset, LongSupplier> prepare;
+
+        Case(String name, Function<Dataset, LongSupplier> prepare) {
+            this.name = name;
+            this.prepare = prepare;
+        }
+    }
+
+    private static final List<Case> CASES = new ArrayList<Case>();
+
+    static {
+        for (final CostModel m : CostModels.all())
+            register("model " + m.label(), d -> () -> m.estimateBytes(d.gaps));
+        // the same models, on ranges of the gaps evaluated in parallel
+        for (final String label : new String[] { "binary packing (128)", "fastpfor (128)", "simple8b" })
+            register("model " + label + ", split", d -> {
+                final CostModel m = CostModels.get(label);
+                final CostModelRunner runner = new CostModelRunner();
+                return () -> runner.estimate(m, d.gaps);
+            });
+        register("Util.maxbits (128)", d -> () -> {
+            long s = 0;
+            for (int k = 0; k + 128 <= d.gaps.length; k += 128)
+                s += Util.maxbits(d.gaps, k, 128);
+            return s;
+        });
+        register("Util.maxbits32", d -> () -> {
+            long s = 0;
+            for (int k = 0; k + 32 <= d.gaps.length; k += 32)
+                s += Util.maxbits32(d.gaps, k);
+            return s;
+        });
+        register("Util.maxdiffbits (128)", d -> () -> {
+            long s = 0;
+            for (int k = 0; k + 128 <= d.gaps.length; k += 128)
+                s += Util.maxdiffbits(0, d.gaps, k, 128);
+            return s;
+        });
+        register("Util.widths (128)", d -> {
+            final int[] histogram = new int[33];
+            return () -> {
+                for (int k = 0; k + 128 <= d.gaps.length; k += 128)
+                    Util.widths(d.gaps, k, 128, histogram);
+                return histogram[0];
+            };
+        });
+        register("new BlockStatistics (128)", d -> () -> new BlockStatistics(d.gaps, 128).blocks());
+        register("generateClustered", d -> {
+            final ClusteredDataGenerator cdg = new ClusteredDataGenerator(d.seed);
+            return () -> cdg.generateClustered(d.N, d.Max).length;
+        });
+        register("generateUniform", d -> {
+            final UniformDataGenerator udg = new UniformDataGenerator(new SplittableRandom(d.seed));
+            return () -> udg.generateUniform(d.N, d.Max).length;
+        });
+        // one nextGEQ per integer, with random targets
+        register("EliasFano nextGEQ", d -> {
+            final EliasFano ef = new EliasFano(d.gaps);
+            final SplittableRandom r = new SplittableRandom(d.N);
+            final long[] targets = new long[d.N];
+            for (int k = 0; k < d.N; ++k)
+                targets[k] = r.nextLong(ef.universe());
+            return () -> {
+                long s = 0;
+                for (long x : targets)
+                    s += ef.nextGEQ(x);
+                return s;
+            };
+        });
+        for (final int w : new int[] { 32, 128 }) {
+            register("BinaryPackingCodec decode (" + w + ")", d -> {
+                final BinaryPackingCodec codec = new BinaryPackingCodec(w);
+                final ByteBuffer buf = ByteBuffer.allocateDirect(
+                        codec.maxCompressedBytes(d.N)).order(ByteOrder.LITTLE_ENDIAN);
+                codec.encode(d.gaps, 0, d.N, buf);
+                final int[] out = new int[d.N];
+                return () -> {
+                    buf.position(0);
+                    codec.decode(buf, out, 0, d.N);
+                    return out[d.N - 1];
+                };
+            });
+        }
+        register("BlockedRiceCodec decode (128)", d -> {
+            final BlockedRiceCodec codec = new BlockedRiceCodec(128);
+            final ByteBuffer buf = ByteBuffer.allocateDirect(
+                    codec.maxCompressedBytes(d.N)).order(ByteOrder.LITTLE_ENDIAN);
+            codec.encode(d.gaps, 0, d.N, buf);
+            final int[] out = new int[d.N];
+            return () -> {
+                buf.position(0);
+                codec.decode(buf, out, 0, d.N);
+                return out[d.N - 1];
+            };
+        });
+        for (final int w : new int[] { 128, 256 }) {
+            register("FastPForCodec decode (" + w + ")", d -> {
+                final FastPForCodec codec = new FastPForCodec(w);
+                final ByteBuffer buf = ByteBuffer.allocateDirect(
+                        codec.maxCompressedBytes(d.N)).order(ByteOrder.LITTLE_ENDIAN);
+                codec.encode(d.gaps, 0, d.N, buf);
+                final int[] out = new int[d.N];
+                return () -> {
+                    buf.position(0);
+                    codec.decode(buf, out, 0, d.N);
+                    return out[d.N - 1];
+                };
+            });
+        }
+        for (final boolean masked : new boolean[] { false, true })
+            register(masked ? "VByteCodec decode (masked)" : "VByteCodec decode (bytewise)", d -> {
+                final VByteCodec codec = new VByteCodec();
+                final ByteBuffer buf = ByteBuffer.allocateDirect(
+                        codec.maxCompressedBytes(d.N)).order(ByteOrder.LITTLE_ENDIAN);
+                codec.encode(d.gaps, 0, d.N, buf);
+                final int[] out = new int[d.N];
+                return () -> {
+                    buf.position(0);
+                    if (masked)
+                        codec.decode(buf, out, 0, d.N);
+                    else
+                        codec.decodeBytewise(buf, out, 0, d.N);
+                    return out[d.N - 1];
+                };
+            });
+        for (final int w : new int[] { 128, 256 })
+            register("AdaptiveCodec decode (" + w + ")", d -> {
+                final AdaptiveCodec codec = new AdaptiveCodec(w);
+                final ByteBuffer buf = ByteBuffer.allocateDirect(
+                        codec.maxCompressedBytes(d.N)).order(ByteOrder.LITTLE_ENDIAN);
+                codec.encode(d.gaps, 0, d.N, buf);
+                final int[] out = new int[d.N];
+                return () -> {
+                    buf.position(0);
+                    codec.decode(buf, out, 0, d.N);
+                    return out[d.N - 1];
+                };
+            });
+        register("GroupVarintCodec decode", d -> {
+            final GroupVarintCodec codec = new GroupVarintCodec();
+            final ByteBuffer buf = ByteBuffer.allocateDirect(
+                    codec.maxCompressedBytes(d.N)).order(ByteOrder.LITTLE_ENDIAN);
+            codec.encode(d.gaps, 0, d.N, buf);
+            final int[] out = new int[d.N];
+            return () -> {
+                buf.position(0);
+                codec.decode(buf, out, 0, d.N);
+                return out[d.N - 1];
+            };
+        });
+    }
+
+    /**
+     * Adds a benchmark.
+     *
+     * @param name
+     *                name of the benchmark
+     * @param prepare
+     *                set-up function returning the operation to time
+     */
+    public static void register(String name, Function<Dataset, LongSupplier> prepare) {
+        CASES.add(new Case(name, prepare));
+    }
+
+    /**
+     * Generates gaps the way RunCostModels.main does.
+     *
+     * @param distribution
+     *                "clustered" or "uniform:p" where p is the density
+     * @param N
+     *                number of integers
+     * @param seed
+     *                seed of the run: each distribution and size gets its
+     *                own data, whatever the other datasets of the run
+     * @return the dataset, or null if the parameters are out of range
+     */
+    public static Dataset generate(String distribution, int N, long seed) {
+        seed = new SplittableRandom(seed ^ (31L * distribution.hashCode() + N)).nextLong();
+        int Max;
+        int[] data;
+        if (distribution.equals("clustered")) {
+            Max = Math.max(1 << 25, 2 * N);
+            data = new ClusteredDataGenerator(seed).generateClustered(N, Max);
+        } else if (distribution.startsWith("uniform:")) {
+            double p = Double.parseDouble(distribution.substring("uniform:".length()));
+            double m = Math.ceil(N / p);
+            if (m > Integer.MAX_VALUE)
+                return null;
+            Max = (int) m;
+            data = new UniformDataGenerator(new SplittableRandom(seed)).generateUniform(N, Max);
+        } else
+            throw new IllegalArgumentException("unknown distribution: " + distribution);
+        for (int k = data.length - 1; k > 0; --k)
+            data[k] -= data[k - 1] + 1;
+        return new Dataset(distribution, N, Max, seed, data);
+    }
+
+    static volatile long sink;
+
+    /**
+     * Times one benchmark on one dataset.
+     *
+     * @param op
+     *                the operation
+     * @param warmups
+     *                number of warm-up iterations
+     * @param iterations
+     *                number of measured iterations
+     * @return mean and standard deviation of the time per operation, in ns
+     */
+    public static double[] measure(LongSupplier op, int warmups, int iterations) {
+        final long itertime = 100 * 1000 * 1000L;
+        double[] nsperop = new double[iterations];
+        for (int i = -warmups; i < iterations; ++i) {
+            long ops = 0;
+            long s = 0;
+            long bef = System.nanoTime();
+            long elapsed;
+            do {
+                s += op.getAsLong();
+                ++ops;
+                elapsed = System.nanoTime() - bef;
+            } while (elapsed < itertime);
+            sink += s;
+            if (i >= 0)
+                nsperop[i] = elapsed * 1.0 / ops;
+        }
+        double mean = 0;
+        for (double x : nsperop)
+            mean += x;
+        mean /= iterations;
+        double var = 0;
+        for (double x : nsperop)
+            var += (x - mean) * (x - mean);
+        return new double[] { mean, Math.sqrt(var / Math.max(1, iterations - 1)) };
+    }
+
+    private static String pad(String s, int n) {
+        StringBuilder sb = new StringBuilder(s);
+        while (sb.length() < n)
+            sb.append(' ');
+        return sb.toString();
+    }
+
+    /**
+     * @param args
+     *                see the class documentation
+     */
+    public static void main(String[] args) {
+        String[] sizes = { "131072", "1048576" };
+        String[] distributions = { "clustered", "uniform:0.5", "uniform:0.01" };
+        Pattern filter = Pattern.compile(".*");
+        int warmups = 5;
+        int iterations = 10;
+        long seed = new SplittableRandom().nextLong();
+        for (int k = 0; k + 1 < args.length; k += 2) {
+            if (args[k].equals("-n"))
+                sizes = args[k + 1].split(",");
+            else if (args[k].equals("-d"))
+                distributions = args[k + 1].split(",");
+            else if (args[k].equals("-f"))
+                filter = Pattern.compile(args[k + 1]);
+            else if (args[k].equals("-wi"))
+                warmups = Integer.parseInt(args[k + 1]);
+            else if (args[k].equals("-i"))
+                iterations = Integer.parseInt(args[k + 1]);
+            else if (args[k].equals("-seed"))
+                seed = Long.parseLong(args[k + 1]);
+            else
+                throw new IllegalArgumentException("unknown option: " + args[k]);
+        }
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.000");
+        System.out.println("seed=" + seed);
+        System.out.println(pad("benchmark", 48) + pad("distribution", 16)
+                + pad("N", 10) + pad("ns/op", 16) + pad("error", 14) + "ints/ns");
+        for (String dist : distributions) {
+            for (String size : sizes) {
+                Dataset d = generate(dist, Integer.parseInt(size), seed);
+                if (d == null) {
+                    System.out.println("# skipping " + dist + " with N=" + size);
+                    continue;
+                }
+                for (Case c : CASES) {
+                    if (!filter.matcher(c.name).find())
+                        continue;
+                    double[] r = measure(c.prepare.apply(d), warmups, iterations);
+                    System.out.println(pad(c.name, 48) + pad(dist, 16)
+                            + pad(size, 10) + pad(df.format(r[0]), 16)
+                            + pad(df.format(r[1]), 14) + df.format(d.N / r[0]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary packing with the layout assumed by RunCostModels.binarypacking: for
+ * each block of w integers, one byte storing the bit width b of the largest
+ * integer, followed by the w integers packed in (b * w + 7) / 8 bytes.
+ *
+ * When w is a multiple of 32, blocks are packed with the unrolled kernels of
+ * BitPacking; other block sizes (e.g., 8) use a generic bit-level loop. If the
+ * length is not a multiple of w, the last integers form a shorter block,
+ * encoded the same way.
+ *
+ * Encoding and decoding do not allocate.
+ */
+public class BinaryPackingCodec {
+
+    private final int w;
+
+    /**
+     * @param w
+     *                block size (a multiple of 8)
+     */
+    public BinaryPackingCodec(int w) {
+        if ((w <= 0) || (w % 8 != 0))
+            throw new IllegalArgumentException("block size must be a multiple of 8");
+        this.w = w;
+    }
+
+    /**
+     * @return block size
+     */
+    public int blockSize() {
+        return this.w;
+    }
+
+    /**
+     * @param length
+     *                number of integers
+     * @return upper bound on the number of bytes used to encode them
+     */
+    public int maxCompressedBytes(int length) {
+        return (length + this.w - 1) / this.w + 4 * length;
+    }
+
+    /**
+     * Encodes integers starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param length
+     *                number of integers
+     * @param out
+     *                destination buffer
+     * @return number of bytes written
+     */
+    public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+        final int start = out.position();
+        int pos = start;
+        int k = inpos;
+        final int end = inpos + length;
+        for (; k + this.w <= end; k += this.w) {
+            final int b = Util.maxbits(in, k, this.w);
+            out.put(pos++, (byte) b);
+            if (this.w % 32 == 0) {
+                for (int j = 0; j < this.w; j += 32) {
+                    BitPacking.pack(in, k + j, out, pos, b);
+                    pos += 4 * b;
+                }
+            } else {
+                pos = packGeneric(in, k, this.w, out, pos, b);
+            }
+        }
+        if (k < end) {
+            final int b = Util.maxbits(in, k, end - k);
+            out.put(pos++, (byte) b);
+            pos = packGeneric(in, k, end - k, out, pos, b);
+        }
+        out.position(pos);
+        return pos - start;
+    }
+
+    /**
+     * Decodes integers starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers to decode
+     */
+    public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+        int pos = in.position();
+        int k = outpos;
+        final int end = outpos + length;
+        for (; k + this.w <= end; k += this.w) {
+            final int b = in.get(pos++);
+            if (this.w % 32 == 0) {
+                for (int j = 0; j < this.w; j += 32) {
+                    BitPacking.unpack(in, pos, out, k + j, b);
+                    pos += 4 * b;
+                }
+            } else {
+                pos = unpackGeneric(in, pos, out, k, this.w, b);
+            }
+        }
+        if (k < end) {
+            final int b = in.get(pos++);
+            pos = unpackGeneric(in, pos, out, k, end - k, b);
+        }
+        in.position(pos);
+    }
+
+    // packs length integers of b bits in (b * length + 7) / 8 bytes,
+    // returns the new byte offset
+    static int packGeneric(int[] in, int inpos, int length,
+            ByteBuffer out, int outpos, int b) {
+        long acc = 0;
+        int accbits = 0;
+        for (int k = inpos; k < inpos + length; ++k) {
+            acc |= (in[k] & 0xFFFFFFFFL) << accbits;
+            accbits += b;
+            while (accbits >= 8) {
+                out.put(outpos++, (byte) acc);
+                acc >>>= 8;
+                accbits -= 8;
+            }
+        }
+        if (accbits > 0)
+            out.put(outpos++, (byte) acc);
+        return outpos;
+    }
+
+    // reverses packGeneric, returns the new byte offset
+    static int unpackGeneric(ByteBuffer in, int inpos, int[] out,
+            int outpos, int length, int b) {
+        final long mask = (1L << b) - 1;
+        long acc = 0;
+        int accbits = 0;
+        for (int k = outpos; k < outpos + length; ++k) {
+            while (accbits < b) {
+                acc |= (in.get(inpos++) & 0xFFL) << accbits;
+                accbits += 8;
+            }
+            out[k] = (int) (acc & mask);
+            acc >>>= b;
+            accbits -= b;
+        }
+        return inpos;
+    }
+
+    /**
+     * Checks that the encoded size matches RunCostModels.binarypacking and that
+     * decoding gives back the data, and reports the decoding speed.
+     *
+     * @param args
+     *                "-seed s" for the data of an earlier run (the seed is
+     *                printed)
+     */
+    public static void main(String[] args) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        ClusteredDataGenerator cdg = new ClusteredDataGenerator(Util.seed(args));
+        final int N = 1 << 20;
+        int[] data = cdg.generateClustered(N, 1 << 25);
+        for (int k = data.length - 1; k > 0; --k)
+            data[k] -= data[k - 1] + 1;
+        int[] back = new int[N];
+        for (int w : new int[] { 8, 32, 128, 256 }) {
+            BinaryPackingCodec codec = new BinaryPackingCodec(w);
+            ByteBuffer buf = ByteBuffer.allocateDirect(codec.maxCompressedBytes(N))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int bytes = codec.encode(data, 0, N, buf);
+            if (bytes != RunCostModels.binarypacking(data, w))
+                throw new RuntimeException("size does not match the model for w=" + w);
+            long best = Long.MAX_VALUE;
+            for (int t = 0; t < 50; ++t) {
+                buf.position(0);
+                long bef = System.nanoTime();
+                codec.decode(buf, back, 0, N);
+                best = Math.min(best, System.nanoTime() - bef);
+            }
+            if (!java.util.Arrays.equals(data, back))
+                throw new RuntimeException("bug for w=" + w);
+            System.out.println("binary packing (" + w + ") "
+                    + df.format(bytes * 8.0 / N) + " bits/int, decoding "
+                    + df.format(N * 1.0 / best) + " ints/ns");
+        }
+    }
+}
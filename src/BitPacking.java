@@ -0,0 +1,3411 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Unrolled kernels packing 32 integers of a given bit width into bit * 4
+ * bytes, and back. The integers are laid out from the least significant bit
+ * of the first 32-bit word up, and the words are written with the byte order
+ * of the buffer.
+ *
+ * The packing kernels do not mask their input: every integer must fit in
+ * the given number of bits.
+ *
+ * This code is generated by BitPackingGenerator, one kernel per bit width,
+ * in the manner of Util.maxbits32: do not edit it, edit the generator and
+ * run java BitPackingGenerator > BitPacking.java.
+ */
+public final class BitPacking {
+
+    private BitPacking() {
+    }
+
+    /**
+     * Packs 32 integers.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param out
+     *                destination buffer
+     * @param outpos
+     *                byte offset in the buffer (bit * 4 bytes are written)
+     * @param bit
+     *                bit width, from 0 to 32
+     */
+    public static void pack(int[] in, int inpos, ByteBuffer out, int outpos, int bit) {
+        switch (bit) {
+        case 0:
+            break;
+        case 1:
+            pack1(in, inpos, out, outpos);
+            break;
+        case 2:
+            pack2(in, inpos, out, outpos);
+            break;
+        case 3:
+            pack3(in, inpos, out, outpos);
+            break;
+        case 4:
+            pack4(in, inpos, out, outpos);
+            break;
+        case 5:
+            pack5(in, inpos, out, outpos);
+            break;
+        case 6:
+            pack6(in, inpos, out, outpos);
+            break;
+        case 7:
+            pack7(in, inpos, out, outpos);
+            break;
+        case 8:
+            pack8(in, inpos, out, outpos);
+            break;
+        case 9:
+            pack9(in, inpos, out, outpos);
+            break;
+        case 10:
+            pack10(in, inpos, out, outpos);
+            break;
+        case 11:
+            pack11(in, inpos, out, outpos);
+            break;
+        case 12:
+            pack12(in, inpos, out, outpos);
+            break;
+        case 13:
+            pack13(in, inpos, out, outpos);
+            break;
+        case 14:
+            pack14(in, inpos, out, outpos);
+            break;
+        case 15:
+            pack15(in, inpos, out, outpos);
+            break;
+        case 16:
+            pack16(in, inpos, out, outpos);
+            break;
+        case 17:
+            pack17(in, inpos, out, outpos);
+            break;
+        case 18:
+            pack18(in, inpos, out, outpos);
+            break;
+        case 19:
+            pack19(in, inpos, out, outpos);
+            break;
+        case 20:
+            pack20(in, inpos, out, outpos);
+            break;
+        case 21:
+            pack21(in, inpos, out, outpos);
+            break;
+        case 22:
+            pack22(in, inpos, out, outpos);
+            break;
+        case 23:
+            pack23(in, inpos, out, outpos);
+            break;
+        case 24:
+            pack24(in, inpos, out, outpos);
+            break;
+        case 25:
+            pack25(in, inpos, out, outpos);
+            break;
+        case 26:
+            pack26(in, inpos, out, outpos);
+            break;
+        case 27:
+            pack27(in, inpos, out, outpos);
+            break;
+        case 28:
+            pack28(in, inpos, out, outpos);
+            break;
+        case 29:
+            pack29(in, inpos, out, outpos);
+            break;
+        case 30:
+            pack30(in, inpos, out, outpos);
+            break;
+        case 31:
+            pack31(in, inpos, out, outpos);
+            break;
+        case 32:
+            pack32(in, inpos, out, outpos);
+            break;
+        default:
+            throw new IllegalArgumentException("unsupported bit width: " + bit);
+        }
+    }
+
+    /**
+     * Unpacks 32 integers.
+     *
+     * @param in
+     *                source buffer
+     * @param inpos
+     *                byte offset in the buffer (bit * 4 bytes are read)
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index of the first integer
+     * @param bit
+     *                bit width, from 0 to 32
+     */
+    public static void unpack(ByteBuffer in, int inpos, int[] out, int outpos, int bit) {
+        switch (bit) {
+        case 0:
+            java.util.Arrays.fill(out, outpos, outpos + 32, 0);
+            break;
+        case 1:
+            unpack1(in, inpos, out, outpos);
+            break;
+        case 2:
+            unpack2(in, inpos, out, outpos);
+            break;
+        case 3:
+            unpack3(in, inpos, out, outpos);
+            break;
+        case 4:
+            unpack4(in, inpos, out, outpos);
+            break;
+        case 5:
+            unpack5(in, inpos, out, outpos);
+            break;
+        case 6:
+            unpack6(in, inpos, out, outpos);
+            break;
+        case 7:
+            unpack7(in, inpos, out, outpos);
+            break;
+        case 8:
+            unpack8(in, inpos, out, outpos);
+            break;
+        case 9:
+            unpack9(in, inpos, out, outpos);
+            break;
+        case 10:
+            unpack10(in, inpos, out, outpos);
+            break;
+        case 11:
+            unpack11(in, inpos, out, outpos);
+            break;
+        case 12:
+            unpack12(in, inpos, out, outpos);
+            break;
+        case 13:
+            unpack13(in, inpos, out, outpos);
+            break;
+        case 14:
+            unpack14(in, inpos, out, outpos);
+            break;
+        case 15:
+            unpack15(in, inpos, out, outpos);
+            break;
+        case 16:
+            unpack16(in, inpos, out, outpos);
+            break;
+        case 17:
+            unpack17(in, inpos, out, outpos);
+            break;
+        case 18:
+            unpack18(in, inpos, out, outpos);
+            break;
+        case 19:
+            unpack19(in, inpos, out, outpos);
+            break;
+        case 20:
+            unpack20(in, inpos, out, outpos);
+            break;
+        case 21:
+            unpack21(in, inpos, out, outpos);
+            break;
+        case 22:
+            unpack22(in, inpos, out, outpos);
+            break;
+        case 23:
+            unpack23(in, inpos, out, outpos);
+            break;
+        case 24:
+            unpack24(in, inpos, out, outpos);
+            break;
+        case 25:
+            unpack25(in, inpos, out, outpos);
+            break;
+        case 26:
+            unpack26(in, inpos, out, outpos);
+            break;
+        case 27:
+            unpack27(in, inpos, out, outpos);
+            break;
+        case 28:
+            unpack28(in, inpos, out, outpos);
+            break;
+        case 29:
+            unpack29(in, inpos, out, outpos);
+            break;
+        case 30:
+            unpack30(in, inpos, out, outpos);
+            break;
+        case 31:
+            unpack31(in, inpos, out, outpos);
+            break;
+        case 32:
+            unpack32(in, inpos, out, outpos);
+            break;
+        default:
+            throw new IllegalArgumentException("unsupported bit width: " + bit);
+        }
+    }
+
+    private static void pack1(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 1
+                | in[inpos + 2] << 2
+                | in[inpos + 3] << 3
+                | in[inpos + 4] << 4
+                | in[inpos + 5] << 5
+                | in[inpos + 6] << 6
+                | in[inpos + 7] << 7
+                | in[inpos + 8] << 8
+                | in[inpos + 9] << 9
+                | in[inpos + 10] << 10
+                | in[inpos + 11] << 11
+                | in[inpos + 12] << 12
+                | in[inpos + 13] << 13
+                | in[inpos + 14] << 14
+                | in[inpos + 15] << 15
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 17
+                | in[inpos + 18] << 18
+                | in[inpos + 19] << 19
+                | in[inpos + 20] << 20
+                | in[inpos + 21] << 21
+                | in[inpos + 22] << 22
+                | in[inpos + 23] << 23
+                | in[inpos + 24] << 24
+                | in[inpos + 25] << 25
+                | in[inpos + 26] << 26
+                | in[inpos + 27] << 27
+                | in[inpos + 28] << 28
+                | in[inpos + 29] << 29
+                | in[inpos + 30] << 30
+                | in[inpos + 31] << 31);
+    }
+
+    private static void pack2(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 2
+                | in[inpos + 2] << 4
+                | in[inpos + 3] << 6
+                | in[inpos + 4] << 8
+                | in[inpos + 5] << 10
+                | in[inpos + 6] << 12
+                | in[inpos + 7] << 14
+                | in[inpos + 8] << 16
+                | in[inpos + 9] << 18
+                | in[inpos + 10] << 20
+                | in[inpos + 11] << 22
+                | in[inpos + 12] << 24
+                | in[inpos + 13] << 26
+                | in[inpos + 14] << 28
+                | in[inpos + 15] << 30);
+        out.putInt(outpos + 4, in[inpos + 16]
+                | in[inpos + 17] << 2
+                | in[inpos + 18] << 4
+                | in[inpos + 19] << 6
+                | in[inpos + 20] << 8
+                | in[inpos + 21] << 10
+                | in[inpos + 22] << 12
+                | in[inpos + 23] << 14
+                | in[inpos + 24] << 16
+                | in[inpos + 25] << 18
+                | in[inpos + 26] << 20
+                | in[inpos + 27] << 22
+                | in[inpos + 28] << 24
+                | in[inpos + 29] << 26
+                | in[inpos + 30] << 28
+                | in[inpos + 31] << 30);
+    }
+
+    private static void pack3(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 3
+                | in[inpos + 2] << 6
+                | in[inpos + 3] << 9
+                | in[inpos + 4] << 12
+                | in[inpos + 5] << 15
+                | in[inpos + 6] << 18
+                | in[inpos + 7] << 21
+                | in[inpos + 8] << 24
+                | in[inpos + 9] << 27
+                | in[inpos + 10] << 30);
+        out.putInt(outpos + 4, in[inpos + 10] >>> 2
+                | in[inpos + 11] << 1
+                | in[inpos + 12] << 4
+                | in[inpos + 13] << 7
+                | in[inpos + 14] << 10
+                | in[inpos + 15] << 13
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 19
+                | in[inpos + 18] << 22
+                | in[inpos + 19] << 25
+                | in[inpos + 20] << 28
+                | in[inpos + 21] << 31);
+        out.putInt(outpos + 8, in[inpos + 21] >>> 1
+                | in[inpos + 22] << 2
+                | in[inpos + 23] << 5
+                | in[inpos + 24] << 8
+                | in[inpos + 25] << 11
+                | in[inpos + 26] << 14
+                | in[inpos + 27] << 17
+                | in[inpos + 28] << 20
+                | in[inpos + 29] << 23
+                | in[inpos + 30] << 26
+                | in[inpos + 31] << 29);
+    }
+
+    private static void pack4(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 4
+                | in[inpos + 2] << 8
+                | in[inpos + 3] << 12
+                | in[inpos + 4] << 16
+                | in[inpos + 5] << 20
+                | in[inpos + 6] << 24
+                | in[inpos + 7] << 28);
+        out.putInt(outpos + 4, in[inpos + 8]
+                | in[inpos + 9] << 4
+                | in[inpos + 10] << 8
+                | in[inpos + 11] << 12
+                | in[inpos + 12] << 16
+                | in[inpos + 13] << 20
+                | in[inpos + 14] << 24
+                | in[inpos + 15] << 28);
+        out.putInt(outpos + 8, in[inpos + 16]
+                | in[inpos + 17] << 4
+                | in[inpos + 18] << 8
+                | in[inpos + 19] << 12
+                | in[inpos + 20] << 16
+                | in[inpos + 21] << 20
+                | in[inpos + 22] << 24
+                | in[inpos + 23] << 28);
+        out.putInt(outpos + 12, in[inpos + 24]
+                | in[inpos + 25] << 4
+                | in[inpos + 26] << 8
+                | in[inpos + 27] << 12
+                | in[inpos + 28] << 16
+                | in[inpos + 29] << 20
+                | in[inpos + 30] << 24
+                | in[inpos + 31] << 28);
+    }
+
+    private static void pack5(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 5
+                | in[inpos + 2] << 10
+                | in[inpos + 3] << 15
+                | in[inpos + 4] << 20
+                | in[inpos + 5] << 25
+                | in[inpos + 6] << 30);
+        out.putInt(outpos + 4, in[inpos + 6] >>> 2
+                | in[inpos + 7] << 3
+                | in[inpos + 8] << 8
+                | in[inpos + 9] << 13
+                | in[inpos + 10] << 18
+                | in[inpos + 11] << 23
+                | in[inpos + 12] << 28);
+        out.putInt(outpos + 8, in[inpos + 12] >>> 4
+                | in[inpos + 13] << 1
+                | in[inpos + 14] << 6
+                | in[inpos + 15] << 11
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 21
+                | in[inpos + 18] << 26
+                | in[inpos + 19] << 31);
+        out.putInt(outpos + 12, in[inpos + 19] >>> 1
+                | in[inpos + 20] << 4
+                | in[inpos + 21] << 9
+                | in[inpos + 22] << 14
+                | in[inpos + 23] << 19
+                | in[inpos + 24] << 24
+                | in[inpos + 25] << 29);
+        out.putInt(outpos + 16, in[inpos + 25] >>> 3
+                | in[inpos + 26] << 2
+                | in[inpos + 27] << 7
+                | in[inpos + 28] << 12
+                | in[inpos + 29] << 17
+                | in[inpos + 30] << 22
+                | in[inpos + 31] << 27);
+    }
+
+    private static void pack6(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 6
+                | in[inpos + 2] << 12
+                | in[inpos + 3] << 18
+                | in[inpos + 4] << 24
+                | in[inpos + 5] << 30);
+        out.putInt(outpos + 4, in[inpos + 5] >>> 2
+                | in[inpos + 6] << 4
+                | in[inpos + 7] << 10
+                | in[inpos + 8] << 16
+                | in[inpos + 9] << 22
+                | in[inpos + 10] << 28);
+        out.putInt(outpos + 8, in[inpos + 10] >>> 4
+                | in[inpos + 11] << 2
+                | in[inpos + 12] << 8
+                | in[inpos + 13] << 14
+                | in[inpos + 14] << 20
+                | in[inpos + 15] << 26);
+        out.putInt(outpos + 12, in[inpos + 16]
+                | in[inpos + 17] << 6
+                | in[inpos + 18] << 12
+                | in[inpos + 19] << 18
+                | in[inpos + 20] << 24
+                | in[inpos + 21] << 30);
+        out.putInt(outpos + 16, in[inpos + 21] >>> 2
+                | in[inpos + 22] << 4
+                | in[inpos + 23] << 10
+                | in[inpos + 24] << 16
+                | in[inpos + 25] << 22
+                | in[inpos + 26] << 28);
+        out.putInt(outpos + 20, in[inpos + 26] >>> 4
+                | in[inpos + 27] << 2
+                | in[inpos + 28] << 8
+                | in[inpos + 29] << 14
+                | in[inpos + 30] << 20
+                | in[inpos + 31] << 26);
+    }
+
+    private static void pack7(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 7
+                | in[inpos + 2] << 14
+                | in[inpos + 3] << 21
+                | in[inpos + 4] << 28);
+        out.putInt(outpos + 4, in[inpos + 4] >>> 4
+                | in[inpos + 5] << 3
+                | in[inpos + 6] << 10
+                | in[inpos + 7] << 17
+                | in[inpos + 8] << 24
+                | in[inpos + 9] << 31);
+        out.putInt(outpos + 8, in[inpos + 9] >>> 1
+                | in[inpos + 10] << 6
+                | in[inpos + 11] << 13
+                | in[inpos + 12] << 20
+                | in[inpos + 13] << 27);
+        out.putInt(outpos + 12, in[inpos + 13] >>> 5
+                | in[inpos + 14] << 2
+                | in[inpos + 15] << 9
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 23
+                | in[inpos + 18] << 30);
+        out.putInt(outpos + 16, in[inpos + 18] >>> 2
+                | in[inpos + 19] << 5
+                | in[inpos + 20] << 12
+                | in[inpos + 21] << 19
+                | in[inpos + 22] << 26);
+        out.putInt(outpos + 20, in[inpos + 22] >>> 6
+                | in[inpos + 23] << 1
+                | in[inpos + 24] << 8
+                | in[inpos + 25] << 15
+                | in[inpos + 26] << 22
+                | in[inpos + 27] << 29);
+        out.putInt(outpos + 24, in[inpos + 27] >>> 3
+                | in[inpos + 28] << 4
+                | in[inpos + 29] << 11
+                | in[inpos + 30] << 18
+                | in[inpos + 31] << 25);
+    }
+
+    private static void pack8(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 8
+                | in[inpos + 2] << 16
+                | in[inpos + 3] << 24);
+        out.putInt(outpos + 4, in[inpos + 4]
+                | in[inpos + 5] << 8
+                | in[inpos + 6] << 16
+                | in[inpos + 7] << 24);
+        out.putInt(outpos + 8, in[inpos + 8]
+                | in[inpos + 9] << 8
+                | in[inpos + 10] << 16
+                | in[inpos + 11] << 24);
+        out.putInt(outpos + 12, in[inpos + 12]
+                | in[inpos + 13] << 8
+                | in[inpos + 14] << 16
+                | in[inpos + 15] << 24);
+        out.putInt(outpos + 16, in[inpos + 16]
+                | in[inpos + 17] << 8
+                | in[inpos + 18] << 16
+                | in[inpos + 19] << 24);
+        out.putInt(outpos + 20, in[inpos + 20]
+                | in[inpos + 21] << 8
+                | in[inpos + 22] << 16
+                | in[inpos + 23] << 24);
+        out.putInt(outpos + 24, in[inpos + 24]
+                | in[inpos + 25] << 8
+                | in[inpos + 26] << 16
+                | in[inpos + 27] << 24);
+        out.putInt(outpos + 28, in[inpos + 28]
+                | in[inpos + 29] << 8
+                | in[inpos + 30] << 16
+                | in[inpos + 31] << 24);
+    }
+
+    private static void pack9(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 9
+                | in[inpos + 2] << 18
+                | in[inpos + 3] << 27);
+        out.putInt(outpos + 4, in[inpos + 3] >>> 5
+                | in[inpos + 4] << 4
+                | in[inpos + 5] << 13
+                | in[inpos + 6] << 22
+                | in[inpos + 7] << 31);
+        out.putInt(outpos + 8, in[inpos + 7] >>> 1
+                | in[inpos + 8] << 8
+                | in[inpos + 9] << 17
+                | in[inpos + 10] << 26);
+        out.putInt(outpos + 12, in[inpos + 10] >>> 6
+                | in[inpos + 11] << 3
+                | in[inpos + 12] << 12
+                | in[inpos + 13] << 21
+                | in[inpos + 14] << 30);
+        out.putInt(outpos + 16, in[inpos + 14] >>> 2
+                | in[inpos + 15] << 7
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 25);
+        out.putInt(outpos + 20, in[inpos + 17] >>> 7
+                | in[inpos + 18] << 2
+                | in[inpos + 19] << 11
+                | in[inpos + 20] << 20
+                | in[inpos + 21] << 29);
+        out.putInt(outpos + 24, in[inpos + 21] >>> 3
+                | in[inpos + 22] << 6
+                | in[inpos + 23] << 15
+                | in[inpos + 24] << 24);
+        out.putInt(outpos + 28, in[inpos + 24] >>> 8
+                | in[inpos + 25] << 1
+                | in[inpos + 26] << 10
+                | in[inpos + 27] << 19
+                | in[inpos + 28] << 28);
+        out.putInt(outpos + 32, in[inpos + 28] >>> 4
+                | in[inpos + 29] << 5
+                | in[inpos + 30] << 14
+                | in[inpos + 31] << 23);
+    }
+
+    private static void pack10(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 10
+                | in[inpos + 2] << 20
+                | in[inpos + 3] << 30);
+        out.putInt(outpos + 4, in[inpos + 3] >>> 2
+                | in[inpos + 4] << 8
+                | in[inpos + 5] << 18
+                | in[inpos + 6] << 28);
+        out.putInt(outpos + 8, in[inpos + 6] >>> 4
+                | in[inpos + 7] << 6
+                | in[inpos + 8] << 16
+                | in[inpos + 9] << 26);
+        out.putInt(outpos + 12, in[inpos + 9] >>> 6
+                | in[inpos + 10] << 4
+                | in[inpos + 11] << 14
+                | in[inpos + 12] << 24);
+        out.putInt(outpos + 16, in[inpos + 12] >>> 8
+                | in[inpos + 13] << 2
+                | in[inpos + 14] << 12
+                | in[inpos + 15] << 22);
+        out.putInt(outpos + 20, in[inpos + 16]
+                | in[inpos + 17] << 10
+                | in[inpos + 18] << 20
+                | in[inpos + 19] << 30);
+        out.putInt(outpos + 24, in[inpos + 19] >>> 2
+                | in[inpos + 20] << 8
+                | in[inpos + 21] << 18
+                | in[inpos + 22] << 28);
+        out.putInt(outpos + 28, in[inpos + 22] >>> 4
+                | in[inpos + 23] << 6
+                | in[inpos + 24] << 16
+                | in[inpos + 25] << 26);
+        out.putInt(outpos + 32, in[inpos + 25] >>> 6
+                | in[inpos + 26] << 4
+                | in[inpos + 27] << 14
+                | in[inpos + 28] << 24);
+        out.putInt(outpos + 36, in[inpos + 28] >>> 8
+                | in[inpos + 29] << 2
+                | in[inpos + 30] << 12
+                | in[inpos + 31] << 22);
+    }
+
+    private static void pack11(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 11
+                | in[inpos + 2] << 22);
+        out.putInt(outpos + 4, in[inpos + 2] >>> 10
+                | in[inpos + 3] << 1
+                | in[inpos + 4] << 12
+                | in[inpos + 5] << 23);
+        out.putInt(outpos + 8, in[inpos + 5] >>> 9
+                | in[inpos + 6] << 2
+                | in[inpos + 7] << 13
+                | in[inpos + 8] << 24);
+        out.putInt(outpos + 12, in[inpos + 8] >>> 8
+                | in[inpos + 9] << 3
+                | in[inpos + 10] << 14
+                | in[inpos + 11] << 25);
+        out.putInt(outpos + 16, in[inpos + 11] >>> 7
+                | in[inpos + 12] << 4
+                | in[inpos + 13] << 15
+                | in[inpos + 14] << 26);
+        out.putInt(outpos + 20, in[inpos + 14] >>> 6
+                | in[inpos + 15] << 5
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 27);
+        out.putInt(outpos + 24, in[inpos + 17] >>> 5
+                | in[inpos + 18] << 6
+                | in[inpos + 19] << 17
+                | in[inpos + 20] << 28);
+        out.putInt(outpos + 28, in[inpos + 20] >>> 4
+                | in[inpos + 21] << 7
+                | in[inpos + 22] << 18
+                | in[inpos + 23] << 29);
+        out.putInt(outpos + 32, in[inpos + 23] >>> 3
+                | in[inpos + 24] << 8
+                | in[inpos + 25] << 19
+                | in[inpos + 26] << 30);
+        out.putInt(outpos + 36, in[inpos + 26] >>> 2
+                | in[inpos + 27] << 9
+                | in[inpos + 28] << 20
+                | in[inpos + 29] << 31);
+        out.putInt(outpos + 40, in[inpos + 29] >>> 1
+                | in[inpos + 30] << 10
+                | in[inpos + 31] << 21);
+    }
+
+    private static void pack12(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 12
+                | in[inpos + 2] << 24);
+        out.putInt(outpos + 4, in[inpos + 2] >>> 8
+                | in[inpos + 3] << 4
+                | in[inpos + 4] << 16
+                | in[inpos + 5] << 28);
+        out.putInt(outpos + 8, in[inpos + 5] >>> 4
+                | in[inpos + 6] << 8
+                | in[inpos + 7] << 20);
+        out.putInt(outpos + 12, in[inpos + 8]
+                | in[inpos + 9] << 12
+                | in[inpos + 10] << 24);
+        out.putInt(outpos + 16, in[inpos + 10] >>> 8
+                | in[inpos + 11] << 4
+                | in[inpos + 12] << 16
+                | in[inpos + 13] << 28);
+        out.putInt(outpos + 20, in[inpos + 13] >>> 4
+                | in[inpos + 14] << 8
+                | in[inpos + 15] << 20);
+        out.putInt(outpos + 24, in[inpos + 16]
+                | in[inpos + 17] << 12
+                | in[inpos + 18] << 24);
+        out.putInt(outpos + 28, in[inpos + 18] >>> 8
+                | in[inpos + 19] << 4
+                | in[inpos + 20] << 16
+                | in[inpos + 21] << 28);
+        out.putInt(outpos + 32, in[inpos + 21] >>> 4
+                | in[inpos + 22] << 8
+                | in[inpos + 23] << 20);
+        out.putInt(outpos + 36, in[inpos + 24]
+                | in[inpos + 25] << 12
+                | in[inpos + 26] << 24);
+        out.putInt(outpos + 40, in[inpos + 26] >>> 8
+                | in[inpos + 27] << 4
+                | in[inpos + 28] << 16
+                | in[inpos + 29] << 28);
+        out.putInt(outpos + 44, in[inpos + 29] >>> 4
+                | in[inpos + 30] << 8
+                | in[inpos + 31] << 20);
+    }
+
+    private static void pack13(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 13
+                | in[inpos + 2] << 26);
+        out.putInt(outpos + 4, in[inpos + 2] >>> 6
+                | in[inpos + 3] << 7
+                | in[inpos + 4] << 20);
+        out.putInt(outpos + 8, in[inpos + 4] >>> 12
+                | in[inpos + 5] << 1
+                | in[inpos + 6] << 14
+                | in[inpos + 7] << 27);
+        out.putInt(outpos + 12, in[inpos + 7] >>> 5
+                | in[inpos + 8] << 8
+                | in[inpos + 9] << 21);
+        out.putInt(outpos + 16, in[inpos + 9] >>> 11
+                | in[inpos + 10] << 2
+                | in[inpos + 11] << 15
+                | in[inpos + 12] << 28);
+        out.putInt(outpos + 20, in[inpos + 12] >>> 4
+                | in[inpos + 13] << 9
+                | in[inpos + 14] << 22);
+        out.putInt(outpos + 24, in[inpos + 14] >>> 10
+                | in[inpos + 15] << 3
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 29);
+        out.putInt(outpos + 28, in[inpos + 17] >>> 3
+                | in[inpos + 18] << 10
+                | in[inpos + 19] << 23);
+        out.putInt(outpos + 32, in[inpos + 19] >>> 9
+                | in[inpos + 20] << 4
+                | in[inpos + 21] << 17
+                | in[inpos + 22] << 30);
+        out.putInt(outpos + 36, in[inpos + 22] >>> 2
+                | in[inpos + 23] << 11
+                | in[inpos + 24] << 24);
+        out.putInt(outpos + 40, in[inpos + 24] >>> 8
+                | in[inpos + 25] << 5
+                | in[inpos + 26] << 18
+                | in[inpos + 27] << 31);
+        out.putInt(outpos + 44, in[inpos + 27] >>> 1
+                | in[inpos + 28] << 12
+                | in[inpos + 29] << 25);
+        out.putInt(outpos + 48, in[inpos + 29] >>> 7
+                | in[inpos + 30] << 6
+                | in[inpos + 31] << 19);
+    }
+
+    private static void pack14(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 14
+                | in[inpos + 2] << 28);
+        out.putInt(outpos + 4, in[inpos + 2] >>> 4
+                | in[inpos + 3] << 10
+                | in[inpos + 4] << 24);
+        out.putInt(outpos + 8, in[inpos + 4] >>> 8
+                | in[inpos + 5] << 6
+                | in[inpos + 6] << 20);
+        out.putInt(outpos + 12, in[inpos + 6] >>> 12
+                | in[inpos + 7] << 2
+                | in[inpos + 8] << 16
+                | in[inpos + 9] << 30);
+        out.putInt(outpos + 16, in[inpos + 9] >>> 2
+                | in[inpos + 10] << 12
+                | in[inpos + 11] << 26);
+        out.putInt(outpos + 20, in[inpos + 11] >>> 6
+                | in[inpos + 12] << 8
+                | in[inpos + 13] << 22);
+        out.putInt(outpos + 24, in[inpos + 13] >>> 10
+                | in[inpos + 14] << 4
+                | in[inpos + 15] << 18);
+        out.putInt(outpos + 28, in[inpos + 16]
+                | in[inpos + 17] << 14
+                | in[inpos + 18] << 28);
+        out.putInt(outpos + 32, in[inpos + 18] >>> 4
+                | in[inpos + 19] << 10
+                | in[inpos + 20] << 24);
+        out.putInt(outpos + 36, in[inpos + 20] >>> 8
+                | in[inpos + 21] << 6
+                | in[inpos + 22] << 20);
+        out.putInt(outpos + 40, in[inpos + 22] >>> 12
+                | in[inpos + 23] << 2
+                | in[inpos + 24] << 16
+                | in[inpos + 25] << 30);
+        out.putInt(outpos + 44, in[inpos + 25] >>> 2
+                | in[inpos + 26] << 12
+                | in[inpos + 27] << 26);
+        out.putInt(outpos + 48, in[inpos + 27] >>> 6
+                | in[inpos + 28] << 8
+                | in[inpos + 29] << 22);
+        out.putInt(outpos + 52, in[inpos + 29] >>> 10
+                | in[inpos + 30] << 4
+                | in[inpos + 31] << 18);
+    }
+
+    private static void pack15(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 15
+                | in[inpos + 2] << 30);
+        out.putInt(outpos + 4, in[inpos + 2] >>> 2
+                | in[inpos + 3] << 13
+                | in[inpos + 4] << 28);
+        out.putInt(outpos + 8, in[inpos + 4] >>> 4
+                | in[inpos + 5] << 11
+                | in[inpos + 6] << 26);
+        out.putInt(outpos + 12, in[inpos + 6] >>> 6
+                | in[inpos + 7] << 9
+                | in[inpos + 8] << 24);
+        out.putInt(outpos + 16, in[inpos + 8] >>> 8
+                | in[inpos + 9] << 7
+                | in[inpos + 10] << 22);
+        out.putInt(outpos + 20, in[inpos + 10] >>> 10
+                | in[inpos + 11] << 5
+                | in[inpos + 12] << 20);
+        out.putInt(outpos + 24, in[inpos + 12] >>> 12
+                | in[inpos + 13] << 3
+                | in[inpos + 14] << 18);
+        out.putInt(outpos + 28, in[inpos + 14] >>> 14
+                | in[inpos + 15] << 1
+                | in[inpos + 16] << 16
+                | in[inpos + 17] << 31);
+        out.putInt(outpos + 32, in[inpos + 17] >>> 1
+                | in[inpos + 18] << 14
+                | in[inpos + 19] << 29);
+        out.putInt(outpos + 36, in[inpos + 19] >>> 3
+                | in[inpos + 20] << 12
+                | in[inpos + 21] << 27);
+        out.putInt(outpos + 40, in[inpos + 21] >>> 5
+                | in[inpos + 22] << 10
+                | in[inpos + 23] << 25);
+        out.putInt(outpos + 44, in[inpos + 23] >>> 7
+                | in[inpos + 24] << 8
+                | in[inpos + 25] << 23);
+        out.putInt(outpos + 48, in[inpos + 25] >>> 9
+                | in[inpos + 26] << 6
+                | in[inpos + 27] << 21);
+        out.putInt(outpos + 52, in[inpos + 27] >>> 11
+                | in[inpos + 28] << 4
+                | in[inpos + 29] << 19);
+        out.putInt(outpos + 56, in[inpos + 29] >>> 13
+                | in[inpos + 30] << 2
+                | in[inpos + 31] << 17);
+    }
+
+    private static void pack16(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 16);
+        out.putInt(outpos + 4, in[inpos + 2]
+                | in[inpos + 3] << 16);
+        out.putInt(outpos + 8, in[inpos + 4]
+                | in[inpos + 5] << 16);
+        out.putInt(outpos + 12, in[inpos + 6]
+                | in[inpos + 7] << 16);
+        out.putInt(outpos + 16, in[inpos + 8]
+                | in[inpos + 9] << 16);
+        out.putInt(outpos + 20, in[inpos + 10]
+                | in[inpos + 11] << 16);
+        out.putInt(outpos + 24, in[inpos + 12]
+                | in[inpos + 13] << 16);
+        out.putInt(outpos + 28, in[inpos + 14]
+                | in[inpos + 15] << 16);
+        out.putInt(outpos + 32, in[inpos + 16]
+                | in[inpos + 17] << 16);
+        out.putInt(outpos + 36, in[inpos + 18]
+                | in[inpos + 19] << 16);
+        out.putInt(outpos + 40, in[inpos + 20]
+                | in[inpos + 21] << 16);
+        out.putInt(outpos + 44, in[inpos + 22]
+                | in[inpos + 23] << 16);
+        out.putInt(outpos + 48, in[inpos + 24]
+                | in[inpos + 25] << 16);
+        out.putInt(outpos + 52, in[inpos + 26]
+                | in[inpos + 27] << 16);
+        out.putInt(outpos + 56, in[inpos + 28]
+                | in[inpos + 29] << 16);
+        out.putInt(outpos + 60, in[inpos + 30]
+                | in[inpos + 31] << 16);
+    }
+
+    private static void pack17(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 17);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 15
+                | in[inpos + 2] << 2
+                | in[inpos + 3] << 19);
+        out.putInt(outpos + 8, in[inpos + 3] >>> 13
+                | in[inpos + 4] << 4
+                | in[inpos + 5] << 21);
+        out.putInt(outpos + 12, in[inpos + 5] >>> 11
+                | in[inpos + 6] << 6
+                | in[inpos + 7] << 23);
+        out.putInt(outpos + 16, in[inpos + 7] >>> 9
+                | in[inpos + 8] << 8
+                | in[inpos + 9] << 25);
+        out.putInt(outpos + 20, in[inpos + 9] >>> 7
+                | in[inpos + 10] << 10
+                | in[inpos + 11] << 27);
+        out.putInt(outpos + 24, in[inpos + 11] >>> 5
+                | in[inpos + 12] << 12
+                | in[inpos + 13] << 29);
+        out.putInt(outpos + 28, in[inpos + 13] >>> 3
+                | in[inpos + 14] << 14
+                | in[inpos + 15] << 31);
+        out.putInt(outpos + 32, in[inpos + 15] >>> 1
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 36, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 1
+                | in[inpos + 18] << 18);
+        out.putInt(outpos + 40, in[inpos + 18] >>> 14
+                | in[inpos + 19] << 3
+                | in[inpos + 20] << 20);
+        out.putInt(outpos + 44, in[inpos + 20] >>> 12
+                | in[inpos + 21] << 5
+                | in[inpos + 22] << 22);
+        out.putInt(outpos + 48, in[inpos + 22] >>> 10
+                | in[inpos + 23] << 7
+                | in[inpos + 24] << 24);
+        out.putInt(outpos + 52, in[inpos + 24] >>> 8
+                | in[inpos + 25] << 9
+                | in[inpos + 26] << 26);
+        out.putInt(outpos + 56, in[inpos + 26] >>> 6
+                | in[inpos + 27] << 11
+                | in[inpos + 28] << 28);
+        out.putInt(outpos + 60, in[inpos + 28] >>> 4
+                | in[inpos + 29] << 13
+                | in[inpos + 30] << 30);
+        out.putInt(outpos + 64, in[inpos + 30] >>> 2
+                | in[inpos + 31] << 15);
+    }
+
+    private static void pack18(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 18);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 14
+                | in[inpos + 2] << 4
+                | in[inpos + 3] << 22);
+        out.putInt(outpos + 8, in[inpos + 3] >>> 10
+                | in[inpos + 4] << 8
+                | in[inpos + 5] << 26);
+        out.putInt(outpos + 12, in[inpos + 5] >>> 6
+                | in[inpos + 6] << 12
+                | in[inpos + 7] << 30);
+        out.putInt(outpos + 16, in[inpos + 7] >>> 2
+                | in[inpos + 8] << 16);
+        out.putInt(outpos + 20, in[inpos + 8] >>> 16
+                | in[inpos + 9] << 2
+                | in[inpos + 10] << 20);
+        out.putInt(outpos + 24, in[inpos + 10] >>> 12
+                | in[inpos + 11] << 6
+                | in[inpos + 12] << 24);
+        out.putInt(outpos + 28, in[inpos + 12] >>> 8
+                | in[inpos + 13] << 10
+                | in[inpos + 14] << 28);
+        out.putInt(outpos + 32, in[inpos + 14] >>> 4
+                | in[inpos + 15] << 14);
+        out.putInt(outpos + 36, in[inpos + 16]
+                | in[inpos + 17] << 18);
+        out.putInt(outpos + 40, in[inpos + 17] >>> 14
+                | in[inpos + 18] << 4
+                | in[inpos + 19] << 22);
+        out.putInt(outpos + 44, in[inpos + 19] >>> 10
+                | in[inpos + 20] << 8
+                | in[inpos + 21] << 26);
+        out.putInt(outpos + 48, in[inpos + 21] >>> 6
+                | in[inpos + 22] << 12
+                | in[inpos + 23] << 30);
+        out.putInt(outpos + 52, in[inpos + 23] >>> 2
+                | in[inpos + 24] << 16);
+        out.putInt(outpos + 56, in[inpos + 24] >>> 16
+                | in[inpos + 25] << 2
+                | in[inpos + 26] << 20);
+        out.putInt(outpos + 60, in[inpos + 26] >>> 12
+                | in[inpos + 27] << 6
+                | in[inpos + 28] << 24);
+        out.putInt(outpos + 64, in[inpos + 28] >>> 8
+                | in[inpos + 29] << 10
+                | in[inpos + 30] << 28);
+        out.putInt(outpos + 68, in[inpos + 30] >>> 4
+                | in[inpos + 31] << 14);
+    }
+
+    private static void pack19(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 19);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 13
+                | in[inpos + 2] << 6
+                | in[inpos + 3] << 25);
+        out.putInt(outpos + 8, in[inpos + 3] >>> 7
+                | in[inpos + 4] << 12
+                | in[inpos + 5] << 31);
+        out.putInt(outpos + 12, in[inpos + 5] >>> 1
+                | in[inpos + 6] << 18);
+        out.putInt(outpos + 16, in[inpos + 6] >>> 14
+                | in[inpos + 7] << 5
+                | in[inpos + 8] << 24);
+        out.putInt(outpos + 20, in[inpos + 8] >>> 8
+                | in[inpos + 9] << 11
+                | in[inpos + 10] << 30);
+        out.putInt(outpos + 24, in[inpos + 10] >>> 2
+                | in[inpos + 11] << 17);
+        out.putInt(outpos + 28, in[inpos + 11] >>> 15
+                | in[inpos + 12] << 4
+                | in[inpos + 13] << 23);
+        out.putInt(outpos + 32, in[inpos + 13] >>> 9
+                | in[inpos + 14] << 10
+                | in[inpos + 15] << 29);
+        out.putInt(outpos + 36, in[inpos + 15] >>> 3
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 40, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 3
+                | in[inpos + 18] << 22);
+        out.putInt(outpos + 44, in[inpos + 18] >>> 10
+                | in[inpos + 19] << 9
+                | in[inpos + 20] << 28);
+        out.putInt(outpos + 48, in[inpos + 20] >>> 4
+                | in[inpos + 21] << 15);
+        out.putInt(outpos + 52, in[inpos + 21] >>> 17
+                | in[inpos + 22] << 2
+                | in[inpos + 23] << 21);
+        out.putInt(outpos + 56, in[inpos + 23] >>> 11
+                | in[inpos + 24] << 8
+                | in[inpos + 25] << 27);
+        out.putInt(outpos + 60, in[inpos + 25] >>> 5
+                | in[inpos + 26] << 14);
+        out.putInt(outpos + 64, in[inpos + 26] >>> 18
+                | in[inpos + 27] << 1
+                | in[inpos + 28] << 20);
+        out.putInt(outpos + 68, in[inpos + 28] >>> 12
+                | in[inpos + 29] << 7
+                | in[inpos + 30] << 26);
+        out.putInt(outpos + 72, in[inpos + 30] >>> 6
+                | in[inpos + 31] << 13);
+    }
+
+    private static void pack20(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 20);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 12
+                | in[inpos + 2] << 8
+                | in[inpos + 3] << 28);
+        out.putInt(outpos + 8, in[inpos + 3] >>> 4
+                | in[inpos + 4] << 16);
+        out.putInt(outpos + 12, in[inpos + 4] >>> 16
+                | in[inpos + 5] << 4
+                | in[inpos + 6] << 24);
+        out.putInt(outpos + 16, in[inpos + 6] >>> 8
+                | in[inpos + 7] << 12);
+        out.putInt(outpos + 20, in[inpos + 8]
+                | in[inpos + 9] << 20);
+        out.putInt(outpos + 24, in[inpos + 9] >>> 12
+                | in[inpos + 10] << 8
+                | in[inpos + 11] << 28);
+        out.putInt(outpos + 28, in[inpos + 11] >>> 4
+                | in[inpos + 12] << 16);
+        out.putInt(outpos + 32, in[inpos + 12] >>> 16
+                | in[inpos + 13] << 4
+                | in[inpos + 14] << 24);
+        out.putInt(outpos + 36, in[inpos + 14] >>> 8
+                | in[inpos + 15] << 12);
+        out.putInt(outpos + 40, in[inpos + 16]
+                | in[inpos + 17] << 20);
+        out.putInt(outpos + 44, in[inpos + 17] >>> 12
+                | in[inpos + 18] << 8
+                | in[inpos + 19] << 28);
+        out.putInt(outpos + 48, in[inpos + 19] >>> 4
+                | in[inpos + 20] << 16);
+        out.putInt(outpos + 52, in[inpos + 20] >>> 16
+                | in[inpos + 21] << 4
+                | in[inpos + 22] << 24);
+        out.putInt(outpos + 56, in[inpos + 22] >>> 8
+                | in[inpos + 23] << 12);
+        out.putInt(outpos + 60, in[inpos + 24]
+                | in[inpos + 25] << 20);
+        out.putInt(outpos + 64, in[inpos + 25] >>> 12
+                | in[inpos + 26] << 8
+                | in[inpos + 27] << 28);
+        out.putInt(outpos + 68, in[inpos + 27] >>> 4
+                | in[inpos + 28] << 16);
+        out.putInt(outpos + 72, in[inpos + 28] >>> 16
+                | in[inpos + 29] << 4
+                | in[inpos + 30] << 24);
+        out.putInt(outpos + 76, in[inpos + 30] >>> 8
+                | in[inpos + 31] << 12);
+    }
+
+    private static void pack21(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 21);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 11
+                | in[inpos + 2] << 10
+                | in[inpos + 3] << 31);
+        out.putInt(outpos + 8, in[inpos + 3] >>> 1
+                | in[inpos + 4] << 20);
+        out.putInt(outpos + 12, in[inpos + 4] >>> 12
+                | in[inpos + 5] << 9
+                | in[inpos + 6] << 30);
+        out.putInt(outpos + 16, in[inpos + 6] >>> 2
+                | in[inpos + 7] << 19);
+        out.putInt(outpos + 20, in[inpos + 7] >>> 13
+                | in[inpos + 8] << 8
+                | in[inpos + 9] << 29);
+        out.putInt(outpos + 24, in[inpos + 9] >>> 3
+                | in[inpos + 10] << 18);
+        out.putInt(outpos + 28, in[inpos + 10] >>> 14
+                | in[inpos + 11] << 7
+                | in[inpos + 12] << 28);
+        out.putInt(outpos + 32, in[inpos + 12] >>> 4
+                | in[inpos + 13] << 17);
+        out.putInt(outpos + 36, in[inpos + 13] >>> 15
+                | in[inpos + 14] << 6
+                | in[inpos + 15] << 27);
+        out.putInt(outpos + 40, in[inpos + 15] >>> 5
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 44, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 5
+                | in[inpos + 18] << 26);
+        out.putInt(outpos + 48, in[inpos + 18] >>> 6
+                | in[inpos + 19] << 15);
+        out.putInt(outpos + 52, in[inpos + 19] >>> 17
+                | in[inpos + 20] << 4
+                | in[inpos + 21] << 25);
+        out.putInt(outpos + 56, in[inpos + 21] >>> 7
+                | in[inpos + 22] << 14);
+        out.putInt(outpos + 60, in[inpos + 22] >>> 18
+                | in[inpos + 23] << 3
+                | in[inpos + 24] << 24);
+        out.putInt(outpos + 64, in[inpos + 24] >>> 8
+                | in[inpos + 25] << 13);
+        out.putInt(outpos + 68, in[inpos + 25] >>> 19
+                | in[inpos + 26] << 2
+                | in[inpos + 27] << 23);
+        out.putInt(outpos + 72, in[inpos + 27] >>> 9
+                | in[inpos + 28] << 12);
+        out.putInt(outpos + 76, in[inpos + 28] >>> 20
+                | in[inpos + 29] << 1
+                | in[inpos + 30] << 22);
+        out.putInt(outpos + 80, in[inpos + 30] >>> 10
+                | in[inpos + 31] << 11);
+    }
+
+    private static void pack22(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 22);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 10
+                | in[inpos + 2] << 12);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 20
+                | in[inpos + 3] << 2
+                | in[inpos + 4] << 24);
+        out.putInt(outpos + 12, in[inpos + 4] >>> 8
+                | in[inpos + 5] << 14);
+        out.putInt(outpos + 16, in[inpos + 5] >>> 18
+                | in[inpos + 6] << 4
+                | in[inpos + 7] << 26);
+        out.putInt(outpos + 20, in[inpos + 7] >>> 6
+                | in[inpos + 8] << 16);
+        out.putInt(outpos + 24, in[inpos + 8] >>> 16
+                | in[inpos + 9] << 6
+                | in[inpos + 10] << 28);
+        out.putInt(outpos + 28, in[inpos + 10] >>> 4
+                | in[inpos + 11] << 18);
+        out.putInt(outpos + 32, in[inpos + 11] >>> 14
+                | in[inpos + 12] << 8
+                | in[inpos + 13] << 30);
+        out.putInt(outpos + 36, in[inpos + 13] >>> 2
+                | in[inpos + 14] << 20);
+        out.putInt(outpos + 40, in[inpos + 14] >>> 12
+                | in[inpos + 15] << 10);
+        out.putInt(outpos + 44, in[inpos + 16]
+                | in[inpos + 17] << 22);
+        out.putInt(outpos + 48, in[inpos + 17] >>> 10
+                | in[inpos + 18] << 12);
+        out.putInt(outpos + 52, in[inpos + 18] >>> 20
+                | in[inpos + 19] << 2
+                | in[inpos + 20] << 24);
+        out.putInt(outpos + 56, in[inpos + 20] >>> 8
+                | in[inpos + 21] << 14);
+        out.putInt(outpos + 60, in[inpos + 21] >>> 18
+                | in[inpos + 22] << 4
+                | in[inpos + 23] << 26);
+        out.putInt(outpos + 64, in[inpos + 23] >>> 6
+                | in[inpos + 24] << 16);
+        out.putInt(outpos + 68, in[inpos + 24] >>> 16
+                | in[inpos + 25] << 6
+                | in[inpos + 26] << 28);
+        out.putInt(outpos + 72, in[inpos + 26] >>> 4
+                | in[inpos + 27] << 18);
+        out.putInt(outpos + 76, in[inpos + 27] >>> 14
+                | in[inpos + 28] << 8
+                | in[inpos + 29] << 30);
+        out.putInt(outpos + 80, in[inpos + 29] >>> 2
+                | in[inpos + 30] << 20);
+        out.putInt(outpos + 84, in[inpos + 30] >>> 12
+                | in[inpos + 31] << 10);
+    }
+
+    private static void pack23(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 23);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 9
+                | in[inpos + 2] << 14);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 18
+                | in[inpos + 3] << 5
+                | in[inpos + 4] << 28);
+        out.putInt(outpos + 12, in[inpos + 4] >>> 4
+                | in[inpos + 5] << 19);
+        out.putInt(outpos + 16, in[inpos + 5] >>> 13
+                | in[inpos + 6] << 10);
+        out.putInt(outpos + 20, in[inpos + 6] >>> 22
+                | in[inpos + 7] << 1
+                | in[inpos + 8] << 24);
+        out.putInt(outpos + 24, in[inpos + 8] >>> 8
+                | in[inpos + 9] << 15);
+        out.putInt(outpos + 28, in[inpos + 9] >>> 17
+                | in[inpos + 10] << 6
+                | in[inpos + 11] << 29);
+        out.putInt(outpos + 32, in[inpos + 11] >>> 3
+                | in[inpos + 12] << 20);
+        out.putInt(outpos + 36, in[inpos + 12] >>> 12
+                | in[inpos + 13] << 11);
+        out.putInt(outpos + 40, in[inpos + 13] >>> 21
+                | in[inpos + 14] << 2
+                | in[inpos + 15] << 25);
+        out.putInt(outpos + 44, in[inpos + 15] >>> 7
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 48, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 7
+                | in[inpos + 18] << 30);
+        out.putInt(outpos + 52, in[inpos + 18] >>> 2
+                | in[inpos + 19] << 21);
+        out.putInt(outpos + 56, in[inpos + 19] >>> 11
+                | in[inpos + 20] << 12);
+        out.putInt(outpos + 60, in[inpos + 20] >>> 20
+                | in[inpos + 21] << 3
+                | in[inpos + 22] << 26);
+        out.putInt(outpos + 64, in[inpos + 22] >>> 6
+                | in[inpos + 23] << 17);
+        out.putInt(outpos + 68, in[inpos + 23] >>> 15
+                | in[inpos + 24] << 8
+                | in[inpos + 25] << 31);
+        out.putInt(outpos + 72, in[inpos + 25] >>> 1
+                | in[inpos + 26] << 22);
+        out.putInt(outpos + 76, in[inpos + 26] >>> 10
+                | in[inpos + 27] << 13);
+        out.putInt(outpos + 80, in[inpos + 27] >>> 19
+                | in[inpos + 28] << 4
+                | in[inpos + 29] << 27);
+        out.putInt(outpos + 84, in[inpos + 29] >>> 5
+                | in[inpos + 30] << 18);
+        out.putInt(outpos + 88, in[inpos + 30] >>> 14
+                | in[inpos + 31] << 9);
+    }
+
+    private static void pack24(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 24);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 8
+                | in[inpos + 2] << 16);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 16
+                | in[inpos + 3] << 8);
+        out.putInt(outpos + 12, in[inpos + 4]
+                | in[inpos + 5] << 24);
+        out.putInt(outpos + 16, in[inpos + 5] >>> 8
+                | in[inpos + 6] << 16);
+        out.putInt(outpos + 20, in[inpos + 6] >>> 16
+                | in[inpos + 7] << 8);
+        out.putInt(outpos + 24, in[inpos + 8]
+                | in[inpos + 9] << 24);
+        out.putInt(outpos + 28, in[inpos + 9] >>> 8
+                | in[inpos + 10] << 16);
+        out.putInt(outpos + 32, in[inpos + 10] >>> 16
+                | in[inpos + 11] << 8);
+        out.putInt(outpos + 36, in[inpos + 12]
+                | in[inpos + 13] << 24);
+        out.putInt(outpos + 40, in[inpos + 13] >>> 8
+                | in[inpos + 14] << 16);
+        out.putInt(outpos + 44, in[inpos + 14] >>> 16
+                | in[inpos + 15] << 8);
+        out.putInt(outpos + 48, in[inpos + 16]
+                | in[inpos + 17] << 24);
+        out.putInt(outpos + 52, in[inpos + 17] >>> 8
+                | in[inpos + 18] << 16);
+        out.putInt(outpos + 56, in[inpos + 18] >>> 16
+                | in[inpos + 19] << 8);
+        out.putInt(outpos + 60, in[inpos + 20]
+                | in[inpos + 21] << 24);
+        out.putInt(outpos + 64, in[inpos + 21] >>> 8
+                | in[inpos + 22] << 16);
+        out.putInt(outpos + 68, in[inpos + 22] >>> 16
+                | in[inpos + 23] << 8);
+        out.putInt(outpos + 72, in[inpos + 24]
+                | in[inpos + 25] << 24);
+        out.putInt(outpos + 76, in[inpos + 25] >>> 8
+                | in[inpos + 26] << 16);
+        out.putInt(outpos + 80, in[inpos + 26] >>> 16
+                | in[inpos + 27] << 8);
+        out.putInt(outpos + 84, in[inpos + 28]
+                | in[inpos + 29] << 24);
+        out.putInt(outpos + 88, in[inpos + 29] >>> 8
+                | in[inpos + 30] << 16);
+        out.putInt(outpos + 92, in[inpos + 30] >>> 16
+                | in[inpos + 31] << 8);
+    }
+
+    private static void pack25(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 25);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 7
+                | in[inpos + 2] << 18);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 14
+                | in[inpos + 3] << 11);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 21
+                | in[inpos + 4] << 4
+                | in[inpos + 5] << 29);
+        out.putInt(outpos + 16, in[inpos + 5] >>> 3
+                | in[inpos + 6] << 22);
+        out.putInt(outpos + 20, in[inpos + 6] >>> 10
+                | in[inpos + 7] << 15);
+        out.putInt(outpos + 24, in[inpos + 7] >>> 17
+                | in[inpos + 8] << 8);
+        out.putInt(outpos + 28, in[inpos + 8] >>> 24
+                | in[inpos + 9] << 1
+                | in[inpos + 10] << 26);
+        out.putInt(outpos + 32, in[inpos + 10] >>> 6
+                | in[inpos + 11] << 19);
+        out.putInt(outpos + 36, in[inpos + 11] >>> 13
+                | in[inpos + 12] << 12);
+        out.putInt(outpos + 40, in[inpos + 12] >>> 20
+                | in[inpos + 13] << 5
+                | in[inpos + 14] << 30);
+        out.putInt(outpos + 44, in[inpos + 14] >>> 2
+                | in[inpos + 15] << 23);
+        out.putInt(outpos + 48, in[inpos + 15] >>> 9
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 52, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 9);
+        out.putInt(outpos + 56, in[inpos + 17] >>> 23
+                | in[inpos + 18] << 2
+                | in[inpos + 19] << 27);
+        out.putInt(outpos + 60, in[inpos + 19] >>> 5
+                | in[inpos + 20] << 20);
+        out.putInt(outpos + 64, in[inpos + 20] >>> 12
+                | in[inpos + 21] << 13);
+        out.putInt(outpos + 68, in[inpos + 21] >>> 19
+                | in[inpos + 22] << 6
+                | in[inpos + 23] << 31);
+        out.putInt(outpos + 72, in[inpos + 23] >>> 1
+                | in[inpos + 24] << 24);
+        out.putInt(outpos + 76, in[inpos + 24] >>> 8
+                | in[inpos + 25] << 17);
+        out.putInt(outpos + 80, in[inpos + 25] >>> 15
+                | in[inpos + 26] << 10);
+        out.putInt(outpos + 84, in[inpos + 26] >>> 22
+                | in[inpos + 27] << 3
+                | in[inpos + 28] << 28);
+        out.putInt(outpos + 88, in[inpos + 28] >>> 4
+                | in[inpos + 29] << 21);
+        out.putInt(outpos + 92, in[inpos + 29] >>> 11
+                | in[inpos + 30] << 14);
+        out.putInt(outpos + 96, in[inpos + 30] >>> 18
+                | in[inpos + 31] << 7);
+    }
+
+    private static void pack26(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 26);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 6
+                | in[inpos + 2] << 20);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 12
+                | in[inpos + 3] << 14);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 18
+                | in[inpos + 4] << 8);
+        out.putInt(outpos + 16, in[inpos + 4] >>> 24
+                | in[inpos + 5] << 2
+                | in[inpos + 6] << 28);
+        out.putInt(outpos + 20, in[inpos + 6] >>> 4
+                | in[inpos + 7] << 22);
+        out.putInt(outpos + 24, in[inpos + 7] >>> 10
+                | in[inpos + 8] << 16);
+        out.putInt(outpos + 28, in[inpos + 8] >>> 16
+                | in[inpos + 9] << 10);
+        out.putInt(outpos + 32, in[inpos + 9] >>> 22
+                | in[inpos + 10] << 4
+                | in[inpos + 11] << 30);
+        out.putInt(outpos + 36, in[inpos + 11] >>> 2
+                | in[inpos + 12] << 24);
+        out.putInt(outpos + 40, in[inpos + 12] >>> 8
+                | in[inpos + 13] << 18);
+        out.putInt(outpos + 44, in[inpos + 13] >>> 14
+                | in[inpos + 14] << 12);
+        out.putInt(outpos + 48, in[inpos + 14] >>> 20
+                | in[inpos + 15] << 6);
+        out.putInt(outpos + 52, in[inpos + 16]
+                | in[inpos + 17] << 26);
+        out.putInt(outpos + 56, in[inpos + 17] >>> 6
+                | in[inpos + 18] << 20);
+        out.putInt(outpos + 60, in[inpos + 18] >>> 12
+                | in[inpos + 19] << 14);
+        out.putInt(outpos + 64, in[inpos + 19] >>> 18
+                | in[inpos + 20] << 8);
+        out.putInt(outpos + 68, in[inpos + 20] >>> 24
+                | in[inpos + 21] << 2
+                | in[inpos + 22] << 28);
+        out.putInt(outpos + 72, in[inpos + 22] >>> 4
+                | in[inpos + 23] << 22);
+        out.putInt(outpos + 76, in[inpos + 23] >>> 10
+                | in[inpos + 24] << 16);
+        out.putInt(outpos + 80, in[inpos + 24] >>> 16
+                | in[inpos + 25] << 10);
+        out.putInt(outpos + 84, in[inpos + 25] >>> 22
+                | in[inpos + 26] << 4
+                | in[inpos + 27] << 30);
+        out.putInt(outpos + 88, in[inpos + 27] >>> 2
+                | in[inpos + 28] << 24);
+        out.putInt(outpos + 92, in[inpos + 28] >>> 8
+                | in[inpos + 29] << 18);
+        out.putInt(outpos + 96, in[inpos + 29] >>> 14
+                | in[inpos + 30] << 12);
+        out.putInt(outpos + 100, in[inpos + 30] >>> 20
+                | in[inpos + 31] << 6);
+    }
+
+    private static void pack27(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 27);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 5
+                | in[inpos + 2] << 22);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 10
+                | in[inpos + 3] << 17);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 15
+                | in[inpos + 4] << 12);
+        out.putInt(outpos + 16, in[inpos + 4] >>> 20
+                | in[inpos + 5] << 7);
+        out.putInt(outpos + 20, in[inpos + 5] >>> 25
+                | in[inpos + 6] << 2
+                | in[inpos + 7] << 29);
+        out.putInt(outpos + 24, in[inpos + 7] >>> 3
+                | in[inpos + 8] << 24);
+        out.putInt(outpos + 28, in[inpos + 8] >>> 8
+                | in[inpos + 9] << 19);
+        out.putInt(outpos + 32, in[inpos + 9] >>> 13
+                | in[inpos + 10] << 14);
+        out.putInt(outpos + 36, in[inpos + 10] >>> 18
+                | in[inpos + 11] << 9);
+        out.putInt(outpos + 40, in[inpos + 11] >>> 23
+                | in[inpos + 12] << 4
+                | in[inpos + 13] << 31);
+        out.putInt(outpos + 44, in[inpos + 13] >>> 1
+                | in[inpos + 14] << 26);
+        out.putInt(outpos + 48, in[inpos + 14] >>> 6
+                | in[inpos + 15] << 21);
+        out.putInt(outpos + 52, in[inpos + 15] >>> 11
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 56, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 11);
+        out.putInt(outpos + 60, in[inpos + 17] >>> 21
+                | in[inpos + 18] << 6);
+        out.putInt(outpos + 64, in[inpos + 18] >>> 26
+                | in[inpos + 19] << 1
+                | in[inpos + 20] << 28);
+        out.putInt(outpos + 68, in[inpos + 20] >>> 4
+                | in[inpos + 21] << 23);
+        out.putInt(outpos + 72, in[inpos + 21] >>> 9
+                | in[inpos + 22] << 18);
+        out.putInt(outpos + 76, in[inpos + 22] >>> 14
+                | in[inpos + 23] << 13);
+        out.putInt(outpos + 80, in[inpos + 23] >>> 19
+                | in[inpos + 24] << 8);
+        out.putInt(outpos + 84, in[inpos + 24] >>> 24
+                | in[inpos + 25] << 3
+                | in[inpos + 26] << 30);
+        out.putInt(outpos + 88, in[inpos + 26] >>> 2
+                | in[inpos + 27] << 25);
+        out.putInt(outpos + 92, in[inpos + 27] >>> 7
+                | in[inpos + 28] << 20);
+        out.putInt(outpos + 96, in[inpos + 28] >>> 12
+                | in[inpos + 29] << 15);
+        out.putInt(outpos + 100, in[inpos + 29] >>> 17
+                | in[inpos + 30] << 10);
+        out.putInt(outpos + 104, in[inpos + 30] >>> 22
+                | in[inpos + 31] << 5);
+    }
+
+    private static void pack28(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 28);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 4
+                | in[inpos + 2] << 24);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 8
+                | in[inpos + 3] << 20);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 12
+                | in[inpos + 4] << 16);
+        out.putInt(outpos + 16, in[inpos + 4] >>> 16
+                | in[inpos + 5] << 12);
+        out.putInt(outpos + 20, in[inpos + 5] >>> 20
+                | in[inpos + 6] << 8);
+        out.putInt(outpos + 24, in[inpos + 6] >>> 24
+                | in[inpos + 7] << 4);
+        out.putInt(outpos + 28, in[inpos + 8]
+                | in[inpos + 9] << 28);
+        out.putInt(outpos + 32, in[inpos + 9] >>> 4
+                | in[inpos + 10] << 24);
+        out.putInt(outpos + 36, in[inpos + 10] >>> 8
+                | in[inpos + 11] << 20);
+        out.putInt(outpos + 40, in[inpos + 11] >>> 12
+                | in[inpos + 12] << 16);
+        out.putInt(outpos + 44, in[inpos + 12] >>> 16
+                | in[inpos + 13] << 12);
+        out.putInt(outpos + 48, in[inpos + 13] >>> 20
+                | in[inpos + 14] << 8);
+        out.putInt(outpos + 52, in[inpos + 14] >>> 24
+                | in[inpos + 15] << 4);
+        out.putInt(outpos + 56, in[inpos + 16]
+                | in[inpos + 17] << 28);
+        out.putInt(outpos + 60, in[inpos + 17] >>> 4
+                | in[inpos + 18] << 24);
+        out.putInt(outpos + 64, in[inpos + 18] >>> 8
+                | in[inpos + 19] << 20);
+        out.putInt(outpos + 68, in[inpos + 19] >>> 12
+                | in[inpos + 20] << 16);
+        out.putInt(outpos + 72, in[inpos + 20] >>> 16
+                | in[inpos + 21] << 12);
+        out.putInt(outpos + 76, in[inpos + 21] >>> 20
+                | in[inpos + 22] << 8);
+        out.putInt(outpos + 80, in[inpos + 22] >>> 24
+                | in[inpos + 23] << 4);
+        out.putInt(outpos + 84, in[inpos + 24]
+                | in[inpos + 25] << 28);
+        out.putInt(outpos + 88, in[inpos + 25] >>> 4
+                | in[inpos + 26] << 24);
+        out.putInt(outpos + 92, in[inpos + 26] >>> 8
+                | in[inpos + 27] << 20);
+        out.putInt(outpos + 96, in[inpos + 27] >>> 12
+                | in[inpos + 28] << 16);
+        out.putInt(outpos + 100, in[inpos + 28] >>> 16
+                | in[inpos + 29] << 12);
+        out.putInt(outpos + 104, in[inpos + 29] >>> 20
+                | in[inpos + 30] << 8);
+        out.putInt(outpos + 108, in[inpos + 30] >>> 24
+                | in[inpos + 31] << 4);
+    }
+
+    private static void pack29(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 29);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 3
+                | in[inpos + 2] << 26);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 6
+                | in[inpos + 3] << 23);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 9
+                | in[inpos + 4] << 20);
+        out.putInt(outpos + 16, in[inpos + 4] >>> 12
+                | in[inpos + 5] << 17);
+        out.putInt(outpos + 20, in[inpos + 5] >>> 15
+                | in[inpos + 6] << 14);
+        out.putInt(outpos + 24, in[inpos + 6] >>> 18
+                | in[inpos + 7] << 11);
+        out.putInt(outpos + 28, in[inpos + 7] >>> 21
+                | in[inpos + 8] << 8);
+        out.putInt(outpos + 32, in[inpos + 8] >>> 24
+                | in[inpos + 9] << 5);
+        out.putInt(outpos + 36, in[inpos + 9] >>> 27
+                | in[inpos + 10] << 2
+                | in[inpos + 11] << 31);
+        out.putInt(outpos + 40, in[inpos + 11] >>> 1
+                | in[inpos + 12] << 28);
+        out.putInt(outpos + 44, in[inpos + 12] >>> 4
+                | in[inpos + 13] << 25);
+        out.putInt(outpos + 48, in[inpos + 13] >>> 7
+                | in[inpos + 14] << 22);
+        out.putInt(outpos + 52, in[inpos + 14] >>> 10
+                | in[inpos + 15] << 19);
+        out.putInt(outpos + 56, in[inpos + 15] >>> 13
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 60, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 13);
+        out.putInt(outpos + 64, in[inpos + 17] >>> 19
+                | in[inpos + 18] << 10);
+        out.putInt(outpos + 68, in[inpos + 18] >>> 22
+                | in[inpos + 19] << 7);
+        out.putInt(outpos + 72, in[inpos + 19] >>> 25
+                | in[inpos + 20] << 4);
+        out.putInt(outpos + 76, in[inpos + 20] >>> 28
+                | in[inpos + 21] << 1
+                | in[inpos + 22] << 30);
+        out.putInt(outpos + 80, in[inpos + 22] >>> 2
+                | in[inpos + 23] << 27);
+        out.putInt(outpos + 84, in[inpos + 23] >>> 5
+                | in[inpos + 24] << 24);
+        out.putInt(outpos + 88, in[inpos + 24] >>> 8
+                | in[inpos + 25] << 21);
+        out.putInt(outpos + 92, in[inpos + 25] >>> 11
+                | in[inpos + 26] << 18);
+        out.putInt(outpos + 96, in[inpos + 26] >>> 14
+                | in[inpos + 27] << 15);
+        out.putInt(outpos + 100, in[inpos + 27] >>> 17
+                | in[inpos + 28] << 12);
+        out.putInt(outpos + 104, in[inpos + 28] >>> 20
+                | in[inpos + 29] << 9);
+        out.putInt(outpos + 108, in[inpos + 29] >>> 23
+                | in[inpos + 30] << 6);
+        out.putInt(outpos + 112, in[inpos + 30] >>> 26
+                | in[inpos + 31] << 3);
+    }
+
+    private static void pack30(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 30);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 2
+                | in[inpos + 2] << 28);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 4
+                | in[inpos + 3] << 26);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 6
+                | in[inpos + 4] << 24);
+        out.putInt(outpos + 16, in[inpos + 4] >>> 8
+                | in[inpos + 5] << 22);
+        out.putInt(outpos + 20, in[inpos + 5] >>> 10
+                | in[inpos + 6] << 20);
+        out.putInt(outpos + 24, in[inpos + 6] >>> 12
+                | in[inpos + 7] << 18);
+        out.putInt(outpos + 28, in[inpos + 7] >>> 14
+                | in[inpos + 8] << 16);
+        out.putInt(outpos + 32, in[inpos + 8] >>> 16
+                | in[inpos + 9] << 14);
+        out.putInt(outpos + 36, in[inpos + 9] >>> 18
+                | in[inpos + 10] << 12);
+        out.putInt(outpos + 40, in[inpos + 10] >>> 20
+                | in[inpos + 11] << 10);
+        out.putInt(outpos + 44, in[inpos + 11] >>> 22
+                | in[inpos + 12] << 8);
+        out.putInt(outpos + 48, in[inpos + 12] >>> 24
+                | in[inpos + 13] << 6);
+        out.putInt(outpos + 52, in[inpos + 13] >>> 26
+                | in[inpos + 14] << 4);
+        out.putInt(outpos + 56, in[inpos + 14] >>> 28
+                | in[inpos + 15] << 2);
+        out.putInt(outpos + 60, in[inpos + 16]
+                | in[inpos + 17] << 30);
+        out.putInt(outpos + 64, in[inpos + 17] >>> 2
+                | in[inpos + 18] << 28);
+        out.putInt(outpos + 68, in[inpos + 18] >>> 4
+                | in[inpos + 19] << 26);
+        out.putInt(outpos + 72, in[inpos + 19] >>> 6
+                | in[inpos + 20] << 24);
+        out.putInt(outpos + 76, in[inpos + 20] >>> 8
+                | in[inpos + 21] << 22);
+        out.putInt(outpos + 80, in[inpos + 21] >>> 10
+                | in[inpos + 22] << 20);
+        out.putInt(outpos + 84, in[inpos + 22] >>> 12
+                | in[inpos + 23] << 18);
+        out.putInt(outpos + 88, in[inpos + 23] >>> 14
+                | in[inpos + 24] << 16);
+        out.putInt(outpos + 92, in[inpos + 24] >>> 16
+                | in[inpos + 25] << 14);
+        out.putInt(outpos + 96, in[inpos + 25] >>> 18
+                | in[inpos + 26] << 12);
+        out.putInt(outpos + 100, in[inpos + 26] >>> 20
+                | in[inpos + 27] << 10);
+        out.putInt(outpos + 104, in[inpos + 27] >>> 22
+                | in[inpos + 28] << 8);
+        out.putInt(outpos + 108, in[inpos + 28] >>> 24
+                | in[inpos + 29] << 6);
+        out.putInt(outpos + 112, in[inpos + 29] >>> 26
+                | in[inpos + 30] << 4);
+        out.putInt(outpos + 116, in[inpos + 30] >>> 28
+                | in[inpos + 31] << 2);
+    }
+
+    private static void pack31(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]
+                | in[inpos + 1] << 31);
+        out.putInt(outpos + 4, in[inpos + 1] >>> 1
+                | in[inpos + 2] << 30);
+        out.putInt(outpos + 8, in[inpos + 2] >>> 2
+                | in[inpos + 3] << 29);
+        out.putInt(outpos + 12, in[inpos + 3] >>> 3
+                | in[inpos + 4] << 28);
+        out.putInt(outpos + 16, in[inpos + 4] >>> 4
+                | in[inpos + 5] << 27);
+        out.putInt(outpos + 20, in[inpos + 5] >>> 5
+                | in[inpos + 6] << 26);
+        out.putInt(outpos + 24, in[inpos + 6] >>> 6
+                | in[inpos + 7] << 25);
+        out.putInt(outpos + 28, in[inpos + 7] >>> 7
+                | in[inpos + 8] << 24);
+        out.putInt(outpos + 32, in[inpos + 8] >>> 8
+                | in[inpos + 9] << 23);
+        out.putInt(outpos + 36, in[inpos + 9] >>> 9
+                | in[inpos + 10] << 22);
+        out.putInt(outpos + 40, in[inpos + 10] >>> 10
+                | in[inpos + 11] << 21);
+        out.putInt(outpos + 44, in[inpos + 11] >>> 11
+                | in[inpos + 12] << 20);
+        out.putInt(outpos + 48, in[inpos + 12] >>> 12
+                | in[inpos + 13] << 19);
+        out.putInt(outpos + 52, in[inpos + 13] >>> 13
+                | in[inpos + 14] << 18);
+        out.putInt(outpos + 56, in[inpos + 14] >>> 14
+                | in[inpos + 15] << 17);
+        out.putInt(outpos + 60, in[inpos + 15] >>> 15
+                | in[inpos + 16] << 16);
+        out.putInt(outpos + 64, in[inpos + 16] >>> 16
+                | in[inpos + 17] << 15);
+        out.putInt(outpos + 68, in[inpos + 17] >>> 17
+                | in[inpos + 18] << 14);
+        out.putInt(outpos + 72, in[inpos + 18] >>> 18
+                | in[inpos + 19] << 13);
+        out.putInt(outpos + 76, in[inpos + 19] >>> 19
+                | in[inpos + 20] << 12);
+        out.putInt(outpos + 80, in[inpos + 20] >>> 20
+                | in[inpos + 21] << 11);
+        out.putInt(outpos + 84, in[inpos + 21] >>> 21
+                | in[inpos + 22] << 10);
+        out.putInt(outpos + 88, in[inpos + 22] >>> 22
+                | in[inpos + 23] << 9);
+        out.putInt(outpos + 92, in[inpos + 23] >>> 23
+                | in[inpos + 24] << 8);
+        out.putInt(outpos + 96, in[inpos + 24] >>> 24
+                | in[inpos + 25] << 7);
+        out.putInt(outpos + 100, in[inpos + 25] >>> 25
+                | in[inpos + 26] << 6);
+        out.putInt(outpos + 104, in[inpos + 26] >>> 26
+                | in[inpos + 27] << 5);
+        out.putInt(outpos + 108, in[inpos + 27] >>> 27
+                | in[inpos + 28] << 4);
+        out.putInt(outpos + 112, in[inpos + 28] >>> 28
+                | in[inpos + 29] << 3);
+        out.putInt(outpos + 116, in[inpos + 29] >>> 29
+                | in[inpos + 30] << 2);
+        out.putInt(outpos + 120, in[inpos + 30] >>> 30
+                | in[inpos + 31] << 1);
+    }
+
+    private static void pack32(int[] in, int inpos, ByteBuffer out, int outpos) {
+        out.putInt(outpos + 0, in[inpos + 0]);
+        out.putInt(outpos + 4, in[inpos + 1]);
+        out.putInt(outpos + 8, in[inpos + 2]);
+        out.putInt(outpos + 12, in[inpos + 3]);
+        out.putInt(outpos + 16, in[inpos + 4]);
+        out.putInt(outpos + 20, in[inpos + 5]);
+        out.putInt(outpos + 24, in[inpos + 6]);
+        out.putInt(outpos + 28, in[inpos + 7]);
+        out.putInt(outpos + 32, in[inpos + 8]);
+        out.putInt(outpos + 36, in[inpos + 9]);
+        out.putInt(outpos + 40, in[inpos + 10]);
+        out.putInt(outpos + 44, in[inpos + 11]);
+        out.putInt(outpos + 48, in[inpos + 12]);
+        out.putInt(outpos + 52, in[inpos + 13]);
+        out.putInt(outpos + 56, in[inpos + 14]);
+        out.putInt(outpos + 60, in[inpos + 15]);
+        out.putInt(outpos + 64, in[inpos + 16]);
+        out.putInt(outpos + 68, in[inpos + 17]);
+        out.putInt(outpos + 72, in[inpos + 18]);
+        out.putInt(outpos + 76, in[inpos + 19]);
+        out.putInt(outpos + 80, in[inpos + 20]);
+        out.putInt(outpos + 84, in[inpos + 21]);
+        out.putInt(outpos + 88, in[inpos + 22]);
+        out.putInt(outpos + 92, in[inpos + 23]);
+        out.putInt(outpos + 96, in[inpos + 24]);
+        out.putInt(outpos + 100, in[inpos + 25]);
+        out.putInt(outpos + 104, in[inpos + 26]);
+        out.putInt(outpos + 108, in[inpos + 27]);
+        out.putInt(outpos + 112, in[inpos + 28]);
+        out.putInt(outpos + 116, in[inpos + 29]);
+        out.putInt(outpos + 120, in[inpos + 30]);
+        out.putInt(outpos + 124, in[inpos + 31]);
+    }
+
+    private static void unpack1(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        out[outpos + 0] = w0 & 1;
+        out[outpos + 1] = (w0 >>> 1) & 1;
+        out[outpos + 2] = (w0 >>> 2) & 1;
+        out[outpos + 3] = (w0 >>> 3) & 1;
+        out[outpos + 4] = (w0 >>> 4) & 1;
+        out[outpos + 5] = (w0 >>> 5) & 1;
+        out[outpos + 6] = (w0 >>> 6) & 1;
+        out[outpos + 7] = (w0 >>> 7) & 1;
+        out[outpos + 8] = (w0 >>> 8) & 1;
+        out[outpos + 9] = (w0 >>> 9) & 1;
+        out[outpos + 10] = (w0 >>> 10) & 1;
+        out[outpos + 11] = (w0 >>> 11) & 1;
+        out[outpos + 12] = (w0 >>> 12) & 1;
+        out[outpos + 13] = (w0 >>> 13) & 1;
+        out[outpos + 14] = (w0 >>> 14) & 1;
+        out[outpos + 15] = (w0 >>> 15) & 1;
+        out[outpos + 16] = (w0 >>> 16) & 1;
+        out[outpos + 17] = (w0 >>> 17) & 1;
+        out[outpos + 18] = (w0 >>> 18) & 1;
+        out[outpos + 19] = (w0 >>> 19) & 1;
+        out[outpos + 20] = (w0 >>> 20) & 1;
+        out[outpos + 21] = (w0 >>> 21) & 1;
+        out[outpos + 22] = (w0 >>> 22) & 1;
+        out[outpos + 23] = (w0 >>> 23) & 1;
+        out[outpos + 24] = (w0 >>> 24) & 1;
+        out[outpos + 25] = (w0 >>> 25) & 1;
+        out[outpos + 26] = (w0 >>> 26) & 1;
+        out[outpos + 27] = (w0 >>> 27) & 1;
+        out[outpos + 28] = (w0 >>> 28) & 1;
+        out[outpos + 29] = (w0 >>> 29) & 1;
+        out[outpos + 30] = (w0 >>> 30) & 1;
+        out[outpos + 31] = w0 >>> 31;
+    }
+
+    private static void unpack2(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        out[outpos + 0] = w0 & 3;
+        out[outpos + 1] = (w0 >>> 2) & 3;
+        out[outpos + 2] = (w0 >>> 4) & 3;
+        out[outpos + 3] = (w0 >>> 6) & 3;
+        out[outpos + 4] = (w0 >>> 8) & 3;
+        out[outpos + 5] = (w0 >>> 10) & 3;
+        out[outpos + 6] = (w0 >>> 12) & 3;
+        out[outpos + 7] = (w0 >>> 14) & 3;
+        out[outpos + 8] = (w0 >>> 16) & 3;
+        out[outpos + 9] = (w0 >>> 18) & 3;
+        out[outpos + 10] = (w0 >>> 20) & 3;
+        out[outpos + 11] = (w0 >>> 22) & 3;
+        out[outpos + 12] = (w0 >>> 24) & 3;
+        out[outpos + 13] = (w0 >>> 26) & 3;
+        out[outpos + 14] = (w0 >>> 28) & 3;
+        out[outpos + 15] = w0 >>> 30;
+        out[outpos + 16] = w1 & 3;
+        out[outpos + 17] = (w1 >>> 2) & 3;
+        out[outpos + 18] = (w1 >>> 4) & 3;
+        out[outpos + 19] = (w1 >>> 6) & 3;
+        out[outpos + 20] = (w1 >>> 8) & 3;
+        out[outpos + 21] = (w1 >>> 10) & 3;
+        out[outpos + 22] = (w1 >>> 12) & 3;
+        out[outpos + 23] = (w1 >>> 14) & 3;
+        out[outpos + 24] = (w1 >>> 16) & 3;
+        out[outpos + 25] = (w1 >>> 18) & 3;
+        out[outpos + 26] = (w1 >>> 20) & 3;
+        out[outpos + 27] = (w1 >>> 22) & 3;
+        out[outpos + 28] = (w1 >>> 24) & 3;
+        out[outpos + 29] = (w1 >>> 26) & 3;
+        out[outpos + 30] = (w1 >>> 28) & 3;
+        out[outpos + 31] = w1 >>> 30;
+    }
+
+    private static void unpack3(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        out[outpos + 0] = w0 & 7;
+        out[outpos + 1] = (w0 >>> 3) & 7;
+        out[outpos + 2] = (w0 >>> 6) & 7;
+        out[outpos + 3] = (w0 >>> 9) & 7;
+        out[outpos + 4] = (w0 >>> 12) & 7;
+        out[outpos + 5] = (w0 >>> 15) & 7;
+        out[outpos + 6] = (w0 >>> 18) & 7;
+        out[outpos + 7] = (w0 >>> 21) & 7;
+        out[outpos + 8] = (w0 >>> 24) & 7;
+        out[outpos + 9] = (w0 >>> 27) & 7;
+        out[outpos + 10] = ((w0 >>> 30) | (w1 << 2)) & 7;
+        out[outpos + 11] = (w1 >>> 1) & 7;
+        out[outpos + 12] = (w1 >>> 4) & 7;
+        out[outpos + 13] = (w1 >>> 7) & 7;
+        out[outpos + 14] = (w1 >>> 10) & 7;
+        out[outpos + 15] = (w1 >>> 13) & 7;
+        out[outpos + 16] = (w1 >>> 16) & 7;
+        out[outpos + 17] = (w1 >>> 19) & 7;
+        out[outpos + 18] = (w1 >>> 22) & 7;
+        out[outpos + 19] = (w1 >>> 25) & 7;
+        out[outpos + 20] = (w1 >>> 28) & 7;
+        out[outpos + 21] = ((w1 >>> 31) | (w2 << 1)) & 7;
+        out[outpos + 22] = (w2 >>> 2) & 7;
+        out[outpos + 23] = (w2 >>> 5) & 7;
+        out[outpos + 24] = (w2 >>> 8) & 7;
+        out[outpos + 25] = (w2 >>> 11) & 7;
+        out[outpos + 26] = (w2 >>> 14) & 7;
+        out[outpos + 27] = (w2 >>> 17) & 7;
+        out[outpos + 28] = (w2 >>> 20) & 7;
+        out[outpos + 29] = (w2 >>> 23) & 7;
+        out[outpos + 30] = (w2 >>> 26) & 7;
+        out[outpos + 31] = w2 >>> 29;
+    }
+
+    private static void unpack4(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        out[outpos + 0] = w0 & 15;
+        out[outpos + 1] = (w0 >>> 4) & 15;
+        out[outpos + 2] = (w0 >>> 8) & 15;
+        out[outpos + 3] = (w0 >>> 12) & 15;
+        out[outpos + 4] = (w0 >>> 16) & 15;
+        out[outpos + 5] = (w0 >>> 20) & 15;
+        out[outpos + 6] = (w0 >>> 24) & 15;
+        out[outpos + 7] = w0 >>> 28;
+        out[outpos + 8] = w1 & 15;
+        out[outpos + 9] = (w1 >>> 4) & 15;
+        out[outpos + 10] = (w1 >>> 8) & 15;
+        out[outpos + 11] = (w1 >>> 12) & 15;
+        out[outpos + 12] = (w1 >>> 16) & 15;
+        out[outpos + 13] = (w1 >>> 20) & 15;
+        out[outpos + 14] = (w1 >>> 24) & 15;
+        out[outpos + 15] = w1 >>> 28;
+        out[outpos + 16] = w2 & 15;
+        out[outpos + 17] = (w2 >>> 4) & 15;
+        out[outpos + 18] = (w2 >>> 8) & 15;
+        out[outpos + 19] = (w2 >>> 12) & 15;
+        out[outpos + 20] = (w2 >>> 16) & 15;
+        out[outpos + 21] = (w2 >>> 20) & 15;
+        out[outpos + 22] = (w2 >>> 24) & 15;
+        out[outpos + 23] = w2 >>> 28;
+        out[outpos + 24] = w3 & 15;
+        out[outpos + 25] = (w3 >>> 4) & 15;
+        out[outpos + 26] = (w3 >>> 8) & 15;
+        out[outpos + 27] = (w3 >>> 12) & 15;
+        out[outpos + 28] = (w3 >>> 16) & 15;
+        out[outpos + 29] = (w3 >>> 20) & 15;
+        out[outpos + 30] = (w3 >>> 24) & 15;
+        out[outpos + 31] = w3 >>> 28;
+    }
+
+    private static void unpack5(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        out[outpos + 0] = w0 & 31;
+        out[outpos + 1] = (w0 >>> 5) & 31;
+        out[outpos + 2] = (w0 >>> 10) & 31;
+        out[outpos + 3] = (w0 >>> 15) & 31;
+        out[outpos + 4] = (w0 >>> 20) & 31;
+        out[outpos + 5] = (w0 >>> 25) & 31;
+        out[outpos + 6] = ((w0 >>> 30) | (w1 << 2)) & 31;
+        out[outpos + 7] = (w1 >>> 3) & 31;
+        out[outpos + 8] = (w1 >>> 8) & 31;
+        out[outpos + 9] = (w1 >>> 13) & 31;
+        out[outpos + 10] = (w1 >>> 18) & 31;
+        out[outpos + 11] = (w1 >>> 23) & 31;
+        out[outpos + 12] = ((w1 >>> 28) | (w2 << 4)) & 31;
+        out[outpos + 13] = (w2 >>> 1) & 31;
+        out[outpos + 14] = (w2 >>> 6) & 31;
+        out[outpos + 15] = (w2 >>> 11) & 31;
+        out[outpos + 16] = (w2 >>> 16) & 31;
+        out[outpos + 17] = (w2 >>> 21) & 31;
+        out[outpos + 18] = (w2 >>> 26) & 31;
+        out[outpos + 19] = ((w2 >>> 31) | (w3 << 1)) & 31;
+        out[outpos + 20] = (w3 >>> 4) & 31;
+        out[outpos + 21] = (w3 >>> 9) & 31;
+        out[outpos + 22] = (w3 >>> 14) & 31;
+        out[outpos + 23] = (w3 >>> 19) & 31;
+        out[outpos + 24] = (w3 >>> 24) & 31;
+        out[outpos + 25] = ((w3 >>> 29) | (w4 << 3)) & 31;
+        out[outpos + 26] = (w4 >>> 2) & 31;
+        out[outpos + 27] = (w4 >>> 7) & 31;
+        out[outpos + 28] = (w4 >>> 12) & 31;
+        out[outpos + 29] = (w4 >>> 17) & 31;
+        out[outpos + 30] = (w4 >>> 22) & 31;
+        out[outpos + 31] = w4 >>> 27;
+    }
+
+    private static void unpack6(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        out[outpos + 0] = w0 & 63;
+        out[outpos + 1] = (w0 >>> 6) & 63;
+        out[outpos + 2] = (w0 >>> 12) & 63;
+        out[outpos + 3] = (w0 >>> 18) & 63;
+        out[outpos + 4] = (w0 >>> 24) & 63;
+        out[outpos + 5] = ((w0 >>> 30) | (w1 << 2)) & 63;
+        out[outpos + 6] = (w1 >>> 4) & 63;
+        out[outpos + 7] = (w1 >>> 10) & 63;
+        out[outpos + 8] = (w1 >>> 16) & 63;
+        out[outpos + 9] = (w1 >>> 22) & 63;
+        out[outpos + 10] = ((w1 >>> 28) | (w2 << 4)) & 63;
+        out[outpos + 11] = (w2 >>> 2) & 63;
+        out[outpos + 12] = (w2 >>> 8) & 63;
+        out[outpos + 13] = (w2 >>> 14) & 63;
+        out[outpos + 14] = (w2 >>> 20) & 63;
+        out[outpos + 15] = w2 >>> 26;
+        out[outpos + 16] = w3 & 63;
+        out[outpos + 17] = (w3 >>> 6) & 63;
+        out[outpos + 18] = (w3 >>> 12) & 63;
+        out[outpos + 19] = (w3 >>> 18) & 63;
+        out[outpos + 20] = (w3 >>> 24) & 63;
+        out[outpos + 21] = ((w3 >>> 30) | (w4 << 2)) & 63;
+        out[outpos + 22] = (w4 >>> 4) & 63;
+        out[outpos + 23] = (w4 >>> 10) & 63;
+        out[outpos + 24] = (w4 >>> 16) & 63;
+        out[outpos + 25] = (w4 >>> 22) & 63;
+        out[outpos + 26] = ((w4 >>> 28) | (w5 << 4)) & 63;
+        out[outpos + 27] = (w5 >>> 2) & 63;
+        out[outpos + 28] = (w5 >>> 8) & 63;
+        out[outpos + 29] = (w5 >>> 14) & 63;
+        out[outpos + 30] = (w5 >>> 20) & 63;
+        out[outpos + 31] = w5 >>> 26;
+    }
+
+    private static void unpack7(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        out[outpos + 0] = w0 & 127;
+        out[outpos + 1] = (w0 >>> 7) & 127;
+        out[outpos + 2] = (w0 >>> 14) & 127;
+        out[outpos + 3] = (w0 >>> 21) & 127;
+        out[outpos + 4] = ((w0 >>> 28) | (w1 << 4)) & 127;
+        out[outpos + 5] = (w1 >>> 3) & 127;
+        out[outpos + 6] = (w1 >>> 10) & 127;
+        out[outpos + 7] = (w1 >>> 17) & 127;
+        out[outpos + 8] = (w1 >>> 24) & 127;
+        out[outpos + 9] = ((w1 >>> 31) | (w2 << 1)) & 127;
+        out[outpos + 10] = (w2 >>> 6) & 127;
+        out[outpos + 11] = (w2 >>> 13) & 127;
+        out[outpos + 12] = (w2 >>> 20) & 127;
+        out[outpos + 13] = ((w2 >>> 27) | (w3 << 5)) & 127;
+        out[outpos + 14] = (w3 >>> 2) & 127;
+        out[outpos + 15] = (w3 >>> 9) & 127;
+        out[outpos + 16] = (w3 >>> 16) & 127;
+        out[outpos + 17] = (w3 >>> 23) & 127;
+        out[outpos + 18] = ((w3 >>> 30) | (w4 << 2)) & 127;
+        out[outpos + 19] = (w4 >>> 5) & 127;
+        out[outpos + 20] = (w4 >>> 12) & 127;
+        out[outpos + 21] = (w4 >>> 19) & 127;
+        out[outpos + 22] = ((w4 >>> 26) | (w5 << 6)) & 127;
+        out[outpos + 23] = (w5 >>> 1) & 127;
+        out[outpos + 24] = (w5 >>> 8) & 127;
+        out[outpos + 25] = (w5 >>> 15) & 127;
+        out[outpos + 26] = (w5 >>> 22) & 127;
+        out[outpos + 27] = ((w5 >>> 29) | (w6 << 3)) & 127;
+        out[outpos + 28] = (w6 >>> 4) & 127;
+        out[outpos + 29] = (w6 >>> 11) & 127;
+        out[outpos + 30] = (w6 >>> 18) & 127;
+        out[outpos + 31] = w6 >>> 25;
+    }
+
+    private static void unpack8(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        out[outpos + 0] = w0 & 255;
+        out[outpos + 1] = (w0 >>> 8) & 255;
+        out[outpos + 2] = (w0 >>> 16) & 255;
+        out[outpos + 3] = w0 >>> 24;
+        out[outpos + 4] = w1 & 255;
+        out[outpos + 5] = (w1 >>> 8) & 255;
+        out[outpos + 6] = (w1 >>> 16) & 255;
+        out[outpos + 7] = w1 >>> 24;
+        out[outpos + 8] = w2 & 255;
+        out[outpos + 9] = (w2 >>> 8) & 255;
+        out[outpos + 10] = (w2 >>> 16) & 255;
+        out[outpos + 11] = w2 >>> 24;
+        out[outpos + 12] = w3 & 255;
+        out[outpos + 13] = (w3 >>> 8) & 255;
+        out[outpos + 14] = (w3 >>> 16) & 255;
+        out[outpos + 15] = w3 >>> 24;
+        out[outpos + 16] = w4 & 255;
+        out[outpos + 17] = (w4 >>> 8) & 255;
+        out[outpos + 18] = (w4 >>> 16) & 255;
+        out[outpos + 19] = w4 >>> 24;
+        out[outpos + 20] = w5 & 255;
+        out[outpos + 21] = (w5 >>> 8) & 255;
+        out[outpos + 22] = (w5 >>> 16) & 255;
+        out[outpos + 23] = w5 >>> 24;
+        out[outpos + 24] = w6 & 255;
+        out[outpos + 25] = (w6 >>> 8) & 255;
+        out[outpos + 26] = (w6 >>> 16) & 255;
+        out[outpos + 27] = w6 >>> 24;
+        out[outpos + 28] = w7 & 255;
+        out[outpos + 29] = (w7 >>> 8) & 255;
+        out[outpos + 30] = (w7 >>> 16) & 255;
+        out[outpos + 31] = w7 >>> 24;
+    }
+
+    private static void unpack9(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        out[outpos + 0] = w0 & 511;
+        out[outpos + 1] = (w0 >>> 9) & 511;
+        out[outpos + 2] = (w0 >>> 18) & 511;
+        out[outpos + 3] = ((w0 >>> 27) | (w1 << 5)) & 511;
+        out[outpos + 4] = (w1 >>> 4) & 511;
+        out[outpos + 5] = (w1 >>> 13) & 511;
+        out[outpos + 6] = (w1 >>> 22) & 511;
+        out[outpos + 7] = ((w1 >>> 31) | (w2 << 1)) & 511;
+        out[outpos + 8] = (w2 >>> 8) & 511;
+        out[outpos + 9] = (w2 >>> 17) & 511;
+        out[outpos + 10] = ((w2 >>> 26) | (w3 << 6)) & 511;
+        out[outpos + 11] = (w3 >>> 3) & 511;
+        out[outpos + 12] = (w3 >>> 12) & 511;
+        out[outpos + 13] = (w3 >>> 21) & 511;
+        out[outpos + 14] = ((w3 >>> 30) | (w4 << 2)) & 511;
+        out[outpos + 15] = (w4 >>> 7) & 511;
+        out[outpos + 16] = (w4 >>> 16) & 511;
+        out[outpos + 17] = ((w4 >>> 25) | (w5 << 7)) & 511;
+        out[outpos + 18] = (w5 >>> 2) & 511;
+        out[outpos + 19] = (w5 >>> 11) & 511;
+        out[outpos + 20] = (w5 >>> 20) & 511;
+        out[outpos + 21] = ((w5 >>> 29) | (w6 << 3)) & 511;
+        out[outpos + 22] = (w6 >>> 6) & 511;
+        out[outpos + 23] = (w6 >>> 15) & 511;
+        out[outpos + 24] = ((w6 >>> 24) | (w7 << 8)) & 511;
+        out[outpos + 25] = (w7 >>> 1) & 511;
+        out[outpos + 26] = (w7 >>> 10) & 511;
+        out[outpos + 27] = (w7 >>> 19) & 511;
+        out[outpos + 28] = ((w7 >>> 28) | (w8 << 4)) & 511;
+        out[outpos + 29] = (w8 >>> 5) & 511;
+        out[outpos + 30] = (w8 >>> 14) & 511;
+        out[outpos + 31] = w8 >>> 23;
+    }
+
+    private static void unpack10(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        out[outpos + 0] = w0 & 1023;
+        out[outpos + 1] = (w0 >>> 10) & 1023;
+        out[outpos + 2] = (w0 >>> 20) & 1023;
+        out[outpos + 3] = ((w0 >>> 30) | (w1 << 2)) & 1023;
+        out[outpos + 4] = (w1 >>> 8) & 1023;
+        out[outpos + 5] = (w1 >>> 18) & 1023;
+        out[outpos + 6] = ((w1 >>> 28) | (w2 << 4)) & 1023;
+        out[outpos + 7] = (w2 >>> 6) & 1023;
+        out[outpos + 8] = (w2 >>> 16) & 1023;
+        out[outpos + 9] = ((w2 >>> 26) | (w3 << 6)) & 1023;
+        out[outpos + 10] = (w3 >>> 4) & 1023;
+        out[outpos + 11] = (w3 >>> 14) & 1023;
+        out[outpos + 12] = ((w3 >>> 24) | (w4 << 8)) & 1023;
+        out[outpos + 13] = (w4 >>> 2) & 1023;
+        out[outpos + 14] = (w4 >>> 12) & 1023;
+        out[outpos + 15] = w4 >>> 22;
+        out[outpos + 16] = w5 & 1023;
+        out[outpos + 17] = (w5 >>> 10) & 1023;
+        out[outpos + 18] = (w5 >>> 20) & 1023;
+        out[outpos + 19] = ((w5 >>> 30) | (w6 << 2)) & 1023;
+        out[outpos + 20] = (w6 >>> 8) & 1023;
+        out[outpos + 21] = (w6 >>> 18) & 1023;
+        out[outpos + 22] = ((w6 >>> 28) | (w7 << 4)) & 1023;
+        out[outpos + 23] = (w7 >>> 6) & 1023;
+        out[outpos + 24] = (w7 >>> 16) & 1023;
+        out[outpos + 25] = ((w7 >>> 26) | (w8 << 6)) & 1023;
+        out[outpos + 26] = (w8 >>> 4) & 1023;
+        out[outpos + 27] = (w8 >>> 14) & 1023;
+        out[outpos + 28] = ((w8 >>> 24) | (w9 << 8)) & 1023;
+        out[outpos + 29] = (w9 >>> 2) & 1023;
+        out[outpos + 30] = (w9 >>> 12) & 1023;
+        out[outpos + 31] = w9 >>> 22;
+    }
+
+    private static void unpack11(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        out[outpos + 0] = w0 & 2047;
+        out[outpos + 1] = (w0 >>> 11) & 2047;
+        out[outpos + 2] = ((w0 >>> 22) | (w1 << 10)) & 2047;
+        out[outpos + 3] = (w1 >>> 1) & 2047;
+        out[outpos + 4] = (w1 >>> 12) & 2047;
+        out[outpos + 5] = ((w1 >>> 23) | (w2 << 9)) & 2047;
+        out[outpos + 6] = (w2 >>> 2) & 2047;
+        out[outpos + 7] = (w2 >>> 13) & 2047;
+        out[outpos + 8] = ((w2 >>> 24) | (w3 << 8)) & 2047;
+        out[outpos + 9] = (w3 >>> 3) & 2047;
+        out[outpos + 10] = (w3 >>> 14) & 2047;
+        out[outpos + 11] = ((w3 >>> 25) | (w4 << 7)) & 2047;
+        out[outpos + 12] = (w4 >>> 4) & 2047;
+        out[outpos + 13] = (w4 >>> 15) & 2047;
+        out[outpos + 14] = ((w4 >>> 26) | (w5 << 6)) & 2047;
+        out[outpos + 15] = (w5 >>> 5) & 2047;
+        out[outpos + 16] = (w5 >>> 16) & 2047;
+        out[outpos + 17] = ((w5 >>> 27) | (w6 << 5)) & 2047;
+        out[outpos + 18] = (w6 >>> 6) & 2047;
+        out[outpos + 19] = (w6 >>> 17) & 2047;
+        out[outpos + 20] = ((w6 >>> 28) | (w7 << 4)) & 2047;
+        out[outpos + 21] = (w7 >>> 7) & 2047;
+        out[outpos + 22] = (w7 >>> 18) & 2047;
+        out[outpos + 23] = ((w7 >>> 29) | (w8 << 3)) & 2047;
+        out[outpos + 24] = (w8 >>> 8) & 2047;
+        out[outpos + 25] = (w8 >>> 19) & 2047;
+        out[outpos + 26] = ((w8 >>> 30) | (w9 << 2)) & 2047;
+        out[outpos + 27] = (w9 >>> 9) & 2047;
+        out[outpos + 28] = (w9 >>> 20) & 2047;
+        out[outpos + 29] = ((w9 >>> 31) | (w10 << 1)) & 2047;
+        out[outpos + 30] = (w10 >>> 10) & 2047;
+        out[outpos + 31] = w10 >>> 21;
+    }
+
+    private static void unpack12(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        out[outpos + 0] = w0 & 4095;
+        out[outpos + 1] = (w0 >>> 12) & 4095;
+        out[outpos + 2] = ((w0 >>> 24) | (w1 << 8)) & 4095;
+        out[outpos + 3] = (w1 >>> 4) & 4095;
+        out[outpos + 4] = (w1 >>> 16) & 4095;
+        out[outpos + 5] = ((w1 >>> 28) | (w2 << 4)) & 4095;
+        out[outpos + 6] = (w2 >>> 8) & 4095;
+        out[outpos + 7] = w2 >>> 20;
+        out[outpos + 8] = w3 & 4095;
+        out[outpos + 9] = (w3 >>> 12) & 4095;
+        out[outpos + 10] = ((w3 >>> 24) | (w4 << 8)) & 4095;
+        out[outpos + 11] = (w4 >>> 4) & 4095;
+        out[outpos + 12] = (w4 >>> 16) & 4095;
+        out[outpos + 13] = ((w4 >>> 28) | (w5 << 4)) & 4095;
+        out[outpos + 14] = (w5 >>> 8) & 4095;
+        out[outpos + 15] = w5 >>> 20;
+        out[outpos + 16] = w6 & 4095;
+        out[outpos + 17] = (w6 >>> 12) & 4095;
+        out[outpos + 18] = ((w6 >>> 24) | (w7 << 8)) & 4095;
+        out[outpos + 19] = (w7 >>> 4) & 4095;
+        out[outpos + 20] = (w7 >>> 16) & 4095;
+        out[outpos + 21] = ((w7 >>> 28) | (w8 << 4)) & 4095;
+        out[outpos + 22] = (w8 >>> 8) & 4095;
+        out[outpos + 23] = w8 >>> 20;
+        out[outpos + 24] = w9 & 4095;
+        out[outpos + 25] = (w9 >>> 12) & 4095;
+        out[outpos + 26] = ((w9 >>> 24) | (w10 << 8)) & 4095;
+        out[outpos + 27] = (w10 >>> 4) & 4095;
+        out[outpos + 28] = (w10 >>> 16) & 4095;
+        out[outpos + 29] = ((w10 >>> 28) | (w11 << 4)) & 4095;
+        out[outpos + 30] = (w11 >>> 8) & 4095;
+        out[outpos + 31] = w11 >>> 20;
+    }
+
+    private static void unpack13(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        out[outpos + 0] = w0 & 8191;
+        out[outpos + 1] = (w0 >>> 13) & 8191;
+        out[outpos + 2] = ((w0 >>> 26) | (w1 << 6)) & 8191;
+        out[outpos + 3] = (w1 >>> 7) & 8191;
+        out[outpos + 4] = ((w1 >>> 20) | (w2 << 12)) & 8191;
+        out[outpos + 5] = (w2 >>> 1) & 8191;
+        out[outpos + 6] = (w2 >>> 14) & 8191;
+        out[outpos + 7] = ((w2 >>> 27) | (w3 << 5)) & 8191;
+        out[outpos + 8] = (w3 >>> 8) & 8191;
+        out[outpos + 9] = ((w3 >>> 21) | (w4 << 11)) & 8191;
+        out[outpos + 10] = (w4 >>> 2) & 8191;
+        out[outpos + 11] = (w4 >>> 15) & 8191;
+        out[outpos + 12] = ((w4 >>> 28) | (w5 << 4)) & 8191;
+        out[outpos + 13] = (w5 >>> 9) & 8191;
+        out[outpos + 14] = ((w5 >>> 22) | (w6 << 10)) & 8191;
+        out[outpos + 15] = (w6 >>> 3) & 8191;
+        out[outpos + 16] = (w6 >>> 16) & 8191;
+        out[outpos + 17] = ((w6 >>> 29) | (w7 << 3)) & 8191;
+        out[outpos + 18] = (w7 >>> 10) & 8191;
+        out[outpos + 19] = ((w7 >>> 23) | (w8 << 9)) & 8191;
+        out[outpos + 20] = (w8 >>> 4) & 8191;
+        out[outpos + 21] = (w8 >>> 17) & 8191;
+        out[outpos + 22] = ((w8 >>> 30) | (w9 << 2)) & 8191;
+        out[outpos + 23] = (w9 >>> 11) & 8191;
+        out[outpos + 24] = ((w9 >>> 24) | (w10 << 8)) & 8191;
+        out[outpos + 25] = (w10 >>> 5) & 8191;
+        out[outpos + 26] = (w10 >>> 18) & 8191;
+        out[outpos + 27] = ((w10 >>> 31) | (w11 << 1)) & 8191;
+        out[outpos + 28] = (w11 >>> 12) & 8191;
+        out[outpos + 29] = ((w11 >>> 25) | (w12 << 7)) & 8191;
+        out[outpos + 30] = (w12 >>> 6) & 8191;
+        out[outpos + 31] = w12 >>> 19;
+    }
+
+    private static void unpack14(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        out[outpos + 0] = w0 & 16383;
+        out[outpos + 1] = (w0 >>> 14) & 16383;
+        out[outpos + 2] = ((w0 >>> 28) | (w1 << 4)) & 16383;
+        out[outpos + 3] = (w1 >>> 10) & 16383;
+        out[outpos + 4] = ((w1 >>> 24) | (w2 << 8)) & 16383;
+        out[outpos + 5] = (w2 >>> 6) & 16383;
+        out[outpos + 6] = ((w2 >>> 20) | (w3 << 12)) & 16383;
+        out[outpos + 7] = (w3 >>> 2) & 16383;
+        out[outpos + 8] = (w3 >>> 16) & 16383;
+        out[outpos + 9] = ((w3 >>> 30) | (w4 << 2)) & 16383;
+        out[outpos + 10] = (w4 >>> 12) & 16383;
+        out[outpos + 11] = ((w4 >>> 26) | (w5 << 6)) & 16383;
+        out[outpos + 12] = (w5 >>> 8) & 16383;
+        out[outpos + 13] = ((w5 >>> 22) | (w6 << 10)) & 16383;
+        out[outpos + 14] = (w6 >>> 4) & 16383;
+        out[outpos + 15] = w6 >>> 18;
+        out[outpos + 16] = w7 & 16383;
+        out[outpos + 17] = (w7 >>> 14) & 16383;
+        out[outpos + 18] = ((w7 >>> 28) | (w8 << 4)) & 16383;
+        out[outpos + 19] = (w8 >>> 10) & 16383;
+        out[outpos + 20] = ((w8 >>> 24) | (w9 << 8)) & 16383;
+        out[outpos + 21] = (w9 >>> 6) & 16383;
+        out[outpos + 22] = ((w9 >>> 20) | (w10 << 12)) & 16383;
+        out[outpos + 23] = (w10 >>> 2) & 16383;
+        out[outpos + 24] = (w10 >>> 16) & 16383;
+        out[outpos + 25] = ((w10 >>> 30) | (w11 << 2)) & 16383;
+        out[outpos + 26] = (w11 >>> 12) & 16383;
+        out[outpos + 27] = ((w11 >>> 26) | (w12 << 6)) & 16383;
+        out[outpos + 28] = (w12 >>> 8) & 16383;
+        out[outpos + 29] = ((w12 >>> 22) | (w13 << 10)) & 16383;
+        out[outpos + 30] = (w13 >>> 4) & 16383;
+        out[outpos + 31] = w13 >>> 18;
+    }
+
+    private static void unpack15(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        out[outpos + 0] = w0 & 32767;
+        out[outpos + 1] = (w0 >>> 15) & 32767;
+        out[outpos + 2] = ((w0 >>> 30) | (w1 << 2)) & 32767;
+        out[outpos + 3] = (w1 >>> 13) & 32767;
+        out[outpos + 4] = ((w1 >>> 28) | (w2 << 4)) & 32767;
+        out[outpos + 5] = (w2 >>> 11) & 32767;
+        out[outpos + 6] = ((w2 >>> 26) | (w3 << 6)) & 32767;
+        out[outpos + 7] = (w3 >>> 9) & 32767;
+        out[outpos + 8] = ((w3 >>> 24) | (w4 << 8)) & 32767;
+        out[outpos + 9] = (w4 >>> 7) & 32767;
+        out[outpos + 10] = ((w4 >>> 22) | (w5 << 10)) & 32767;
+        out[outpos + 11] = (w5 >>> 5) & 32767;
+        out[outpos + 12] = ((w5 >>> 20) | (w6 << 12)) & 32767;
+        out[outpos + 13] = (w6 >>> 3) & 32767;
+        out[outpos + 14] = ((w6 >>> 18) | (w7 << 14)) & 32767;
+        out[outpos + 15] = (w7 >>> 1) & 32767;
+        out[outpos + 16] = (w7 >>> 16) & 32767;
+        out[outpos + 17] = ((w7 >>> 31) | (w8 << 1)) & 32767;
+        out[outpos + 18] = (w8 >>> 14) & 32767;
+        out[outpos + 19] = ((w8 >>> 29) | (w9 << 3)) & 32767;
+        out[outpos + 20] = (w9 >>> 12) & 32767;
+        out[outpos + 21] = ((w9 >>> 27) | (w10 << 5)) & 32767;
+        out[outpos + 22] = (w10 >>> 10) & 32767;
+        out[outpos + 23] = ((w10 >>> 25) | (w11 << 7)) & 32767;
+        out[outpos + 24] = (w11 >>> 8) & 32767;
+        out[outpos + 25] = ((w11 >>> 23) | (w12 << 9)) & 32767;
+        out[outpos + 26] = (w12 >>> 6) & 32767;
+        out[outpos + 27] = ((w12 >>> 21) | (w13 << 11)) & 32767;
+        out[outpos + 28] = (w13 >>> 4) & 32767;
+        out[outpos + 29] = ((w13 >>> 19) | (w14 << 13)) & 32767;
+        out[outpos + 30] = (w14 >>> 2) & 32767;
+        out[outpos + 31] = w14 >>> 17;
+    }
+
+    private static void unpack16(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        out[outpos + 0] = w0 & 65535;
+        out[outpos + 1] = w0 >>> 16;
+        out[outpos + 2] = w1 & 65535;
+        out[outpos + 3] = w1 >>> 16;
+        out[outpos + 4] = w2 & 65535;
+        out[outpos + 5] = w2 >>> 16;
+        out[outpos + 6] = w3 & 65535;
+        out[outpos + 7] = w3 >>> 16;
+        out[outpos + 8] = w4 & 65535;
+        out[outpos + 9] = w4 >>> 16;
+        out[outpos + 10] = w5 & 65535;
+        out[outpos + 11] = w5 >>> 16;
+        out[outpos + 12] = w6 & 65535;
+        out[outpos + 13] = w6 >>> 16;
+        out[outpos + 14] = w7 & 65535;
+        out[outpos + 15] = w7 >>> 16;
+        out[outpos + 16] = w8 & 65535;
+        out[outpos + 17] = w8 >>> 16;
+        out[outpos + 18] = w9 & 65535;
+        out[outpos + 19] = w9 >>> 16;
+        out[outpos + 20] = w10 & 65535;
+        out[outpos + 21] = w10 >>> 16;
+        out[outpos + 22] = w11 & 65535;
+        out[outpos + 23] = w11 >>> 16;
+        out[outpos + 24] = w12 & 65535;
+        out[outpos + 25] = w12 >>> 16;
+        out[outpos + 26] = w13 & 65535;
+        out[outpos + 27] = w13 >>> 16;
+        out[outpos + 28] = w14 & 65535;
+        out[outpos + 29] = w14 >>> 16;
+        out[outpos + 30] = w15 & 65535;
+        out[outpos + 31] = w15 >>> 16;
+    }
+
+    private static void unpack17(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        out[outpos + 0] = w0 & 131071;
+        out[outpos + 1] = ((w0 >>> 17) | (w1 << 15)) & 131071;
+        out[outpos + 2] = (w1 >>> 2) & 131071;
+        out[outpos + 3] = ((w1 >>> 19) | (w2 << 13)) & 131071;
+        out[outpos + 4] = (w2 >>> 4) & 131071;
+        out[outpos + 5] = ((w2 >>> 21) | (w3 << 11)) & 131071;
+        out[outpos + 6] = (w3 >>> 6) & 131071;
+        out[outpos + 7] = ((w3 >>> 23) | (w4 << 9)) & 131071;
+        out[outpos + 8] = (w4 >>> 8) & 131071;
+        out[outpos + 9] = ((w4 >>> 25) | (w5 << 7)) & 131071;
+        out[outpos + 10] = (w5 >>> 10) & 131071;
+        out[outpos + 11] = ((w5 >>> 27) | (w6 << 5)) & 131071;
+        out[outpos + 12] = (w6 >>> 12) & 131071;
+        out[outpos + 13] = ((w6 >>> 29) | (w7 << 3)) & 131071;
+        out[outpos + 14] = (w7 >>> 14) & 131071;
+        out[outpos + 15] = ((w7 >>> 31) | (w8 << 1)) & 131071;
+        out[outpos + 16] = ((w8 >>> 16) | (w9 << 16)) & 131071;
+        out[outpos + 17] = (w9 >>> 1) & 131071;
+        out[outpos + 18] = ((w9 >>> 18) | (w10 << 14)) & 131071;
+        out[outpos + 19] = (w10 >>> 3) & 131071;
+        out[outpos + 20] = ((w10 >>> 20) | (w11 << 12)) & 131071;
+        out[outpos + 21] = (w11 >>> 5) & 131071;
+        out[outpos + 22] = ((w11 >>> 22) | (w12 << 10)) & 131071;
+        out[outpos + 23] = (w12 >>> 7) & 131071;
+        out[outpos + 24] = ((w12 >>> 24) | (w13 << 8)) & 131071;
+        out[outpos + 25] = (w13 >>> 9) & 131071;
+        out[outpos + 26] = ((w13 >>> 26) | (w14 << 6)) & 131071;
+        out[outpos + 27] = (w14 >>> 11) & 131071;
+        out[outpos + 28] = ((w14 >>> 28) | (w15 << 4)) & 131071;
+        out[outpos + 29] = (w15 >>> 13) & 131071;
+        out[outpos + 30] = ((w15 >>> 30) | (w16 << 2)) & 131071;
+        out[outpos + 31] = w16 >>> 15;
+    }
+
+    private static void unpack18(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        out[outpos + 0] = w0 & 262143;
+        out[outpos + 1] = ((w0 >>> 18) | (w1 << 14)) & 262143;
+        out[outpos + 2] = (w1 >>> 4) & 262143;
+        out[outpos + 3] = ((w1 >>> 22) | (w2 << 10)) & 262143;
+        out[outpos + 4] = (w2 >>> 8) & 262143;
+        out[outpos + 5] = ((w2 >>> 26) | (w3 << 6)) & 262143;
+        out[outpos + 6] = (w3 >>> 12) & 262143;
+        out[outpos + 7] = ((w3 >>> 30) | (w4 << 2)) & 262143;
+        out[outpos + 8] = ((w4 >>> 16) | (w5 << 16)) & 262143;
+        out[outpos + 9] = (w5 >>> 2) & 262143;
+        out[outpos + 10] = ((w5 >>> 20) | (w6 << 12)) & 262143;
+        out[outpos + 11] = (w6 >>> 6) & 262143;
+        out[outpos + 12] = ((w6 >>> 24) | (w7 << 8)) & 262143;
+        out[outpos + 13] = (w7 >>> 10) & 262143;
+        out[outpos + 14] = ((w7 >>> 28) | (w8 << 4)) & 262143;
+        out[outpos + 15] = w8 >>> 14;
+        out[outpos + 16] = w9 & 262143;
+        out[outpos + 17] = ((w9 >>> 18) | (w10 << 14)) & 262143;
+        out[outpos + 18] = (w10 >>> 4) & 262143;
+        out[outpos + 19] = ((w10 >>> 22) | (w11 << 10)) & 262143;
+        out[outpos + 20] = (w11 >>> 8) & 262143;
+        out[outpos + 21] = ((w11 >>> 26) | (w12 << 6)) & 262143;
+        out[outpos + 22] = (w12 >>> 12) & 262143;
+        out[outpos + 23] = ((w12 >>> 30) | (w13 << 2)) & 262143;
+        out[outpos + 24] = ((w13 >>> 16) | (w14 << 16)) & 262143;
+        out[outpos + 25] = (w14 >>> 2) & 262143;
+        out[outpos + 26] = ((w14 >>> 20) | (w15 << 12)) & 262143;
+        out[outpos + 27] = (w15 >>> 6) & 262143;
+        out[outpos + 28] = ((w15 >>> 24) | (w16 << 8)) & 262143;
+        out[outpos + 29] = (w16 >>> 10) & 262143;
+        out[outpos + 30] = ((w16 >>> 28) | (w17 << 4)) & 262143;
+        out[outpos + 31] = w17 >>> 14;
+    }
+
+    private static void unpack19(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        out[outpos + 0] = w0 & 524287;
+        out[outpos + 1] = ((w0 >>> 19) | (w1 << 13)) & 524287;
+        out[outpos + 2] = (w1 >>> 6) & 524287;
+        out[outpos + 3] = ((w1 >>> 25) | (w2 << 7)) & 524287;
+        out[outpos + 4] = (w2 >>> 12) & 524287;
+        out[outpos + 5] = ((w2 >>> 31) | (w3 << 1)) & 524287;
+        out[outpos + 6] = ((w3 >>> 18) | (w4 << 14)) & 524287;
+        out[outpos + 7] = (w4 >>> 5) & 524287;
+        out[outpos + 8] = ((w4 >>> 24) | (w5 << 8)) & 524287;
+        out[outpos + 9] = (w5 >>> 11) & 524287;
+        out[outpos + 10] = ((w5 >>> 30) | (w6 << 2)) & 524287;
+        out[outpos + 11] = ((w6 >>> 17) | (w7 << 15)) & 524287;
+        out[outpos + 12] = (w7 >>> 4) & 524287;
+        out[outpos + 13] = ((w7 >>> 23) | (w8 << 9)) & 524287;
+        out[outpos + 14] = (w8 >>> 10) & 524287;
+        out[outpos + 15] = ((w8 >>> 29) | (w9 << 3)) & 524287;
+        out[outpos + 16] = ((w9 >>> 16) | (w10 << 16)) & 524287;
+        out[outpos + 17] = (w10 >>> 3) & 524287;
+        out[outpos + 18] = ((w10 >>> 22) | (w11 << 10)) & 524287;
+        out[outpos + 19] = (w11 >>> 9) & 524287;
+        out[outpos + 20] = ((w11 >>> 28) | (w12 << 4)) & 524287;
+        out[outpos + 21] = ((w12 >>> 15) | (w13 << 17)) & 524287;
+        out[outpos + 22] = (w13 >>> 2) & 524287;
+        out[outpos + 23] = ((w13 >>> 21) | (w14 << 11)) & 524287;
+        out[outpos + 24] = (w14 >>> 8) & 524287;
+        out[outpos + 25] = ((w14 >>> 27) | (w15 << 5)) & 524287;
+        out[outpos + 26] = ((w15 >>> 14) | (w16 << 18)) & 524287;
+        out[outpos + 27] = (w16 >>> 1) & 524287;
+        out[outpos + 28] = ((w16 >>> 20) | (w17 << 12)) & 524287;
+        out[outpos + 29] = (w17 >>> 7) & 524287;
+        out[outpos + 30] = ((w17 >>> 26) | (w18 << 6)) & 524287;
+        out[outpos + 31] = w18 >>> 13;
+    }
+
+    private static void unpack20(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        out[outpos + 0] = w0 & 1048575;
+        out[outpos + 1] = ((w0 >>> 20) | (w1 << 12)) & 1048575;
+        out[outpos + 2] = (w1 >>> 8) & 1048575;
+        out[outpos + 3] = ((w1 >>> 28) | (w2 << 4)) & 1048575;
+        out[outpos + 4] = ((w2 >>> 16) | (w3 << 16)) & 1048575;
+        out[outpos + 5] = (w3 >>> 4) & 1048575;
+        out[outpos + 6] = ((w3 >>> 24) | (w4 << 8)) & 1048575;
+        out[outpos + 7] = w4 >>> 12;
+        out[outpos + 8] = w5 & 1048575;
+        out[outpos + 9] = ((w5 >>> 20) | (w6 << 12)) & 1048575;
+        out[outpos + 10] = (w6 >>> 8) & 1048575;
+        out[outpos + 11] = ((w6 >>> 28) | (w7 << 4)) & 1048575;
+        out[outpos + 12] = ((w7 >>> 16) | (w8 << 16)) & 1048575;
+        out[outpos + 13] = (w8 >>> 4) & 1048575;
+        out[outpos + 14] = ((w8 >>> 24) | (w9 << 8)) & 1048575;
+        out[outpos + 15] = w9 >>> 12;
+        out[outpos + 16] = w10 & 1048575;
+        out[outpos + 17] = ((w10 >>> 20) | (w11 << 12)) & 1048575;
+        out[outpos + 18] = (w11 >>> 8) & 1048575;
+        out[outpos + 19] = ((w11 >>> 28) | (w12 << 4)) & 1048575;
+        out[outpos + 20] = ((w12 >>> 16) | (w13 << 16)) & 1048575;
+        out[outpos + 21] = (w13 >>> 4) & 1048575;
+        out[outpos + 22] = ((w13 >>> 24) | (w14 << 8)) & 1048575;
+        out[outpos + 23] = w14 >>> 12;
+        out[outpos + 24] = w15 & 1048575;
+        out[outpos + 25] = ((w15 >>> 20) | (w16 << 12)) & 1048575;
+        out[outpos + 26] = (w16 >>> 8) & 1048575;
+        out[outpos + 27] = ((w16 >>> 28) | (w17 << 4)) & 1048575;
+        out[outpos + 28] = ((w17 >>> 16) | (w18 << 16)) & 1048575;
+        out[outpos + 29] = (w18 >>> 4) & 1048575;
+        out[outpos + 30] = ((w18 >>> 24) | (w19 << 8)) & 1048575;
+        out[outpos + 31] = w19 >>> 12;
+    }
+
+    private static void unpack21(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        out[outpos + 0] = w0 & 2097151;
+        out[outpos + 1] = ((w0 >>> 21) | (w1 << 11)) & 2097151;
+        out[outpos + 2] = (w1 >>> 10) & 2097151;
+        out[outpos + 3] = ((w1 >>> 31) | (w2 << 1)) & 2097151;
+        out[outpos + 4] = ((w2 >>> 20) | (w3 << 12)) & 2097151;
+        out[outpos + 5] = (w3 >>> 9) & 2097151;
+        out[outpos + 6] = ((w3 >>> 30) | (w4 << 2)) & 2097151;
+        out[outpos + 7] = ((w4 >>> 19) | (w5 << 13)) & 2097151;
+        out[outpos + 8] = (w5 >>> 8) & 2097151;
+        out[outpos + 9] = ((w5 >>> 29) | (w6 << 3)) & 2097151;
+        out[outpos + 10] = ((w6 >>> 18) | (w7 << 14)) & 2097151;
+        out[outpos + 11] = (w7 >>> 7) & 2097151;
+        out[outpos + 12] = ((w7 >>> 28) | (w8 << 4)) & 2097151;
+        out[outpos + 13] = ((w8 >>> 17) | (w9 << 15)) & 2097151;
+        out[outpos + 14] = (w9 >>> 6) & 2097151;
+        out[outpos + 15] = ((w9 >>> 27) | (w10 << 5)) & 2097151;
+        out[outpos + 16] = ((w10 >>> 16) | (w11 << 16)) & 2097151;
+        out[outpos + 17] = (w11 >>> 5) & 2097151;
+        out[outpos + 18] = ((w11 >>> 26) | (w12 << 6)) & 2097151;
+        out[outpos + 19] = ((w12 >>> 15) | (w13 << 17)) & 2097151;
+        out[outpos + 20] = (w13 >>> 4) & 2097151;
+        out[outpos + 21] = ((w13 >>> 25) | (w14 << 7)) & 2097151;
+        out[outpos + 22] = ((w14 >>> 14) | (w15 << 18)) & 2097151;
+        out[outpos + 23] = (w15 >>> 3) & 2097151;
+        out[outpos + 24] = ((w15 >>> 24) | (w16 << 8)) & 2097151;
+        out[outpos + 25] = ((w16 >>> 13) | (w17 << 19)) & 2097151;
+        out[outpos + 26] = (w17 >>> 2) & 2097151;
+        out[outpos + 27] = ((w17 >>> 23) | (w18 << 9)) & 2097151;
+        out[outpos + 28] = ((w18 >>> 12) | (w19 << 20)) & 2097151;
+        out[outpos + 29] = (w19 >>> 1) & 2097151;
+        out[outpos + 30] = ((w19 >>> 22) | (w20 << 10)) & 2097151;
+        out[outpos + 31] = w20 >>> 11;
+    }
+
+    private static void unpack22(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        out[outpos + 0] = w0 & 4194303;
+        out[outpos + 1] = ((w0 >>> 22) | (w1 << 10)) & 4194303;
+        out[outpos + 2] = ((w1 >>> 12) | (w2 << 20)) & 4194303;
+        out[outpos + 3] = (w2 >>> 2) & 4194303;
+        out[outpos + 4] = ((w2 >>> 24) | (w3 << 8)) & 4194303;
+        out[outpos + 5] = ((w3 >>> 14) | (w4 << 18)) & 4194303;
+        out[outpos + 6] = (w4 >>> 4) & 4194303;
+        out[outpos + 7] = ((w4 >>> 26) | (w5 << 6)) & 4194303;
+        out[outpos + 8] = ((w5 >>> 16) | (w6 << 16)) & 4194303;
+        out[outpos + 9] = (w6 >>> 6) & 4194303;
+        out[outpos + 10] = ((w6 >>> 28) | (w7 << 4)) & 4194303;
+        out[outpos + 11] = ((w7 >>> 18) | (w8 << 14)) & 4194303;
+        out[outpos + 12] = (w8 >>> 8) & 4194303;
+        out[outpos + 13] = ((w8 >>> 30) | (w9 << 2)) & 4194303;
+        out[outpos + 14] = ((w9 >>> 20) | (w10 << 12)) & 4194303;
+        out[outpos + 15] = w10 >>> 10;
+        out[outpos + 16] = w11 & 4194303;
+        out[outpos + 17] = ((w11 >>> 22) | (w12 << 10)) & 4194303;
+        out[outpos + 18] = ((w12 >>> 12) | (w13 << 20)) & 4194303;
+        out[outpos + 19] = (w13 >>> 2) & 4194303;
+        out[outpos + 20] = ((w13 >>> 24) | (w14 << 8)) & 4194303;
+        out[outpos + 21] = ((w14 >>> 14) | (w15 << 18)) & 4194303;
+        out[outpos + 22] = (w15 >>> 4) & 4194303;
+        out[outpos + 23] = ((w15 >>> 26) | (w16 << 6)) & 4194303;
+        out[outpos + 24] = ((w16 >>> 16) | (w17 << 16)) & 4194303;
+        out[outpos + 25] = (w17 >>> 6) & 4194303;
+        out[outpos + 26] = ((w17 >>> 28) | (w18 << 4)) & 4194303;
+        out[outpos + 27] = ((w18 >>> 18) | (w19 << 14)) & 4194303;
+        out[outpos + 28] = (w19 >>> 8) & 4194303;
+        out[outpos + 29] = ((w19 >>> 30) | (w20 << 2)) & 4194303;
+        out[outpos + 30] = ((w20 >>> 20) | (w21 << 12)) & 4194303;
+        out[outpos + 31] = w21 >>> 10;
+    }
+
+    private static void unpack23(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        out[outpos + 0] = w0 & 8388607;
+        out[outpos + 1] = ((w0 >>> 23) | (w1 << 9)) & 8388607;
+        out[outpos + 2] = ((w1 >>> 14) | (w2 << 18)) & 8388607;
+        out[outpos + 3] = (w2 >>> 5) & 8388607;
+        out[outpos + 4] = ((w2 >>> 28) | (w3 << 4)) & 8388607;
+        out[outpos + 5] = ((w3 >>> 19) | (w4 << 13)) & 8388607;
+        out[outpos + 6] = ((w4 >>> 10) | (w5 << 22)) & 8388607;
+        out[outpos + 7] = (w5 >>> 1) & 8388607;
+        out[outpos + 8] = ((w5 >>> 24) | (w6 << 8)) & 8388607;
+        out[outpos + 9] = ((w6 >>> 15) | (w7 << 17)) & 8388607;
+        out[outpos + 10] = (w7 >>> 6) & 8388607;
+        out[outpos + 11] = ((w7 >>> 29) | (w8 << 3)) & 8388607;
+        out[outpos + 12] = ((w8 >>> 20) | (w9 << 12)) & 8388607;
+        out[outpos + 13] = ((w9 >>> 11) | (w10 << 21)) & 8388607;
+        out[outpos + 14] = (w10 >>> 2) & 8388607;
+        out[outpos + 15] = ((w10 >>> 25) | (w11 << 7)) & 8388607;
+        out[outpos + 16] = ((w11 >>> 16) | (w12 << 16)) & 8388607;
+        out[outpos + 17] = (w12 >>> 7) & 8388607;
+        out[outpos + 18] = ((w12 >>> 30) | (w13 << 2)) & 8388607;
+        out[outpos + 19] = ((w13 >>> 21) | (w14 << 11)) & 8388607;
+        out[outpos + 20] = ((w14 >>> 12) | (w15 << 20)) & 8388607;
+        out[outpos + 21] = (w15 >>> 3) & 8388607;
+        out[outpos + 22] = ((w15 >>> 26) | (w16 << 6)) & 8388607;
+        out[outpos + 23] = ((w16 >>> 17) | (w17 << 15)) & 8388607;
+        out[outpos + 24] = (w17 >>> 8) & 8388607;
+        out[outpos + 25] = ((w17 >>> 31) | (w18 << 1)) & 8388607;
+        out[outpos + 26] = ((w18 >>> 22) | (w19 << 10)) & 8388607;
+        out[outpos + 27] = ((w19 >>> 13) | (w20 << 19)) & 8388607;
+        out[outpos + 28] = (w20 >>> 4) & 8388607;
+        out[outpos + 29] = ((w20 >>> 27) | (w21 << 5)) & 8388607;
+        out[outpos + 30] = ((w21 >>> 18) | (w22 << 14)) & 8388607;
+        out[outpos + 31] = w22 >>> 9;
+    }
+
+    private static void unpack24(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        out[outpos + 0] = w0 & 16777215;
+        out[outpos + 1] = ((w0 >>> 24) | (w1 << 8)) & 16777215;
+        out[outpos + 2] = ((w1 >>> 16) | (w2 << 16)) & 16777215;
+        out[outpos + 3] = w2 >>> 8;
+        out[outpos + 4] = w3 & 16777215;
+        out[outpos + 5] = ((w3 >>> 24) | (w4 << 8)) & 16777215;
+        out[outpos + 6] = ((w4 >>> 16) | (w5 << 16)) & 16777215;
+        out[outpos + 7] = w5 >>> 8;
+        out[outpos + 8] = w6 & 16777215;
+        out[outpos + 9] = ((w6 >>> 24) | (w7 << 8)) & 16777215;
+        out[outpos + 10] = ((w7 >>> 16) | (w8 << 16)) & 16777215;
+        out[outpos + 11] = w8 >>> 8;
+        out[outpos + 12] = w9 & 16777215;
+        out[outpos + 13] = ((w9 >>> 24) | (w10 << 8)) & 16777215;
+        out[outpos + 14] = ((w10 >>> 16) | (w11 << 16)) & 16777215;
+        out[outpos + 15] = w11 >>> 8;
+        out[outpos + 16] = w12 & 16777215;
+        out[outpos + 17] = ((w12 >>> 24) | (w13 << 8)) & 16777215;
+        out[outpos + 18] = ((w13 >>> 16) | (w14 << 16)) & 16777215;
+        out[outpos + 19] = w14 >>> 8;
+        out[outpos + 20] = w15 & 16777215;
+        out[outpos + 21] = ((w15 >>> 24) | (w16 << 8)) & 16777215;
+        out[outpos + 22] = ((w16 >>> 16) | (w17 << 16)) & 16777215;
+        out[outpos + 23] = w17 >>> 8;
+        out[outpos + 24] = w18 & 16777215;
+        out[outpos + 25] = ((w18 >>> 24) | (w19 << 8)) & 16777215;
+        out[outpos + 26] = ((w19 >>> 16) | (w20 << 16)) & 16777215;
+        out[outpos + 27] = w20 >>> 8;
+        out[outpos + 28] = w21 & 16777215;
+        out[outpos + 29] = ((w21 >>> 24) | (w22 << 8)) & 16777215;
+        out[outpos + 30] = ((w22 >>> 16) | (w23 << 16)) & 16777215;
+        out[outpos + 31] = w23 >>> 8;
+    }
+
+    private static void unpack25(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        out[outpos + 0] = w0 & 33554431;
+        out[outpos + 1] = ((w0 >>> 25) | (w1 << 7)) & 33554431;
+        out[outpos + 2] = ((w1 >>> 18) | (w2 << 14)) & 33554431;
+        out[outpos + 3] = ((w2 >>> 11) | (w3 << 21)) & 33554431;
+        out[outpos + 4] = (w3 >>> 4) & 33554431;
+        out[outpos + 5] = ((w3 >>> 29) | (w4 << 3)) & 33554431;
+        out[outpos + 6] = ((w4 >>> 22) | (w5 << 10)) & 33554431;
+        out[outpos + 7] = ((w5 >>> 15) | (w6 << 17)) & 33554431;
+        out[outpos + 8] = ((w6 >>> 8) | (w7 << 24)) & 33554431;
+        out[outpos + 9] = (w7 >>> 1) & 33554431;
+        out[outpos + 10] = ((w7 >>> 26) | (w8 << 6)) & 33554431;
+        out[outpos + 11] = ((w8 >>> 19) | (w9 << 13)) & 33554431;
+        out[outpos + 12] = ((w9 >>> 12) | (w10 << 20)) & 33554431;
+        out[outpos + 13] = (w10 >>> 5) & 33554431;
+        out[outpos + 14] = ((w10 >>> 30) | (w11 << 2)) & 33554431;
+        out[outpos + 15] = ((w11 >>> 23) | (w12 << 9)) & 33554431;
+        out[outpos + 16] = ((w12 >>> 16) | (w13 << 16)) & 33554431;
+        out[outpos + 17] = ((w13 >>> 9) | (w14 << 23)) & 33554431;
+        out[outpos + 18] = (w14 >>> 2) & 33554431;
+        out[outpos + 19] = ((w14 >>> 27) | (w15 << 5)) & 33554431;
+        out[outpos + 20] = ((w15 >>> 20) | (w16 << 12)) & 33554431;
+        out[outpos + 21] = ((w16 >>> 13) | (w17 << 19)) & 33554431;
+        out[outpos + 22] = (w17 >>> 6) & 33554431;
+        out[outpos + 23] = ((w17 >>> 31) | (w18 << 1)) & 33554431;
+        out[outpos + 24] = ((w18 >>> 24) | (w19 << 8)) & 33554431;
+        out[outpos + 25] = ((w19 >>> 17) | (w20 << 15)) & 33554431;
+        out[outpos + 26] = ((w20 >>> 10) | (w21 << 22)) & 33554431;
+        out[outpos + 27] = (w21 >>> 3) & 33554431;
+        out[outpos + 28] = ((w21 >>> 28) | (w22 << 4)) & 33554431;
+        out[outpos + 29] = ((w22 >>> 21) | (w23 << 11)) & 33554431;
+        out[outpos + 30] = ((w23 >>> 14) | (w24 << 18)) & 33554431;
+        out[outpos + 31] = w24 >>> 7;
+    }
+
+    private static void unpack26(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        final int w25 = in.getInt(inpos + 100);
+        out[outpos + 0] = w0 & 67108863;
+        out[outpos + 1] = ((w0 >>> 26) | (w1 << 6)) & 67108863;
+        out[outpos + 2] = ((w1 >>> 20) | (w2 << 12)) & 67108863;
+        out[outpos + 3] = ((w2 >>> 14) | (w3 << 18)) & 67108863;
+        out[outpos + 4] = ((w3 >>> 8) | (w4 << 24)) & 67108863;
+        out[outpos + 5] = (w4 >>> 2) & 67108863;
+        out[outpos + 6] = ((w4 >>> 28) | (w5 << 4)) & 67108863;
+        out[outpos + 7] = ((w5 >>> 22) | (w6 << 10)) & 67108863;
+        out[outpos + 8] = ((w6 >>> 16) | (w7 << 16)) & 67108863;
+        out[outpos + 9] = ((w7 >>> 10) | (w8 << 22)) & 67108863;
+        out[outpos + 10] = (w8 >>> 4) & 67108863;
+        out[outpos + 11] = ((w8 >>> 30) | (w9 << 2)) & 67108863;
+        out[outpos + 12] = ((w9 >>> 24) | (w10 << 8)) & 67108863;
+        out[outpos + 13] = ((w10 >>> 18) | (w11 << 14)) & 67108863;
+        out[outpos + 14] = ((w11 >>> 12) | (w12 << 20)) & 67108863;
+        out[outpos + 15] = w12 >>> 6;
+        out[outpos + 16] = w13 & 67108863;
+        out[outpos + 17] = ((w13 >>> 26) | (w14 << 6)) & 67108863;
+        out[outpos + 18] = ((w14 >>> 20) | (w15 << 12)) & 67108863;
+        out[outpos + 19] = ((w15 >>> 14) | (w16 << 18)) & 67108863;
+        out[outpos + 20] = ((w16 >>> 8) | (w17 << 24)) & 67108863;
+        out[outpos + 21] = (w17 >>> 2) & 67108863;
+        out[outpos + 22] = ((w17 >>> 28) | (w18 << 4)) & 67108863;
+        out[outpos + 23] = ((w18 >>> 22) | (w19 << 10)) & 67108863;
+        out[outpos + 24] = ((w19 >>> 16) | (w20 << 16)) & 67108863;
+        out[outpos + 25] = ((w20 >>> 10) | (w21 << 22)) & 67108863;
+        out[outpos + 26] = (w21 >>> 4) & 67108863;
+        out[outpos + 27] = ((w21 >>> 30) | (w22 << 2)) & 67108863;
+        out[outpos + 28] = ((w22 >>> 24) | (w23 << 8)) & 67108863;
+        out[outpos + 29] = ((w23 >>> 18) | (w24 << 14)) & 67108863;
+        out[outpos + 30] = ((w24 >>> 12) | (w25 << 20)) & 67108863;
+        out[outpos + 31] = w25 >>> 6;
+    }
+
+    private static void unpack27(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        final int w25 = in.getInt(inpos + 100);
+        final int w26 = in.getInt(inpos + 104);
+        out[outpos + 0] = w0 & 134217727;
+        out[outpos + 1] = ((w0 >>> 27) | (w1 << 5)) & 134217727;
+        out[outpos + 2] = ((w1 >>> 22) | (w2 << 10)) & 134217727;
+        out[outpos + 3] = ((w2 >>> 17) | (w3 << 15)) & 134217727;
+        out[outpos + 4] = ((w3 >>> 12) | (w4 << 20)) & 134217727;
+        out[outpos + 5] = ((w4 >>> 7) | (w5 << 25)) & 134217727;
+        out[outpos + 6] = (w5 >>> 2) & 134217727;
+        out[outpos + 7] = ((w5 >>> 29) | (w6 << 3)) & 134217727;
+        out[outpos + 8] = ((w6 >>> 24) | (w7 << 8)) & 134217727;
+        out[outpos + 9] = ((w7 >>> 19) | (w8 << 13)) & 134217727;
+        out[outpos + 10] = ((w8 >>> 14) | (w9 << 18)) & 134217727;
+        out[outpos + 11] = ((w9 >>> 9) | (w10 << 23)) & 134217727;
+        out[outpos + 12] = (w10 >>> 4) & 134217727;
+        out[outpos + 13] = ((w10 >>> 31) | (w11 << 1)) & 134217727;
+        out[outpos + 14] = ((w11 >>> 26) | (w12 << 6)) & 134217727;
+        out[outpos + 15] = ((w12 >>> 21) | (w13 << 11)) & 134217727;
+        out[outpos + 16] = ((w13 >>> 16) | (w14 << 16)) & 134217727;
+        out[outpos + 17] = ((w14 >>> 11) | (w15 << 21)) & 134217727;
+        out[outpos + 18] = ((w15 >>> 6) | (w16 << 26)) & 134217727;
+        out[outpos + 19] = (w16 >>> 1) & 134217727;
+        out[outpos + 20] = ((w16 >>> 28) | (w17 << 4)) & 134217727;
+        out[outpos + 21] = ((w17 >>> 23) | (w18 << 9)) & 134217727;
+        out[outpos + 22] = ((w18 >>> 18) | (w19 << 14)) & 134217727;
+        out[outpos + 23] = ((w19 >>> 13) | (w20 << 19)) & 134217727;
+        out[outpos + 24] = ((w20 >>> 8) | (w21 << 24)) & 134217727;
+        out[outpos + 25] = (w21 >>> 3) & 134217727;
+        out[outpos + 26] = ((w21 >>> 30) | (w22 << 2)) & 134217727;
+        out[outpos + 27] = ((w22 >>> 25) | (w23 << 7)) & 134217727;
+        out[outpos + 28] = ((w23 >>> 20) | (w24 << 12)) & 134217727;
+        out[outpos + 29] = ((w24 >>> 15) | (w25 << 17)) & 134217727;
+        out[outpos + 30] = ((w25 >>> 10) | (w26 << 22)) & 134217727;
+        out[outpos + 31] = w26 >>> 5;
+    }
+
+    private static void unpack28(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        final int w25 = in.getInt(inpos + 100);
+        final int w26 = in.getInt(inpos + 104);
+        final int w27 = in.getInt(inpos + 108);
+        out[outpos + 0] = w0 & 268435455;
+        out[outpos + 1] = ((w0 >>> 28) | (w1 << 4)) & 268435455;
+        out[outpos + 2] = ((w1 >>> 24) | (w2 << 8)) & 268435455;
+        out[outpos + 3] = ((w2 >>> 20) | (w3 << 12)) & 268435455;
+        out[outpos + 4] = ((w3 >>> 16) | (w4 << 16)) & 268435455;
+        out[outpos + 5] = ((w4 >>> 12) | (w5 << 20)) & 268435455;
+        out[outpos + 6] = ((w5 >>> 8) | (w6 << 24)) & 268435455;
+        out[outpos + 7] = w6 >>> 4;
+        out[outpos + 8] = w7 & 268435455;
+        out[outpos + 9] = ((w7 >>> 28) | (w8 << 4)) & 268435455;
+        out[outpos + 10] = ((w8 >>> 24) | (w9 << 8)) & 268435455;
+        out[outpos + 11] = ((w9 >>> 20) | (w10 << 12)) & 268435455;
+        out[outpos + 12] = ((w10 >>> 16) | (w11 << 16)) & 268435455;
+        out[outpos + 13] = ((w11 >>> 12) | (w12 << 20)) & 268435455;
+        out[outpos + 14] = ((w12 >>> 8) | (w13 << 24)) & 268435455;
+        out[outpos + 15] = w13 >>> 4;
+        out[outpos + 16] = w14 & 268435455;
+        out[outpos + 17] = ((w14 >>> 28) | (w15 << 4)) & 268435455;
+        out[outpos + 18] = ((w15 >>> 24) | (w16 << 8)) & 268435455;
+        out[outpos + 19] = ((w16 >>> 20) | (w17 << 12)) & 268435455;
+        out[outpos + 20] = ((w17 >>> 16) | (w18 << 16)) & 268435455;
+        out[outpos + 21] = ((w18 >>> 12) | (w19 << 20)) & 268435455;
+        out[outpos + 22] = ((w19 >>> 8) | (w20 << 24)) & 268435455;
+        out[outpos + 23] = w20 >>> 4;
+        out[outpos + 24] = w21 & 268435455;
+        out[outpos + 25] = ((w21 >>> 28) | (w22 << 4)) & 268435455;
+        out[outpos + 26] = ((w22 >>> 24) | (w23 << 8)) & 268435455;
+        out[outpos + 27] = ((w23 >>> 20) | (w24 << 12)) & 268435455;
+        out[outpos + 28] = ((w24 >>> 16) | (w25 << 16)) & 268435455;
+        out[outpos + 29] = ((w25 >>> 12) | (w26 << 20)) & 268435455;
+        out[outpos + 30] = ((w26 >>> 8) | (w27 << 24)) & 268435455;
+        out[outpos + 31] = w27 >>> 4;
+    }
+
+    private static void unpack29(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        final int w25 = in.getInt(inpos + 100);
+        final int w26 = in.getInt(inpos + 104);
+        final int w27 = in.getInt(inpos + 108);
+        final int w28 = in.getInt(inpos + 112);
+        out[outpos + 0] = w0 & 536870911;
+        out[outpos + 1] = ((w0 >>> 29) | (w1 << 3)) & 536870911;
+        out[outpos + 2] = ((w1 >>> 26) | (w2 << 6)) & 536870911;
+        out[outpos + 3] = ((w2 >>> 23) | (w3 << 9)) & 536870911;
+        out[outpos + 4] = ((w3 >>> 20) | (w4 << 12)) & 536870911;
+        out[outpos + 5] = ((w4 >>> 17) | (w5 << 15)) & 536870911;
+        out[outpos + 6] = ((w5 >>> 14) | (w6 << 18)) & 536870911;
+        out[outpos + 7] = ((w6 >>> 11) | (w7 << 21)) & 536870911;
+        out[outpos + 8] = ((w7 >>> 8) | (w8 << 24)) & 536870911;
+        out[outpos + 9] = ((w8 >>> 5) | (w9 << 27)) & 536870911;
+        out[outpos + 10] = (w9 >>> 2) & 536870911;
+        out[outpos + 11] = ((w9 >>> 31) | (w10 << 1)) & 536870911;
+        out[outpos + 12] = ((w10 >>> 28) | (w11 << 4)) & 536870911;
+        out[outpos + 13] = ((w11 >>> 25) | (w12 << 7)) & 536870911;
+        out[outpos + 14] = ((w12 >>> 22) | (w13 << 10)) & 536870911;
+        out[outpos + 15] = ((w13 >>> 19) | (w14 << 13)) & 536870911;
+        out[outpos + 16] = ((w14 >>> 16) | (w15 << 16)) & 536870911;
+        out[outpos + 17] = ((w15 >>> 13) | (w16 << 19)) & 536870911;
+        out[outpos + 18] = ((w16 >>> 10) | (w17 << 22)) & 536870911;
+        out[outpos + 19] = ((w17 >>> 7) | (w18 << 25)) & 536870911;
+        out[outpos + 20] = ((w18 >>> 4) | (w19 << 28)) & 536870911;
+        out[outpos + 21] = (w19 >>> 1) & 536870911;
+        out[outpos + 22] = ((w19 >>> 30) | (w20 << 2)) & 536870911;
+        out[outpos + 23] = ((w20 >>> 27) | (w21 << 5)) & 536870911;
+        out[outpos + 24] = ((w21 >>> 24) | (w22 << 8)) & 536870911;
+        out[outpos + 25] = ((w22 >>> 21) | (w23 << 11)) & 536870911;
+        out[outpos + 26] = ((w23 >>> 18) | (w24 << 14)) & 536870911;
+        out[outpos + 27] = ((w24 >>> 15) | (w25 << 17)) & 536870911;
+        out[outpos + 28] = ((w25 >>> 12) | (w26 << 20)) & 536870911;
+        out[outpos + 29] = ((w26 >>> 9) | (w27 << 23)) & 536870911;
+        out[outpos + 30] = ((w27 >>> 6) | (w28 << 26)) & 536870911;
+        out[outpos + 31] = w28 >>> 3;
+    }
+
+    private static void unpack30(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        final int w25 = in.getInt(inpos + 100);
+        final int w26 = in.getInt(inpos + 104);
+        final int w27 = in.getInt(inpos + 108);
+        final int w28 = in.getInt(inpos + 112);
+        final int w29 = in.getInt(inpos + 116);
+        out[outpos + 0] = w0 & 1073741823;
+        out[outpos + 1] = ((w0 >>> 30) | (w1 << 2)) & 1073741823;
+        out[outpos + 2] = ((w1 >>> 28) | (w2 << 4)) & 1073741823;
+        out[outpos + 3] = ((w2 >>> 26) | (w3 << 6)) & 1073741823;
+        out[outpos + 4] = ((w3 >>> 24) | (w4 << 8)) & 1073741823;
+        out[outpos + 5] = ((w4 >>> 22) | (w5 << 10)) & 1073741823;
+        out[outpos + 6] = ((w5 >>> 20) | (w6 << 12)) & 1073741823;
+        out[outpos + 7] = ((w6 >>> 18) | (w7 << 14)) & 1073741823;
+        out[outpos + 8] = ((w7 >>> 16) | (w8 << 16)) & 1073741823;
+        out[outpos + 9] = ((w8 >>> 14) | (w9 << 18)) & 1073741823;
+        out[outpos + 10] = ((w9 >>> 12) | (w10 << 20)) & 1073741823;
+        out[outpos + 11] = ((w10 >>> 10) | (w11 << 22)) & 1073741823;
+        out[outpos + 12] = ((w11 >>> 8) | (w12 << 24)) & 1073741823;
+        out[outpos + 13] = ((w12 >>> 6) | (w13 << 26)) & 1073741823;
+        out[outpos + 14] = ((w13 >>> 4) | (w14 << 28)) & 1073741823;
+        out[outpos + 15] = w14 >>> 2;
+        out[outpos + 16] = w15 & 1073741823;
+        out[outpos + 17] = ((w15 >>> 30) | (w16 << 2)) & 1073741823;
+        out[outpos + 18] = ((w16 >>> 28) | (w17 << 4)) & 1073741823;
+        out[outpos + 19] = ((w17 >>> 26) | (w18 << 6)) & 1073741823;
+        out[outpos + 20] = ((w18 >>> 24) | (w19 << 8)) & 1073741823;
+        out[outpos + 21] = ((w19 >>> 22) | (w20 << 10)) & 1073741823;
+        out[outpos + 22] = ((w20 >>> 20) | (w21 << 12)) & 1073741823;
+        out[outpos + 23] = ((w21 >>> 18) | (w22 << 14)) & 1073741823;
+        out[outpos + 24] = ((w22 >>> 16) | (w23 << 16)) & 1073741823;
+        out[outpos + 25] = ((w23 >>> 14) | (w24 << 18)) & 1073741823;
+        out[outpos + 26] = ((w24 >>> 12) | (w25 << 20)) & 1073741823;
+        out[outpos + 27] = ((w25 >>> 10) | (w26 << 22)) & 1073741823;
+        out[outpos + 28] = ((w26 >>> 8) | (w27 << 24)) & 1073741823;
+        out[outpos + 29] = ((w27 >>> 6) | (w28 << 26)) & 1073741823;
+        out[outpos + 30] = ((w28 >>> 4) | (w29 << 28)) & 1073741823;
+        out[outpos + 31] = w29 >>> 2;
+    }
+
+    private static void unpack31(ByteBuffer in, int inpos, int[] out, int outpos) {
+        final int w0 = in.getInt(inpos + 0);
+        final int w1 = in.getInt(inpos + 4);
+        final int w2 = in.getInt(inpos + 8);
+        final int w3 = in.getInt(inpos + 12);
+        final int w4 = in.getInt(inpos + 16);
+        final int w5 = in.getInt(inpos + 20);
+        final int w6 = in.getInt(inpos + 24);
+        final int w7 = in.getInt(inpos + 28);
+        final int w8 = in.getInt(inpos + 32);
+        final int w9 = in.getInt(inpos + 36);
+        final int w10 = in.getInt(inpos + 40);
+        final int w11 = in.getInt(inpos + 44);
+        final int w12 = in.getInt(inpos + 48);
+        final int w13 = in.getInt(inpos + 52);
+        final int w14 = in.getInt(inpos + 56);
+        final int w15 = in.getInt(inpos + 60);
+        final int w16 = in.getInt(inpos + 64);
+        final int w17 = in.getInt(inpos + 68);
+        final int w18 = in.getInt(inpos + 72);
+        final int w19 = in.getInt(inpos + 76);
+        final int w20 = in.getInt(inpos + 80);
+        final int w21 = in.getInt(inpos + 84);
+        final int w22 = in.getInt(inpos + 88);
+        final int w23 = in.getInt(inpos + 92);
+        final int w24 = in.getInt(inpos + 96);
+        final int w25 = in.getInt(inpos + 100);
+        final int w26 = in.getInt(inpos + 104);
+        final int w27 = in.getInt(inpos + 108);
+        final int w28 = in.getInt(inpos + 112);
+        final int w29 = in.getInt(inpos + 116);
+        final int w30 = in.getInt(inpos + 120);
+        out[outpos + 0] = w0 & 2147483647;
+        out[outpos + 1] = ((w0 >>> 31) | (w1 << 1)) & 2147483647;
+        out[outpos + 2] = ((w1 >>> 30) | (w2 << 2)) & 2147483647;
+        out[outpos + 3] = ((w2 >>> 29) | (w3 << 3)) & 2147483647;
+        out[outpos + 4] = ((w3 >>> 28) | (w4 << 4)) & 2147483647;
+        out[outpos + 5] = ((w4 >>> 27) | (w5 << 5)) & 2147483647;
+        out[outpos + 6] = ((w5 >>> 26) | (w6 << 6)) & 2147483647;
+        out[outpos + 7] = ((w6 >>> 25) | (w7 << 7)) & 2147483647;
+        out[outpos + 8] = ((w7 >>> 24) | (w8 << 8)) & 2147483647;
+        out[outpos + 9] = ((w8 >>> 23) | (w9 << 9)) & 2147483647;
+        out[outpos + 10] = ((w9 >>> 22) | (w10 << 10)) & 2147483647;
+        out[outpos + 11] = ((w10 >>> 21) | (w11 << 11)) & 2147483647;
+        out[outpos + 12] = ((w11 >>> 20) | (w12 << 12)) & 2147483647;
+        out[outpos + 13] = ((w12 >>> 19) | (w13 << 13)) & 2147483647;
+        out[outpos + 14] = ((w13 >>> 18) | (w14 << 14)) & 2147483647;
+        out[outpos + 15] = ((w14 >>> 17) | (w15 << 15)) & 2147483647;
+        out[outpos + 16] = ((w15 >>> 16) | (w16 << 16)) & 2147483647;
+        out[outpos + 17] = ((w16 >>> 15) | (w17 << 17)) & 2147483647;
+        out[outpos + 18] = ((w17 >>> 14) | (w18 << 18)) & 2147483647;
+        out[outpos + 19] = ((w18 >>> 13) | (w19 << 19)) & 2147483647;
+        out[outpos + 20] = ((w19 >>> 12) | (w20 << 20)) & 2147483647;
+        out[outpos + 21] = ((w20 >>> 11) | (w21 << 21)) & 2147483647;
+        out[outpos + 22] = ((w21 >>> 10) | (w22 << 22)) & 2147483647;
+        out[outpos + 23] = ((w22 >>> 9) | (w23 << 23)) & 2147483647;
+        out[outpos + 24] = ((w23 >>> 8) | (w24 << 24)) & 2147483647;
+        out[outpos + 25] = ((w24 >>> 7) | (w25 << 25)) & 2147483647;
+        out[outpos + 26] = ((w25 >>> 6) | (w26 << 26)) & 2147483647;
+        out[outpos + 27] = ((w26 >>> 5) | (w27 << 27)) & 2147483647;
+        out[outpos + 28] = ((w27 >>> 4) | (w28 << 28)) & 2147483647;
+        out[outpos + 29] = ((w28 >>> 3) | (w29 << 29)) & 2147483647;
+        out[outpos + 30] = ((w29 >>> 2) | (w30 << 30)) & 2147483647;
+        out[outpos + 31] = w30 >>> 1;
+    }
+
+    private static void unpack32(ByteBuffer in, int inpos, int[] out, int outpos) {
+        out[outpos + 0] = in.getInt(inpos + 0);
+        out[outpos + 1] = in.getInt(inpos + 4);
+        out[outpos + 2] = in.getInt(inpos + 8);
+        out[outpos + 3] = in.getInt(inpos + 12);
+        out[outpos + 4] = in.getInt(inpos + 16);
+        out[outpos + 5] = in.getInt(inpos + 20);
+        out[outpos + 6] = in.getInt(inpos + 24);
+        out[outpos + 7] = in.getInt(inpos + 28);
+        out[outpos + 8] = in.getInt(inpos + 32);
+        out[outpos + 9] = in.getInt(inpos + 36);
+        out[outpos + 10] = in.getInt(inpos + 40);
+        out[outpos + 11] = in.getInt(inpos + 44);
+        out[outpos + 12] = in.getInt(inpos + 48);
+        out[outpos + 13] = in.getInt(inpos + 52);
+        out[outpos + 14] = in.getInt(inpos + 56);
+        out[outpos + 15] = in.getInt(inpos + 60);
+        out[outpos + 16] = in.getInt(inpos + 64);
+        out[outpos + 17] = in.getInt(inpos + 68);
+        out[outpos + 18] = in.getInt(inpos + 72);
+        out[outpos + 19] = in.getInt(inpos + 76);
+        out[outpos + 20] = in.getInt(inpos + 80);
+        out[outpos + 21] = in.getInt(inpos + 84);
+        out[outpos + 22] = in.getInt(inpos + 88);
+        out[outpos + 23] = in.getInt(inpos + 92);
+        out[outpos + 24] = in.getInt(inpos + 96);
+        out[outpos + 25] = in.getInt(inpos + 100);
+        out[outpos + 26] = in.getInt(inpos + 104);
+        out[outpos + 27] = in.getInt(inpos + 108);
+        out[outpos + 28] = in.getInt(inpos + 112);
+        out[outpos + 29] = in.getInt(inpos + 116);
+        out[outpos + 30] = in.getInt(inpos + 120);
+        out[outpos + 31] = in.getInt(inpos + 124);
+    }
+}
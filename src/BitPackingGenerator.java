@@ -0,0 +1,167 @@
+import java.io.PrintStream;
+
+/**
+ * Writes BitPacking.java: the dispatching pack and unpack methods, then one
+ * unrolled kernel per bit width from 1 to 32 for each. Integer i of a block
+ * starts at bit i * bit: it goes to word (i * bit) / 32 at shift
+ * (i * bit) % 32, and spills into the next word when it crosses a word
+ * boundary.
+ *
+ * Usage: java BitPackingGenerator &gt; BitPacking.java
+ */
+public class BitPackingGenerator {
+
+    private final PrintStream out;
+
+    private BitPackingGenerator(PrintStream out) {
+        this.out = out;
+    }
+
+    private void println(String s) {
+        this.out.print(s + "\n");
+    }
+
+    private void header() {
+        println("import java.nio.ByteBuffer;");
+        println("");
+        println("/**");
+        println(" * Unrolled kernels packing 32 integers of a given bit width into bit * 4");
+        println(" * bytes, and back. The integers are laid out from the least significant bit");
+        println(" * of the first 32-bit word up, and the words are written with the byte order");
+        println(" * of the buffer.");
+        println(" *");
+        println(" * The packing kernels do not mask their input: every integer must fit in");
+        println(" * the given number of bits.");
+        println(" *");
+        println(" * This code is generated by BitPackingGenerator, one kernel per bit width,");
+        println(" * in the manner of Util.maxbits32: do not edit it, edit the generator and");
+        println(" * run java BitPackingGenerator > BitPacking.java.");
+        println(" */");
+        println("public final class BitPacking {");
+        println("");
+        println("    private BitPacking() {");
+        println("    }");
+        println("");
+    }
+
+    private void dispatch(boolean pack) {
+        final String name = pack ? "pack" : "unpack";
+        println("    /**");
+        println("     * " + (pack ? "Packs" : "Unpacks") + " 32 integers.");
+        println("     *");
+        if (pack) {
+            println("     * @param in");
+            println("     *                source array");
+            println("     * @param inpos");
+            println("     *                index of the first integer");
+            println("     * @param out");
+            println("     *                destination buffer");
+            println("     * @param outpos");
+            println("     *                byte offset in the buffer (bit * 4 bytes are written)");
+        } else {
+            println("     * @param in");
+            println("     *                source buffer");
+            println("     * @param inpos");
+            println("     *                byte offset in the buffer (bit * 4 bytes are read)");
+            println("     * @param out");
+            println("     *                destination array");
+            println("     * @param outpos");
+            println("     *                index of the first integer");
+        }
+        println("     * @param bit");
+        println("     *                bit width, from 0 to 32");
+        println("     */");
+        if (pack)
+            println("    public static void pack(int[] in, int inpos, ByteBuffer out, int outpos, int bit) {");
+        else
+            println("    public static void unpack(ByteBuffer in, int inpos, int[] out, int outpos, int bit) {");
+        println("        switch (bit) {");
+        println("        case 0:");
+        if (!pack)
+            println("            java.util.Arrays.fill(out, outpos, outpos + 32, 0);");
+        println("            break;");
+        for (int bit = 1; bit <= 32; ++bit) {
+            println("        case " + bit + ":");
+            println("            " + name + bit + "(in, inpos, out, outpos);");
+            println("            break;");
+        }
+        println("        default:");
+        println("            throw new IllegalArgumentException(\"unsupported bit width: \" + bit);");
+        println("        }");
+        println("    }");
+        println("");
+    }
+
+    // the terms of each word are or-ed together, one per line
+    private void pack(int bit) {
+        println("    private static void pack" + bit
+                + "(int[] in, int inpos, ByteBuffer out, int outpos) {");
+        for (int word = 0; word < bit; ++word) {
+            StringBuilder terms = new StringBuilder();
+            for (int i = 0; i < 32; ++i) {
+                final int first = i * bit, last = first + bit - 1;
+                String term = null;
+                if (first / 32 == word) {
+                    final int shift = first % 32;
+                    term = "in[inpos + " + i + "]" + ((shift == 0) ? "" : " << " + shift);
+                } else if ((first / 32 == word - 1) && (last / 32 == word))
+                    // the high bits of an integer crossing the boundary
+                    term = "in[inpos + " + i + "] >>> " + (32 - first % 32);
+                if (term != null)
+                    terms.append((terms.length() == 0) ? "" : "\n                | ").append(term);
+            }
+            println("        out.putInt(outpos + " + 4 * word + ", " + terms + ");");
+        }
+        println("    }");
+        println("");
+    }
+
+    private void unpack(int bit) {
+        println("    private static void unpack" + bit
+                + "(ByteBuffer in, int inpos, int[] out, int outpos) {");
+        if (bit == 32) {
+            for (int i = 0; i < 32; ++i)
+                println("        out[outpos + " + i + "] = in.getInt(inpos + " + 4 * i + ");");
+            println("    }");
+            return;
+        }
+        for (int word = 0; word < bit; ++word)
+            println("        final int w" + word + " = in.getInt(inpos + " + 4 * word + ");");
+        final int mask = (1 << bit) - 1;
+        for (int i = 0; i < 32; ++i) {
+            final int word = i * bit / 32, shift = i * bit % 32;
+            String value;
+            if (shift + bit < 32)
+                value = ((shift == 0) ? "w" + word : "(w" + word + " >>> " + shift + ")")
+                        + " & " + mask;
+            else if (shift + bit == 32)
+                value = "w" + word + " >>> " + shift;
+            else
+                value = "((w" + word + " >>> " + shift + ") | (w" + (word + 1) + " << "
+                        + (32 - shift) + ")) & " + mask;
+            println("        out[outpos + " + i + "] = " + value + ";");
+        }
+        println("    }");
+        println("");
+    }
+
+    private void generate() {
+        header();
+        dispatch(true);
+        dispatch(false);
+        for (int bit = 1; bit <= 32; ++bit)
+            pack(bit);
+        for (int bit = 1; bit <= 32; ++bit)
+            unpack(bit);
+        println("}");
+    }
+
+    /**
+     * @param args
+     *                arguments are ignored
+     */
+    public static void main(String[] args) {
+        new BitPackingGenerator(System.out).generate();
+        System.out.flush();
+    }
+}
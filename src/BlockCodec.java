@@ -0,0 +1,56 @@
+import java.nio.ByteBuffer;
+
+/**
+ * A codec for one block of at most 256 integers, whose size is known exactly
+ * from the statistics of the block, without encoding it: AdaptiveCodec picks,
+ * block by block, the cheapest of several.
+ *
+ * @see BlockCodecs
+ */
+public interface BlockCodec {
+
+    /**
+     * @return name of the codec, e.g., "binary packing"
+     */
+    String name();
+
+    /**
+     * @param stats
+     *                statistics of the blocks
+     * @param block
+     *                index of the block
+     * @return number of bytes encode writes for this block
+     */
+    int cost(BlockStatistics stats, int block);
+
+    /**
+     * Encodes a block starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param length
+     *                number of integers, at most 256
+     * @param out
+     *                destination buffer
+     * @return number of bytes written
+     */
+    int encode(int[] in, int inpos, int length, ByteBuffer out);
+
+    /**
+     * Decodes a block starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers, as given to encode
+     */
+    void decode(ByteBuffer in, int[] out, int outpos, int length);
+}
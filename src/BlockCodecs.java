@@ -0,0 +1,238 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The block codecs AdaptiveCodec can choose from. Their costs only depend on
+ * the bit widths of the integers of a block, which BlockStatistics keeps.
+ *
+ * The codecs keep scratch space: an instance must not be used by several
+ * threads at once.
+ */
+public final class BlockCodecs {
+
+    private BlockCodecs() {
+    }
+
+    /**
+     * @param name
+     *                "binarypacking", "pfor", "vbyte" or "groupvarint"
+     * @return a new codec
+     */
+    public static BlockCodec get(String name) {
+        switch (name) {
+        case "binarypacking":
+            return new BinaryPacking();
+        case "pfor":
+            return new PFor();
+        case "vbyte":
+            return new VByte();
+        case "groupvarint":
+            return new GroupVarint();
+        default:
+            throw new IllegalArgumentException("no such block codec: " + name);
+        }
+    }
+
+    /**
+     * Binary packing: the bit width in one byte, then the integers packed
+     * with that width (the layout of BinaryPackingCodec).
+     */
+    static final class BinaryPacking implements BlockCodec {
+        // codec for each block length multiple of 8, so that the unrolled
+        // kernels are used; BinaryPackingCodec encodes a shorter block as
+        // its last block, with the same layout
+        private final BinaryPackingCodec[] codecs = new BinaryPackingCodec[257];
+
+        private BinaryPackingCodec codec(int length) {
+            final int w = (length % 8 == 0) ? length : 256;
+            if (this.codecs[w] == null)
+                this.codecs[w] = new BinaryPackingCodec(w);
+            return this.codecs[w];
+        }
+
+        @Override
+        public String name() {
+            return "binary packing";
+        }
+
+        @Override
+        public int cost(BlockStatistics stats, int block) {
+            return 1 + (stats.maxbits(block) * stats.blockSize() + 7) / 8;
+        }
+
+        @Override
+        public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+            return codec(length).encode(in, inpos, length, out);
+        }
+
+        @Override
+        public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+            codec(length).decode(in, out, outpos, length);
+        }
+    }
+
+    /**
+     * Patched binary packing with the exceptions in the block: a byte for the
+     * bit width b and one for the number of exceptions (integers wider than
+     * b), then, if there are exceptions, a byte for the largest width; the
+     * integers packed on b bits; the positions of the exceptions, one byte
+     * each; and their high bits packed. The width b minimizes the size.
+     */
+    static final class PFor implements BlockCodec {
+        private final int[] scratch = new int[256];
+        private final int[] hist = new int[33];
+        private final int[] above = new int[33];
+
+        @Override
+        public String name() {
+            return "pfor";
+        }
+
+        private static int cost(int length, int b, int maxbit, int exceptions) {
+            return 2 + ((exceptions > 0) ? 1 : 0) + (b * length + 7) / 8 + exceptions
+                    + ((maxbit - b) * exceptions + 7) / 8;
+        }
+
+        // best width given the numbers of integers wider than each width
+        private static int bestb(int length, int maxbit, int[] above) {
+            int best = maxbit;
+            int bestcost = cost(length, maxbit, maxbit, 0);
+            for (int b = maxbit - 1; b >= 0; --b) {
+                final int e = above[b];
+                if (e > 255)
+                    break;
+                final int c = cost(length, b, maxbit, e);
+                if (c < bestcost) {
+                    bestcost = c;
+                    best = b;
+                }
+            }
+            return best;
+        }
+
+        @Override
+        public int cost(BlockStatistics stats, int block) {
+            final int w = stats.blockSize();
+            final int maxbit = stats.maxbits(block);
+            int best = cost(w, maxbit, maxbit, 0);
+            for (int b = maxbit - 1; b >= 0; --b) {
+                final int e = stats.exceptions(block, b);
+                if (e > 255)
+                    break;
+                best = Math.min(best, cost(w, b, maxbit, e));
+            }
+            return best;
+        }
+
+        @Override
+        public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+            java.util.Arrays.fill(this.hist, 0);
+            Util.widths(in, inpos, length, this.hist);
+            this.above[32] = 0;
+            for (int b = 31; b >= 0; --b)
+                this.above[b] = this.above[b + 1] + this.hist[b + 1];
+            int maxbit = 0;
+            while (this.above[maxbit] > 0)
+                ++maxbit;
+            final int b = bestb(length, maxbit, this.above);
+            final int e = this.above[b];
+            final int start = out.position();
+            int pos = start;
+            out.put(pos++, (byte) b);
+            out.put(pos++, (byte) e);
+            if (e > 0)
+                out.put(pos++, (byte) maxbit);
+            final int mask = (b == 32) ? -1 : (1 << b) - 1;
+            for (int k = 0; k < length; ++k)
+                this.scratch[k] = in[inpos + k] & mask;
+            pos = BinaryPackingCodec.packGeneric(this.scratch, 0, length, out, pos, b);
+            if (e > 0) {
+                int x = 0;
+                for (int k = 0; k < length; ++k)
+                    if ((in[inpos + k] >>> b) != 0) {
+                        out.put(pos++, (byte) k);
+                        this.scratch[x++] = in[inpos + k] >>> b;
+                    }
+                pos = BinaryPackingCodec.packGeneric(this.scratch, 0, e, out, pos, maxbit - b);
+            }
+            out.position(pos);
+            return pos - start;
+        }
+
+        @Override
+        public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+            int pos = in.position();
+            final int b = in.get(pos++);
+            final int e = in.get(pos++) & 0xFF;
+            final int maxbit = (e > 0) ? in.get(pos++) : b;
+            pos = BinaryPackingCodec.unpackGeneric(in, pos, out, outpos, length, b);
+            if (e > 0) {
+                final int positions = pos;
+                pos = BinaryPackingCodec.unpackGeneric(in, pos + e, this.scratch, 0, e, maxbit - b);
+                for (int x = 0; x < e; ++x)
+                    out[outpos + (in.get(positions + x) & 0xFF)] |= this.scratch[x] << b;
+            }
+            in.position(pos);
+        }
+    }
+
+    /**
+     * VByte, as VByteCodec: 1 to 5 bytes per integer.
+     */
+    static final class VByte implements BlockCodec {
+        private final VByteCodec codec = new VByteCodec();
+
+        @Override
+        public String name() {
+            return "vbyte";
+        }
+
+        @Override
+        public int cost(BlockStatistics stats, int block) {
+            int cost = stats.count(block, 0);
+            for (int b = 1; b <= 32; ++b)
+                cost += stats.count(block, b) * ((b + 6) / 7);
+            return cost;
+        }
+
+        @Override
+        public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+            return this.codec.encode(in, inpos, length, out);
+        }
+
+        @Override
+        public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+            this.codec.decode(in, out, outpos, length);
+        }
+    }
+
+    /**
+     * Group Varint, as GroupVarintCodec: a control byte per 4 integers, and
+     * 1 to 4 bytes per integer.
+     */
+    static final class GroupVarint implements BlockCodec {
+        private final GroupVarintCodec codec = new GroupVarintCodec();
+
+        @Override
+        public String name() {
+            return "groupvarint";
+        }
+
+        @Override
+        public int cost(BlockStatistics stats, int block) {
+            int cost = (stats.blockSize() + 3) / 4 + stats.count(block, 0);
+            for (int b = 1; b <= 32; ++b)
+                cost += stats.count(block, b) * ((b + 7) / 8);
+            return cost;
+        }
+
+        @Override
+        public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+            return this.codec.encode(in, inpos, length, out);
+        }
+
+        @Override
+        public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+            this.codec.decode(in, out, outpos, length);
+        }
+    }
+}
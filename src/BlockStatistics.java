@@ -0,0 +1,188 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.IntFunction;
+
+/**
+ * Per-block statistics of an array of gaps, computed in one pass: for each
+ * block of w integers, a 33-bucket histogram of the bit widths (stored as
+ * suffix counts, so that the number of integers wider than b is an O(1)
+ * query) and the number of integers having each of the 32 bits set.
+ *
+ * Only full blocks are considered, like the block models in RunCostModels:
+ * the last data.length % w integers are ignored.
+ */
+public class BlockStatistics {
+
+    private final int w;
+    private final int blocks;
+    // above[33 * block + b] is the number of integers wider than b bits
+    private final int[] above;
+    // planes[32 * block + j] is the number of integers with bit j set
+    private final int[] planes;
+
+    /**
+     * Computes the statistics of the full blocks of data.
+     *
+     * @param data
+     *                the gaps
+     * @param w
+     *                block size
+     */
+    public BlockStatistics(int[] data, int w) {
+        this.w = w;
+        this.blocks = data.length / w;
+        this.above = new int[33 * this.blocks];
+        this.planes = new int[32 * this.blocks];
+        int[] hist = new int[33];
+        for (int block = 0; block < this.blocks; ++block) {
+            java.util.Arrays.fill(hist, 0);
+            Util.widths(data, block * w, w, hist);
+            final int planepos = 32 * block;
+            for (int k = block * w; k < block * w + w; ++k) {
+                int v = data[k];
+                while (v != 0) {
+                    ++this.planes[planepos + Integer.numberOfTrailingZeros(v)];
+                    v &= v - 1;
+                }
+            }
+            final int pos = 33 * block;
+            for (int b = 31; b >= 0; --b)
+                this.above[pos + b] = this.above[pos + b + 1] + hist[b + 1];
+        }
+    }
+
+    private BlockStatistics(int w, int blocks, int[] above, int[] planes) {
+        this.w = w;
+        this.blocks = blocks;
+        this.above = above;
+        this.planes = planes;
+    }
+
+    /**
+     * @return block size
+     */
+    public int blockSize() {
+        return this.w;
+    }
+
+    /**
+     * @return number of (full) blocks
+     */
+    public int blocks() {
+        return this.blocks;
+    }
+
+    /**
+     * @param block
+     *                index of the block
+     * @return bit width of the largest integer in the block
+     */
+    public int maxbits(int block) {
+        final int pos = 33 * block;
+        int b = 0;
+        while (this.above[pos + b] > 0)
+            ++b;
+        return b;
+    }
+
+    /**
+     * @param block
+     *                index of the block
+     * @param b
+     *                bit width (0 to 32)
+     * @return number of integers in the block having exactly b bits
+     */
+    public int count(int block, int b) {
+        final int pos = 33 * block;
+        if (b == 0)
+            return this.w - this.above[pos];
+        return this.above[pos + b - 1] - this.above[pos + b];
+    }
+
+    /**
+     * @param block
+     *                index of the block
+     * @param b
+     *                bit width (0 to 32)
+     * @return number of integers in the block needing more than b bits
+     */
+    public int exceptions(int block, int b) {
+        return this.above[33 * block + b];
+    }
+
+    /**
+     * Sum over the block of (v >>> b), computed from the bit-plane counts.
+     *
+     * @param block
+     *                index of the block
+     * @param b
+     *                shift (0 to 32)
+     * @return sum of the integers of the block shifted right by b
+     */
+    public long shiftedSum(int block, int b) {
+        final int pos = 32 * block;
+        long s = 0;
+        for (int j = 31; j >= b; --j)
+            s = 2 * s + this.planes[pos + j];
+        return s;
+    }
+
+    /**
+     * Statistics for blocks twice as large, obtained by summing pairs of
+     * blocks without going back to the data.
+     *
+     * @return statistics for block size 2w
+     */
+    public BlockStatistics coarsen() {
+        final int nb = this.blocks / 2;
+        int[] na = new int[33 * nb];
+        for (int k = 0; k < na.length; ++k) {
+            final int i = k + 33 * (k / 33);
+            na[k] = this.above[i] + this.above[i + 33];
+        }
+        int[] np = new int[32 * nb];
+        for (int k = 0; k < np.length; ++k) {
+            final int i = k + 32 * (k / 32);
+            np[k] = this.planes[i] + this.planes[i + 32];
+        }
+        return new BlockStatistics(2 * this.w, nb, na, np);
+    }
+
+    /**
+     * Statistics of one array for any block size, each computed on first use
+     * only: the models evaluated on the same array (see CostModelRunner.run)
+     * share them through one memo, which is dropped with the array. The array
+     * must not be modified while the memo is in use.
+     *
+     * @param data
+     *                the gaps
+     * @return a function from the block size to the statistics of data
+     */
+    public static IntFunction<BlockStatistics> memo(final int[] data) {
+        final Map<Integer, FutureTask<BlockStatistics>> tasks = new HashMap<Integer, FutureTask<BlockStatistics>>();
+        return w -> {
+            FutureTask<BlockStatistics> f;
+            boolean mine = false;
+            synchronized (tasks) {
+                f = tasks.get(w);
+                if (f == null) {
+                    f = new FutureTask<BlockStatistics>(() -> new BlockStatistics(data, w));
+                    tasks.put(w, f);
+                    mine = true;
+                }
+            }
+            if (mine)
+                f.run();
+            try {
+                return f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        };
+    }
+}
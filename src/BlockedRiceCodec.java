@@ -0,0 +1,312 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Blocked Rice coding with the layout assumed by RunCostModels.blockedRice:
+ * each block of w integers is a tag byte followed by the block in
+ * (bits + 7) / 8 bytes. The tag is either
+ *
+ * b (below 32): Rice code of parameter b, the w low parts (v &amp; (2^b - 1))
+ * packed in b bits, then the w quotients (v &gt;&gt;&gt; b) in unary, each as
+ * as many 0 bits followed by a 1 bit (least significant bit first), or
+ *
+ * 64 + maxbits: the w integers packed in maxbits bits, when no Rice code is
+ * smaller.
+ *
+ * The unary part is decoded 64 bits at a time with Long.numberOfTrailingZeros,
+ * so no loop runs per bit. The buffers must be little endian.
+ *
+ * Like the model, the size only counts full blocks; if the length is not a
+ * multiple of w, the last integers form a shorter block, encoded the same
+ * way.
+ */
+public class BlockedRiceCodec {
+
+    private final int w;
+
+    private final int[] scratch;
+
+    /**
+     * @param w
+     *                block size (a multiple of 32)
+     */
+    public BlockedRiceCodec(int w) {
+        if ((w <= 0) || (w % 32 != 0))
+            throw new IllegalArgumentException("block size must be a multiple of 32");
+        this.w = w;
+        this.scratch = new int[w];
+    }
+
+    /**
+     * @return block size
+     */
+    public int blockSize() {
+        return this.w;
+    }
+
+    /**
+     * Bits used by the block (without the tag) with parameter b; b =
+     * maxbits stands for binary packing.
+     *
+     * @param stats
+     *                statistics of the blocks
+     * @param block
+     *                index of the block
+     * @param b
+     *                Rice parameter, at most stats.maxbits(block)
+     * @return the bits of the block
+     */
+    static long bits(BlockStatistics stats, int block, int b) {
+        final int w = stats.blockSize();
+        if (b == stats.maxbits(block))
+            return (long) b * w;
+        // b low bits plus (val >> b) + 1 unary bits for each val
+        return (long) b * w + stats.shiftedSum(block, b) + w;
+    }
+
+    /**
+     * The cost b * w + sum(v &gt;&gt;&gt; b) + w is convex in b: from b to b +
+     * 1, the sum drops by sum(ceil((v &gt;&gt;&gt; b) / 2)), which cannot grow
+     * with b. So the search starts from the closed-form guess log2 of the
+     * mean and walks downhill, a step or two, instead of trying every b.
+     * Ties go to the smallest b, and to binary packing (b = maxbits) against
+     * a Rice code, as in RunCostModels.blockedRice.
+     *
+     * @param stats
+     *                statistics of the blocks
+     * @param block
+     *                index of the block
+     * @return the Rice parameter, or maxbits for binary packing
+     */
+    static int bestb(BlockStatistics stats, int block) {
+        final int mb = stats.maxbits(block);
+        if (mb == 0)
+            return 0;
+        final long mean = stats.shiftedSum(block, 0) / stats.blockSize();
+        int b = Math.min(mb - 1, 63 - Long.numberOfLeadingZeros(Math.max(1, mean)));
+        long cost = bits(stats, block, b);
+        while (b > 0) {
+            final long c = bits(stats, block, b - 1);
+            if (c > cost)
+                break;
+            cost = c;
+            --b;
+        }
+        while (b + 1 < mb) {
+            final long c = bits(stats, block, b + 1);
+            if (c >= cost)
+                break;
+            cost = c;
+            ++b;
+        }
+        return (cost < (long) mb * stats.blockSize()) ? b : mb;
+    }
+
+    /**
+     * @param length
+     *                number of integers
+     * @return upper bound on the number of bytes used to encode them
+     */
+    public int maxCompressedBytes(int length) {
+        // a Rice code is only used when smaller than binary packing
+        return (length + this.w - 1) / this.w + 4 * length;
+    }
+
+    /**
+     * Encodes integers starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param length
+     *                number of integers
+     * @param out
+     *                destination buffer
+     * @return number of bytes written
+     */
+    public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+        final int start = out.position();
+        int pos = start;
+        final int[] copy = Arrays.copyOfRange(in, inpos, inpos + length);
+        final BlockStatistics stats = new BlockStatistics(copy, this.w);
+        for (int block = 0; block < stats.blocks(); ++block)
+            pos = encodeBlock(copy, block * this.w, this.w, stats, block, out, pos);
+        final int done = stats.blocks() * this.w;
+        if (done < length) {
+            final int[] tail = Arrays.copyOfRange(copy, done, length);
+            pos = encodeBlock(tail, 0, tail.length, new BlockStatistics(tail, tail.length), 0,
+                    out, pos);
+        }
+        out.position(pos);
+        return pos - start;
+    }
+
+    private int encodeBlock(int[] in, int inpos, int n, BlockStatistics stats, int block,
+            ByteBuffer out, int pos) {
+        final int mb = stats.maxbits(block);
+        final int b = bestb(stats, block);
+        if (b == mb) {
+            out.put(pos++, (byte) (64 + mb));
+            return pack(in, inpos, n, out, pos, mb);
+        }
+        out.put(pos++, (byte) b);
+        final int mask = (1 << b) - 1;
+        for (int j = 0; j < n; ++j)
+            this.scratch[j] = in[inpos + j] & mask;
+        pos = pack(this.scratch, 0, n, out, pos, b);
+        long acc = 0;
+        int accbits = 0;
+        for (int j = inpos; j < inpos + n; ++j) {
+            // the zeros, then the stop bit
+            accbits += in[j] >>> b;
+            while (accbits >= 8) {
+                out.put(pos++, (byte) acc);
+                acc >>>= 8;
+                accbits -= 8;
+            }
+            acc |= 1L << accbits;
+            if (++accbits == 8) {
+                out.put(pos++, (byte) acc);
+                acc = 0;
+                accbits = 0;
+            }
+        }
+        if (accbits > 0)
+            out.put(pos++, (byte) acc);
+        return pos;
+    }
+
+    private static int pack(int[] in, int inpos, int n, ByteBuffer out, int pos, int b) {
+        if (n % 32 != 0)
+            return BinaryPackingCodec.packGeneric(in, inpos, n, out, pos, b);
+        for (int j = 0; j < n; j += 32) {
+            BitPacking.pack(in, inpos + j, out, pos, b);
+            pos += 4 * b;
+        }
+        return pos;
+    }
+
+    private static int unpack(ByteBuffer in, int pos, int[] out, int outpos, int n, int b) {
+        if (n % 32 != 0)
+            return BinaryPackingCodec.unpackGeneric(in, pos, out, outpos, n, b);
+        for (int j = 0; j < n; j += 32) {
+            BitPacking.unpack(in, pos, out, outpos + j, b);
+            pos += 4 * b;
+        }
+        return pos;
+    }
+
+    // the 8 bytes at pos, or those before the limit followed by zeros
+    private static long word(ByteBuffer in, int pos) {
+        if (pos + 8 <= in.limit())
+            return in.getLong(pos);
+        long word = 0;
+        for (int k = pos; k < in.limit(); ++k)
+            word |= (in.get(k) & 0xFFL) << (8 * (k - pos));
+        return word;
+    }
+
+    /**
+     * Decodes integers starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers to decode
+     */
+    public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+        int pos = in.position();
+        for (int k = outpos; k < outpos + length; k += this.w) {
+            final int n = Math.min(this.w, outpos + length - k);
+            final int tag = in.get(pos++);
+            if (tag >= 64) {
+                pos = unpack(in, pos, out, k, n, tag - 64);
+                continue;
+            }
+            pos = unpack(in, pos, out, k, n, tag);
+            // word holds the next avail bits of the unary part, then zeros
+            final int start = pos;
+            long word = 0;
+            int avail = 0;
+            for (int j = k; j < k + n; ++j) {
+                int q = 0;
+                while (word == 0) {
+                    q += avail;
+                    word = word(in, pos);
+                    pos += 8;
+                    avail = 64;
+                }
+                final int z = Long.numberOfTrailingZeros(word);
+                q += z;
+                word = (word >>> z) >>> 1;
+                avail -= z + 1;
+                out[j] |= q << tag;
+            }
+            pos = start + ((pos - start) * 8 - avail + 7) / 8;
+        }
+        in.position(pos);
+    }
+
+    /**
+     * Checks that the encoded size matches RunCostModels.blockedRice and that
+     * decoding gives back the data, and reports the decoding speed next to
+     * that of FastPForCodec.
+     *
+     * @param args
+     *                block size (default 128), and "-seed s" for the data of
+     *                an earlier run (the seed is printed)
+     */
+    public static void main(String[] args) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        final int w = ((args.length > 0) && !args[0].startsWith("-")) ? Integer.parseInt(args[0]) : 128;
+        final int N = 1 << 20;
+        int[] back = new int[N];
+        ClusteredDataGenerator cdg = new ClusteredDataGenerator(Util.seed(args));
+        // dense clusters (small gaps), then sparser ones
+        for (int Max : new int[] { 1 << 21, 1 << 25 }) {
+            int[] data = cdg.generateClustered(N, Max);
+            for (int k = data.length - 1; k > 0; --k)
+                data[k] -= data[k - 1] + 1;
+            BlockedRiceCodec codec = new BlockedRiceCodec(w);
+            ByteBuffer buf = ByteBuffer.allocateDirect(codec.maxCompressedBytes(N))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int bytes = codec.encode(data, 0, N, buf);
+            if (bytes != RunCostModels.blockedRice(data, w))
+                throw new RuntimeException("size does not match the model");
+            long best = Long.MAX_VALUE;
+            for (int t = 0; t < 50; ++t) {
+                Arrays.fill(back, 0);
+                buf.position(0);
+                long bef = System.nanoTime();
+                codec.decode(buf, back, 0, N);
+                best = Math.min(best, System.nanoTime() - bef);
+            }
+            if (!Arrays.equals(data, back))
+                throw new RuntimeException("bug");
+            FastPForCodec pfor = new FastPForCodec(w);
+            ByteBuffer pbuf = ByteBuffer.allocateDirect(pfor.maxCompressedBytes(N))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int pbytes = pfor.encode(data, 0, N, pbuf);
+            long pbest = Long.MAX_VALUE;
+            for (int t = 0; t < 50; ++t) {
+                pbuf.position(0);
+                long bef = System.nanoTime();
+                pfor.decode(pbuf, back, 0, N);
+                pbest = Math.min(pbest, System.nanoTime() - bef);
+            }
+            System.out.println("Max=" + Max + ": blocked rice (" + w + ") "
+                    + df.format(bytes * 8.0 / N) + " bits/int, decoding "
+                    + df.format(N * 1.0 / best) + " ints/ns; fastpfor (" + w + ") "
+                    + df.format(pbytes * 8.0 / N) + " bits/int, decoding "
+                    + df.format(N * 1.0 / pbest) + " ints/ns");
+        }
+    }
+}
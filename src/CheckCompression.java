@@ -0,0 +1,829 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+
+/**
+ * Port of checkCompression.pl: the patched schemes over blocks of 8 gaps
+ * (BP8_1_p0 to BP8_2_p789, BP8_8_patch, the unused BP8_6_patch, BP8_1_p4 and
+ * escape variants) and Rice_0 to Rice_8, scored over gaps obtained by
+ * truncating exponentially distributed floats, as the Perl script does.
+ *
+ * Apart from the Rice codes, a scheme only looks at the largest width of the
+ * block (max) and at how many gaps fall in some ranges just below 2^max, so a
+ * trial only adds one to a table of these patterns; the schemes and the
+ * matches of the Perl table are scored from the table at the end. Trials run
+ * in parallel, each task with its own SplittableRandom (split from the seed,
+ * so the result does not depend on the number of threads) and its own table,
+ * the tables being summed once the tasks are done.
+ *
+ * The output has the format of the Perl script.
+ */
+public final class CheckCompression {
+
+    /**
+     * Cost of a block of 8 gaps.
+     */
+    public static final class Scheme {
+        private final String name;
+        private final int rice;
+        private final ToIntFunction<Pattern> pattern;
+
+        private Scheme(String name, ToIntFunction<Pattern> pattern) {
+            this.name = name;
+            this.rice = -1;
+            this.pattern = pattern;
+        }
+
+        private Scheme(int rice) {
+            this.name = "Rice_" + rice;
+            this.rice = rice;
+            this.pattern = null;
+        }
+
+        /**
+         * @return name of the scheme in checkCompression.pl
+         */
+        public String name() {
+            return this.name;
+        }
+
+        /**
+         * @param in
+         *                the gaps
+         * @param pos
+         *                index of the first gap of the block
+         * @return bits used by the 8 gaps
+         */
+        public long bits(int[] in, int pos) {
+            if (this.rice >= 0) {
+                long bits = 8 * this.rice;
+                for (int k = pos; k < pos + 8; ++k)
+                    bits += (in[k] >>> this.rice) + 1;
+                return bits;
+            }
+            return this.pattern.applyAsInt(Pattern.of(in, pos));
+        }
+
+        /**
+         * @param data
+         *                the gaps
+         * @return bits used by the full blocks of 8 gaps
+         */
+        public long bits(int[] data) {
+            long bits = 0;
+            for (int k = 0; k + 8 <= data.length; k += 8)
+                bits += bits(data, k);
+            return bits;
+        }
+
+        /**
+         * @param data
+         *                the gaps
+         * @return bytes used by the full blocks of 8 gaps
+         */
+        public long bytes(int[] data) {
+            return (bits(data) + 7) / 8;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    /**
+     * What the patched schemes see of a block: the largest width, and the
+     * number of gaps of the form 1xxxxx (t0, of width max), 10xxxx (t0l),
+     * 11xxxx (t0h) and 01xxxx (t1), as numInRange counts them in the Perl
+     * script (with max = 0, t0 = t0h = 8).
+     */
+    public static final class Pattern {
+        final int max;
+        final int t0;
+        final int t0l;
+        final int t0h;
+        final int t1;
+
+        Pattern(int max, int t0, int t0l, int t1) {
+            this.max = max;
+            this.t0 = t0;
+            this.t0l = t0l;
+            this.t0h = t0 - t0l;
+            this.t1 = t1;
+        }
+
+        /**
+         * @param in
+         *                the gaps
+         * @param pos
+         *                index of the first gap of the block
+         * @return pattern of the 8 gaps
+         */
+        public static Pattern of(int[] in, int pos) {
+            final long[] x = new long[8];
+            for (int k = 0; k < 8; ++k)
+                x[k] = in[pos + k] & 0xFFFFFFFFL;
+            return decode(key(x));
+        }
+    }
+
+    private static final int MAXWIDTH = 64;
+
+    // the patterns are indexed by ((max * 9 + t0) * 9 + t0l) * 9 + t1
+    private static final int PATTERNS = MAXWIDTH * 9 * 9 * 9;
+
+    static int key(long[] x) {
+        long or = 0;
+        for (long v : x)
+            or |= v;
+        final int max = 64 - Long.numberOfLeadingZeros(or);
+        final long m0 = 1L << max;
+        final long m1 = max < 1 ? 0 : 1L << (max - 1);
+        final long m2 = max < 2 ? 0 : 1L << (max - 2);
+        int t0 = 0, t0l = 0, t1 = 0;
+        for (long v : x) {
+            if ((v >= m1) && (v <= m0 - 1))
+                ++t0;
+            if ((v >= m1) && (v <= m1 + m2 - 1))
+                ++t0l;
+            if ((v >= m2) && (v <= m1 - 1))
+                ++t1;
+        }
+        return ((max * 9 + t0) * 9 + t0l) * 9 + t1;
+    }
+
+    static Pattern decode(int key) {
+        return new Pattern(key / 729, key / 81 % 9, key / 9 % 9, key % 9);
+    }
+
+    private static int bp8_1_p0(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t1 = p.t1;
+        if (max == 0) // 0-bit uses just the flag
+            return 1;
+        if (max == 1) {
+            if (t0 == 1) // 0b + 1
+                return 1 + 8;
+            if (t0 == 2) // 0b + 1 + 1
+                return 1 + 8;
+        }
+        if (max == 2) {
+            if (t0 == 1 && t1 == 0) // 0b + 2l, 0b + 2h
+                return 1 + 8;
+            if (t0 == 1 && t0l == 1 && t1 == 1) // 0b + 2l + 1
+                return 1 + 8;
+            if (t0 == 1) // 1b + 1
+                return 1 + 8 + 1 * 8;
+            if (t0 == 2) // 1b + 1 + 1
+                return 1 + 8 + 1 * 8;
+        }
+        if (max == 3) {
+            if (t0 == 1 && t1 == 0) // 1b + 2l, 1b + 2h
+                return 1 + 8 + 1 * 8;
+            if (t0 == 1) // 2b + 1
+                return 1 + 8 + 2 * 8;
+        }
+        if (max == 4) {
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 1 + 8 + 2 * 8;
+        }
+        return 1 + 8 + max * 8; // 1b to 8b, extra
+    }
+
+    private static int bp8_1_p1(Pattern p) {
+        final int max = p.max, t0 = p.t0, t1 = p.t1;
+        if (max == 0 || max == 1) // both 0 and 1 encoded as 1-bit
+            return 1 + 8;
+        if (max == 2) {
+            if (t0 == 1 && t1 == 0) // 0b + 2l, 0b + 2h
+                return 1 + 8;
+            if (t0 == 1 && t1 == 1) // 0b + 2l + 1, 0b + 2h + 1
+                return 1 + 8;
+            if (t0 == 1 || t0 == 2) // 1b + 1, 1b + 1 + 1
+                return 1 + 8 + 1 * 8;
+        }
+        if (max == 3) {
+            if (t0 == 1 && t1 == 0) // 1b + 2l, 1b + 2h
+                return 1 + 8 + 1 * 8;
+            if (t0 == 1) // 2b + 1
+                return 1 + 8 + 2 * 8;
+        }
+        if (max == 4) {
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 1 + 8 + 2 * 8;
+        }
+        return 1 + 8 + max * 8; // 2b to 7b, escape in 2b + 1
+    }
+
+    // 2-bit + 8-bit patch: 1, 2, 3, patch
+    private static int bp8_2_p123(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t1 = p.t1;
+        if (max == 0 || max == 1) // built-in 1-bit
+            return 2 + 1 * 8;
+        if (max == 2) {
+            if (t0 == 1 && t1 == 0) // 0b + 2l, 0b + 2h
+                return 2 + 8;
+            if (t0 == 1 && t0l == 1 && t1 == 1) // 0b + 2l + 1
+                return 2 + 8;
+            return 2 + 2 * 8; // built-in 2-bit
+        }
+        if (max == 3) {
+            if (t0 == 1 && t1 == 0) // 1b + 2l, 1b + 2h
+                return 2 + 8 + 1 * 8;
+            if (t0 == 1 && t1 == 1) // 1b + 2l + 1, 1b + 2h + 1
+                return 2 + 8 + 1 * 8;
+            return 2 + 3 * 8; // built-in 3-bit
+        }
+        if (max == 4) {
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 2 + 8 + 2 * 8;
+            if (t0 == 1) // 3b + 1
+                return 2 + 8 + 3 * 8;
+        }
+        if (max == 5) {
+            if (t0 == 1 && t1 == 0) // 3b + 2l, 3b + 2h
+                return 2 + 8 + 3 * 8;
+        }
+        if (max < 12) // 0b, 4b, 5b, 6b, 8b, extra
+            return 2 + 8 + max * 8;
+        return 2 + 8 + 8 + max * 8; // extra byte to specify width
+    }
+
+    // 2-bit + 8-bit patch: 2, 3, 4, patch
+    private static int bp8_2_p234(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t1 = p.t1;
+        if (max == 0) // 0b
+            return 2 + 8;
+        if (max == 1) {
+            if (t0 == 1) // 0b + 1
+                return 2 + 8;
+            return 2 + 8 + 1 * 8; // 1b
+        }
+        if (max == 2)
+            return 2 + 2 * 8; // built-in 2b
+        if (max == 3) {
+            if (t0 == 1 && t1 == 0) // 1b + 2l, 1b + 2h
+                return 2 + 8 + 1 * 8;
+            return 2 + 3 * 8; // built-in 3-bit
+        }
+        if (max == 4) {
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 2 + 8 + 2 * 8;
+            if (t0 == 1 && t0l == 1 && t1 == 1) // 2b + 2l + 1
+                return 2 + 8 + 2 * 8;
+            return 2 + 4 * 8; // built-in 4-bit
+        }
+        if (max == 5) {
+            if (t0 == 1 && t1 == 0) // 3b + 2l, 3b + 2h
+                return 2 + 8 + 3 * 8;
+            if (t0 == 1 && t0l == 1 && t1 == 1) // 3b + 2l + 1
+                return 2 + 8 + 3 * 8;
+            if (t0 == 2) // 4b + 1 + 1
+                return 2 + 8 + 4 * 8;
+            if (t0 == 1) // 4b + 1
+                return 2 + 8 + 4 * 8;
+        }
+        if (max == 6) {
+            if (t0 == 1) // 5b + 1
+                return 2 + 8 + 5 * 8;
+        }
+        if (max < 12) // 0b, 1b, 5b, 6b, 8b, extra
+            return 2 + 8 + max * 8;
+        return 2 + 8 + 8 + max * 8; // extra byte to specify width
+    }
+
+    // 2-bit + 8-bit patch: 3, 4, 5, patch
+    private static int bp8_2_p345A(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t1 = p.t1;
+        if (max == 0) // 0b
+            return 2 + 8;
+        if (max == 1) // 1b
+            return 2 + 8 + 1 * 8;
+        if (max == 2) // 2b
+            return 2 + 8 + 2 * 8;
+        if (max == 3)
+            return 2 + 3 * 8; // built-in 3-bit
+        if (max == 4) {
+            if (t0 == 1 && t0l == 1 && t1 == 1) // 2b + 2l + 1
+                return 2 + 8 + 2 * 8;
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 2 + 8 + 2 * 8;
+            return 2 + 4 * 8; // built-in 4-bit
+        }
+        if (max == 5) {
+            if (t0 == 1 && t1 == 1) // 3b + 2l + 1, 3b + 2h + 1
+                return 2 + 8 + 3 * 8;
+            if (t0 == 1 && t1 == 0) // 3b + 2l, 3b + 2h
+                return 2 + 8 + 3 * 8;
+            return 2 + 5 * 8; // built-in 5-bit
+        }
+        if (max == 6) {
+            if (t0 == 1 && t0l == 1 && t1 == 0) // 4b + 2l
+                return 2 + 8 + 4 * 8;
+            if (t0 == 1) // 5b + 1
+                return 2 + 8 + 5 * 8;
+        }
+        if (max == 7) {
+            if (t0 == 1) // 6b + 1
+                return 2 + 8 + 6 * 8;
+        }
+        return 2 + 8 + max * 8;
+    }
+
+    // 2-bit + 8-bit patch: 3, 4, 5, patch
+    private static int bp8_2_p345(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t1 = p.t1;
+        if (max == 0) // 0b
+            return 2 + 8;
+        if (max == 1) // 1b
+            return 2 + 8 + 1 * 8;
+        if (max == 2) // 2b
+            return 2 + 8 + 2 * 8;
+        if (max == 3)
+            return 2 + 3 * 8; // built-in 3-bit
+        if (max == 4) {
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 2 + 8 + 2 * 8;
+            return 2 + 4 * 8; // built-in 4-bit
+        }
+        if (max == 5) {
+            if (t0 == 1 && t1 == 1) // 3b + 2l + 1, 3b + 2h + 1
+                return 2 + 8 + 3 * 8;
+            if (t0 == 1 && t1 == 0) // 3b + 2l, 3b + 2h
+                return 2 + 8 + 3 * 8;
+            return 2 + 5 * 8; // built-in 5-bit
+        }
+        if (max == 6) {
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 4b + 2l + 1, 4b + 2l
+                return 2 + 8 + 4 * 8;
+            if (t0 == 1) // 5b + 1
+                return 2 + 8 + 5 * 8;
+        }
+        if (max == 7) {
+            if (t0 == 1) // 6b + 1
+                return 2 + 8 + 6 * 8;
+        }
+        return 2 + 8 + max * 8;
+    }
+
+    private static int bp8_2_p456(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t0h = p.t0h, t1 = p.t1;
+        if (max == 0) // 0b
+            return 2 + 8;
+        if (max == 1) // 1b
+            return 2 + 8 + 1 * 8;
+        if (max == 2) // 2b
+            return 2 + 8 + 2 * 8;
+        if (max == 3) // 3b
+            return 2 + 8 + 3 * 8;
+        if (max == 4)
+            return 2 + 4 * 8; // built-in 4b
+        if (max == 5) {
+            if (t0 == 1 && t1 == 0) // 3b + 2l, 3b + 2h
+                return 2 + 8 + 3 * 8;
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 3b + 2l + 1, 3b + 2l
+                return 2 + 8 + 3 * 8;
+            if (t0 == 1 && t0h == 1 && t1 == 1) // 3b + 2h + 1
+                return 2 + 8 + 3 * 8;
+            return 2 + 5 * 8; // built-in 5b
+        }
+        if (max == 6) {
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 4b + 2l + 1, 4b + 2l
+                return 2 + 8 + 4 * 8;
+            if (t0 == 1 && t0h == 1 && t1 == 0) // 4b + 2h
+                return 2 + 8 + 4 * 8;
+            return 2 + 6 * 8; // built-in 6b
+        }
+        if (max == 7) {
+            if (t0 == 1 && t1 == 0) // 5b + 2l, 5b + 2h
+                return 2 + 8 + 5 * 8;
+            if (t0 == 1) // 6b + 1
+                return 2 + 8 + 6 * 8;
+        }
+        if (max == 8) {
+            if (t0 == 1) // 7b + 1
+                return 2 + 8 + 7 * 8;
+        }
+        if (max < 12) // extra (8 + 3)
+            return 2 + 8 + max * 8;
+        return 2 + 8 + 8 + max * 8; // extra byte to specify width
+    }
+
+    private static int bp8_2_p567(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t0h = p.t0h, t1 = p.t1;
+        if (max <= 4) // 0b to 4b
+            return 2 + 8 + max * 8;
+        if (max == 5)
+            return 2 + 5 * 8; // built-in 5b
+        if (max == 6) {
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 4b + 2l + 1, 4b + 2l
+                return 2 + 8 + 4 * 8;
+            if (t0 == 1 && t0h == 1 && t1 == 0) // 4b + 2h
+                return 2 + 8 + 4 * 8;
+            return 2 + 6 * 8; // built-in 6b
+        }
+        if (max == 7) {
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 5b + 2l + 1, 5b + 2l
+                return 2 + 8 + 5 * 8;
+            if (t0 == 1 && t0h == 1 && t1 == 0) // 5b + 2h
+                return 2 + 8 + 5 * 8;
+            return 2 + 7 * 8; // built-in 7b
+        }
+        if (max == 8) {
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 6b + 2l + 1, 6b + 2l
+                return 2 + 8 + 6 * 8;
+            if (t0 == 1 && t0h == 1 && t1 == 0) // 6b + 2h
+                return 2 + 8 + 6 * 8;
+        }
+        return 2 + 8 + max * 8; // enough free space to specify width
+    }
+
+    private static int bp8_2_p789(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t0h = p.t0h, t1 = p.t1;
+        if (max <= 6) // 0b to 6b
+            return 2 + 8 + max * 8;
+        if (max == 7)
+            return 2 + 7 * 8; // built-in 7b
+        if (max == 8) {
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 6b + 2l + 1, 6b + 2l
+                return 2 + 8 + 6 * 8;
+            if (t0 == 1 && t0h == 1 && t1 == 0) // 6b + 2h
+                return 2 + 8 + 6 * 8;
+            return 2 + 8 * 8; // built-in 8b
+        }
+        if (max == 9) {
+            // the Perl script tests 2l twice, so 7b + 2h (+ 1) never matches
+            if (t0 == 1 && t0l == 1 && t1 <= 1) // 7b + 2l + 1, 7b + 2l
+                return 2 + 8 + 7 * 8;
+            return 2 + 9 * 8; // built-in 9b
+        }
+        if (max == 10) {
+            if (t0 == 1 && t1 == 0) // 8b + 2l, 8b + 2h
+                return 2 + 8 + 8 * 8;
+            if (t0 == 1) // 9b + 1
+                return 2 + 8 + 9 * 8;
+        }
+        return 2 + 8 + max * 8; // use extras to specify width
+    }
+
+    private static int bp8_8_patch(Pattern p) {
+        // save 1 if high one or two elements 1-bit above everything else
+        // (which also covers the 2-bit case of the Perl script)
+        if (p.t0 == 1 || p.t0 == 2)
+            return 8 + (p.max - 1) * 8;
+        return 8 + p.max * 8;
+    }
+
+    // 1-bit control with escape
+    private static int bp8_1_escape(Pattern p) {
+        if (p.max == 0) // all zeros
+            return 1;
+        if (p.max == 1)
+            return 1 + 8;
+        // escape if control == 1 and 8-bit val is all zeros
+        return 1 + 8 + 8 + p.max * 8;
+    }
+
+    // simple BP8 with 8 custom choices of width, presumed ideal
+    private static int bp8_3(Pattern p) {
+        return p.max * 8 + 3;
+    }
+
+    // 2-bit control with escape for wider widths
+    private static int bp8_2_escape(Pattern p) {
+        if (p.max <= 3) // 0, 1, 2, 3
+            return p.max * 8 + 2;
+        return p.max * 8 + 8 + 8; // additional selector byte
+    }
+
+    private static int bp8_6_patch(Pattern p) {
+        if (p.t0 == 1) // save 8 bits if patch matches
+            return 6 + (p.max - 1) * 8;
+        return 6 + p.max * 8;
+    }
+
+    // 1-bit + 8-bit patch: patch or 4
+    private static int bp8_1_p4(Pattern p) {
+        final int max = p.max, t0 = p.t0, t0l = p.t0l, t1 = p.t1;
+        if (max == 0) // 0b
+            return 1 + 8;
+        if (max == 1) // 1b
+            return 1 + 8 + 1 * 8;
+        if (max == 2) // 2b
+            return 1 + 8 + 2 * 8;
+        if (max == 3) {
+            if (t0 == 1) // 2b + 1
+                return 1 + 8 + 2 * 8;
+            return 1 + 8 + 3 * 8; // 3b
+        }
+        if (max == 4) {
+            if (t0 == 1 && t0l == 1 && t1 == 1) // 2b + 2l + 1
+                return 1 + 8 + 2 * 8;
+            if (t0 == 1 && t1 == 0) // 2b + 2l, 2b + 2h
+                return 1 + 8 + 2 * 8;
+            return 1 + 4 * 8; // built-in 4-bit
+        }
+        if (max == 5) {
+            if (t0 == 1 && t1 == 1) // 3b + 2l + 1, 3b + 2h + 1
+                return 1 + 8 + 3 * 8;
+            if (t0 == 1 && t1 == 0) // 3b + 2l, 3b + 2h
+                return 1 + 8 + 3 * 8;
+            if (t0 == 1) // 4b + 1
+                return 1 + 8 + 4 * 8;
+        }
+        if (max == 6) {
+            if (t0 == 1 && t0l == 1 && t1 == 0) // 4b + 2l
+                return 1 + 8 + 4 * 8;
+            if (t0 == 1) // 5b + 1
+                return 1 + 8 + 5 * 8;
+        }
+        if (max == 7) {
+            if (t0 == 1) // 6b + 1
+                return 1 + 8 + 6 * 8;
+        }
+        return 1 + 8 + max * 8;
+    }
+
+    /**
+     * @param unused
+     *                whether to add the routines the Perl script does not
+     *                score (BP8_1_escape, BP8_3, BP8_2_escape, BP8_6_patch,
+     *                BP8_1_p4 and Rice_0)
+     * @return the schemes, in the order of the Perl output (after BP128)
+     */
+    public static List<Scheme> schemes(boolean unused) {
+        List<Scheme> ans = new ArrayList<Scheme>();
+        ans.add(new Scheme("BP8_1_p0", CheckCompression::bp8_1_p0));
+        ans.add(new Scheme("BP8_1_p1", CheckCompression::bp8_1_p1));
+        ans.add(new Scheme("BP8_2_p123", CheckCompression::bp8_2_p123));
+        ans.add(new Scheme("BP8_2_p234", CheckCompression::bp8_2_p234));
+        ans.add(new Scheme("BP8_2_p345A", CheckCompression::bp8_2_p345A));
+        ans.add(new Scheme("BP8_2_p345", CheckCompression::bp8_2_p345));
+        ans.add(new Scheme("BP8_2_p456", CheckCompression::bp8_2_p456));
+        ans.add(new Scheme("BP8_2_p567", CheckCompression::bp8_2_p567));
+        ans.add(new Scheme("BP8_2_p789", CheckCompression::bp8_2_p789));
+        ans.add(new Scheme("BP8_8_patch", CheckCompression::bp8_8_patch));
+        for (int k = 1; k <= 8; ++k)
+            ans.add(new Scheme(k));
+        if (unused) {
+            ans.add(new Scheme("BP8_1_escape", CheckCompression::bp8_1_escape));
+            ans.add(new Scheme("BP8_3", CheckCompression::bp8_3));
+            ans.add(new Scheme("BP8_2_escape", CheckCompression::bp8_2_escape));
+            ans.add(new Scheme("BP8_6_patch", CheckCompression::bp8_6_patch));
+            ans.add(new Scheme("BP8_1_p4", CheckCompression::bp8_1_p4));
+            ans.add(new Scheme(0));
+        }
+        return ans;
+    }
+
+    /**
+     * Names of the patterns counted in the table of the Perl script.
+     */
+    static final String[] BUCKETS = { "1", "1+1", "1+1+1", "2l", "2l+2l", "2h",
+            "2h+2h", "2l+1", "2h+1", "2l+1+1", "2h+1+1" };
+
+    private static boolean matches(Pattern p, int bucket) {
+        final int t0 = p.t0, t0l = p.t0l, t0h = p.t0h, t1 = p.t1;
+        switch (bucket) {
+        case 0: // 1xxx
+            return t0 == 1;
+        case 1: // 1xxx + 1xxx
+            return t0 == 2;
+        case 2: // 1xxx + 1xxx + 1xxx
+            return t0 == 3;
+        case 3: // 10xxx
+            return t0 == 1 && t0h == 0 && t1 == 0;
+        case 4: // 10xxx + 10xxx
+            return t0 == 2 && t0h == 0 && t1 == 0;
+        case 5: // 11xxx
+            return t0 == 1 && t0l == 0 && t1 == 0;
+        case 6: // 11xxx + 11xxx
+            return t0 == 2 && t0l == 0 && t1 == 0;
+        case 7: // 10xxx + 1xxx
+            return t0 == 1 && t0l == 1 && t1 == 1;
+        case 8: // 11xxx + 1xxx
+            return t0 == 1 && t0h == 1 && t1 == 1;
+        case 9: // 10xxx + 1xxx + 1xxx
+            return t0 == 1 && t0l == 1 && t1 == 2;
+        default: // 11xxx + 1xxx + 1xxx
+            return t0 == 1 && t0h == 1 && t1 == 2;
+        }
+    }
+
+    /**
+     * What a run of trials leaves: the number of blocks of each pattern, the
+     * sums of the Rice quotients and the bits of BP128.
+     */
+    static final class Tally {
+        final long[] patterns = new long[PATTERNS];
+        final long[] quotients = new long[9];
+        long trials;
+        long bp128;
+
+        void add(Tally o) {
+            for (int k = 0; k < PATTERNS; ++k)
+                this.patterns[k] += o.patterns[k];
+            for (int k = 0; k < 9; ++k)
+                this.quotients[k] += o.quotients[k];
+            this.trials += o.trials;
+            this.bp128 += o.bp128;
+        }
+
+        long bits(Scheme s) {
+            if (s.rice >= 0)
+                return this.trials * (8 * s.rice + 8) + this.quotients[s.rice];
+            long bits = 0;
+            for (int k = 0; k < PATTERNS; ++k)
+                if (this.patterns[k] != 0)
+                    bits += this.patterns[k] * s.pattern.applyAsInt(decode(k));
+            return bits;
+        }
+    }
+
+    // BP128 uses the largest width of 16 consecutive trials, plus a byte;
+    // like the Perl script, the trials of an incomplete group cost nothing
+    private static Tally trials(double avg, long count, SplittableRandom r) {
+        Tally t = new Tally();
+        final long[] x = new long[8];
+        int bp128max = 0;
+        for (long n = 1; n <= count; ++n) {
+            for (int k = 0; k < 8; ++k)
+                x[k] = (long) (-avg * Math.log(1.0 - r.nextDouble()));
+            final int key = key(x);
+            ++t.patterns[key];
+            for (int w = 0; w < 9; ++w)
+                for (int k = 0; k < 8; ++k)
+                    t.quotients[w] += x[k] >>> w;
+            bp128max = Math.max(bp128max, key / 729);
+            if (n % 16 == 0) {
+                t.bp128 += bp128max * 128 + 8;
+                bp128max = 0;
+            }
+        }
+        t.trials = count;
+        return t;
+    }
+
+    // trials per task, a multiple of 16 for BP128
+    private static final long TASK = 1 << 20;
+
+    /**
+     * Runs the trials of one mean on the pool, in tasks of TASK trials, each
+     * with its own split of r: the result only depends on r, not on the
+     * number of threads.
+     *
+     * @param avg
+     *                mean of the exponential distribution
+     * @param count
+     *                number of trials (of 8 gaps)
+     * @param r
+     *                source of the seeds of the tasks
+     * @param pool
+     *                where the tasks run
+     * @return the sum of the tallies of the tasks
+     */
+    static Tally run(double avg, long count, SplittableRandom r, ForkJoinPool pool) {
+        List<Callable<Tally>> work = new ArrayList<Callable<Tally>>();
+        for (long done = 0; done < count; done += TASK) {
+            final long n = Math.min(TASK, count - done);
+            final SplittableRandom s = r.split();
+            work.add(() -> trials(avg, n, s));
+        }
+        Tally total = new Tally();
+        try {
+            for (Future<Tally> f : pool.invokeAll(work))
+                total.add(f.get());
+        } catch (InterruptedException | ExecutionException ex) {
+            throw new RuntimeException(ex);
+        }
+        return total;
+    }
+
+    private static String format(double v) {
+        return String.format(Locale.ROOT, "%.2f", v);
+    }
+
+    /**
+     * Prints the table of patterns and the scores, as the Perl script does.
+     *
+     * @param avg
+     *                mean of the exponential distribution
+     * @param t
+     *                the tally of the trials
+     * @param schemes
+     *                the schemes scored after BP128
+     */
+    static void print(double avg, Tally t, List<Scheme> schemes) {
+        StringBuilder out = new StringBuilder(format(avg) + " ");
+        for (String name : BUCKETS)
+            out.append(String.format(Locale.ROOT, "%7s", name));
+        out.append("\n");
+        final long[][] match = new long[MAXWIDTH][BUCKETS.length + 1];
+        for (int k = 0; k < PATTERNS; ++k)
+            if (t.patterns[k] != 0) {
+                final Pattern p = decode(k);
+                match[p.max][0] += t.patterns[k];
+                for (int b = 0; b < BUCKETS.length; ++b)
+                    if (matches(p, b))
+                        match[p.max][b + 1] += t.patterns[k];
+            }
+        for (int i = 0; i <= 32; ++i)
+            if (match[i][0] > 0) {
+                out.append(String.format(Locale.ROOT, "  %2d: ", i));
+                for (int j = 1; j <= BUCKETS.length; ++j)
+                    out.append(String.format(Locale.ROOT, "%6d ", match[i][j]));
+                out.append("(" + match[i][0] + ")\n");
+            }
+        // the averages are compared once rounded, as strings in Perl
+        final String standard = format(t.bp128 / (t.trials * 8.0));
+        out.append("(" + standard + ") ");
+        String best = "32";
+        for (Scheme s : schemes) {
+            final String avgBits = format(t.bits(s) / (t.trials * 8.0));
+            if (Double.parseDouble(avgBits) < Double.parseDouble(best))
+                best = avgBits;
+            out.append(avgBits + " ");
+        }
+        out.append("(" + best + " "
+                + format(Double.parseDouble(best) - Double.parseDouble(standard)) + ")\n");
+        System.out.println(out);
+    }
+
+    // the means of the Perl script
+    static List<Double> perlMeans() {
+        List<Double> ans = new ArrayList<Double>();
+        for (double i = 0.1; i < .95; i += .1)
+            ans.add(Double.parseDouble(format(i)));
+        for (double i = 1; i < 3.9; i += .2)
+            ans.add(i);
+        for (double i = 4; i < 9.9; i += .5)
+            ans.add(i);
+        for (double i = 10; i < 20; i += 2)
+            ans.add(i);
+        for (double i = 20; i < 100; i += 5)
+            ans.add(i);
+        for (double i = 100; i < 1000; i += 100)
+            ans.add(i);
+        for (double i = 1000; i < 10000; i += 1000)
+            ans.add(i);
+        return ans;
+    }
+
+    // value following the option, or null
+    private static String option(String[] args, String name) {
+        for (int k = 0; k + 1 < args.length; ++k)
+            if (args[k].equals(name))
+                return args[k + 1];
+        return null;
+    }
+
+    /**
+     * Prints, for each mean, the table and the scores of checkCompression.pl;
+     * the time of each mean goes to the standard error.
+     *
+     * @param args
+     *                "-trials n" (default 1000, as in the Perl script),
+     *                "-threads t", "-seed s", "-means a,b,c" or "-sweep
+     *                lo:hi:n" (n means spaced geometrically) instead of the
+     *                means of the Perl script, and "-unused" to also score
+     *                the routines it does not use
+     */
+    public static void main(String[] args) {
+        final long count = (option(args, "-trials") != null)
+                ? (long) Double.parseDouble(option(args, "-trials")) : 1000;
+        final ForkJoinPool pool = (option(args, "-threads") != null)
+                ? new ForkJoinPool(Integer.parseInt(option(args, "-threads")))
+                : ForkJoinPool.commonPool();
+        final long seed = (option(args, "-seed") != null) ? Long.parseLong(option(args, "-seed"))
+                : new SplittableRandom().nextLong();
+        final List<Scheme> schemes = schemes(Arrays.asList(args).contains("-unused"));
+        List<Double> means = perlMeans();
+        if (option(args, "-means") != null) {
+            means = new ArrayList<Double>();
+            for (String m : option(args, "-means").split(","))
+                means.add(Double.parseDouble(m));
+        } else if (option(args, "-sweep") != null) {
+            final String[] s = option(args, "-sweep").split(":");
+            final double lo = Double.parseDouble(s[0]), hi = Double.parseDouble(s[1]);
+            final int n = Integer.parseInt(s[2]);
+            means = new ArrayList<Double>();
+            for (int k = 0; k < n; ++k)
+                means.add(n == 1 ? lo : lo * Math.pow(hi / lo, k / (n - 1.0)));
+        }
+        System.err.println("# seed=" + seed + " trials=" + count + " threads=" + pool.getParallelism());
+        SplittableRandom r = new SplittableRandom(seed);
+        for (double avg : means) {
+            final long bef = System.nanoTime();
+            Tally t = run(avg, count, r.split(), pool);
+            final long aft = System.nanoTime();
+            print(avg, t, schemes);
+            System.err.println("# " + format(avg) + ": " + format((aft - bef) / 1e9) + " s");
+        }
+    }
+}
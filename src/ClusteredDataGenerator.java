@@ -1,9 +1,7 @@
 
-import java.util.Arrays;
-import java.util.BitSet;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * This class will generate lists of random integers based on the clustered
@@ -16,43 +14,120 @@ import java.util.Random;
  */
 public class ClusteredDataGenerator {
 
-        UniformDataGenerator unidg = new UniformDataGenerator();
+        // recursion nodes covering fewer integers are not forked
+        private static final int PARALLELTHRESHOLD = 1 << 15;
+
+        private final SplittableRandom rand;
 
         /**
          * Creating random array generator.
          */
         public ClusteredDataGenerator() {
+                this.rand = new SplittableRandom();
         }
 
-        void fillUniform(int[] array, int offset, int length, int Min, int Max) {
-                int[] v = this.unidg.generateUniform(length, Max - Min);
-                for (int k = 0; k < v.length; ++k)
-                        array[k + offset] = Min + v[k];
+        /**
+         * Creating random array generator: the arrays depend only on the seed
+         * (and on the sequence of calls), not on the number of threads.
+         * 
+         * @param seed
+         *                random seed
+         */
+        public ClusteredDataGenerator(long seed) {
+                this.rand = new SplittableRandom(seed);
+        }
+
+        static void fillUniform(int[] array, int offset, int length, int Min,
+                int Max, SplittableRandom r) {
+                UniformDataGenerator.fillUniform(array, offset, length, Min,
+                        Max, r);
         }
 
-        void fillClustered(int[] array, int offset, int length, int Min, int Max) {
+        // Each node draws its cut from its own generator, then splits it
+        // into one generator per half: the output does not depend on the
+        // order in which the halves are filled.
+        static void fillClustered(int[] array, int offset, int length,
+                int Min, int Max, SplittableRandom r) {
                 final int range = Max - Min;
                 if ((range == length) || (length <= 10)) {
-                        fillUniform(array, offset, length, Min, Max);
+                        fillUniform(array, offset, length, Min, Max, r);
                         return;
                 }
                 final int cut = length
                         / 2
-                        + ((range - length - 1 > 0) ? this.unidg.rand
+                        + ((range - length - 1 > 0) ? r
                                 .nextInt(range - length - 1) : 0);
-                final double p = this.unidg.rand.nextDouble();
+                final double p = r.nextDouble();
+                final SplittableRandom left = r.split();
+                final SplittableRandom right = r.split();
                 if (p < 0.25) {
-                        fillUniform(array, offset, length / 2, Min, Min + cut);
+                        fillUniform(array, offset, length / 2, Min, Min + cut,
+                                left);
                         fillClustered(array, offset + length / 2, length
-                                - length / 2, Min + cut, Max);
+                                - length / 2, Min + cut, Max, right);
                 } else if (p < 0.5) {
-                        fillClustered(array, offset, length / 2, Min, Min + cut);
+                        fillClustered(array, offset, length / 2, Min, Min
+                                + cut, left);
                         fillUniform(array, offset + length / 2, length - length
-                                / 2, Min + cut, Max);
+                                / 2, Min + cut, Max, right);
                 } else {
-                        fillClustered(array, offset, length / 2, Min, Min + cut);
+                        fillClustered(array, offset, length / 2, Min, Min
+                                + cut, left);
                         fillClustered(array, offset + length / 2, length
-                                - length / 2, Min + cut, Max);
+                                - length / 2, Min + cut, Max, right);
+                }
+        }
+
+        /**
+         * Same recursion as fillClustered, forking the two halves (which
+         * write disjoint ranges of the array) while they are large.
+         */
+        static class Fill extends RecursiveAction {
+                private static final long serialVersionUID = 1L;
+                final int[] array;
+                final int offset, length, Min, Max;
+                final SplittableRandom r;
+                final boolean uniform;
+
+                Fill(int[] array, int offset, int length, int Min, int Max,
+                        SplittableRandom r, boolean uniform) {
+                        this.array = array;
+                        this.offset = offset;
+                        this.length = length;
+                        this.Min = Min;
+                        this.Max = Max;
+                        this.r = r;
+                        this.uniform = uniform;
+                }
+
+                @Override
+                protected void compute() {
+                        final int range = this.Max - this.Min;
+                        if (this.uniform) {
+                                fillUniform(this.array, this.offset,
+                                        this.length, this.Min, this.Max, this.r);
+                                return;
+                        }
+                        if ((this.length < PARALLELTHRESHOLD)
+                                || (range == this.length)) {
+                                fillClustered(this.array, this.offset,
+                                        this.length, this.Min, this.Max, this.r);
+                                return;
+                        }
+                        final int cut = this.length
+                                / 2
+                                + ((range - this.length - 1 > 0) ? this.r
+                                        .nextInt(range - this.length - 1) : 0);
+                        final double p = this.r.nextDouble();
+                        final SplittableRandom left = this.r.split();
+                        final SplittableRandom right = this.r.split();
+                        final int half = this.length / 2;
+                        invokeAll(new Fill(this.array, this.offset, half,
+                                this.Min, this.Min + cut, left, p < 0.25),
+                                new Fill(this.array, this.offset + half,
+                                        this.length - half, this.Min + cut,
+                                        this.Max, right, (p >= 0.25)
+                                                && (p < 0.5)));
                 }
         }
 
@@ -66,8 +141,31 @@ public class ClusteredDataGenerator {
          * @return array containing the integers
          */
         public int[] generateClustered(int N, int Max) {
+                return generateClustered(N, Max, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * generates randomly N distinct integers from 0 to Max, using the
+         * threads of a pool. The result does not depend on the pool.
+         * 
+         * @param N
+         *                number of integers to generate
+         * @param Max
+         *                maximal value of the integers
+         * @param pool
+         *                pool running the recursion
+         * @return array containing the integers
+         */
+        public int[] generateClustered(int N, int Max, ForkJoinPool pool) {
+                SplittableRandom r;
+                synchronized (this.rand) {
+                        r = this.rand.split();
+                }
                 int[] array = new int[N];
-                fillClustered(array, 0, N, 0, Max);
+                if (N < PARALLELTHRESHOLD)
+                        fillClustered(array, 0, N, 0, Max, r);
+                else
+                        pool.invoke(new Fill(array, 0, N, 0, Max, r, false));
                 return array;
         }
 
@@ -85,100 +183,3 @@ public class ClusteredDataGenerator {
         }
 
 }
-
-
- class UniformDataGenerator {
-        /**
-         * construct generator of random arrays.
-         */
-        public UniformDataGenerator() {
-                this.rand = new Random();
-        }
-
-        /**
-         * @param seed
-         *                random seed
-         */
-        public UniformDataGenerator(final int seed) {
-                this.rand = new Random(seed);
-        }
-
-        /**
-         * generates randomly N distinct integers from 0 to Max.
-         */
-        int[] generateUniformHash(int N, int Max) {
-                if (N > Max)
-                        throw new RuntimeException("not possible");
-                int[] ans = new int[N];
-                HashSet<Integer> s = new HashSet<Integer>();
-                while (s.size() < N)
-                        s.add(new Integer(this.rand.nextInt(Max)));
-                Iterator<Integer> i = s.iterator();
-                for (int k = 0; k < N; ++k)
-                        ans[k] = i.next().intValue();
-                Arrays.sort(ans);
-                return ans;
-        }
-
-        /**
-         * output all integers from the range [0,Max) that are not in the array
-         */
-        static int[] negate(int[] x, int Max) {
-                int[] ans = new int[Max - x.length];
-                int i = 0;
-                int c = 0;
-                for (int j = 0; j < x.length; ++j) {
-                        int v = x[j];
-                        for (; i < v; ++i)
-                                ans[c++] = i;
-                        ++i;
-                }
-                while (c < ans.length)
-                        ans[c++] = i++;
-                return ans;
-        }
-
-        /**
-         * generates randomly N distinct integers from 0 to Max.
-         * 
-         * @param N
-         *                number of integers to generate
-         * @param Max
-         *                bound on the value of integers
-         * @return an array containing randomly selected integers
-         */
-        public int[] generateUniform(int N, int Max) {
-                if (N * 2 > Max) {
-                        return negate(generateUniform(Max - N, Max), Max);
-                }
-                if (2048 * N > Max)
-                        return generateUniformBitmap(N, Max);
-                return generateUniformHash(N, Max);
-        }
-
-        /**
-         * generates randomly N distinct integers from 0 to Max.
-         */
-        int[] generateUniformBitmap(int N, int Max) {
-                if (N > Max)
-                        throw new RuntimeException("not possible");
-                int[] ans = new int[N];
-                BitSet bs = new BitSet(Max);
-                int cardinality = 0;
-                while (cardinality < N) {
-                        int v = rand.nextInt(Max);
-                        if (!bs.get(v)) {
-                                bs.set(v);
-                                cardinality++;
-                        }
-                }
-                int pos = 0;
-                for (int i = bs.nextSetBit(0); i >= 0; i = bs.nextSetBit(i + 1)) {
-                        ans[pos++] = i;
-                }
-                return ans;
-        }
-
-        Random rand = new Random();
-
-}
\ No newline at end of file
@@ -0,0 +1,90 @@
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * A model estimating how many bytes a compression scheme would need to store
+ * a list of gaps (differences between successive sorted integers, minus one).
+ *
+ * Implementations must not modify the array they are given: the same array is
+ * shared by all models evaluated concurrently.
+ *
+ * @see CostModels
+ * @see CostModelRunner
+ */
+public interface CostModel {
+
+    /**
+     * @return name of the scheme, e.g., "binary packing"
+     */
+    String name();
+
+    /**
+     * @return block width (or similar size parameter) used by the model, or 0
+     *         if the model has none
+     */
+    int blockSize();
+
+    /**
+     * @return label used when reporting, e.g., "binary packing (128)"
+     */
+    String label();
+
+    /**
+     * @param gaps
+     *                the gaps to compress (not modified)
+     * @return estimated number of bytes
+     */
+    long estimateBytes(int[] gaps);
+
+    /**
+     * Same as estimateBytes, also reporting the internal counters of the model
+     * (e.g., how many integers each case of a parse coded), if it keeps any.
+     *
+     * @param gaps
+     *                the gaps to compress (not modified)
+     * @param counters
+     *                where the counters are added, by name
+     * @return estimated number of bytes
+     */
+    default long estimateBytes(int[] gaps, Map<String, Long> counters) {
+        return estimateBytes(gaps);
+    }
+
+    /**
+     * Same as estimateBytes(gaps, counters), the block models taking the
+     * statistics of the gaps from stats instead of computing them: the
+     * models evaluated on the same gaps share one BlockStatistics.memo.
+     *
+     * @param gaps
+     *                the gaps to compress (not modified)
+     * @param stats
+     *                statistics of the gaps, by block size
+     * @param counters
+     *                where the counters are added, by name, or null
+     * @return estimated number of bytes
+     */
+    default long estimateBytes(int[] gaps, IntFunction<BlockStatistics> stats,
+            Map<String, Long> counters) {
+        return estimateBytes(gaps, counters);
+    }
+
+    /**
+     * Same as estimateBytes, for gaps stored off heap, possibly more than
+     * 2^31 of them: they are fed to a sink.
+     *
+     * @param gaps
+     *                the gaps to compress
+     * @return estimated number of bytes
+     */
+    default long estimateBytes(GapSegment gaps) {
+        return gaps.feed(newSink());
+    }
+
+    /**
+     * Streaming version of estimateBytes: the sink, fed the same gaps, returns
+     * the same estimate while using memory independent of their number.
+     *
+     * @return a new sink
+     */
+    IntBlockSink newSink();
+}
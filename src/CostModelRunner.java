@@ -0,0 +1,333 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+/**
+ * Evaluates several cost models concurrently over one shared, read-only array
+ * of gaps. Each model runs as its own task so that the wall-clock time is
+ * roughly that of the slowest model.
+ *
+ * Gaps that do not fit in memory can be streamed instead, in a single pass:
+ * they are buffered in a window of a few chunks, fed to the sinks of all
+ * models concurrently, and split into ranges evaluated in parallel for the
+ * models whose sinks are MergeableSinks.
+ *
+ * Each model is timed, and the bytes it allocates on the thread running it
+ * are measured (ThreadMXBean.getThreadAllocatedBytes); its internal counters
+ * are collected too. Since the models share the
+ * pool, their times are only comparable with a pool of one thread.
+ */
+public class CostModelRunner {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Runner using the common fork-join pool.
+     */
+    public CostModelRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool
+     *                pool the models are evaluated on
+     */
+    public CostModelRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param models
+     *                models to evaluate
+     * @param gaps
+     *                the gaps (must not be modified while this runs)
+     * @return one row per model, in the order of the models
+     */
+    public CostTable run(List<CostModel> models, final int[] gaps) {
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<ForkJoinTask<long[]>>();
+        List<Map<String, Long>> counters = new ArrayList<Map<String, Long>>();
+        // the block statistics are computed once, by the first model asking
+        final IntFunction<BlockStatistics> stats = BlockStatistics.memo(gaps);
+        for (final CostModel m : models) {
+            final Map<String, Long> c = new LinkedHashMap<String, Long>();
+            counters.add(c);
+            tasks.add(this.pool.submit(() -> {
+                long allocated = allocatedBytes();
+                long bef = System.nanoTime();
+                long bytes = m.estimateBytes(gaps, stats, c);
+                long nanos = System.nanoTime() - bef;
+                if (allocated >= 0)
+                    allocated = allocatedBytes() - allocated;
+                return new long[] { bytes, nanos, allocated };
+            }));
+        }
+        CostTable table = new CostTable(gaps.length);
+        for (int k = 0; k < models.size(); ++k) {
+            long[] r = tasks.get(k).join();
+            table.add(models.get(k), r[0], r[1], r[2], counters.get(k));
+        }
+        return table;
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if the JVM
+     *         does not measure it
+     */
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean b = (com.sun.management.ThreadMXBean) bean;
+            if (b.isThreadAllocatedMemorySupported() && b.isThreadAllocatedMemoryEnabled())
+                return b.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Evaluation of several models over a stream of gaps. The gaps are copied
+     * into a window and fed to the sinks once it is full: each model gets a
+     * task, which splits the window into ranges (at least two chunks) fed to
+     * sinks of their own in parallel when the model has a MergeableSink, and
+     * merges them in order into the sink of the model, so the estimates are
+     * those of a single sink. The memory used does not depend on the length
+     * of the stream.
+     */
+    public class Stream {
+        // chunks per range of the window: the sink of each range allocates
+        // its own buffers, which should be small next to the range
+        private static final int RANGE = 8;
+
+        private final List<CostModel> models;
+        private final IntBlockSink[] sinks;
+        private final long[] nanos;
+        private final long[] allocated;
+        private long N;
+        // gaps not yet fed to the sinks
+        private final int[] window;
+        private int filled;
+
+        Stream(List<CostModel> models) {
+            this.models = models;
+            this.sinks = new IntBlockSink[models.size()];
+            for (int k = 0; k < this.sinks.length; ++k)
+                this.sinks[k] = models.get(k).newSink();
+            this.nanos = new long[models.size()];
+            this.allocated = new long[models.size()];
+            // one range per thread: the models already run concurrently
+            this.window = new int[RANGE * CostSinks.CHUNK
+                    * CostModelRunner.this.pool.getParallelism()];
+        }
+
+        // runs work, timing it and counting the bytes it allocates on the
+        // current thread (-1 if they are not measured): { nanos, bytes }
+        private long[] measure(Runnable work) {
+            long a = allocatedBytes();
+            long bef = System.nanoTime();
+            work.run();
+            long nanos = System.nanoTime() - bef;
+            return new long[] { nanos, (a < 0) ? -1 : allocatedBytes() - a };
+        }
+
+        // adds a measure to model i, only from the task of model i
+        private void add(int i, long[] m) {
+            this.nanos[i] += m[0];
+            if ((m[1] < 0) || (this.allocated[i] < 0))
+                this.allocated[i] = -1;
+            else
+                this.allocated[i] += m[1];
+        }
+
+        /**
+         * Feeds the next gaps to all models. The gaps are copied: the array
+         * may be reused by the caller afterwards.
+         *
+         * @param buf
+         *                array containing the gaps
+         * @param off
+         *                index of the first gap
+         * @param len
+         *                number of gaps
+         */
+        public void accept(final int[] buf, int off, int len) {
+            while (len > 0) {
+                int n = Math.min(len, this.window.length - this.filled);
+                System.arraycopy(buf, off, this.window, this.filled, n);
+                this.filled += n;
+                off += n;
+                len -= n;
+                if (this.filled == this.window.length)
+                    flush();
+            }
+        }
+
+        // feeds gaps stored off heap to all models, read into the window
+        void accept(GapSegment gaps) {
+            for (long k = 0; k < gaps.length();) {
+                int n = (int) Math.min(gaps.length() - k, this.window.length - this.filled);
+                gaps.get(k, this.window, this.filled, n);
+                this.filled += n;
+                k += n;
+                if (this.filled == this.window.length)
+                    flush();
+            }
+        }
+
+        // feeds the window to all models, and returns once it is consumed
+        private void flush() {
+            final int len = this.filled;
+            if (len == 0)
+                return;
+            final int chunks = (len + CostSinks.CHUNK - 1) / CostSinks.CHUNK;
+            final int ranges = Math.max(1,
+                    Math.min(CostModelRunner.this.pool.getParallelism(), chunks / 2));
+            final int[] bounds = new int[ranges + 1];
+            for (int r = 0; r <= ranges; ++r)
+                bounds[r] = (int) Math.min(len, (long) chunks * r / ranges * CostSinks.CHUNK);
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+            for (int k = 0; k < this.sinks.length; ++k) {
+                final int i = k;
+                tasks.add(CostModelRunner.this.pool.submit(() -> feed(i, bounds)));
+            }
+            for (ForkJoinTask<?> t : tasks)
+                t.join();
+            this.N += len;
+            this.filled = 0;
+        }
+
+        // feeds the ranges [bounds[r], bounds[r + 1]) of the window to the
+        // sink of model i
+        private void feed(final int i, final int[] bounds) {
+            final int ranges = bounds.length - 1;
+            if (!(this.sinks[i] instanceof MergeableSink) || (ranges == 1)) {
+                add(i, measure(() -> this.sinks[i].accept(this.window, 0, bounds[ranges])));
+                return;
+            }
+            final MergeableSink sink = (MergeableSink) this.sinks[i];
+            final MergeableSink[] parts = new MergeableSink[ranges];
+            final long[][] used = new long[ranges][];
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+            for (int r = 0; r < ranges; ++r) {
+                final int j = r;
+                tasks.add(ForkJoinTask.adapt(() -> used[j] = measure(() -> {
+                    parts[j] = (j == 0) ? sink : (MergeableSink) this.models.get(i).newSink();
+                    parts[j].accept(this.window, bounds[j], bounds[j + 1] - bounds[j]);
+                })));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            for (long[] m : used)
+                add(i, m);
+            add(i, measure(() -> {
+                for (int r = 1; r < ranges; ++r)
+                    if (!sink.merge(parts[r]))
+                        sink.accept(this.window, bounds[r], bounds[r + 1] - bounds[r]);
+            }));
+        }
+
+        /**
+         * Ends the stream.
+         *
+         * @return one row per model, in the order of the models
+         */
+        public CostTable finish() {
+            flush();
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+            final long[] bytes = new long[this.sinks.length];
+            for (int k = 0; k < this.sinks.length; ++k) {
+                final int i = k;
+                tasks.add(CostModelRunner.this.pool.submit(
+                        () -> add(i, measure(() -> bytes[i] = this.sinks[i].finish()))));
+            }
+            CostTable table = new CostTable(this.N);
+            for (int k = 0; k < this.sinks.length; ++k) {
+                tasks.get(k).join();
+                Map<String, Long> counters = new LinkedHashMap<String, Long>();
+                this.sinks[k].counters(counters);
+                table.add(this.models.get(k), bytes[k], this.nanos[k],
+                        this.allocated[k], counters);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * @param models
+     *                models to evaluate
+     * @return a streaming evaluation of the models
+     */
+    public Stream stream(List<CostModel> models) {
+        return new Stream(models);
+    }
+
+    // feeds the gaps [from, to) to a sink
+    private interface Feeder {
+        void feed(IntBlockSink sink, long from, long to);
+    }
+
+    /**
+     * Evaluates one model, splitting the gaps into ranges evaluated in
+     * parallel when its sink is a MergeableSink; the partial states are then
+     * merged in order, so the estimate is that of estimateBytes. Other
+     * models are evaluated on one thread.
+     *
+     * @param model
+     *                the model
+     * @param gaps
+     *                the gaps
+     * @return estimated number of bytes
+     */
+    public long estimate(CostModel model, final int[] gaps) {
+        return estimate(model, gaps.length,
+                (sink, from, to) -> sink.accept(gaps, (int) from, (int) (to - from)));
+    }
+
+    private long estimate(CostModel model, long length, final Feeder feeder) {
+        final IntBlockSink first = model.newSink();
+        // ranges of at least two whole chunks, so that the block sinks merge
+        // and the parses find where they join
+        final long chunks = (length + CostSinks.CHUNK - 1) / CostSinks.CHUNK;
+        final int ranges = (int) Math.min(4L * this.pool.getParallelism(), chunks / 2);
+        if (!(first instanceof MergeableSink) || (ranges <= 1)) {
+            feeder.feed(first, 0, length);
+            return first.finish();
+        }
+        final long[] bounds = new long[ranges + 1];
+        for (int r = 0; r <= ranges; ++r)
+            bounds[r] = Math.min(length, chunks * r / ranges * CostSinks.CHUNK);
+        List<ForkJoinTask<MergeableSink>> tasks = new ArrayList<ForkJoinTask<MergeableSink>>();
+        for (int r = 0; r < ranges; ++r) {
+            final int i = r;
+            tasks.add(this.pool.submit(() -> {
+                MergeableSink sink = (MergeableSink) ((i == 0) ? first : model.newSink());
+                feeder.feed(sink, bounds[i], bounds[i + 1]);
+                return sink;
+            }));
+        }
+        MergeableSink sink = tasks.get(0).join();
+        for (int r = 1; r < ranges; ++r)
+            if (!sink.merge(tasks.get(r).join()))
+                feeder.feed(sink, bounds[r], bounds[r + 1]);
+        return sink.finish();
+    }
+
+    /**
+     * Evaluates models over gaps stored off heap, in a single pass through a
+     * Stream: the gaps are read once, a window at a time, and each model is
+     * evaluated on ranges of the window in parallel when it can be.
+     *
+     * @param models
+     *                models to evaluate
+     * @param gaps
+     *                the gaps
+     * @return one row per model, in the order of the models
+     */
+    public CostTable run(List<CostModel> models, GapSegment gaps) {
+        Stream s = stream(models);
+        s.accept(gaps);
+        return s.finish();
+    }
+}
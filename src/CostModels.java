@@ -0,0 +1,297 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registry of the cost models. Each entry wraps one of the static estimators
+ * in RunCostModels. The order of the registry is the order in which
+ * RunCostModels.process reports the models.
+ */
+public final class CostModels {
+
+    private static final List<CostModel> MODELS = new ArrayList<CostModel>();
+
+    static {
+        register("reasonable lower bound", 0, "reasonable lower bound",
+                RunCostModels::binarypackinglowerbound,
+                () -> CostSinks.blocks(1, RunCostModels::binarypackinglowerboundbits, CostModels::bitstobytes));
+        register("binary interpolative coding", 128,
+                "binary interpolative coding (128)",
+                d -> RunCostModels.binaryinterpolativecoding(d, 128),
+                () -> CostSinks.blocks(128, c -> RunCostModels.binaryinterpolativecodingbits(c, 128), CostModels::bitstobytes));
+        register("lazy binary interpolative coding", 128,
+                "lazy binary interpolative coding (128)",
+                d -> RunCostModels.binaryinterpolativecodinglazy(d, 128),
+                () -> CostSinks.blocks(128, c -> RunCostModels.binaryinterpolativecodinglazybits(c, 128), CostModels::bitstobytes));
+        for (boolean centered : new boolean[] { false, true })
+            register("binary interpolative coding (exact)", 128,
+                    "binary interpolative coding (128" + (centered ? ", centered)" : ", exact)"),
+                    d -> RunCostModels.binaryinterpolativecodingexact(d, 128, centered),
+                    () -> {
+                        final InterpolativeCodec codec = new InterpolativeCodec(128, centered);
+                        return CostSinks.blocks(128, codec::cost, CostModels::bytes);
+                    });
+        register("Elias-Fano", 0, "Elias-Fano", RunCostModels::eliasfano,
+                CostSinks::eliasfano);
+        register("partitioned Elias-Fano", 128, "partitioned Elias-Fano (128)",
+                d -> RunCostModels.partitionedeliasfano(d, 128),
+                () -> CostSinks.blocks(128, c -> RunCostModels.partitionedeliasfanobits(c, 128), CostModels::bitstobytes));
+        registerBlocks("Blocked rice", 128, "Blocked rice (128)",
+                (s, c) -> RunCostModels.blockedRice(s),
+                () -> CostSinks.blocks(128, c -> RunCostModels.blockedRice(new BlockStatistics(c, 128)), CostModels::bytes));
+        register("Roaring", 0, "Roaring", (d, c) -> RunCostModels.roaring(d, c), RoaringCost::new);
+        register("hybridvbyte", 0, "hybridvbyte",
+                (d, c) -> RunCostModels.hybridvbyte(d, c),
+                () -> CostSinks.parse(32, 18, RunCostModels::hybridvbyte, CostModels::bytes));
+        for (int w : new int[] { 32, 128 })
+            register("bibinary packing", w, "bibinary packing (" + w + ")",
+                    d -> RunCostModels.bibinarypacking(d, w),
+                    () -> CostSinks.blocks(w, c -> RunCostModels.bibinarypacking(c, w), CostModels::bytes));
+        for (int w : new int[] { 8, 32, 128 })
+            register("binary packing", w, "binary packing (" + w + ")",
+                    d -> RunCostModels.binarypacking(d, w),
+                    () -> CostSinks.blocks(w, c -> RunCostModels.binarypacking(c, w), CostModels::bytes));
+        for (int w : new int[] { 8, 32, 128 })
+            register("binary packing (nooverhead)", w, "binary packing (" + w
+                    + "-nooverhead)",
+                    d -> RunCostModels.binarypackingnooverhead(d, w),
+                    () -> CostSinks.blocks(w, c -> RunCostModels.binarypackingnooverhead(c, w), CostModels::bytes));
+        register("optimal binary packing", 0, "optimal binary packing",
+                d -> RunCostModels.optimalbinarypacking(d, 0),
+                () -> new OptimalPartition(0));
+        register("optimal binary packing", 0, "optimal binary packing (1+0.1)",
+                d -> RunCostModels.optimalbinarypacking(d, 0.1),
+                () -> new OptimalPartition(0.1));
+        for (int w : new int[] { 128, 256 })
+            registerBlocks("fastpfor", w, "fastpfor (" + w + ")",
+                    (s, c) -> RunCostModels.fastpfor(s, c),
+                    () -> CostSinks.fastpfor(w));
+        for (int w : new int[] { 128, 256 })
+            registerBlocks("blockedfastpfor", w, "blockedfastpfor (" + w + ")",
+                    (s, c) -> RunCostModels.blockedfastpfor(s),
+                    () -> CostSinks.blocks(w, c -> RunCostModels.blockedfastpfor(new BlockStatistics(c, w)), CostModels::bytes));
+        for (int w : new int[] { 128, 256 })
+            registerBlocks("auto", w, "auto (" + w + ")",
+                    (s, c) -> new AdaptiveCodec(w).cost(s, c),
+                    () -> {
+                        final AdaptiveCodec a = new AdaptiveCodec(w);
+                        return CostSinks.blocks(w, c -> a.cost(new BlockStatistics(c, w), null), CostModels::bytes);
+                    });
+        registerBlocks("turbopfor", 128, "turbopfor (128)",
+                (s, c) -> RunCostModels.turbopfor(s),
+                () -> CostSinks.blocks(128, c -> RunCostModels.turbopfor(new BlockStatistics(c, 128)), CostModels::bytes));
+        register("exppfor", 256, "exppfor (256)", RunCostModels::exppfor,
+                () -> CostSinks.blocks(256, RunCostModels::exppforraw, Math::round));
+        registerBlocks("natepfor", 32, "natepfor (32)", (s, c) -> RunCostModels.natepfor(s),
+                () -> CostSinks.blocks(32, c -> RunCostModels.natepfor(new BlockStatistics(c, 32)), CostModels::bytes));
+        register("varint", 0, "varint", RunCostModels::varint,
+                () -> CostSinks.blocks(1, RunCostModels::varint, CostModels::bytes));
+        register("idealvarint", 0, "idealvarint", RunCostModels::idealvarint,
+                () -> CostSinks.blocks(1, RunCostModels::idealvarint, CostModels::bytes));
+        register("simple4b", 0, "simple4b",
+                (d, c) -> RunCostModels.simple4b(d, c),
+                () -> CostSinks.parse(32, 33, RunCostModels::simple4b, CostModels::bytes));
+        register("simple8b", 0, "simple8b", RunCostModels::simple8b,
+                () -> CostSinks.parse(240, 0, RunCostModels::simple8b, CostModels::bytes));
+        register("simple16b", 0, "simple16b", RunCostModels::simple16b,
+                () -> CostSinks.parse(128, 0, RunCostModels::simple16b, CostModels::bytes));
+        register("simplealt", 0, "simplealt", RunCostModels::simplealt,
+                () -> CostSinks.parse(256, 0, RunCostModels::simplealt, Math::round));
+        for (int w : new int[] { 4, 8 })
+            register("packedvarint", w, "packedvarint" + w,
+                    d -> RunCostModels.packedvarint(d, w),
+                    () -> CostSinks.blocks(w, c -> RunCostModels.packedvarintraw(c, w), Math::round));
+        register("varintgb", 0, "varintgb", RunCostModels::varintgb,
+                () -> CostSinks.blocks(1, RunCostModels::varintgbraw, c -> (long) Math.ceil(c)));
+    }
+
+    private CostModels() {
+    }
+
+    private static void register(String name, int blockSize, String label,
+            ToLongFunction<int[]> estimator, Supplier<IntBlockSink> sink) {
+        MODELS.add(new StaticCostModel(name, blockSize, label, estimator, sink));
+    }
+
+    private static void register(String name, int blockSize, String label,
+            CountingEstimator estimator, Supplier<IntBlockSink> sink) {
+        MODELS.add(new StaticCostModel(name, blockSize, label, estimator, sink));
+    }
+
+    private static void registerBlocks(String name, int blockSize, String label,
+            BlockEstimator estimator, Supplier<IntBlockSink> sink) {
+        MODELS.add(new StaticCostModel(name, blockSize, label, estimator, sink));
+    }
+
+    /**
+     * An estimator reporting its internal counters, given a null map when
+     * they are not wanted.
+     */
+    interface CountingEstimator {
+        long estimate(int[] gaps, Map<String, Long> counters);
+    }
+
+    /**
+     * An estimator working from the statistics of the blocks of the gaps,
+     * for the block size of its model; it may report counters like a
+     * CountingEstimator.
+     */
+    interface BlockEstimator {
+        long estimate(BlockStatistics stats, Map<String, Long> counters);
+    }
+
+    // sums of whole bytes
+    private static long bytes(double cost) {
+        return (long) cost;
+    }
+
+    // rounds bits up to bytes
+    private static long bitstobytes(double bits) {
+        return ((long) bits + 7) / 8;
+    }
+
+    /**
+     * @return all registered models, in reporting order
+     */
+    public static List<CostModel> all() {
+        return Collections.unmodifiableList(MODELS);
+    }
+
+    /**
+     * @param label
+     *                label of the model, e.g., "fastpfor (128)"
+     * @return the model with this label
+     */
+    public static CostModel get(String label) {
+        for (CostModel m : MODELS)
+            if (m.label().equals(label))
+                return m;
+        throw new IllegalArgumentException("no such model: " + label);
+    }
+
+    /**
+     * @param labels
+     *                labels of the models
+     * @return the models with these labels, in the given order
+     */
+    public static List<CostModel> select(String... labels) {
+        List<CostModel> ans = new ArrayList<CostModel>();
+        for (String l : labels)
+            ans.add(get(l));
+        return ans;
+    }
+
+    /**
+     * A bitmap over [0,Max) does not depend on the gaps, only on the
+     * universe, hence it is not part of the registry.
+     *
+     * @param Max
+     *                size of the universe
+     * @return model of a flat bitmap
+     */
+    public static CostModel bitmap(final long Max) {
+        return new StaticCostModel("bitmap", 0, "using a bitmap",
+                d -> (Max + 7L) / 8, () -> CostSinks.constant((Max + 7L) / 8));
+    }
+
+    /**
+     * The patched BP8 schemes and the Rice codes of checkCompression.pl
+     * (CheckCompression), applied to the blocks of 8 gaps; they are not part
+     * of the registry (RunCostModels -patched adds them to the reports).
+     *
+     * @param unused
+     *                whether to add the schemes the Perl script does not score
+     * @return one model per scheme
+     */
+    public static List<CostModel> patched(boolean unused) {
+        List<CostModel> ans = new ArrayList<CostModel>();
+        for (CheckCompression.Scheme s : CheckCompression.schemes(unused))
+            ans.add(new StaticCostModel(s.name(), 8, s.name() + " (8)", s::bytes,
+                    () -> CostSinks.blocks(8, s::bits, CostModels::bitstobytes)));
+        return ans;
+    }
+
+    static class StaticCostModel implements CostModel {
+        private final String name;
+        private final int blockSize;
+        private final String label;
+        private final CountingEstimator estimator;
+        // null unless the model works from the block statistics
+        private final BlockEstimator blocks;
+        private final Supplier<IntBlockSink> sink;
+
+        StaticCostModel(String name, int blockSize, String label,
+                ToLongFunction<int[]> estimator, Supplier<IntBlockSink> sink) {
+            this(name, blockSize, label, (CountingEstimator) (d, c) -> estimator.applyAsLong(d), sink);
+        }
+
+        StaticCostModel(String name, int blockSize, String label,
+                CountingEstimator estimator, Supplier<IntBlockSink> sink) {
+            this(name, blockSize, label, estimator, null, sink);
+        }
+
+        StaticCostModel(String name, int blockSize, String label,
+                BlockEstimator blocks, Supplier<IntBlockSink> sink) {
+            this(name, blockSize, label,
+                    (d, c) -> blocks.estimate(new BlockStatistics(d, blockSize), c), blocks, sink);
+        }
+
+        private StaticCostModel(String name, int blockSize, String label,
+                CountingEstimator estimator, BlockEstimator blocks,
+                Supplier<IntBlockSink> sink) {
+            this.name = name;
+            this.blockSize = blockSize;
+            this.label = label;
+            this.estimator = estimator;
+            this.blocks = blocks;
+            this.sink = sink;
+        }
+
+        @Override
+        public String name() {
+            return this.name;
+        }
+
+        @Override
+        public int blockSize() {
+            return this.blockSize;
+        }
+
+        @Override
+        public String label() {
+            return this.label;
+        }
+
+        @Override
+        public long estimateBytes(int[] gaps) {
+            return this.estimator.estimate(gaps, null);
+        }
+
+        @Override
+        public long estimateBytes(int[] gaps, Map<String, Long> counters) {
+            return this.estimator.estimate(gaps, counters);
+        }
+
+        @Override
+        public long estimateBytes(int[] gaps, IntFunction<BlockStatistics> stats,
+                Map<String, Long> counters) {
+            if (this.blocks == null)
+                return this.estimator.estimate(gaps, counters);
+            return this.blocks.estimate(stats.apply(this.blockSize), counters);
+        }
+
+        @Override
+        public IntBlockSink newSink() {
+            return this.sink.get();
+        }
+
+        @Override
+        public String toString() {
+            return this.label;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+import java.util.Arrays;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Streaming versions of the models of RunCostModels. Models made of
+ * independent blocks are fed chunks of whole blocks; fastpfor carries its
+ * exception pages from chunk to chunk; the greedy parses (hybridvbyte and the
+ * Simple family) keep enough of the stream ahead of their position that they
+ * take the same decisions as on the whole array. The estimates are identical
+ * to those of the array versions.
+ *
+ * All these sinks are MergeableSinks: consecutive ranges of the stream may be
+ * evaluated apart and merged (OptimalPartition and RoaringCost are not).
+ */
+public final class CostSinks {
+
+    /**
+     * number of gaps processed at once
+     */
+    static final int CHUNK = 1 << 16;
+
+    private CostSinks() {
+    }
+
+    /**
+     * Sink for a model whose cost is a sum over blocks of w integers.
+     *
+     * @param w
+     *                block size
+     * @param cost
+     *                cost of an array made of whole blocks (plus a possible
+     *                partial block at the end of the stream), before rounding
+     * @param rounding
+     *                converts the sum of the costs into bytes
+     * @return the sink
+     */
+    public static IntBlockSink blocks(int w, ToDoubleFunction<int[]> cost,
+            DoubleToLongFunction rounding) {
+        return new BlockSink(w, cost, rounding);
+    }
+
+    /**
+     * Sink for a greedy parse such as simple8b.
+     *
+     * @param lookahead
+     *                largest number of integers looked at, or skipped, by
+     *                one step of the parse
+     * @param counters
+     *                size of the counter array of the parse
+     * @param parser
+     *                the parse, e.g., RunCostModels::simple8b
+     * @param rounding
+     *                converts the cost of the parse into bytes
+     * @return the sink
+     */
+    public static IntBlockSink parse(int lookahead, int counters, Parser parser,
+            DoubleToLongFunction rounding) {
+        return new ParseSink(lookahead, counters, parser, rounding);
+    }
+
+    /**
+     * Sink for fastpfor, whose exception pages span the whole stream.
+     *
+     * @param w
+     *                block size
+     * @return the sink
+     */
+    public static IntBlockSink fastpfor(final int w) {
+        return new FastPForSink(w);
+    }
+
+    /**
+     * Sink for Elias-Fano over the whole stream, which only depends on the
+     * number of integers and on their sum.
+     *
+     * @return the sink
+     */
+    public static IntBlockSink eliasfano() {
+        return new EliasFanoSink();
+    }
+
+    /**
+     * Sink ignoring the gaps.
+     *
+     * @param bytes
+     *                the estimate
+     * @return the sink
+     */
+    public static IntBlockSink constant(final long bytes) {
+        return new ConstantSink(bytes);
+    }
+
+    /**
+     * A greedy parse, resumable: parses data from k while k is smaller than
+     * stop, never looking at data[end] or beyond, and returns the position
+     * where it stopped. The cost is accumulated in the state.
+     */
+    public interface Parser {
+        int parse(int[] data, int k, int stop, int end,
+                RunCostModels.ParseState state);
+    }
+
+    static final class BlockSink implements MergeableSink {
+        private final int[] chunk;
+        private int count;
+        // cost of the full chunks: the costs are multiples of 1/8 far below
+        // 2^50, so the sum is exact whatever the grouping, and merged sinks
+        // add up to the same total as a single one
+        private double total;
+        private final ToDoubleFunction<int[]> cost;
+        private final DoubleToLongFunction rounding;
+
+        BlockSink(int w, ToDoubleFunction<int[]> cost, DoubleToLongFunction rounding) {
+            this.chunk = new int[(CHUNK + w - 1) / w * w];
+            this.cost = cost;
+            this.rounding = rounding;
+        }
+
+        @Override
+        public void accept(int[] buf, int off, int len) {
+            while (len > 0) {
+                int n = Math.min(len, this.chunk.length - this.count);
+                System.arraycopy(buf, off, this.chunk, this.count, n);
+                this.count += n;
+                off += n;
+                len -= n;
+                if (this.count == this.chunk.length) {
+                    this.total += this.cost.applyAsDouble(this.chunk);
+                    this.count = 0;
+                }
+            }
+        }
+
+        // the blocks of this sink must end with a full chunk
+        @Override
+        public boolean merge(MergeableSink next) {
+            final BlockSink o = (BlockSink) next;
+            if (this.count > 0)
+                return false;
+            this.total += o.total;
+            System.arraycopy(o.chunk, 0, this.chunk, 0, o.count);
+            this.count = o.count;
+            return true;
+        }
+
+        @Override
+        public long finish() {
+            double total = this.total;
+            if (this.count > 0)
+                total += this.cost.applyAsDouble(Arrays.copyOf(this.chunk, this.count));
+            this.count = 0;
+            this.total = 0;
+            return this.rounding.applyAsLong(total);
+        }
+    }
+
+    // the exception pages of fastpfor span the whole stream: the numbers of
+    // exceptions of each width are added up
+    static final class FastPForSink implements MergeableSink {
+        private final long[] buffer = new long[33];
+        private final BlockSink blocks;
+
+        FastPForSink(int w) {
+            this.blocks = new BlockSink(w, c -> RunCostModels.fastpforblocks(
+                    new BlockStatistics(c, w), this.buffer, null), t -> (long) t);
+        }
+
+        @Override
+        public void accept(int[] buf, int off, int len) {
+            this.blocks.accept(buf, off, len);
+        }
+
+        @Override
+        public boolean merge(MergeableSink next) {
+            final FastPForSink o = (FastPForSink) next;
+            if (!this.blocks.merge(o.blocks))
+                return false;
+            for (int k = 0; k < this.buffer.length; ++k)
+                this.buffer[k] += o.buffer[k];
+            return true;
+        }
+
+        @Override
+        public long finish() {
+            return this.blocks.finish() + RunCostModels.fastpforpages(this.buffer);
+        }
+    }
+
+    // Elias-Fano only depends on the number of integers and on their sum
+    static final class EliasFanoSink implements MergeableSink {
+        private long n;
+        private long universe;
+
+        @Override
+        public void accept(int[] buf, int off, int len) {
+            this.n += len;
+            for (int k = off; k < off + len; ++k)
+                this.universe += buf[k] + 1L;
+        }
+
+        @Override
+        public boolean merge(MergeableSink next) {
+            final EliasFanoSink o = (EliasFanoSink) next;
+            this.n += o.n;
+            this.universe += o.universe;
+            return true;
+        }
+
+        @Override
+        public long finish() {
+            return (EliasFano.bits(this.n, this.universe) + 7) / 8;
+        }
+    }
+
+    static final class ConstantSink implements MergeableSink {
+        private final long bytes;
+
+        ConstantSink(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void accept(int[] buf, int off, int len) {
+        }
+
+        @Override
+        public boolean merge(MergeableSink next) {
+            return true;
+        }
+
+        @Override
+        public long finish() {
+            return this.bytes;
+        }
+    }
+
+    static final class ParseSink implements MergeableSink {
+        // the positions of the steps starting within the first HEAD gaps are
+        // recorded, so that the parse of the previous gaps can find where it
+        // joins this one when merging
+        static final int HEAD = CHUNK;
+
+        private final int lookahead;
+        private final int[] buffer;
+        private int count;
+        private int k;
+        // number of gaps before buffer[0]
+        private long offset;
+        private final Parser parser;
+        private final RunCostModels.ParseState state;
+        private final DoubleToLongFunction rounding;
+        // the first HEAD + lookahead gaps
+        private final int[] head;
+        private int headcount;
+        // bitmap of the recorded positions
+        private final long[] steps = new long[HEAD / 64];
+
+        ParseSink(int lookahead, int counters, Parser parser, DoubleToLongFunction rounding) {
+            this.lookahead = lookahead;
+            this.buffer = new int[CHUNK + lookahead];
+            this.parser = parser;
+            this.state = new RunCostModels.ParseState(counters);
+            this.rounding = rounding;
+            this.head = new int[HEAD + lookahead];
+        }
+
+        @Override
+        public void accept(int[] buf, int off, int len) {
+            if (this.headcount < this.head.length) {
+                int n = Math.min(len, this.head.length - this.headcount);
+                System.arraycopy(buf, off, this.head, this.headcount, n);
+                this.headcount += n;
+            }
+            while (len > 0) {
+                int n = Math.min(len, this.buffer.length - this.count);
+                System.arraycopy(buf, off, this.buffer, this.count, n);
+                this.count += n;
+                off += n;
+                len -= n;
+                if (this.count == this.buffer.length) {
+                    // every step starting before stop sees at least lookahead
+                    // integers, as it would on the whole array
+                    parse(this.count - this.lookahead, this.count);
+                    System.arraycopy(this.buffer, this.k, this.buffer, 0, this.count - this.k);
+                    this.count -= this.k;
+                    this.offset += this.k;
+                    this.k = 0;
+                }
+            }
+        }
+
+        private void parse(int stop, int end) {
+            while ((this.k < stop) && (this.offset + this.k < HEAD)) {
+                final int position = (int) this.offset + this.k;
+                this.steps[position >>> 6] |= 1L << position;
+                this.k = this.parser.parse(this.buffer, this.k, this.k + 1, end, this.state);
+            }
+            this.k = this.parser.parse(this.buffer, this.k, stop, end, this.state);
+        }
+
+        private static RunCostModels.ParseState copy(RunCostModels.ParseState s) {
+            RunCostModels.ParseState c = new RunCostModels.ParseState(s.counters.length);
+            c.cost = s.cost;
+            System.arraycopy(s.counters, 0, c.counters, 0, c.counters.length);
+            return c;
+        }
+
+        // parses the gaps left in this buffer, then the head of next, one
+        // step at a time, until reaching a step of next: from there on, both
+        // parses are the same, and the cost of the steps of next before it
+        // is subtracted
+        @Override
+        public boolean merge(MergeableSink next) {
+            final ParseSink o = (ParseSink) next;
+            if ((o.headcount < o.head.length) || (o.offset + o.k < HEAD))
+                return false;
+            final int left = this.count - this.k;
+            int[] data = Arrays.copyOfRange(this.buffer, this.k, this.count + o.head.length);
+            System.arraycopy(o.head, 0, data, left, o.head.length);
+            RunCostModels.ParseState s = copy(this.state);
+            int j = 0;
+            while (j < left + HEAD) {
+                if ((j >= left) && ((o.steps[(j - left) >>> 6] & (1L << (j - left))) != 0)) {
+                    RunCostModels.ParseState before = new RunCostModels.ParseState(s.counters.length);
+                    this.parser.parse(o.head, 0, j - left, o.head.length, before);
+                    this.state.cost = s.cost + (o.state.cost - before.cost);
+                    for (int i = 0; i < s.counters.length; ++i)
+                        this.state.counters[i] = s.counters[i]
+                                + (o.state.counters[i] - before.counters[i]);
+                    System.arraycopy(o.buffer, 0, this.buffer, 0, o.count);
+                    this.offset += this.count + o.offset;
+                    this.count = o.count;
+                    this.k = o.k;
+                    return true;
+                }
+                j = this.parser.parse(data, j, j + 1, data.length, s);
+            }
+            return false;
+        }
+
+        @Override
+        public long finish() {
+            parse(this.count, this.count);
+            this.count = 0;
+            this.k = 0;
+            return this.rounding.applyAsLong(this.state.cost);
+        }
+    }
+}
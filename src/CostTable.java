@@ -0,0 +1,214 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of evaluating a list of cost models on one array of gaps.
+ */
+public class CostTable {
+
+    /**
+     * One line of the table.
+     */
+    public static class Row {
+        public final CostModel model;
+        public final long bytes;
+        public final long nanos;
+        // bytes allocated by the model on the thread evaluating it, or -1 if
+        // the JVM cannot tell
+        public final long allocated;
+        public final Map<String, Long> counters;
+
+        Row(CostModel model, long bytes, long nanos, long allocated,
+                Map<String, Long> counters) {
+            this.model = model;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.allocated = allocated;
+            this.counters = Collections.unmodifiableMap(counters);
+        }
+
+        /**
+         * @param N
+         *                number of integers
+         * @return integers processed per second
+         */
+        public double intsPerSecond(long N) {
+            return N * 1e9 / Math.max(1, this.nanos);
+        }
+
+        /**
+         * @param N
+         *                number of integers
+         * @return estimated number of bits per integer
+         */
+        public double bitsPerInt(long N) {
+            return this.bytes * 8.0 / N;
+        }
+    }
+
+    private final long N;
+    private final List<Row> rows = new ArrayList<Row>();
+
+    /**
+     * @param N
+     *                number of integers the models were evaluated on
+     */
+    public CostTable(long N) {
+        this.N = N;
+    }
+
+    void add(CostModel model, long bytes, long nanos) {
+        add(model, bytes, nanos, -1, Collections.<String, Long> emptyMap());
+    }
+
+    void add(CostModel model, long bytes, long nanos, long allocated,
+            Map<String, Long> counters) {
+        this.rows.add(new Row(model, bytes, nanos, allocated, counters));
+    }
+
+    /**
+     * @return number of integers the models were evaluated on
+     */
+    public long size() {
+        return this.N;
+    }
+
+    /**
+     * @return the rows, in the order the models were given
+     */
+    public List<Row> rows() {
+        return Collections.unmodifiableList(this.rows);
+    }
+
+    /**
+     * @param label
+     *                label of a model
+     * @return the row of this model, or null
+     */
+    public Row row(String label) {
+        for (Row r : this.rows)
+            if (r.model.label().equals(label))
+                return r;
+        return null;
+    }
+
+    /**
+     * Prints one "label bits/int" line per model.
+     *
+     * @param out
+     *                where to print
+     */
+    public void print(PrintStream out) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        for (Row r : this.rows)
+            out.println(r.model.label() + " " + df.format(r.bitsPerInt(this.N)));
+    }
+
+    /**
+     * Prints one line per model with its bits/int, wall time, throughput and
+     * allocations, then its counters, indented.
+     *
+     * @param out
+     *                where to print
+     */
+    public void printDetails(PrintStream out) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        for (Row r : this.rows) {
+            out.println(r.model.label() + " " + df.format(r.bitsPerInt(this.N))
+                    + " bits/int, " + df.format(r.nanos / 1e6) + " ms, "
+                    + df.format(r.intsPerSecond(this.N) / 1e6) + " Mints/s, "
+                    + ((r.allocated < 0) ? "?" : df.format(r.allocated / 1048576.0))
+                    + " MB allocated");
+            for (Map.Entry<String, Long> e : r.counters.entrySet())
+                out.println("    " + e.getKey() + ": " + e.getValue());
+        }
+    }
+
+    /**
+     * Writes tables as CSV, one line per model and table, with a header line.
+     * The counters go in the last column as "name=value" pairs separated by
+     * semicolons. A rate that is not finite (e.g., bits per int when N=0) is
+     * left empty.
+     *
+     * @param tables
+     *                the tables, by name of the dataset
+     * @param out
+     *                where to write
+     */
+    public static void writeCsv(Map<String, CostTable> tables, PrintStream out) {
+        out.println("dataset,N,model,bytes,bits_per_int,nanos,ints_per_second,allocated_bytes,counters");
+        for (Map.Entry<String, CostTable> t : tables.entrySet()) {
+            final CostTable table = t.getValue();
+            for (Row r : table.rows) {
+                StringBuilder counters = new StringBuilder();
+                for (Map.Entry<String, Long> e : r.counters.entrySet())
+                    counters.append((counters.length() > 0) ? ";" : "")
+                            .append(e.getKey()).append('=').append(e.getValue());
+                out.println(csv(t.getKey()) + "," + table.N + "," + csv(r.model.label())
+                        + "," + r.bytes + "," + csv(r.bitsPerInt(table.N)) + "," + r.nanos
+                        + "," + csv(r.intsPerSecond(table.N)) + "," + r.allocated
+                        + "," + csv(counters.toString()));
+            }
+        }
+    }
+
+    /**
+     * Writes tables as a JSON array with one object per table, holding the
+     * dataset, N and one object per model. A rate that is not finite is
+     * written as null.
+     *
+     * @param tables
+     *                the tables, by name of the dataset
+     * @param out
+     *                where to write
+     */
+    public static void writeJson(Map<String, CostTable> tables, PrintStream out) {
+        out.println("[");
+        int t = 0;
+        for (Map.Entry<String, CostTable> entry : tables.entrySet()) {
+            final CostTable table = entry.getValue();
+            out.println("  {\"dataset\": " + json(entry.getKey()) + ", \"N\": " + table.N
+                    + ", \"models\": [");
+            for (int k = 0; k < table.rows.size(); ++k) {
+                Row r = table.rows.get(k);
+                StringBuilder counters = new StringBuilder();
+                for (Map.Entry<String, Long> e : r.counters.entrySet())
+                    counters.append((counters.length() > 0) ? ", " : "")
+                            .append(json(e.getKey())).append(": ").append(e.getValue());
+                out.println("    {\"model\": " + json(r.model.label()) + ", \"bytes\": " + r.bytes
+                        + ", \"bits_per_int\": " + json(r.bitsPerInt(table.N))
+                        + ", \"nanos\": " + r.nanos
+                        + ", \"ints_per_second\": " + json(r.intsPerSecond(table.N))
+                        + ", \"allocated_bytes\": " + r.allocated
+                        + ", \"counters\": {" + counters + "}}"
+                        + ((k + 1 < table.rows.size()) ? "," : ""));
+            }
+            out.println("  ]}" + ((++t < tables.size()) ? "," : ""));
+        }
+        out.println("]");
+    }
+
+    // quotes a CSV field if needed
+    private static String csv(String s) {
+        if ((s.indexOf(',') < 0) && (s.indexOf('"') < 0))
+            return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    // a rate, or an empty field if it is not finite
+    private static String csv(double x) {
+        return Double.isFinite(x) ? Double.toString(x) : "";
+    }
+
+    // a rate, or null if it is not finite: JSON has no NaN nor Infinity
+    private static String json(double x) {
+        return Double.isFinite(x) ? Double.toString(x) : "null";
+    }
+
+    private static String json(String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,240 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Generated gaps kept on disk between runs, so that a run does not generate
+ * its data again. Each dataset is a file of 32-bit little-endian gaps (the
+ * format of RunCostModels stream, mapped read only by GapSegment.map), named
+ * after its key: the generator and all of its parameters, seed included.
+ *
+ * The files used least recently are deleted once the files take more than
+ * the budget; a hit updates the modification time of its file, which serves
+ * as the time of last use. A dataset larger than the budget is not cached.
+ *
+ * A file is written under a temporary name and then renamed, so that a run
+ * that is interrupted, or another run sharing the directory, never sees a
+ * partial file.
+ */
+public final class DatasetCache {
+
+    private static final String SUFFIX = ".gaps";
+
+    // bumped when the generators change, so that old files are not used
+    private static final String VERSION = "v1";
+
+    private final Path dir;
+
+    private final long budget;
+
+    /**
+     * Opens the cache, deleting the files used least recently if the budget
+     * is smaller than in previous runs.
+     *
+     * @param dir
+     *                directory of the cache, created if needed
+     * @param budget
+     *                maximal number of bytes taken by the files
+     * @throws IOException
+     *                 if the directory cannot be created or read
+     */
+    public DatasetCache(Path dir, long budget) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.budget = budget;
+        evict(null);
+    }
+
+    /**
+     * @param key
+     *                generator and parameters, e.g., "cluster N=131072
+     *                Max=33554432 seed=1"
+     * @return the file of the dataset
+     */
+    Path file(String key) {
+        return this.dir.resolve(VERSION + "-" + key.replaceAll("[^A-Za-z0-9.=-]", "_") + SUFFIX);
+    }
+
+    /**
+     * @param key
+     *                generator and parameters
+     * @return the gaps, mapped, or null if they are not cached (or were
+     *         evicted meanwhile by another run)
+     * @throws IOException
+     *                 if the file cannot be mapped
+     */
+    public GapSegment get(String key) throws IOException {
+        final Path f = file(key);
+        if (!Files.exists(f))
+            return null;
+        // another run may delete it once we have checked
+        try {
+            Files.setLastModifiedTime(f, FileTime.fromMillis(System.currentTimeMillis()));
+            return GapSegment.map(f);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param key
+     *                generator and parameters
+     * @param gaps
+     *                the gaps
+     * @throws IOException
+     *                 on write errors
+     */
+    public void put(String key, int[] gaps) throws IOException {
+        final int[] k = new int[1];
+        put(key, gaps.length, () -> gaps[k[0]++]);
+    }
+
+    /**
+     * Writes the gaps, unless they would not fit in the budget, then deletes
+     * the files used least recently until the others fit.
+     *
+     * @param key
+     *                generator and parameters
+     * @param length
+     *                number of gaps
+     * @param gaps
+     *                source of the gaps, called length times
+     * @return the gaps, mapped, or null if they are larger than the budget
+     *         (the source is then not called)
+     * @throws IOException
+     *                 on write errors
+     */
+    public GapSegment put(String key, long length, IntSupplier gaps) throws IOException {
+        if (4 * length > this.budget)
+            return null;
+        final Path f = file(key);
+        final Path tmp = Files.createTempFile(this.dir, "partial", ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                final ByteBuffer buf = ByteBuffer.allocateDirect(4 * CostSinks.CHUNK)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                final IntBuffer ints = buf.asIntBuffer();
+                for (long k = 0; k < length; k += CostSinks.CHUNK) {
+                    final int n = (int) Math.min(CostSinks.CHUNK, length - k);
+                    ints.clear();
+                    for (int j = 0; j < n; ++j)
+                        ints.put(gaps.getAsInt());
+                    buf.clear().limit(4 * n);
+                    while (buf.hasRemaining())
+                        out.write(buf);
+                }
+            }
+            Files.move(tmp, f, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        evict(f);
+        return GapSegment.map(f);
+    }
+
+    // deletes the files used least recently, but not keep (if not null),
+    // until the files fit in the budget
+    private void evict(Path keep) throws IOException {
+        final List<Path> files = new ArrayList<Path>();
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(this.dir, "*" + SUFFIX)) {
+            for (Path p : s)
+                files.add(p);
+        }
+        final long[] used = new long[files.size()];
+        long total = 0;
+        for (int k = 0; k < files.size(); ++k) {
+            used[k] = Files.getLastModifiedTime(files.get(k)).toMillis();
+            total += Files.size(files.get(k));
+        }
+        final Integer[] order = new Integer[files.size()];
+        for (int k = 0; k < order.length; ++k)
+            order[k] = k;
+        Arrays.sort(order, (x, y) -> Long.compare(used[x], used[y]));
+        for (int k = 0; (k < order.length) && (total > this.budget); ++k) {
+            final Path p = files.get(order[k]);
+            if (p.equals(keep))
+                continue;
+            // another run may have deleted it already
+            try {
+                final long size = Files.size(p);
+                Files.delete(p);
+                total -= size;
+            } catch (NoSuchFileException e) {
+            }
+        }
+    }
+
+    /**
+     * @return number of bytes taken by the files
+     * @throws IOException
+     *                 if the directory cannot be read
+     */
+    public long size() throws IOException {
+        long total = 0;
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(this.dir, "*" + SUFFIX)) {
+            for (Path p : s)
+                total += Files.size(p);
+        }
+        return total;
+    }
+
+    /**
+     * Checks that the gaps come back from the cache and that the files used
+     * least recently are the ones evicted.
+     *
+     * @param args
+     *                directory of the cache (default: a temporary directory)
+     * @throws IOException
+     *                 on I/O errors
+     */
+    public static void main(String[] args) throws IOException {
+        final Path dir = (args.length > 0) ? Paths.get(args[0])
+                : Files.createTempDirectory("datasetcache");
+        final int N = 1 << 20;
+        // room for two datasets of N gaps, not three
+        final DatasetCache cache = new DatasetCache(dir, 4L * N * 5 / 2);
+        final int[][] data = new int[3][];
+        for (int k = 0; k < 3; ++k) {
+            data[k] = new java.util.SplittableRandom(k).ints(N, 0, 1 << 10).toArray();
+            if (cache.get("test " + k) != null)
+                throw new RuntimeException("stale file for test " + k);
+            cache.put("test " + k, data[k]);
+            // distinct times of last use
+            Files.setLastModifiedTime(cache.file("test " + k), FileTime.fromMillis(1000L * (k + 1)));
+        }
+        if ((cache.get("test 0") != null) || (cache.size() > cache.budget))
+            throw new RuntimeException("the least recently used file was not evicted");
+        int[] back = new int[N];
+        for (int k = 1; k < 3; ++k) {
+            GapSegment s = cache.get("test " + k);
+            s.get(0, back, 0, N);
+            if ((s.length() != N) || !Arrays.equals(back, data[k]))
+                throw new RuntimeException("bug for test " + k);
+        }
+        // test 1 was used last: putting test 0 again evicts test 2
+        Files.setLastModifiedTime(cache.file("test 2"), FileTime.fromMillis(1000L));
+        cache.put("test 0", data[0]);
+        if ((cache.get("test 2") != null) || (cache.get("test 1") == null))
+            throw new RuntimeException("evicted the wrong file");
+        if (cache.put("too large", 2L * N * 5 / 2, () -> 0) != null)
+            throw new RuntimeException("cached a dataset larger than the budget");
+        for (String key : new String[] { "test 0", "test 1" })
+            Files.delete(cache.file(key));
+        if (args.length == 0)
+            Files.delete(dir);
+        System.out.println("ok");
+    }
+}
@@ -0,0 +1,264 @@
+import java.util.SplittableRandom;
+
+/**
+ * Elias-Fano encoding of an increasing list of integers (the prefix sums of
+ * the gaps, as in RunCostModels.binaryinterpolativecoding). Each integer is
+ * split into its l lower bits, stored packed, and its upper bits, stored in
+ * unary in a bitmap: the i-th integer v sets bit (v >> l) + i. With
+ * l = floor(log2(universe / n)), this uses at most 2 + l bits per integer.
+ *
+ * The upper bitmap carries a select index sampling the position of every
+ * QUANTUM-th one and of every QUANTUM-th zero, so that get(i) and nextGEQ(x)
+ * start scanning next to their answer instead of at the beginning.
+ *
+ * Usage: java EliasFano [N] reports the space and the time of nextGEQ on
+ * clustered data, next to the cost models.
+ *
+ * Reference: Sebastiano Vigna. 2013. Quasi-succinct indices. In WSDM '13,
+ * 83-92.
+ */
+public class EliasFano {
+
+    /**
+     * one position out of QUANTUM ones (and zeros) is sampled
+     */
+    public static final int QUANTUM = 256;
+
+    private final int n;
+    private final long universe;
+    private final int l;
+    private final long[] lower;
+    private final long[] upper;
+    // position in upper of the ones (zeros) of rank 0, QUANTUM, 2 * QUANTUM...
+    private final long[] ones;
+    private final long[] zeros;
+
+    /**
+     * @param gaps
+     *                the gaps: the integers encoded are gaps[0],
+     *                gaps[0] + gaps[1] + 1, ...
+     */
+    public EliasFano(int[] gaps) {
+        this.n = gaps.length;
+        long u = 0;
+        for (int g : gaps)
+            u += g + 1L;
+        this.universe = u;
+        this.l = lowbits(this.n, u);
+        this.lower = new long[(int) ((this.n * (long) this.l + 63) / 64) + 1];
+        final long length = upperbits(this.n, u, this.l);
+        this.upper = new long[(int) ((length + 63) / 64) + 1];
+        long v = -1;
+        for (int i = 0; i < this.n; ++i) {
+            v += gaps[i] + 1L;
+            if (this.l > 0) {
+                final long pos = i * (long) this.l;
+                final long low = v & ((1L << this.l) - 1);
+                this.lower[(int) (pos >>> 6)] |= low << pos;
+                if ((pos & 63) + this.l > 64)
+                    this.lower[(int) (pos >>> 6) + 1] |= low >>> (64 - (pos & 63));
+            }
+            final long p = (v >>> this.l) + i;
+            this.upper[(int) (p >>> 6)] |= 1L << p;
+        }
+        final long zerocount = length - this.n;
+        this.ones = new long[(this.n + QUANTUM - 1) / QUANTUM];
+        this.zeros = new long[(int) ((zerocount + QUANTUM - 1) / QUANTUM)];
+        long rank1 = 0, rank0 = 0;
+        for (long p = 0; p < length; ++p) {
+            if ((this.upper[(int) (p >>> 6)] & (1L << p)) != 0) {
+                if (rank1 % QUANTUM == 0)
+                    this.ones[(int) (rank1 / QUANTUM)] = p;
+                ++rank1;
+            } else {
+                if (rank0 % QUANTUM == 0)
+                    this.zeros[(int) (rank0 / QUANTUM)] = p;
+                ++rank0;
+            }
+        }
+    }
+
+    /**
+     * @param n
+     *                number of integers
+     * @param universe
+     *                bound on the integers (exclusive), at least n
+     * @return number of lower bits, floor(log2(universe / n))
+     */
+    public static int lowbits(long n, long universe) {
+        if (n == 0)
+            return 0;
+        return 63 - Long.numberOfLeadingZeros(Math.max(1, universe / n));
+    }
+
+    // length of the upper bitmap: up to the last one
+    private static long upperbits(long n, long universe, int l) {
+        return (n == 0) ? 0 : n + ((universe - 1) >>> l);
+    }
+
+    /**
+     * Bits used by the lower and upper parts, without the select index: this
+     * is the cost model RunCostModels.eliasfano.
+     *
+     * @param n
+     *                number of integers
+     * @param universe
+     *                bound on the integers (exclusive), at least n
+     * @return number of bits
+     */
+    public static long bits(long n, long universe) {
+        final int l = lowbits(n, universe);
+        return n * l + upperbits(n, universe, l);
+    }
+
+    /**
+     * @return number of integers
+     */
+    public int size() {
+        return this.n;
+    }
+
+    /**
+     * @return bound on the integers (exclusive): the last one plus one
+     */
+    public long universe() {
+        return this.universe;
+    }
+
+    /**
+     * @return bits used by the lower and upper parts
+     */
+    public long dataBits() {
+        return bits(this.n, this.universe);
+    }
+
+    /**
+     * @return bits used by the select index (64-bit positions)
+     */
+    public long indexBits() {
+        return 64L * (this.ones.length + this.zeros.length);
+    }
+
+    private long low(int i) {
+        if (this.l == 0)
+            return 0;
+        final long pos = i * (long) this.l;
+        final int w = (int) (pos >>> 6);
+        final int o = (int) (pos & 63);
+        long v = this.lower[w] >>> o;
+        if (o + this.l > 64)
+            v |= this.lower[w + 1] << (64 - o);
+        return v & ((1L << this.l) - 1);
+    }
+
+    // position in upper of the one of rank r
+    private long select1(long r) {
+        final long p = this.ones[(int) (r / QUANTUM)];
+        int k = (int) (r % QUANTUM);
+        int w = (int) (p >>> 6);
+        long bits = this.upper[w] & (-1L << p);
+        int c;
+        while ((c = Long.bitCount(bits)) <= k) {
+            k -= c;
+            bits = this.upper[++w];
+        }
+        for (; k > 0; --k)
+            bits &= bits - 1;
+        return ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    // position in upper of the zero of rank r
+    private long select0(long r) {
+        final long p = this.zeros[(int) (r / QUANTUM)];
+        int k = (int) (r % QUANTUM);
+        int w = (int) (p >>> 6);
+        long bits = ~this.upper[w] & (-1L << p);
+        int c;
+        while ((c = Long.bitCount(bits)) <= k) {
+            k -= c;
+            bits = ~this.upper[++w];
+        }
+        for (; k > 0; --k)
+            bits &= bits - 1;
+        return ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @param i
+     *                index, from 0 to size() - 1
+     * @return the i-th integer
+     */
+    public long get(int i) {
+        return ((select1(i) - i) << this.l) | low(i);
+    }
+
+    /**
+     * @param x
+     *                the target
+     * @return the smallest integer at least x, or Long.MAX_VALUE if there is
+     *         none
+     */
+    public long nextGEQ(long x) {
+        if (x >= this.universe)
+            return Long.MAX_VALUE;
+        final long h = (x < 0) ? 0 : x >>> this.l;
+        // the integers whose upper bits are at least h follow the h-th zero
+        final long p = (h == 0) ? 0 : select0(h - 1) + 1;
+        int i = (int) (p - h);
+        int w = (int) (p >>> 6);
+        long bits = this.upper[w] & (-1L << p);
+        while (true) {
+            while (bits == 0)
+                bits = this.upper[++w];
+            final long q = ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+            final long v = ((q - i) << this.l) | low(i);
+            if (v >= x)
+                return v;
+            ++i;
+            bits &= bits - 1;
+        }
+    }
+
+    /**
+     * @param args
+     *                number of integers (default 1048576)
+     */
+    public static void main(String[] args) {
+        final int N = (args.length > 0) ? Integer.parseInt(args[0]) : 1 << 20;
+        final int Max = Math.max(1 << 25, 2 * N);
+        final int[] data = new ClusteredDataGenerator().generateClustered(N, Max);
+        final long[] values = new long[N];
+        for (int k = 0; k < N; ++k)
+            values[k] = data[k];
+        for (int k = data.length - 1; k > 0; --k)
+            data[k] -= data[k - 1] + 1;
+        EliasFano ef = new EliasFano(data);
+        for (int k = 0; k < N; ++k)
+            if ((ef.get(k) != values[k]) || (ef.nextGEQ(values[k]) != values[k]))
+                throw new RuntimeException("bug");
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        System.out.println("Clustered data, N=" + N + ", Max=" + Max + ", bits per int:");
+        System.out.println("Elias-Fano encoder " + df.format(ef.dataBits() * 1.0 / N)
+                + " + select index " + df.format(ef.indexBits() * 1.0 / N));
+        for (CostModel m : CostModels.select("Elias-Fano", "partitioned Elias-Fano (128)",
+                "binary interpolative coding (128)", "binary packing (128)", "fastpfor (128)"))
+            System.out.println(m.label() + " " + df.format(m.estimateBytes(data) * 8.0 / N));
+        // random targets, and increasing targets as when intersecting lists
+        final SplittableRandom r = new SplittableRandom(N);
+        final long[] random = new long[N];
+        for (int k = 0; k < N; ++k)
+            random[k] = r.nextLong(ef.universe());
+        final long[] increasing = random.clone();
+        java.util.Arrays.sort(increasing);
+        for (long[] targets : new long[][] { random, increasing }) {
+            double[] t = Benchmark.measure(() -> {
+                long s = 0;
+                for (long x : targets)
+                    s += ef.nextGEQ(x);
+                return s;
+            }, 5, 10);
+            System.out.println("nextGEQ, " + (targets == random ? "random" : "increasing")
+                    + " targets: " + df.format(t[0] / N) + " ns");
+        }
+    }
+}
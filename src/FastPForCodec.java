@@ -0,0 +1,255 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * FastPFor with the layout assumed by RunCostModels.fastpfor. Each block of w
+ * integers is
+ *
+ * [b] [e] [maxbit, if e > 0] [e exception positions] [w integers packed in b bits]
+ *
+ * where b is the width chosen by RunCostModels.fastpforbestb and the e
+ * exceptions are the integers wider than b. The high bits (v >>> b) of the
+ * exceptions are not stored in the block: they go to the page of their width
+ * maxbit - b, shared by all the blocks. The pages follow the blocks, from
+ * width 1 to 32, each packed by 32 integers (and padded to a multiple of 32).
+ *
+ * Nothing but the blocks and the pages is stored: the decoder first walks the
+ * block headers to count the exceptions of each width, which tells where the
+ * pages start and how long they are; it unpacks each page once, then unpacks
+ * the blocks and patches their exceptions in place.
+ *
+ * Like the model, the size only counts full blocks; if the length is not a
+ * multiple of w, the last integers form a shorter block, encoded the same
+ * way (and its exceptions go to the same pages).
+ *
+ * Decoding does not allocate once the pages have grown to the data.
+ */
+public class FastPForCodec {
+
+    private final int w;
+
+    // pages[k] holds the exceptions of width k, counts[k] their number
+    private final int[][] pages = new int[33][];
+    private final int[] counts = new int[33];
+    private final int[] cursors = new int[33];
+
+    private final int[] scratch;
+
+    /**
+     * @param w
+     *                block size (a multiple of 32, at most 256 since the
+     *                exception positions take one byte)
+     */
+    public FastPForCodec(int w) {
+        if ((w <= 0) || (w % 32 != 0) || (w > 256))
+            throw new IllegalArgumentException("block size must be a multiple of 32, at most 256");
+        this.w = w;
+        this.scratch = new int[w];
+        for (int k = 0; k < this.pages.length; ++k)
+            this.pages[k] = new int[32];
+    }
+
+    /**
+     * @return block size
+     */
+    public int blockSize() {
+        return this.w;
+    }
+
+    /**
+     * @param length
+     *                number of integers
+     * @return upper bound on the number of bytes used to encode them
+     */
+    public int maxCompressedBytes(int length) {
+        // per block a header of 3 bytes; per integer a position byte and 4
+        // bytes split between the block and a page; pages padded to 32
+        return 3 * ((length + this.w - 1) / this.w) + 5 * length + 4 * 32 * 33;
+    }
+
+    // makes room for n exceptions (rounded up to 32) in the page of width k
+    private int[] page(int k, int n) {
+        if (this.pages[k].length < n)
+            this.pages[k] = Arrays.copyOf(this.pages[k], Math.max((n + 31) / 32 * 32,
+                    2 * this.pages[k].length));
+        return this.pages[k];
+    }
+
+    /**
+     * Encodes integers starting at the position of the buffer, and advances
+     * the position. The buffer must be little endian.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param length
+     *                number of integers
+     * @param out
+     *                destination buffer
+     * @return number of bytes written
+     */
+    public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+        final int start = out.position();
+        int pos = start;
+        Arrays.fill(this.counts, 0);
+        final int[] copy = Arrays.copyOfRange(in, inpos, inpos + length);
+        final BlockStatistics stats = new BlockStatistics(copy, this.w);
+        for (int block = 0; block < stats.blocks(); ++block)
+            pos = encodeBlock(copy, block * this.w, this.w, stats, block, out, pos);
+        final int done = stats.blocks() * this.w;
+        if (done < length) {
+            final int[] tail = Arrays.copyOfRange(copy, done, length);
+            pos = encodeBlock(tail, 0, tail.length, new BlockStatistics(tail, tail.length), 0,
+                    out, pos);
+        }
+        for (int k = 1; k <= 32; ++k) {
+            final int n = this.counts[k];
+            final int[] page = page(k, (n + 31) / 32 * 32);
+            Arrays.fill(page, n, (n + 31) / 32 * 32, 0);
+            for (int j = 0; j < n; j += 32) {
+                BitPacking.pack(page, j, out, pos, k);
+                pos += 4 * k;
+            }
+        }
+        out.position(pos);
+        return pos - start;
+    }
+
+    private int encodeBlock(int[] in, int inpos, int n, BlockStatistics stats, int block,
+            ByteBuffer out, int pos) {
+        final int maxbit = stats.maxbits(block);
+        final int b = RunCostModels.fastpforbestb(stats, block, maxbit);
+        final int e = stats.exceptions(block, b);
+        out.put(pos++, (byte) b);
+        out.put(pos++, (byte) e);
+        if (e > 0) {
+            out.put(pos++, (byte) maxbit);
+            final int k = maxbit - b;
+            final int[] page = page(k, this.counts[k] + e);
+            for (int j = 0; j < n; ++j)
+                if ((in[inpos + j] >>> b) != 0) {
+                    out.put(pos++, (byte) j);
+                    page[this.counts[k]++] = in[inpos + j] >>> b;
+                }
+        }
+        final int mask = (b == 32) ? -1 : (1 << b) - 1;
+        for (int j = 0; j < n; ++j)
+            this.scratch[j] = in[inpos + j] & mask;
+        if (n % 32 == 0) {
+            for (int j = 0; j < n; j += 32) {
+                BitPacking.pack(this.scratch, j, out, pos, b);
+                pos += 4 * b;
+            }
+            return pos;
+        }
+        return BinaryPackingCodec.packGeneric(this.scratch, 0, n, out, pos, b);
+    }
+
+    /**
+     * Decodes integers starting at the position of the buffer, and advances
+     * the position. The buffer must be little endian.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers to decode
+     */
+    public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+        // the headers give the number of exceptions of each width
+        Arrays.fill(this.counts, 0);
+        int pos = in.position();
+        for (int k = 0; k < length; k += this.w) {
+            final int n = Math.min(this.w, length - k);
+            final int b = in.get(pos);
+            final int e = in.get(pos + 1) & 0xFF;
+            pos += 2;
+            if (e > 0) {
+                this.counts[in.get(pos) - b] += e;
+                pos += 1 + e;
+            }
+            pos += (b * n + 7) / 8;
+        }
+        for (int k = 1; k <= 32; ++k) {
+            final int n = this.counts[k];
+            final int[] page = page(k, n);
+            for (int j = 0; j < n; j += 32) {
+                BitPacking.unpack(in, pos, page, j, k);
+                pos += 4 * k;
+            }
+            this.cursors[k] = 0;
+        }
+        final int end = pos;
+        pos = in.position();
+        for (int k = outpos; k < outpos + length; k += this.w) {
+            final int n = Math.min(this.w, outpos + length - k);
+            final int b = in.get(pos);
+            final int e = in.get(pos + 1) & 0xFF;
+            pos += 2;
+            int exceptions = pos;
+            if (e > 0) {
+                exceptions = pos + 1;
+                pos += 1 + e;
+            }
+            if (n % 32 == 0) {
+                for (int j = 0; j < n; j += 32) {
+                    BitPacking.unpack(in, pos, out, k + j, b);
+                    pos += 4 * b;
+                }
+            } else
+                pos = BinaryPackingCodec.unpackGeneric(in, pos, out, k, n, b);
+            if (e > 0) {
+                final int width = in.get(exceptions - 1) - b;
+                final int[] page = this.pages[width];
+                int c = this.cursors[width];
+                for (int x = exceptions; x < exceptions + e; ++x)
+                    out[k + (in.get(x) & 0xFF)] |= page[c++] << b;
+                this.cursors[width] = c;
+            }
+        }
+        in.position(end);
+    }
+
+    /**
+     * Checks that the encoded size matches RunCostModels.fastpfor and that
+     * decoding gives back the data, and reports the decoding speed.
+     *
+     * @param args
+     *                "-seed s" for the data of an earlier run (the seed is
+     *                printed)
+     */
+    public static void main(String[] args) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        final int N = 1 << 20;
+        java.util.SplittableRandom r = new java.util.SplittableRandom(Util.seed(args));
+        int[] data = new ClusteredDataGenerator(r.nextLong()).generateClustered(N, 1 << 25);
+        for (int k = data.length - 1; k > 0; --k)
+            data[k] -= data[k - 1] + 1;
+        RunCostModels.addjumps(data, r);
+        int[] back = new int[N];
+        for (int w : new int[] { 128, 256 }) {
+            FastPForCodec codec = new FastPForCodec(w);
+            ByteBuffer buf = ByteBuffer.allocateDirect(codec.maxCompressedBytes(N))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int bytes = codec.encode(data, 0, N, buf);
+            if (bytes != RunCostModels.fastpfor(data, w))
+                throw new RuntimeException("size does not match the model for w=" + w);
+            long best = Long.MAX_VALUE;
+            for (int t = 0; t < 50; ++t) {
+                buf.position(0);
+                long bef = System.nanoTime();
+                codec.decode(buf, back, 0, N);
+                best = Math.min(best, System.nanoTime() - bef);
+            }
+            if (!Arrays.equals(data, back))
+                throw new RuntimeException("bug for w=" + w);
+            System.out.println("fastpfor (" + w + ") " + df.format(bytes * 8.0 / N)
+                    + " bits/int, decoding " + df.format(N * 1.0 / best) + " ints/ns");
+        }
+    }
+}
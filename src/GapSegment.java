@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Gaps stored off the Java heap as 32-bit little-endian integers, indexed by
+ * longs: unlike an int[], a segment may hold more than 2^31 gaps, and it puts
+ * no pressure on the garbage collector. The gaps are either a memory-mapped
+ * file (the format of RunCostModels stream) or allocated off heap.
+ *
+ * A ByteBuffer cannot address more than 2^31 bytes, so the segment is a
+ * sequence of regions of 2^REGIONBITS gaps each.
+ *
+ * @see CostModel#estimateBytes(GapSegment)
+ */
+public final class GapSegment {
+
+    /**
+     * log2 of the number of gaps per region
+     */
+    public static final int REGIONBITS = 28;
+
+    private static final int REGION = 1 << REGIONBITS;
+
+    private final IntBuffer[] regions;
+
+    private final long length;
+
+    private GapSegment(IntBuffer[] regions, long length) {
+        this.regions = regions;
+        this.length = length;
+    }
+
+    /**
+     * Maps a file of 32-bit little-endian gaps, read only.
+     *
+     * @param file
+     *                the file
+     * @return the segment
+     * @throws IOException
+     *                 if the file cannot be mapped or its size is not a
+     *                 multiple of 4
+     */
+    public static GapSegment map(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = in.size();
+            if (size % 4 != 0)
+                throw new IOException("truncated input: not a whole number of 32-bit integers");
+            final long length = size / 4;
+            IntBuffer[] regions = new IntBuffer[(int) ((length + REGION - 1) >>> REGIONBITS)];
+            for (int r = 0; r < regions.length; ++r) {
+                final long from = (long) r << REGIONBITS;
+                final long n = Math.min(REGION, length - from);
+                // the mapping stays valid once the channel is closed
+                regions[r] = in.map(FileChannel.MapMode.READ_ONLY, 4 * from, 4 * n)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            return new GapSegment(regions, length);
+        }
+    }
+
+    /**
+     * Allocates a segment of zeros off heap (direct buffers, limited by
+     * -XX:MaxDirectMemorySize).
+     *
+     * @param length
+     *                number of gaps
+     * @return the segment
+     */
+    public static GapSegment allocate(long length) {
+        IntBuffer[] regions = new IntBuffer[(int) ((length + REGION - 1) >>> REGIONBITS)];
+        for (int r = 0; r < regions.length; ++r) {
+            final long n = Math.min(REGION, length - ((long) r << REGIONBITS));
+            regions[r] = ByteBuffer.allocateDirect((int) (4 * n))
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return new GapSegment(regions, length);
+    }
+
+    /**
+     * @param gaps
+     *                the gaps
+     * @return a copy of the gaps, off heap
+     */
+    public static GapSegment of(int[] gaps) {
+        GapSegment s = allocate(gaps.length);
+        s.set(0, gaps, 0, gaps.length);
+        return s;
+    }
+
+    /**
+     * @return number of gaps
+     */
+    public long length() {
+        return this.length;
+    }
+
+    /**
+     * @param i
+     *                index of the gap
+     * @return the gap
+     */
+    public int get(long i) {
+        return this.regions[(int) (i >>> REGIONBITS)].get((int) i & (REGION - 1));
+    }
+
+    /**
+     * @param i
+     *                index of the gap
+     * @param v
+     *                new value
+     */
+    public void set(long i, int v) {
+        this.regions[(int) (i >>> REGIONBITS)].put((int) i & (REGION - 1), v);
+    }
+
+    /**
+     * Copies gaps into an array.
+     *
+     * @param from
+     *                index of the first gap
+     * @param dst
+     *                destination array
+     * @param off
+     *                index of the first gap in dst
+     * @param len
+     *                number of gaps
+     */
+    public void get(long from, int[] dst, int off, int len) {
+        while (len > 0) {
+            final int pos = (int) from & (REGION - 1);
+            final int n = Math.min(len, REGION - pos);
+            this.regions[(int) (from >>> REGIONBITS)].get(pos, dst, off, n);
+            from += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Copies gaps from an array.
+     *
+     * @param from
+     *                index of the first gap
+     * @param src
+     *                source array
+     * @param off
+     *                index of the first gap in src
+     * @param len
+     *                number of gaps
+     */
+    public void set(long from, int[] src, int off, int len) {
+        while (len > 0) {
+            final int pos = (int) from & (REGION - 1);
+            final int n = Math.min(len, REGION - pos);
+            this.regions[(int) (from >>> REGIONBITS)].put(pos, src, off, n);
+            from += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Feeds the gaps to a sink, chunk by chunk.
+     *
+     * @param sink
+     *                the sink
+     * @return the estimate of the sink, finished
+     */
+    public long feed(IntBlockSink sink) {
+        final int[] chunk = new int[CostSinks.CHUNK];
+        for (long k = 0; k < this.length; k += chunk.length) {
+            final int n = (int) Math.min(chunk.length, this.length - k);
+            get(k, chunk, 0, n);
+            sink.accept(chunk, 0, n);
+        }
+        return sink.finish();
+    }
+}
@@ -0,0 +1,42 @@
+import java.util.Map;
+
+/**
+ * Consumer of a stream of gaps, fed chunk by chunk, which estimates the
+ * number of bytes a compression scheme would use. A sink only keeps the state
+ * its model needs, so its memory use does not depend on the length of the
+ * stream.
+ *
+ * @see CostModel#newSink()
+ */
+public interface IntBlockSink {
+
+    /**
+     * Consumes the next gaps of the stream. The sink copies what it keeps: the
+     * array may be reused by the caller afterwards.
+     *
+     * @param buf
+     *                array containing the gaps
+     * @param off
+     *                index of the first gap
+     * @param len
+     *                number of gaps
+     */
+    void accept(int[] buf, int off, int len);
+
+    /**
+     * Ends the stream.
+     *
+     * @return estimated number of bytes for the whole stream
+     */
+    long finish();
+
+    /**
+     * Adds the internal counters of the model once the sink is finished, as
+     * CostModel.estimateBytes(gaps, counters) does; most sinks keep none.
+     *
+     * @param counters
+     *                where the counters are added, by name
+     */
+    default void counters(Map<String, Long> counters) {
+    }
+}
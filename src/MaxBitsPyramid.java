@@ -0,0 +1,78 @@
+/**
+ * Bit-wise OR of the gaps over aligned blocks of every power-of-two size from
+ * 8 to 4096. The array is scanned once, at w = 8; each coarser level is
+ * obtained by OR-ing pairs of blocks of the level below. The bit width of the
+ * largest integer in any block of any level is then a lookup, which lets the
+ * binary-packing models be evaluated for all block sizes at once.
+ *
+ * Like the block models, only full blocks are represented.
+ */
+public class MaxBitsPyramid {
+
+    /**
+     * smallest block size
+     */
+    public static final int MINWIDTH = 8;
+
+    /**
+     * largest block size
+     */
+    public static final int MAXWIDTH = 4096;
+
+    // masks[level][block] is the OR of the block of size MINWIDTH << level
+    private final int[][] masks;
+
+    /**
+     * @param data
+     *                the gaps
+     */
+    public MaxBitsPyramid(int[] data) {
+        final int levels = Integer.numberOfTrailingZeros(MAXWIDTH / MINWIDTH) + 1;
+        this.masks = new int[levels][];
+        int[] m = new int[data.length / MINWIDTH];
+        for (int block = 0; block < m.length; ++block) {
+            final int k = block * MINWIDTH;
+            m[block] = data[k] | data[k + 1] | data[k + 2] | data[k + 3]
+                    | data[k + 4] | data[k + 5] | data[k + 6] | data[k + 7];
+        }
+        this.masks[0] = m;
+        for (int level = 1; level < levels; ++level) {
+            int[] below = this.masks[level - 1];
+            m = new int[below.length / 2];
+            for (int block = 0; block < m.length; ++block)
+                m[block] = below[2 * block] | below[2 * block + 1];
+            this.masks[level] = m;
+        }
+    }
+
+    /**
+     * @param w
+     *                block size (power of two from MINWIDTH to MAXWIDTH)
+     * @return index of the corresponding level
+     */
+    public static int level(int w) {
+        if ((w < MINWIDTH) || (w > MAXWIDTH) || (Integer.bitCount(w) != 1))
+            throw new IllegalArgumentException("unsupported block size " + w);
+        return Integer.numberOfTrailingZeros(w / MINWIDTH);
+    }
+
+    /**
+     * @param w
+     *                block size
+     * @return number of full blocks of size w
+     */
+    public int blocks(int w) {
+        return this.masks[level(w)].length;
+    }
+
+    /**
+     * @param w
+     *                block size
+     * @param block
+     *                index of the block
+     * @return bit width of the largest integer in the block
+     */
+    public int maxbits(int w, int block) {
+        return Util.bits(this.masks[level(w)][block]);
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * A sink whose work can be split: consecutive ranges of the stream are fed to
+ * separate sinks (possibly on different threads), whose states are then
+ * merged in order. The merged sink finishes with the same estimate as a single
+ * sink fed the whole stream.
+ *
+ * @see CostModelRunner#estimate(CostModel, int[])
+ */
+public interface MergeableSink extends IntBlockSink {
+
+    /**
+     * Merges the state of a sink of the same model, fed the gaps that follow
+     * those fed to this sink, and not finished. The next sink must not be
+     * used afterwards.
+     *
+     * @param next
+     *                sink of the following gaps
+     * @return false if the states cannot be merged exactly (e.g., a parse
+     *         that does not join that of next soon enough), in which case
+     *         this sink is unchanged and the gaps of next must be fed to it
+     *         instead
+     */
+    boolean merge(MergeableSink next);
+}
@@ -0,0 +1,181 @@
+/**
+ * Binary packing with blocks of variable length: each block stores its bit
+ * width and its length (one byte each, so blocks hold 1 to 256 integers)
+ * followed by its integers packed with that width. The cost is that of the
+ * best partition of the gaps into blocks, in the style of VSEncoding or of
+ * partitioned Elias-Fano, so it tells how much fixed-size blocks lose.
+ *
+ * With epsilon = 0, a dynamic program tries the blocks ending at every
+ * position: at most 256 steps per integer, usually far fewer. Otherwise the shortest paths are computed
+ * over a pruned graph, as in Ottaviano and Venturini: from each position, only
+ * the longest block costing at most HEADER * (1 + epsilon)^h bytes is tried,
+ * for every h, which gives a cost within a factor 1 + epsilon of the optimum
+ * in O(log(1 / epsilon) / epsilon) steps per integer. The block widths of each
+ * class h come from a sliding histogram of the bit widths.
+ *
+ * Both are sinks: their memory use does not depend on the number of gaps.
+ *
+ * Reference: Giuseppe Ottaviano and Rossano Venturini. 2014. Partitioned
+ * Elias-Fano indexes. In SIGIR '14, 273-282.
+ */
+public class OptimalPartition implements IntBlockSink {
+
+    /**
+     * largest number of integers in a block
+     */
+    public static final int MAXLENGTH = 256;
+
+    /**
+     * bytes in front of each block: bit width and length
+     */
+    public static final int HEADER = 2;
+
+    // gaps and costs are kept for the positions within MAXLENGTH of the
+    // current one
+    private static final int MASK = 2 * MAXLENGTH - 1;
+
+    private final int[] widths = new int[MASK + 1];
+    // cost[x & MASK]: smallest cost of the first x integers found so far
+    private final long[] cost = new long[MASK + 1];
+    // number of integers received
+    private long n;
+
+    // approximation only: one window per cost class
+    private final long[] bounds;
+    private final long[] start;
+    private final long[] end;
+    private final int[] max;
+    private final int[] histogram;
+    // next position to leave from
+    private long next;
+
+    /**
+     * @param epsilon
+     *                0 for the exact cost, otherwise the relative error
+     *                allowed
+     */
+    public OptimalPartition(double epsilon) {
+        java.util.Arrays.fill(this.cost, Long.MAX_VALUE);
+        this.cost[0] = 0;
+        if (epsilon > 0) {
+            // the last class allows any block
+            final long largest = blockcost(32, MAXLENGTH);
+            long[] bounds = new long[0];
+            for (double c = HEADER; (long) c < largest; c *= 1 + epsilon)
+                if ((bounds.length == 0) || ((long) c > bounds[bounds.length - 1])) {
+                    bounds = java.util.Arrays.copyOf(bounds, bounds.length + 1);
+                    bounds[bounds.length - 1] = (long) c;
+                }
+            bounds = java.util.Arrays.copyOf(bounds, bounds.length + 1);
+            bounds[bounds.length - 1] = largest;
+            final int classes = bounds.length;
+            this.bounds = bounds;
+            this.start = new long[classes];
+            this.end = new long[classes];
+            this.max = new int[classes];
+            this.histogram = new int[33 * classes];
+        } else {
+            this.bounds = null;
+            this.start = null;
+            this.end = null;
+            this.max = null;
+            this.histogram = null;
+        }
+    }
+
+    private static long blockcost(int b, long length) {
+        return HEADER + (b * length + 7) / 8;
+    }
+
+    @Override
+    public void accept(int[] buf, int off, int len) {
+        for (int k = off; k < off + len; ++k) {
+            this.widths[(int) (this.n & MASK)] = Util.bits(buf[k]);
+            ++this.n;
+            if (this.bounds == null)
+                close(this.n);
+            else if (this.n - this.next >= MAXLENGTH)
+                leave(this.n);
+        }
+    }
+
+    // exact: the best cost of the first x integers, from all the blocks ending
+    // at x. Starting the last block at some i' < i instead of i costs at least
+    // cost[i] + b * (x - i) / 8 bytes (b: width of the integers from i to x),
+    // so the scan stops once that reaches the best cost found.
+    private void close(long x) {
+        long best = Long.MAX_VALUE;
+        int b = 0;
+        for (long i = x - 1; (i >= 0) && (i >= x - MAXLENGTH); --i) {
+            b = Math.max(b, this.widths[(int) (i & MASK)]);
+            final long before = this.cost[(int) (i & MASK)];
+            best = Math.min(best, before + blockcost(b, x - i));
+            if (before + b * (x - i) / 8 >= best)
+                break;
+        }
+        this.cost[(int) (x & MASK)] = best;
+    }
+
+    // approximate: relaxes the blocks leaving from the next position, whose
+    // cost is now final, looking no further than limit
+    private void leave(long limit) {
+        final long i = this.next++;
+        final long from = this.cost[(int) (i & MASK)];
+        this.cost[(int) ((i + MAXLENGTH) & MASK)] = Long.MAX_VALUE;
+        final int[] histogram = this.histogram;
+        for (int h = 0; h < this.bounds.length; ++h) {
+            final int pos = 33 * h;
+            // drops the integers before i from the window
+            for (; (this.start[h] < i) && (this.start[h] < this.end[h]); ++this.start[h]) {
+                final int w = this.widths[(int) (this.start[h] & MASK)];
+                --histogram[pos + w];
+                if (w == this.max[h])
+                    while ((this.max[h] > 0) && (histogram[pos + this.max[h]] == 0))
+                        --this.max[h];
+            }
+            if (this.start[h] < i) {
+                this.start[h] = i;
+                this.end[h] = i;
+            }
+            // extends it while the block stays within the bound of its class
+            long e = this.end[h];
+            final long stop = Math.min(limit, i + MAXLENGTH);
+            while (e < stop) {
+                final int w = this.widths[(int) (e & MASK)];
+                if ((e > i) && (blockcost(Math.max(this.max[h], w), e + 1 - i) > this.bounds[h]))
+                    break;
+                ++histogram[pos + w];
+                this.max[h] = Math.max(this.max[h], w);
+                ++e;
+            }
+            this.end[h] = e;
+            // i may be on no pruned path, the windows still move past it
+            if (from == Long.MAX_VALUE)
+                continue;
+            final int at = (int) (e & MASK);
+            this.cost[at] = Math.min(this.cost[at], from + blockcost(this.max[h], e - i));
+        }
+    }
+
+    @Override
+    public long finish() {
+        if (this.bounds != null)
+            while (this.next < this.n)
+                leave(this.n);
+        return this.cost[(int) (this.n & MASK)];
+    }
+
+    /**
+     * @param data
+     *                the gaps
+     * @param epsilon
+     *                0 for the exact cost, otherwise the relative error
+     *                allowed
+     * @return bytes used by the best partition into blocks
+     */
+    public static long cost(int[] data, double epsilon) {
+        OptimalPartition p = new OptimalPartition(epsilon);
+        p.accept(data, 0, data.length);
+        return p.finish();
+    }
+}
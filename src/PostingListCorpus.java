@@ -0,0 +1,244 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Reader for collections of posting lists stored as sequences of 32-bit
+ * little-endian integers, each sequence being its length followed by its
+ * elements (the binary format of the ds2i benchmark dumps, such as Gov2 or
+ * ClueWeb09). The file is memory-mapped, not read onto the heap; only one
+ * list per thread is materialized, as gaps, when the models are evaluated.
+ *
+ * In ds2i ".docs" files, the first sequence holds the number of documents
+ * rather than a posting list: open them with skipFirst set.
+ */
+public class PostingListCorpus implements Closeable {
+
+    // files larger than 2 GB are mapped as several windows
+    private static final int WINDOWBITS = 30;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private long[] offsets = new long[1024]; // byte offset of the elements
+    private int[] lengths = new int[1024];
+    private int lists;
+
+    /**
+     * Maps the file and indexes its lists.
+     *
+     * @param file
+     *                the collection
+     * @param skipFirst
+     *                whether the first sequence is a header to ignore
+     * @throws IOException
+     *                 if the file cannot be read or is malformed
+     */
+    public PostingListCorpus(Path file, boolean skipFirst) throws IOException {
+        this.channel = FileChannel.open(file);
+        final long size = this.channel.size();
+        this.windows = new MappedByteBuffer[(int) ((size + (1L << WINDOWBITS) - 1) >>> WINDOWBITS)];
+        for (int k = 0; k < this.windows.length; ++k) {
+            long start = (long) k << WINDOWBITS;
+            this.windows[k] = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                    start, Math.min(1L << WINDOWBITS, size - start));
+            this.windows[k].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (size % 4 != 0)
+            throw new IOException("not a sequence of 32-bit integers: " + file);
+        long pos = 0;
+        boolean first = true;
+        while (pos < size) {
+            long n = getInt(pos) & 0xFFFFFFFFL;
+            if (pos + 4 + 4 * n > size)
+                throw new IOException("truncated list at byte " + pos + " of " + file);
+            if (!(first && skipFirst)) {
+                if (n > Integer.MAX_VALUE - 8)
+                    throw new IOException("list too long at byte " + pos);
+                if (this.lists == this.lengths.length) {
+                    this.offsets = Arrays.copyOf(this.offsets, 2 * this.lists);
+                    this.lengths = Arrays.copyOf(this.lengths, 2 * this.lists);
+                }
+                this.offsets[this.lists] = pos + 4;
+                this.lengths[this.lists] = (int) n;
+                ++this.lists;
+            }
+            first = false;
+            pos += 4 + 4 * n;
+        }
+    }
+
+    private int getInt(long pos) {
+        return this.windows[(int) (pos >>> WINDOWBITS)].getInt((int) (pos & ((1L << WINDOWBITS) - 1)));
+    }
+
+    /**
+     * @return number of posting lists
+     */
+    public int size() {
+        return this.lists;
+    }
+
+    /**
+     * @param list
+     *                index of the list
+     * @return number of elements in the list
+     */
+    public int length(int list) {
+        return this.lengths[list];
+    }
+
+    /**
+     * Reads a list as gaps: the first element followed by the differences
+     * between successive elements, minus one (as RunCostModels.main computes
+     * them).
+     *
+     * @param list
+     *                index of the list
+     * @return a new array containing the gaps
+     */
+    public int[] gaps(int list) {
+        final int n = this.lengths[list];
+        final long start = this.offsets[list];
+        int[] data = new int[n];
+        final long end = start + 4L * n;
+        if ((start >>> WINDOWBITS) == ((end - 1) >>> WINDOWBITS)) {
+            // the list lies within one window: bulk copy
+            MappedByteBuffer w = this.windows[(int) (start >>> WINDOWBITS)];
+            IntBuffer ib = w.duplicate().position((int) (start & ((1L << WINDOWBITS) - 1)))
+                    .slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            ib.get(data, 0, n);
+        } else {
+            for (int k = 0; k < n; ++k)
+                data[k] = getInt(start + 4L * k);
+        }
+        for (int k = data.length - 1; k > 0; --k) {
+            data[k] -= data[k - 1] + 1;
+            if (data[k] < 0)
+                throw new IllegalStateException("list " + list + " is not strictly increasing");
+        }
+        return data;
+    }
+
+    /**
+     * Evaluates models over all lists having at least minLength elements.
+     * Lists are sharded across the threads of the pool; the result aggregates
+     * the bytes of all lists, so that bits/int is weighted by list length.
+     *
+     * @param models
+     *                models to evaluate
+     * @param minLength
+     *                shorter lists are ignored (block models ignore the last
+     *                partial block of each list)
+     * @param pool
+     *                pool the lists are processed on
+     * @return one row per model
+     */
+    public CostTable evaluate(List<CostModel> models, int minLength, ForkJoinPool pool) {
+        List<Integer> selected = new ArrayList<Integer>();
+        for (int k = 0; k < this.lists; ++k)
+            if (this.lengths[k] >= minLength)
+                selected.add(k);
+        int[] ids = new int[selected.size()];
+        long[] cumulative = new long[ids.length + 1];
+        for (int k = 0; k < ids.length; ++k) {
+            ids[k] = selected.get(k);
+            cumulative[k + 1] = cumulative[k] + this.lengths[ids[k]];
+        }
+        long[] totals = pool.invoke(new Shard(models, ids, cumulative, 0, ids.length));
+        CostTable table = new CostTable(cumulative[ids.length]);
+        for (int m = 0; m < models.size(); ++m)
+            table.add(models.get(m), totals[m], totals[models.size() + m]);
+        return table;
+    }
+
+    // lists ids[from..to), split so that both halves hold about as many integers
+    private class Shard extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+        private final List<CostModel> models;
+        private final int[] ids;
+        private final long[] cumulative;
+        private final int from, to;
+
+        Shard(List<CostModel> models, int[] ids, long[] cumulative, int from, int to) {
+            this.models = models;
+            this.ids = ids;
+            this.cumulative = cumulative;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            final int M = this.models.size();
+            if ((this.to - this.from > 1)
+                    && (this.cumulative[this.to] - this.cumulative[this.from] > (1 << 20))) {
+                long half = (this.cumulative[this.from] + this.cumulative[this.to]) / 2;
+                int mid = Arrays.binarySearch(this.cumulative, this.from, this.to + 1, half);
+                if (mid < 0)
+                    mid = -mid - 1;
+                mid = Math.max(this.from + 1, Math.min(this.to - 1, mid));
+                Shard left = new Shard(this.models, this.ids, this.cumulative, this.from, mid);
+                left.fork();
+                long[] r = new Shard(this.models, this.ids, this.cumulative, mid, this.to).compute();
+                long[] l = left.join();
+                for (int k = 0; k < r.length; ++k)
+                    r[k] += l[k];
+                return r;
+            }
+            // bytes per model followed by nanoseconds per model
+            long[] ans = new long[2 * M];
+            for (int k = this.from; k < this.to; ++k) {
+                int[] data = gaps(this.ids[k]);
+                // the block models of this list share its statistics
+                IntFunction<BlockStatistics> stats = BlockStatistics.memo(data);
+                for (int m = 0; m < M; ++m) {
+                    long bef = System.nanoTime();
+                    ans[m] += this.models.get(m).estimateBytes(data, stats, null);
+                    ans[M + m] += System.nanoTime() - bef;
+                }
+            }
+            return ans;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Reports the weighted bits/int of every model over a collection.
+     *
+     * @param args
+     *                file name, optionally followed by the minimal list length
+     *                (default 1024) and "-noheader" if the first sequence is a
+     *                list rather than a ds2i header
+     * @throws IOException
+     *                 if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("usage: java PostingListCorpus file.docs [minLength] [-noheader]");
+            return;
+        }
+        int minLength = (args.length > 1) && !args[1].startsWith("-") ? Integer.parseInt(args[1]) : 1024;
+        boolean skipFirst = !Arrays.asList(args).contains("-noheader");
+        try (PostingListCorpus corpus = new PostingListCorpus(Paths.get(args[0]), skipFirst)) {
+            CostTable table = corpus.evaluate(CostModels.all(), minLength, ForkJoinPool.commonPool());
+            System.out.println(corpus.size() + " lists, " + table.size()
+                    + " integers in lists of at least " + minLength);
+            table.print(System.out);
+        }
+    }
+}
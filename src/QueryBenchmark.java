@@ -0,0 +1,561 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Times AND queries over posting lists stored in each format, next to the
+ * space of the format: the cost models tell the bits per integer, this tells
+ * what they cost at query time.
+ *
+ * A block format stores a list as chunks of gaps, each encoded on its own by
+ * the codec, with a skip pointer per chunk (its last element and its byte
+ * offset). A cursor moves to the first element at least x (nextGEQ) by
+ * skipping the chunks whose last element is smaller, decoding the chunk it
+ * lands in, and searching it. Elias-Fano answers nextGEQ directly from its
+ * select index; "uncompressed" is the plain int[] list.
+ *
+ * The queries are intersected set-versus-set (SvS): the elements of the
+ * shortest list are the candidates, which each other list filters with
+ * nextGEQ, from the shortest to the longest. The cursors either scan
+ * (skip pointers and chunks one element at a time, as in a merge) or gallop
+ * (exponential then binary search). Every format, with either cursor, must
+ * return the same intersections as the uncompressed lists, element by
+ * element.
+ *
+ * Usage:
+ *
+ * java QueryBenchmark [-lists 100] [-corpus file.docs [-minlength 1024]
+ * [-noheader]] [-queries file] [-q 1000] [-terms 2:4] [-seed s] [-wi 2]
+ * [-i 5]
+ *
+ * The lists are clustered lists of 2^8 to 2^18 elements over [0,2^25)
+ * unless a ds2i collection is given (its lists of at least minlength
+ * elements, at most -lists of them). A query file holds one query per line,
+ * the indexes of its lists separated by spaces; otherwise -q queries of 2 to
+ * 4 lists drawn uniformly are generated.
+ */
+public class QueryBenchmark {
+
+    // returned by nextGEQ past the end of the list
+    static final int END = Integer.MAX_VALUE;
+
+    interface Encoder {
+        int encode(int[] in, int inpos, int length, ByteBuffer out);
+    }
+
+    interface Decoder {
+        void decode(ByteBuffer in, int[] out, int outpos, int length);
+    }
+
+    /**
+     * A way to store the lists.
+     */
+    interface Format {
+        String name();
+
+        PostingList store(int[] gaps);
+    }
+
+    /**
+     * A stored list.
+     */
+    interface PostingList {
+        int size();
+
+        // bits of the elements and of the skip pointers
+        long dataBits();
+
+        long skipBits();
+
+        // a cursor at the beginning of the list (the list holds one cursor,
+        // reset by each call)
+        Cursor cursor(boolean gallop);
+    }
+
+    /**
+     * Moves forward in a list.
+     */
+    interface Cursor {
+        // the smallest element at least x and at least the current one, or
+        // END
+        int nextGEQ(int x);
+
+        // number of chunks decoded so far
+        long decoded();
+    }
+
+    // smallest k in [from, to) with a[k] >= x, or to, by scanning or by
+    // galloping then binary search
+    static int search(int[] a, int from, int to, int x, boolean gallop) {
+        if (!gallop) {
+            while ((from < to) && (a[from] < x))
+                ++from;
+            return from;
+        }
+        if ((from >= to) || (a[from] >= x))
+            return from;
+        int lo = from, step = 1;
+        while ((lo + step < to) && (a[lo + step] < x)) {
+            lo += step;
+            step <<= 1;
+        }
+        // a[lo] < x, and a[hi] >= x if hi < to
+        int hi = Math.min(lo + step, to);
+        while (hi - lo > 1) {
+            final int mid = (lo + hi) >>> 1;
+            if (a[mid] < x)
+                lo = mid;
+            else
+                hi = mid;
+        }
+        return hi;
+    }
+
+    static int[] values(int[] gaps) {
+        int[] v = new int[gaps.length];
+        int x = -1;
+        for (int k = 0; k < gaps.length; ++k)
+            v[k] = x += gaps[k] + 1;
+        return v;
+    }
+
+    /**
+     * The plain int[] list.
+     */
+    static final Format UNCOMPRESSED = new Format() {
+        @Override
+        public String name() {
+            return "uncompressed";
+        }
+
+        @Override
+        public PostingList store(int[] gaps) {
+            final int[] v = values(gaps);
+            return new PostingList() {
+                int pos;
+                boolean gallop;
+                final Cursor cursor = new Cursor() {
+                    @Override
+                    public int nextGEQ(int x) {
+                        pos = search(v, pos, v.length, x, gallop);
+                        return (pos < v.length) ? v[pos] : END;
+                    }
+
+                    @Override
+                    public long decoded() {
+                        return 0;
+                    }
+                };
+
+                @Override
+                public int size() {
+                    return v.length;
+                }
+
+                @Override
+                public long dataBits() {
+                    return 32L * v.length;
+                }
+
+                @Override
+                public long skipBits() {
+                    return 0;
+                }
+
+                @Override
+                public Cursor cursor(boolean g) {
+                    this.pos = 0;
+                    this.gallop = g;
+                    return this.cursor;
+                }
+            };
+        }
+    };
+
+    /**
+     * Elias-Fano, with its select index in place of skip pointers.
+     */
+    static final Format ELIASFANO = new Format() {
+        @Override
+        public String name() {
+            return "Elias-Fano";
+        }
+
+        @Override
+        public PostingList store(int[] gaps) {
+            final EliasFano ef = new EliasFano(gaps);
+            final Cursor cursor = new Cursor() {
+                @Override
+                public int nextGEQ(int x) {
+                    final long v = ef.nextGEQ(x);
+                    return (v == Long.MAX_VALUE) ? END : (int) v;
+                }
+
+                @Override
+                public long decoded() {
+                    return 0;
+                }
+            };
+            return new PostingList() {
+                @Override
+                public int size() {
+                    return ef.size();
+                }
+
+                @Override
+                public long dataBits() {
+                    return ef.dataBits();
+                }
+
+                @Override
+                public long skipBits() {
+                    return ef.indexBits();
+                }
+
+                @Override
+                public Cursor cursor(boolean gallop) {
+                    return cursor;
+                }
+            };
+        }
+    };
+
+    /**
+     * Chunks of gaps encoded by a codec, with skip pointers.
+     */
+    static final class ChunkFormat implements Format {
+        private final String name;
+        private final int chunk;
+        private final Encoder encoder;
+        private final Decoder decoder;
+        private final int maxbytesperint;
+
+        /**
+         * @param name
+         *                name of the format
+         * @param chunk
+         *                number of integers per chunk
+         * @param encoder
+         *                encodes a chunk
+         * @param decoder
+         *                decodes a chunk
+         * @param maxbytesperint
+         *                bound on the encoded bytes per integer (plus 8 kB per
+         *                chunk)
+         */
+        ChunkFormat(String name, int chunk, Encoder encoder, Decoder decoder, int maxbytesperint) {
+            this.name = name;
+            this.chunk = chunk;
+            this.encoder = encoder;
+            this.decoder = decoder;
+            this.maxbytesperint = maxbytesperint;
+        }
+
+        @Override
+        public String name() {
+            return this.name;
+        }
+
+        @Override
+        public PostingList store(int[] gaps) {
+            return new ChunkedList(this, gaps);
+        }
+    }
+
+    static final class ChunkedList implements PostingList, Cursor {
+        private final ChunkFormat format;
+        private final int n;
+        // last element and byte offset of each chunk
+        private final int[] last;
+        private final int[] offset;
+        private final ByteBuffer data;
+        private final long bytes;
+        // the decoded chunk
+        private final int[] values;
+        private int current;
+        private int count;
+        private int pos;
+        private boolean gallop;
+        private long decoded;
+
+        ChunkedList(ChunkFormat format, int[] gaps) {
+            this.format = format;
+            this.n = gaps.length;
+            final int chunks = (this.n + format.chunk - 1) / format.chunk;
+            this.last = new int[chunks];
+            this.offset = new int[chunks];
+            ByteBuffer buf = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+            int x = -1;
+            for (int c = 0; c < chunks; ++c) {
+                final int from = c * format.chunk;
+                final int len = Math.min(format.chunk, this.n - from);
+                final int bound = format.maxbytesperint * len + 8192;
+                if (buf.remaining() < bound) {
+                    final int p = buf.position();
+                    buf = ByteBuffer.allocate(2 * buf.capacity() + bound).order(ByteOrder.LITTLE_ENDIAN)
+                            .put(buf.flip());
+                    buf.position(p);
+                }
+                this.offset[c] = buf.position();
+                format.encoder.encode(gaps, from, len, buf);
+                for (int k = from; k < from + len; ++k)
+                    x += gaps[k] + 1;
+                this.last[c] = x;
+            }
+            this.bytes = buf.position();
+            this.data = ByteBuffer.allocateDirect((int) this.bytes).order(ByteOrder.LITTLE_ENDIAN)
+                    .put(buf.flip());
+            this.values = new int[format.chunk];
+        }
+
+        @Override
+        public int size() {
+            return this.n;
+        }
+
+        @Override
+        public long dataBits() {
+            return 8 * this.bytes;
+        }
+
+        @Override
+        public long skipBits() {
+            return 64L * this.last.length;
+        }
+
+        @Override
+        public Cursor cursor(boolean g) {
+            this.current = -1;
+            this.count = 0;
+            this.pos = 0;
+            this.gallop = g;
+            return this;
+        }
+
+        private void decode(int c) {
+            final int len = Math.min(this.format.chunk, this.n - c * this.format.chunk);
+            this.data.position(this.offset[c]);
+            this.format.decoder.decode(this.data, this.values, 0, len);
+            int x = (c == 0) ? -1 : this.last[c - 1];
+            for (int k = 0; k < len; ++k)
+                this.values[k] = x += this.values[k] + 1;
+            this.current = c;
+            this.count = len;
+            this.pos = 0;
+            ++this.decoded;
+        }
+
+        @Override
+        public int nextGEQ(int x) {
+            if ((this.current < 0) || (x > this.last[this.current])) {
+                final int c = search(this.last, Math.max(this.current, 0), this.last.length, x,
+                        this.gallop);
+                if (c == this.last.length)
+                    return END;
+                decode(c);
+            }
+            this.pos = search(this.values, this.pos, this.count, x, this.gallop);
+            return this.values[this.pos];
+        }
+
+        @Override
+        public long decoded() {
+            return this.decoded;
+        }
+    }
+
+    /**
+     * @return the formats compared by default
+     */
+    static List<Format> formats() {
+        List<Format> ans = new ArrayList<Format>();
+        ans.add(UNCOMPRESSED);
+        final BinaryPackingCodec bp = new BinaryPackingCodec(128);
+        ans.add(new ChunkFormat("binary packing (128)", 128, bp::encode, bp::decode, 5));
+        // the exception pages are shared by the blocks of a chunk: too small
+        // a chunk pads every page
+        final FastPForCodec fastpfor = new FastPForCodec(128);
+        ans.add(new ChunkFormat("fastpfor (128), chunks of 1024", 1024, fastpfor::encode,
+                fastpfor::decode, 6));
+        final BlockedRiceCodec rice = new BlockedRiceCodec(128);
+        ans.add(new ChunkFormat("Blocked rice (128)", 128, rice::encode, rice::decode, 5));
+        final AdaptiveCodec auto = new AdaptiveCodec(128);
+        ans.add(new ChunkFormat("auto (128)", 128, auto::encode, auto::decode, 6));
+        final InterpolativeCodec bic = new InterpolativeCodec(128, false);
+        ans.add(new ChunkFormat("binary interpolative coding (128, exact)", 128, bic::encode,
+                bic::decode, 6));
+        final VByteCodec vbyte = new VByteCodec();
+        ans.add(new ChunkFormat("varint, chunks of 128", 128, vbyte::encode, vbyte::decode, 5));
+        ans.add(ELIASFANO);
+        return ans;
+    }
+
+    /**
+     * Intersects the lists, set versus set.
+     *
+     * @param cursors
+     *                cursors of the lists, shortest first
+     * @param buffer
+     *                room for the shortest list
+     * @return the number of elements common to all lists
+     */
+    static int svs(Cursor[] cursors, int[] buffer) {
+        int n = 0;
+        for (int x = cursors[0].nextGEQ(0); x != END; x = cursors[0].nextGEQ(x + 1))
+            buffer[n++] = x;
+        for (int k = 1; (k < cursors.length) && (n > 0); ++k) {
+            int m = 0;
+            for (int i = 0; i < n; ++i)
+                if (cursors[k].nextGEQ(buffer[i]) == buffer[i])
+                    buffer[m++] = buffer[i];
+            n = m;
+        }
+        return n;
+    }
+
+    // value following the option, or null
+    private static String option(String[] args, String name) {
+        for (int k = 0; k + 1 < args.length; ++k)
+            if (args[k].equals(name))
+                return args[k + 1];
+        return null;
+    }
+
+    /**
+     * @param args
+     *                see the usage above
+     * @throws IOException
+     *                 if the collection or the query file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        final long seed = (option(args, "-seed") != null) ? Long.parseLong(option(args, "-seed"))
+                : new SplittableRandom().nextLong();
+        final SplittableRandom r = new SplittableRandom(seed);
+        final int wi = (option(args, "-wi") != null) ? Integer.parseInt(option(args, "-wi")) : 2;
+        final int it = (option(args, "-i") != null) ? Integer.parseInt(option(args, "-i")) : 5;
+        final int maxlists = (option(args, "-lists") != null) ? Integer.parseInt(option(args, "-lists"))
+                : (option(args, "-corpus") != null) ? Integer.MAX_VALUE : 100;
+        List<int[]> gaps = new ArrayList<int[]>();
+        if (option(args, "-corpus") != null) {
+            final int minlength = (option(args, "-minlength") != null)
+                    ? Integer.parseInt(option(args, "-minlength")) : 1024;
+            try (PostingListCorpus corpus = new PostingListCorpus(Paths.get(option(args, "-corpus")),
+                    !Arrays.asList(args).contains("-noheader"))) {
+                for (int l = 0; (l < corpus.size()) && (gaps.size() < maxlists); ++l)
+                    if (corpus.length(l) >= minlength)
+                        gaps.add(corpus.gaps(l));
+            }
+        } else {
+            final int Max = 1 << 25;
+            ClusteredDataGenerator cdg = new ClusteredDataGenerator(r.nextLong());
+            for (int l = 0; l < maxlists; ++l) {
+                final int N = (int) Math.pow(2, 8 + 10 * r.nextDouble());
+                int[] data = cdg.generateClustered(N, Max);
+                for (int k = data.length - 1; k > 0; --k)
+                    data[k] -= data[k - 1] + 1;
+                gaps.add(data);
+            }
+        }
+        List<int[]> queries = new ArrayList<int[]>();
+        if (option(args, "-queries") != null) {
+            for (String line : Files.readAllLines(Paths.get(option(args, "-queries")))) {
+                if (line.trim().isEmpty())
+                    continue;
+                final String[] ids = line.trim().split("\\s+");
+                int[] q = new int[ids.length];
+                for (int k = 0; k < ids.length; ++k)
+                    q[k] = Integer.parseInt(ids[k]);
+                queries.add(q);
+            }
+        } else {
+            final int count = (option(args, "-q") != null) ? Integer.parseInt(option(args, "-q")) : 1000;
+            final String[] terms = ((option(args, "-terms") != null) ? option(args, "-terms") : "2:4").split(":");
+            final int lo = Integer.parseInt(terms[0]), hi = Integer.parseInt(terms[1]);
+            for (int k = 0; k < count; ++k) {
+                int[] q = new int[r.nextInt(lo, hi + 1)];
+                for (int j = 0; j < q.length; ++j)
+                    q[j] = r.nextInt(gaps.size());
+                queries.add(q);
+            }
+        }
+        long total = 0;
+        int longest = 0;
+        for (int[] g : gaps) {
+            total += g.length;
+            longest = Math.max(longest, g.length);
+        }
+        // the lists of each query, shortest first, each once (a list has a
+        // single cursor)
+        for (int k = 0; k < queries.size(); ++k) {
+            Integer[] boxed = Arrays.stream(queries.get(k)).distinct().boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, (a, b) -> Integer.compare(gaps.get(a).length, gaps.get(b).length));
+            queries.set(k, Arrays.stream(boxed).mapToInt(Integer::intValue).toArray());
+        }
+        System.out.println("seed=" + seed + ", " + gaps.size() + " lists, " + total + " integers, "
+                + queries.size() + " queries");
+        System.out.println(String.format("%-44s%10s%10s%14s%14s%14s%12s", "format", "bits/int",
+                "skips", "scan ns/q", "gallop ns/q", "chunks/q", "results/q"));
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        final int[] buffer = new int[longest];
+        // the intersections of the uncompressed lists, which the other
+        // formats must return element by element
+        int[][] expected = null;
+        for (Format f : formats()) {
+            final List<PostingList> lists = new ArrayList<PostingList>();
+            long databits = 0, skipbits = 0;
+            for (int[] g : gaps) {
+                PostingList p = f.store(g);
+                databits += p.dataBits();
+                skipbits += p.skipBits();
+                lists.add(p);
+            }
+            final Cursor[][] cursors = new Cursor[queries.size()][];
+            for (int k = 0; k < queries.size(); ++k)
+                cursors[k] = new Cursor[queries.get(k).length];
+            final double[] ns = new double[2];
+            long chunks = 0, results = 0;
+            for (int g = 0; g < 2; ++g) {
+                final boolean gallop = (g == 1);
+                // one pass to check the results and count the chunks
+                int[][] found = new int[queries.size()][];
+                for (int k = 0; k < queries.size(); ++k) {
+                    final int[] q = queries.get(k);
+                    for (int j = 0; j < q.length; ++j)
+                        cursors[k][j] = lists.get(q[j]).cursor(gallop);
+                    long bef = 0;
+                    for (Cursor c : cursors[k])
+                        bef += c.decoded();
+                    found[k] = Arrays.copyOf(buffer, svs(cursors[k], buffer));
+                    for (Cursor c : cursors[k])
+                        chunks += c.decoded();
+                    chunks -= bef;
+                    results += found[k].length;
+                }
+                if (expected == null)
+                    expected = found;
+                else if (!Arrays.deepEquals(expected, found))
+                    throw new RuntimeException(f.name() + " does not give the same results");
+                ns[g] = Benchmark.measure(() -> {
+                    long s = 0;
+                    for (int k = 0; k < queries.size(); ++k) {
+                        final int[] q = queries.get(k);
+                        for (int j = 0; j < q.length; ++j)
+                            cursors[k][j] = lists.get(q[j]).cursor(gallop);
+                        s += svs(cursors[k], buffer);
+                    }
+                    return s;
+                }, wi, it)[0] / queries.size();
+            }
+            System.out.println(String.format("%-44s%10s%10s%14s%14s%14s%12s", f.name(),
+                    df.format(databits * 1.0 / total), df.format(skipbits * 1.0 / total),
+                    df.format(ns[0]), df.format(ns[1]), df.format(chunks / 2.0 / queries.size()),
+                    df.format(results / 2.0 / queries.size())));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Size of a Roaring bitmap in the portable serialization format. The integers
+ * (the prefix sums of the gaps) are grouped by their 16 high bits into
+ * containers; each container is an array of 16-bit values (up to 4096 of
+ * them), a bitmap of 8 KB or, when smaller, a list of runs, as after
+ * runOptimize. Only the cardinality and the number of runs of each container
+ * are needed, so no container is materialized.
+ *
+ * The format is described at https://github.com/RoaringBitmap/RoaringFormatSpec
+ */
+public class RoaringCost implements IntBlockSink {
+
+    /**
+     * container types, indexes of containers()
+     */
+    public static final int ARRAY = 0, BITMAP = 1, RUN = 2;
+
+    private static final int MAXARRAY = 4096;
+
+    private static final int BITMAPBYTES = 8192;
+
+    private final long[] containers = new long[3];
+    // bytes of the containers, without the header
+    private long payload;
+    // container being filled
+    private long key = -1;
+    private int cardinality;
+    private int runs;
+    private long previous;
+
+    /**
+     * Empty bitmap; the gaps are relative to -1 (the first gap is the first
+     * integer).
+     */
+    public RoaringCost() {
+        this(-1);
+    }
+
+    private RoaringCost(long previous) {
+        this.previous = previous;
+    }
+
+    @Override
+    public void accept(int[] buf, int off, int len) {
+        for (int k = off; k < off + len; ++k)
+            add(this.previous + buf[k] + 1);
+    }
+
+    private void add(long v) {
+        if ((v >>> 16) != this.key) {
+            close();
+            this.key = v >>> 16;
+        }
+        if ((this.cardinality == 0) || (v != this.previous + 1))
+            ++this.runs;
+        ++this.cardinality;
+        this.previous = v;
+    }
+
+    private void close() {
+        if (this.cardinality == 0)
+            return;
+        int type = (this.cardinality <= MAXARRAY) ? ARRAY : BITMAP;
+        int bytes = (type == ARRAY) ? 2 * this.cardinality : BITMAPBYTES;
+        if (2 + 4 * this.runs < bytes) {
+            type = RUN;
+            bytes = 2 + 4 * this.runs;
+        }
+        ++this.containers[type];
+        this.payload += bytes;
+        this.cardinality = 0;
+        this.runs = 0;
+    }
+
+    @Override
+    public long finish() {
+        close();
+        return bytes();
+    }
+
+    /**
+     * @return serialized size in bytes of the containers closed so far, with
+     *         the header
+     */
+    public long bytes() {
+        final long size = this.containers[ARRAY] + this.containers[BITMAP] + this.containers[RUN];
+        long header;
+        if (this.containers[RUN] > 0)
+            // cookie and size, one bit per container telling whether it holds
+            // runs, keys and cardinalities, offsets if there are 4 containers
+            // or more
+            header = 4 + (size + 7) / 8 + 4 * size + ((size >= 4) ? 4 * size : 0);
+        else
+            // cookie, size, keys and cardinalities, offsets
+            header = 8 + 8 * size;
+        return header + this.payload;
+    }
+
+    /**
+     * @param type
+     *                ARRAY, BITMAP or RUN
+     * @return number of containers of this type closed so far
+     */
+    public long containers(int type) {
+        return this.containers[type];
+    }
+
+    /**
+     * @return the mix of containers, e.g., "12 array, 3 bitmap, 0 run"
+     */
+    public String mix() {
+        return this.containers[ARRAY] + " array, " + this.containers[BITMAP]
+                + " bitmap, " + this.containers[RUN] + " run";
+    }
+
+    // names of the counters, by container type
+    private static final String[] COUNTERS = { "Roaring array containers",
+            "Roaring bitmap containers", "Roaring run containers" };
+
+    /**
+     * Adds the number of containers of each type closed so far.
+     *
+     * @param counters
+     *                where the counters are added, by name
+     */
+    @Override
+    public void counters(Map<String, Long> counters) {
+        for (int type = 0; type < 3; ++type)
+            counters.merge(COUNTERS[type], this.containers[type], Long::sum);
+    }
+
+    /**
+     * @param counters
+     *                counters of a Roaring model (see counters)
+     * @return the mix of containers, as mix() prints it
+     */
+    public static String mix(Map<String, Long> counters) {
+        return counters.getOrDefault(COUNTERS[ARRAY], 0L) + " array, "
+                + counters.getOrDefault(COUNTERS[BITMAP], 0L) + " bitmap, "
+                + counters.getOrDefault(COUNTERS[RUN], 0L) + " run";
+    }
+
+    /**
+     * Evaluates the containers of the gaps in parallel: the gaps are cut into
+     * segments, whose starting integers come from the sums of the previous
+     * segments; each segment then handles the containers starting within it,
+     * running past its end to complete the last one.
+     *
+     * @param gaps
+     *                the gaps
+     * @param pool
+     *                pool the segments are evaluated on
+     * @return the state after all the gaps, finished
+     */
+    public static RoaringCost of(final int[] gaps, ForkJoinPool pool) {
+        final int segments = Math.max(1, Math.min(gaps.length >>> 16, 4 * pool.getParallelism()));
+        final int[] bounds = new int[segments + 1];
+        for (int s = 0; s <= segments; ++s)
+            bounds[s] = (int) ((long) gaps.length * s / segments);
+        List<ForkJoinTask<Long>> sums = new ArrayList<ForkJoinTask<Long>>();
+        for (int s = 0; s < segments; ++s) {
+            final int from = bounds[s], to = bounds[s + 1];
+            sums.add(pool.submit(() -> {
+                long sum = 0;
+                for (int k = from; k < to; ++k)
+                    sum += gaps[k] + 1L;
+                return sum;
+            }));
+        }
+        // integer before each segment
+        final long[] before = new long[segments];
+        before[0] = -1;
+        for (int s = 1; s < segments; ++s)
+            before[s] = before[s - 1] + sums.get(s - 1).join();
+        List<ForkJoinTask<RoaringCost>> tasks = new ArrayList<ForkJoinTask<RoaringCost>>();
+        for (int s = 0; s < segments; ++s) {
+            final int from = bounds[s], to = bounds[s + 1];
+            final long start = before[s];
+            tasks.add(pool.submit(() -> {
+                RoaringCost r = new RoaringCost(start);
+                int k = from;
+                // the container of the previous integer belongs to the
+                // previous segment
+                if (start >= 0)
+                    while ((k < gaps.length) && ((r.previous + gaps[k] + 1) >>> 16 == start >>> 16))
+                        r.previous += gaps[k++] + 1;
+                for (; k < to; ++k)
+                    r.add(r.previous + gaps[k] + 1);
+                for (; (k < gaps.length) && ((r.previous + gaps[k] + 1) >>> 16 == r.key); ++k)
+                    r.add(r.previous + gaps[k] + 1);
+                r.close();
+                return r;
+            }));
+        }
+        RoaringCost ans = new RoaringCost();
+        for (ForkJoinTask<RoaringCost> t : tasks) {
+            RoaringCost r = t.join();
+            for (int type = 0; type < 3; ++type)
+                ans.containers[type] += r.containers[type];
+            ans.payload += r.payload;
+        }
+        return ans;
+    }
+
+    /**
+     * Same as of(gaps, pool), on the pool of the calling task (so that a
+     * model evaluated by a CostModelRunner stays on its pool), or on the
+     * common pool if the caller is not a fork-join task.
+     *
+     * @param gaps
+     *                the gaps
+     * @return the state after all the gaps, finished
+     */
+    public static RoaringCost of(int[] gaps) {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return of(gaps, (pool != null) ? pool : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param gaps
+     *                the gaps
+     * @return serialized size in bytes, evaluated as of(gaps)
+     */
+    public static long cost(int[] gaps) {
+        return of(gaps).bytes();
+    }
+}
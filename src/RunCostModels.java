@@ -1,24 +1,62 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 public class RunCostModels {
 
+    private static CostModelRunner runner = new CostModelRunner();
+
+    // tables reported so far, by dataset, for -csv and -json
+    private static final Map<String, CostTable> tables = new LinkedHashMap<String, CostTable>();
+
+    // -timing: the tables show times, allocations and counters
+    private static boolean timing = false;
+
+    // -patched: the reports add the patched BP8 schemes of CheckCompression
+    private static boolean patched = false;
+
+    // -cache: generated data kept between runs, or null
+    private static DatasetCache cache = null;
+
     // this estimates the number of bytes used by binary packing with with w
     // to compress data
-    public static int binarypacking(int[] data, int w) {
-        int cost = 0;
+    public static long binarypacking(int[] data, int w) {
+        long cost = 0;
         for (int k = 0; k + w <= data.length; k += w) {
             cost += 1; // store bit width
             cost += (Util.maxbits(data, k, w) * w + 7) / 8;
         }
         return cost;
     }
-    public static int binarypackingnooverhead(int[] data, int w) {
-        int cost = 0;
+    public static long binarypacking(MaxBitsPyramid pyramid, int w) {
+        long cost = 0;
+        for (int block = 0; block < pyramid.blocks(w); ++block) {
+            cost += 1; // store bit width
+            cost += (pyramid.maxbits(w, block) * w + 7) / 8;
+        }
+        return cost;
+    }
+
+    public static long binarypackingnooverhead(int[] data, int w) {
+        long cost = 0;
         for (int k = 0; k + w <= data.length; k += w) {
             cost += (Util.maxbits(data, k, w) * w + 7) / 8;
         }
         return cost;
     }
+    public static long binarypackingnooverhead(MaxBitsPyramid pyramid, int w) {
+        long cost = 0;
+        for (int block = 0; block < pyramid.blocks(w); ++block) {
+            cost += (pyramid.maxbits(w, block) * w + 7) / 8;
+        }
+        return cost;
+    }
+
     private static int recursiveInterpolativeCoding(int[] data, int begin, int end) {
-        // probably buggy
+        // probably buggy: ignores the narrowing of the ranges, see
+        // InterpolativeCodec for the exact size
         if(data[begin]==data[end-1]) return 0;
         if((end-begin-1)/2 == 0) return 0;
         int middle = (end-begin-1)/2 + begin;
@@ -26,25 +64,67 @@ public class RunCostModels {
         return Util.bits(data[end-1]-data[begin] - (end-begin-1)) + recursiveInterpolativeCoding(data,begin,middle) + recursiveInterpolativeCoding(data,middle,end);
     }
 
-    public static int binaryinterpolativecoding(int[] data, int w) {
+    public static long binaryinterpolativecoding(int[] data, int w) {
+        return (binaryinterpolativecodingbits(data, w)+7)/8;// round up to byte
+    }
+
+    // cost in bits of the full blocks; only differences within a block matter
+    // so the data may be split at block boundaries
+    static long binaryinterpolativecodingbits(int[] data, int w) {
+        if (data.length == 0) return 0;
         // have to compute the prefix sum first!!!
         int[] sorted = new int[data.length];
         sorted[0] = data[0];
         for(int k = 1; k<data.length; ++k)
           sorted[k] = data[k] + sorted[k-1] + 1;
-        int cost = 0;// cost in bits
+        long cost = 0;// cost in bits
         for (int k = 0; k + w <= sorted.length; k += w) {
             cost +=  32 + recursiveInterpolativeCoding(sorted,k,k+w);
         }
-        return (cost+7)/8;// round up to byte
+        return cost;
     }
 
 
+    // exact size of InterpolativeCodec on the full blocks
+    public static long binaryinterpolativecodingexact(int[] data, int w, boolean centered) {
+        return new InterpolativeCodec(w, centered).cost(data);
+    }
+
+    // Elias-Fano on the whole list (the prefix sums of the gaps, as above),
+    // without the select index; the universe is the last integer plus one
+    public static long eliasfano(int[] data) {
+        long universe = 0;
+        for (int k = 0; k < data.length; ++k)
+            universe += data[k] + 1L;
+        return (EliasFano.bits(data.length, universe) + 7) / 8;
+    }
 
+    public static long partitionedeliasfano(int[] data, int w) {
+        return ((long) partitionedeliasfanobits(data, w) + 7) / 8;
+    }
 
+    // cost in bits of Elias-Fano over partitions of w integers, the last one
+    // possibly shorter: each partition is coded relative to the end of the
+    // previous one, as a bitmap when that is smaller, and not at all when it
+    // is a run of consecutive integers. Each partition also stores its upper
+    // bound and the offset of its data (32 bits each).
+    static double partitionedeliasfanobits(int[] data, int w) {
+        double cost = 0;
+        for (int k = 0; k < data.length; k += w) {
+            final int n = Math.min(w, data.length - k);
+            long universe = 0;
+            for (int j = k; j < k + n; ++j)
+                universe += data[j] + 1L;
+            cost += 64;
+            if (universe > n)
+                cost += Math.min(EliasFano.bits(n, universe), universe);
+        }
+        return cost;
+    }
 
     private static int recursiveInterpolativeCodinglazy(int[] data, int begin, int end, int c) {
-        // probably buggy
+        // probably buggy: ignores the narrowing of the ranges, see
+        // InterpolativeCodec for the exact size
         if(data[begin]==data[end-1]) return 0;
         if((end-begin-1)/2 == 0) return 0;
         int middle = (end-begin-1)/2 + begin;
@@ -53,22 +133,28 @@ public class RunCostModels {
         return c + recursiveInterpolativeCodinglazy(data,begin,middle,newc) + recursiveInterpolativeCodinglazy(data,middle,end,newc);
     }
 
-    public static int binaryinterpolativecodinglazy(int[] data, int w) {
+    public static long binaryinterpolativecodinglazy(int[] data, int w) {
+        return (binaryinterpolativecodinglazybits(data, w)+7)/8;// round up to byte
+    }
+
+    // cost in bits of the full blocks
+    static long binaryinterpolativecodinglazybits(int[] data, int w) {
+        if (data.length == 0) return 0;
         // have to compute the prefix sum first!!!
         int[] sorted = new int[data.length];
         sorted[0] = data[0];
         for(int k = 1; k<data.length; ++k)
           sorted[k] = data[k] + sorted[k-1] + 1;
-        int cost = 0;// cost in bits
+        long cost = 0;// cost in bits
         for (int k = 0; k + w <= sorted.length; k += w) {
             cost +=  32 + recursiveInterpolativeCodinglazy(sorted,k,k+w,32);
         }
-        return (cost+7)/8;// round up to byte
+        return cost;
     }
 
 
-    public static int bibinarypacking(int[] data, int w) {
-        int cost = 0;
+    public static long bibinarypacking(int[] data, int w) {
+        long cost = 0;
         for (int k = 0; k + w <= data.length; k+=w) {
             int cost1 = 1+(Util.maxbits(data, k, w) * w + 7) / 8;
             int cost2 = 2+(Util.maxbits(data, k, w/2) * w/2 + 7) / 8+(Util.maxbits(data, k+w/2, w/2) * w/2 + 7) / 8;
@@ -80,16 +166,55 @@ public class RunCostModels {
         return cost;
     }
 
-    public static int binarypackinglowerbound(int[] data) {
-        int cost = 0;
+    // w must be at least 16
+    public static long bibinarypacking(MaxBitsPyramid pyramid, int w) {
+        long cost = 0;
+        for (int block = 0; block < pyramid.blocks(w); ++block) {
+            int cost1 = 1+(pyramid.maxbits(w, block) * w + 7) / 8;
+            int cost2 = 2+(pyramid.maxbits(w/2, 2*block) * w/2 + 7) / 8+(pyramid.maxbits(w/2, 2*block+1) * w/2 + 7) / 8;
+            if(cost1 < cost2)
+              cost += cost1;
+            else
+              cost += cost2;
+        }
+        return cost;
+    }
+
+    // binary packing over the best partition of data into blocks of 1 to 256
+    // integers, each with its own bit width and length (epsilon = 0: exact,
+    // otherwise within a factor 1 + epsilon)
+    public static long optimalbinarypacking(int[] data, double epsilon) {
+        return OptimalPartition.cost(data, epsilon);
+    }
+
+    // Roaring bitmap over the prefix sums, each chunk of 2^16 integers in its
+    // cheapest container, the chunks evaluated on the pool of the caller
+    public static long roaring(int[] data) {
+        return RoaringCost.cost(data);
+    }
+
+    // counters (if not null) receives the number of containers of each type
+    public static long roaring(int[] data, Map<String, Long> counters) {
+        RoaringCost r = RoaringCost.of(data);
+        if (counters != null)
+            r.counters(counters);
+        return r.bytes();
+    }
+
+    public static long binarypackinglowerbound(int[] data) {
+        return (binarypackinglowerboundbits(data) + 7) / 8;
+    }
+
+    static long binarypackinglowerboundbits(int[] data) {
+        long cost = 0;
         for (int k = 0; k < data.length; ++k) {
             cost += Util.bits(data[k]);
         }
-        return (cost + 7) / 8;
+        return cost;
     }
 
-    public static int varint(int[] data) {
-        int cost = 0;
+    public static long varint(int[] data) {
+        long cost = 0;
         for (int v : data) {
             if (v < (1 << 7)) {
                 cost += 1;
@@ -97,13 +222,20 @@ public class RunCostModels {
                 cost += 2;
             } else if (v < (1 << 21)) {
                 cost += 3;
-            } else
+            } else if (v < (1 << 28)) {
                 cost += 4;
+            } else
+                cost += 5;
         }
         return cost;
     }
 
-    public static int packedvarint(int[] data, int w) {
+    public static long packedvarint(int[] data, int w) {
+        return Math.round(packedvarintraw(data, w));
+    }
+
+    // before rounding
+    static double packedvarintraw(int[] data, int w) {
         double cost = 0;
         for (int k = 0; k + w <= data.length; k += w) {
             cost += 0.25; // store bit width
@@ -111,10 +243,16 @@ public class RunCostModels {
             if (Util.maxbits(data, k, w) == 0)
                 cost += w;
         }
-        return (int) Math.round(cost);
+        return cost;
+    }
+
+    // a group of 4 integers has a whole control byte, even the last one
+    public static long varintgb(int[] data) {
+        return (long) Math.ceil(varintgbraw(data));
     }
 
-    public static int varintgb(int[] data) {
+    // before rounding
+    static double varintgbraw(int[] data) {
         double cost = 0;
         for (int v : data) {
             cost += 0.25;// 2bits
@@ -122,7 +260,7 @@ public class RunCostModels {
             if (v == 0)
                 ++cost;
         }
-        return (int) Math.round(cost);
+        return cost;
     }
 
     public static int max(int[] i, int pos, int length) {
@@ -132,9 +270,20 @@ public class RunCostModels {
         return m;
     }
 
+    // state of a greedy parse (hybridvbyte and the Simple family), so that it
+    // can resume where it stopped when the data comes in chunks
+    static final class ParseState {
+        double cost;
+        final long[] counters;
+
+        ParseState(int counters) {
+            this.counters = new long[counters];
+        }
+    }
+
     // all less than large, at most one greater or equal to small
-    private static boolean __hybridvbyte(int[] data, int pos, int small, int large) {
-        int left = Math.min(4, data.length - pos);
+    private static boolean __hybridvbyte(int[] data, int pos, int end, int small, int large) {
+        int left = Math.min(4, end - pos);
         //int smallcnt = 0;
         int largecnt = 0;
         for (int k = 0; k < left; ++k) {
@@ -150,9 +299,9 @@ public class RunCostModels {
     }
 
     // all less than large, at least one less than small
-    private static boolean __hybridvbytereverse(int[] data, int pos, int small,
+    private static boolean __hybridvbytereverse(int[] data, int pos, int end, int small,
             int large) {
-        int left = Math.min(4, data.length - pos);
+        int left = Math.min(4, end - pos);
         int smallcnt = 0;
         for (int k = 0; k < left; ++k) {
             if (data[pos + k] < small)
@@ -165,12 +314,40 @@ public class RunCostModels {
         return smallcnt >= 1;
     }
 
-    public static int hybridvbyte(int[] data) {
-        int cost = 0;
-        int[] counters = new int[18];
-        for (int k = 0; k < data.length;) {
+    public static long hybridvbyte(int[] data) {
+        return hybridvbyte(data, null);
+    }
+
+    // the cases of hybridvbyte, in order: their counters are the numbers of
+    // integers they code
+    static final String[] HYBRIDVBYTECASES = { "32 zeros", "4 < 4",
+            "32 of 3 bits", "3 < 3, 1 byte", "32 of 4 bits", "1 < 11, 3 bytes",
+            "4 bytes", "3 bytes, 1 < 512", "3 bytes, 1 of 2 bytes",
+            "4 of 2 bytes, 1 < 512", "4 of 2 bytes", "3 of 2 bytes, 1 < 2^17",
+            "3 of 2 bytes, 1 of 3 bytes", "1 < 2^17, 3 of 3 bytes",
+            "4 of 3 bytes", "3 of 3 bytes, 1 < 2^25",
+            "3 of 3 bytes, 1 of 4 bytes", "1 of 3 bytes, 3 of 4 bytes" };
+
+    // counters (if not null) receives the number of integers coded by each
+    // case
+    public static long hybridvbyte(int[] data, Map<String, Long> counters) {
+        ParseState state = new ParseState(18);
+        hybridvbyte(data, 0, data.length, data.length, state);
+        if (counters != null)
+            for (int j = 0; j < HYBRIDVBYTECASES.length; ++j)
+                counters.merge("hybridvbyte " + HYBRIDVBYTECASES[j],
+                        state.counters[j], Long::sum);
+        return (long) state.cost;
+    }
+
+    // parses from k while k < stop, looking no further than end; returns the
+    // position where it stopped
+    static int hybridvbyte(int[] data, int k, int stop, int end, ParseState state) {
+        long cost = 0;
+        long[] counters = state.counters;
+        for (; k < stop;) {
             // we do something simple... not quite simple8b
-            int left = data.length - k;
+            int left = end - k;
             if (Util.maxbits(data, k, Math.min(left, 32)) == 0) {
                 // 32 numbers where delta is 0 (consecutive) (.25 b/d)
                 k += 32;
@@ -186,7 +363,7 @@ public class RunCostModels {
                 k += 32;
                 cost += 1 + (3 * 32)/8;
                 counters[2] += 32;
-            } else if (__hybridvbyte(data, k, 3, 256)) {
+            } else if (__hybridvbyte(data, k, end, 3, 256)) {
                 // 3 tiny 0B deltas and one 1B. (4 b/d)
                 k += 4;
                 cost += 2;
@@ -196,7 +373,7 @@ public class RunCostModels {
                 k += 32;
                 cost += 1 + 4 * 32 / 8;
                 counters[4] += 32;
-            } else if (__hybridvbyte(data, k, 11, 256)) {
+            } else if (__hybridvbyte(data, k, end, 11, 256)) {
                 // one tiny delta (< 11) and 3 small (< 256) (8 b/d)
                 k += 4;
                 cost += 4;
@@ -206,17 +383,17 @@ public class RunCostModels {
                 k += 4;
                 cost += 1 + 4;
                 counters[6] += 4;
-            } else if (__hybridvbyte(data, k, 256, 512)) {
+            } else if (__hybridvbyte(data, k, end, 256, 512)) {
                 // 3 that fit in a byte, plus one less than 512 (10 b/d)
                 k += 4;
                 cost += 1 + 4;
                 counters[7] += 4;
-            } else if (__hybridvbyte(data, k, 256, 256 * 256)) {
+            } else if (__hybridvbyte(data, k, end, 256, 256 * 256)) {
                 // 3 that fit in a byte, plus one that fits in two bytes (12 b/d)
                 k += 4;
                 cost += 1 + 3 + 2;
                 counters[8] += 4;
-            } else if (__hybridvbytereverse(data, k, 512, 256 * 256)) {
+            } else if (__hybridvbytereverse(data, k, end, 512, 256 * 256)) {
                 // 4 that fit in 2 bytes, at least one less than 512 (16 b/d)
                 k += 4;
                 cost += 1 + 3 * 2 + 1;
@@ -226,17 +403,17 @@ public class RunCostModels {
                 k += 4;
                 cost += 1 + 4 * 2;
                 counters[10] += 4;
-            } else if (__hybridvbyte(data, k, 256 * 256, 2 *256 * 256)) {
+            } else if (__hybridvbyte(data, k, end, 256 * 256, 2 *256 * 256)) {
                 // 3 that fit in 2 bytes plus one less than double that (18 b/d)
                 k += 4;
                 cost += 1 + 4 * 2;
                 counters[11] += 4;
-            } else if (__hybridvbyte(data, k, 256 * 256, 256 * 256 * 256)) {
+            } else if (__hybridvbyte(data, k, end, 256 * 256, 256 * 256 * 256)) {
                 // 3 that fit in 2 bytes plus one that can fit in 3 bytes (20 b/d)
                 k += 4;
                 cost += 1 + 3 * 2 + 3;
                 counters[12] += 4;
-            } else if (__hybridvbytereverse(data, k, 2 * 256 * 256, 256 * 256 * 256)) {
+            } else if (__hybridvbytereverse(data, k, end, 2 * 256 * 256, 256 * 256 * 256)) {
                 // one double-2B 3 x 3B (24 b/d)
                 k += 4;
                 cost += 1 + 2 + 3 * 3;
@@ -246,17 +423,17 @@ public class RunCostModels {
                 k += 4;
                 cost += 1 + 4 * 3;
                 counters[14] += 4;
-            } else if (__hybridvbyte(data, k, 256 * 256 * 256, 2 * 256 * 256 * 256)) {
+            } else if (__hybridvbyte(data, k, end, 256 * 256 * 256, 2 * 256 * 256 * 256)) {
                 // 3 3B large elements plus one less than double-3B (26 b/d)
                 k += 4;
                 cost += 1 + 4 * 3;
                 counters[15] += 4;
-            } else if (__hybridvbyte(data, k, 256 * 256 * 256, 256 * 256 * 256 * 256)) {
+            } else if (__hybridvbyte(data, k, end, 256 * 256 * 256, 256 * 256 * 256 * 256)) {
                 // 3 3B large elements plus one 4B huge (28 b/d)
                 k += 4;
                 cost += 1 + 3 * 3 + 4;
                 counters[16] += 4;
-            } else if (__hybridvbytereverse(data, k, 256 * 256 * 256, 256 * 256 * 256 * 256)) {
+            } else if (__hybridvbytereverse(data, k, end, 256 * 256 * 256, 256 * 256 * 256 * 256)) {
                 // 1 3B large plus 3 4B huge (32 b/d)
                 k += 4;
                 cost += 1 + 3 * 4 + 3;
@@ -268,170 +445,105 @@ public class RunCostModels {
                 throw new RuntimeException("really?");
             }
         }
-        if (false) {
-            java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
-            System.out.println();
-            for (int j = 0; j < counters.length; ++j)
-                System.out.print(df.format(counters[j] * 1.0 / data.length)
-                        + " ");
-            System.out.println();
-        }
-        return cost;
+        state.cost += cost;
+        return k;
     }
 
-    public static int simple8b(int[] data) {
-        int cost = 0;
-        for (int k = 0; k < data.length;) {
-            // we do something simple... not quite simple8b
-            int left = data.length - k;
-            if (Util.maxbits(data, k, Math.min(left, 240)) <= 0) {
-                k += 240;
-            } else if (Util.maxbits(data, k, Math.min(left, 120)) <= 0) {
-                    k += 120;
-            } else if (Util.maxbits(data, k, Math.min(left, 60)) <= 1) {
-                k += 60;
-            } else if (Util.maxbits(data, k, Math.min(left, 30)) <= 2) {
-                k += 30;
-            } else if (Util.maxbits(data, k, Math.min(left, 20)) <= 3) {
-                k += 20;
-            } else if (Util.maxbits(data, k, Math.min(left, 15)) <= 4) {
-                k += 15;
-            } else if (Util.maxbits(data, k, Math.min(left, 12)) <= 5) {
-                k += 12;
-            } else if (Util.maxbits(data, k, Math.min(left, 10)) <= 6) {
-                k += 10;
-            } else if (Util.maxbits(data, k, Math.min(left, 8)) <= 7) {
-                k += 8;
-            } else if (Util.maxbits(data, k, Math.min(left, 7)) <= 8) {
-                k += 7;
-            } else if (Util.maxbits(data, k, Math.min(left, 6)) <= 10) {
-                k += 6;
-            } else if (Util.maxbits(data, k, Math.min(left, 5)) <= 12) {
-                k += 5;
-            } else if (Util.maxbits(data, k, Math.min(left, 4)) <= 15) {
-                k += 4;
-            } else if (Util.maxbits(data, k, Math.min(left, 3)) <= 20) {
-                k += 3;
-            } else if (Util.maxbits(data, k, Math.min(left, 2)) <= 30) {
-                k += 2;
-            } else {
-                k += 1;
-            }
-            cost += 8;
-        }
-        return cost;
+    public static long simple8b(int[] data) {
+        ParseState state = new ParseState(0);
+        simple8b(data, 0, data.length, data.length, state);
+        return (long) state.cost;
     }
-    public static int simplealt(int[] data) {
-        double cost = 0;
-        for (int k = 0; k < data.length;) {
-            // we do something simple...
-            int left = data.length - k;
-            cost += 0.5;
-            if (Util.maxbits(data, k, Math.min(left, 256)) <= 0) {
-                k += 256;
-            } else if (Util.maxbits(data, k, Math.min(left, 128)) <= 0) {
-                k += 128;
-            } else if (Util.maxbits(data, k, Math.min(left, 64)) <= 1) {
-                k += 64;
-                cost += 64/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 2) {
-                k += 32;
-                cost += 64/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 3) {
-                k += 32;
-                cost += 3*32/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 16)) <= 4) {
-                k += 16;
-                cost += 4*16/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 5) {
-                k += 32;
-                cost += 5*32/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 6) {
-                k += 32;
-                cost += 6*32/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 7) {
-                k += 32;
-                cost += 7*32/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 4)) <= 8) {
-                k += 4;
-                cost += 4;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 10) {
-                k += 32;
-                cost += 10*32/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 32)) <= 12) {
-                k += 32;
-                cost += 12*32/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 4)) <= 16) {
-                k += 4;
-                cost += 16*4/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 4)) <= 24) {
-                k += 4;
-                cost += 24*4/8;
-            } else if (Util.maxbits(data, k, Math.min(left, 2)) <= 32) {
-                k += 2;
-                cost += 64;
-            } else {
-                k += 1;
-                cost += 64;
-            }
 
-        }
-        return (int) Math.round( cost);
+    // we do something simple... not quite simple8b
+    static final SimpleSelectors SIMPLE8B = new SimpleSelectors()
+            .add(240, 0, 240, 8, -1).add(120, 0, 120, 8, -1)
+            .add(60, 1, 60, 8, -1).add(30, 2, 30, 8, -1)
+            .add(20, 3, 20, 8, -1).add(15, 4, 15, 8, -1)
+            .add(12, 5, 12, 8, -1).add(10, 6, 10, 8, -1)
+            .add(8, 7, 8, 8, -1).add(7, 8, 7, 8, -1)
+            .add(6, 10, 6, 8, -1).add(5, 12, 5, 8, -1)
+            .add(4, 15, 4, 8, -1).add(3, 20, 3, 8, -1)
+            .add(2, 30, 2, 8, -1).add(1, 32, 1, 8, -1);
+
+    static int simple8b(int[] data, int k, int stop, int end, ParseState state) {
+        return SIMPLE8B.parse(data, k, stop, end, state);
+    }
+    public static long simplealt(int[] data) {
+        ParseState state = new ParseState(0);
+        simplealt(data, 0, data.length, data.length, state);
+        return Math.round(state.cost);
     }
 
-    public static int simple16b(int[] data) {
-        int cost = 0;
-        for (int k = 0; k < data.length;) {
-            int left = data.length - k;
-            for (int b = 1; b <= 32; ++b) {
-                if (Util.maxbits(data, k, Math.min(left, 128 / b)) <= b) {
-                    k += 128 / b;
-                    break;
-                }
-            }
-            cost += 16 + 1;
-        }
-        return cost;
+    // we do something simple... half a byte of selector, then the payload
+    static final SimpleSelectors SIMPLEALT = new SimpleSelectors()
+            .add(256, 0, 256, 0.5, -1).add(128, 0, 128, 0.5, -1)
+            .add(64, 1, 64, 0.5 + 64 / 8, -1)
+            .add(32, 2, 32, 0.5 + 64 / 8, -1)
+            .add(32, 3, 32, 0.5 + 3 * 32 / 8, -1)
+            .add(16, 4, 16, 0.5 + 4 * 16 / 8, -1)
+            .add(32, 5, 32, 0.5 + 5 * 32 / 8, -1)
+            .add(32, 6, 32, 0.5 + 6 * 32 / 8, -1)
+            .add(32, 7, 32, 0.5 + 7 * 32 / 8, -1)
+            .add(4, 8, 4, 0.5 + 4, -1)
+            .add(32, 10, 32, 0.5 + 10 * 32 / 8, -1)
+            .add(32, 12, 32, 0.5 + 12 * 32 / 8, -1)
+            .add(4, 16, 4, 0.5 + 16 * 4 / 8, -1)
+            .add(4, 24, 4, 0.5 + 24 * 4 / 8, -1)
+            .add(2, 32, 2, 0.5 + 64, -1);
+
+    static int simplealt(int[] data, int k, int stop, int end, ParseState state) {
+        return SIMPLEALT.parse(data, k, stop, end, state);
     }
 
-    public static int simple4b(int[] data) {
-        int cost = 0;
-        boolean verbose = false;
-        int counter[] = new int[33];
-        int total = 0;
+    public static long simple16b(int[] data) {
+        ParseState state = new ParseState(0);
+        simple16b(data, 0, data.length, data.length, state);
+        return (long) state.cost;
+    }
 
-        for (int k = 0; k < data.length;) {
-            int left = data.length - k;
-            ++total;
-            if (Util.maxbits(data, k, Math.min(left, 32)) <= 0) {
-                cost += 4;
-                ++counter[0];
-                k += 32 ;
-                continue;
-            }
-            for (int b = 1; b <= 32; ++b) {
-                if (28 / (b + 1) == 28 / b)
-                    continue;
-                if (Util.maxbits(data, k, Math.min(left, 28 / b)) <= b) {
-                    k += 32 / b;
-                    ++counter[b];
-                    break;
-                }
-            }
-            cost += 4;
-        }
-        if(verbose) {
-         for (int b = 0; b <= 32; ++b) {
-            if(counter[b] >0)System.out.print(" b="+b+"("+Math.round(counter[b]*100.0/total)+"%)");
-         }
-         System.out.println();
-        }
+    static final SimpleSelectors SIMPLE16B = new SimpleSelectors();
+    static {
+        for (int b = 1; b <= 32; ++b)
+            SIMPLE16B.add(128 / b, b, 128 / b, 16 + 1, -1);
+    }
 
-        return cost;
+    static int simple16b(int[] data, int k, int stop, int end, ParseState state) {
+        return SIMPLE16B.parse(data, k, stop, end, state);
     }
 
-    public static int idealvarint(int[] data) {
-        int cost = 0;
+    public static long simple4b(int[] data) {
+        return simple4b(data, null);
+    }
+
+    // counters (if not null) receives the number of words using each width
+    public static long simple4b(int[] data, Map<String, Long> counters) {
+        ParseState state = new ParseState(33);
+        simple4b(data, 0, data.length, data.length, state);
+        if (counters != null)
+            for (int b = 0; b <= 32; ++b)
+                if (state.counters[b] > 0)
+                    counters.merge("simple4b words of " + b + " bits",
+                            state.counters[b], Long::sum);
+        return (long) state.cost;
+    }
+
+    // checks 28 / b integers but moves forward by 32 / b; the counters are
+    // indexed by b. Integers wider than 28 bits cannot be stored.
+    static final SimpleSelectors SIMPLE4B = new SimpleSelectors()
+            .add(32, 0, 32, 4, 0);
+    static {
+        for (int b = 1; b <= 32; ++b)
+            if (28 / (b + 1) != 28 / b)
+                SIMPLE4B.add(28 / b, b, 32 / b, 4, b);
+    }
+
+    static int simple4b(int[] data, int k, int stop, int end, ParseState state) {
+        return SIMPLE4B.parse(data, k, stop, end, state);
+    }
+
+    public static long idealvarint(int[] data) {
+        long cost = 0;
         for (int v : data) {
             if (v == 0) {
                 cost += 0;
@@ -447,34 +559,28 @@ public class RunCostModels {
         return cost;
     }
 
-    public static int blockedRice(int[] data, int w) {
-        int cost = 0;
-        for (int k = 0; k + w <= data.length; k += w) {
-            int mb = Util.maxbits(data, k, w);
-            int bestb = mb;
-            int bestcost = mb * w;
-            int bestdensity = -1;
-            for(int b = 0; b<mb; ++b) {
-                int thiscost = b * w;
-                for (int i = 0; i<w;++i){
-                    int val = data[k+i];
-                    int ratio = val >>b;
-                    thiscost += ratio + 1;
-                }
-                if(thiscost < bestcost) {
-                    bestb = b;
-                    bestcost = thiscost;
-                    bestdensity = (thiscost - b * w);
+    public static long blockedRice(int[] data, int w) {
+        return blockedRice(new BlockStatistics(data, w));
+    }
 
-                }
-            }
+    public static long blockedRice(BlockStatistics stats) {
+        long cost = 0;
+        for (int block = 0; block < stats.blocks(); ++block) {
+            // the cheapest Rice parameter b < maxbits, or binary packing
+            // (see BlockedRiceCodec)
+            long bestcost = BlockedRiceCodec.bits(stats, block, BlockedRiceCodec.bestb(stats, block));
             cost += 1 + (bestcost+7)/8;
         }
 
         return cost;
     }
 
-    public static int exppfor(int[] data) {
+    public static long exppfor(int[] data) {
+        return Math.round(exppforraw(data));
+    }
+
+    // before rounding
+    static double exppforraw(int[] data) {
         double cost = 0;
         int w = 256;
         for (int k = 0; k + w <= data.length; k += w) {
@@ -496,34 +602,61 @@ public class RunCostModels {
             double cost2 = (Util.bits(totalmax) * w + 7) / 8 + 2;
             if(cost1<cost2) cost += cost1; else cost +=cost2;
         }
-        return (int) Math.round(cost);
+        return cost;
     }
 
-    public static int fastpfor(int[] data, int w) {
-        int cost = 0;
-        int[] buffer = new int[33];
-        int[][] used = new int[40][256];  // [exceptionWidth][numExceptions]
-
-        for (int k = 0; k + w <= data.length; k += w) {
-            int maxbit = Util.maxbits(data, k, w);
-            int lowestcost = maxbit * w;
-            int ab = maxbit;
-            int nofe = 0;
-            for (int b = 0; b <= maxbit; ++b) {
-                int numberofexceptions = 0;
-                for (int z = k; z < k + w; ++z) {
-                    if (Util.bits(data[z]) > b)
-                        ++numberofexceptions;
-                }
-                // thiscost = chosen base bits + numExceptions *
-                //     (8-bits for position + bits necessary to store exception)
-                int thiscost = b * w + numberofexceptions * (8 + maxbit - b);
-                if (thiscost < lowestcost) {
-                    lowestcost = thiscost;
-                    ab = b;
-                    nofe = numberofexceptions;
-                }
+    // returns the base bit width minimizing b * w + exceptions * (8 + maxbit - b),
+    // as chosen by fastpfor and blockedfastpfor
+    static int fastpforbestb(BlockStatistics stats, int block, int maxbit) {
+        final int w = stats.blockSize();
+        int lowestcost = maxbit * w;
+        int ab = maxbit;
+        for (int b = 0; b <= maxbit; ++b) {
+            // thiscost = chosen base bits + numExceptions *
+            //     (8-bits for position + bits necessary to store exception)
+            int thiscost = b * w + stats.exceptions(block, b) * (8 + maxbit - b);
+            if (thiscost < lowestcost) {
+                lowestcost = thiscost;
+                ab = b;
             }
+        }
+        return ab;
+    }
+
+    public static long fastpfor(int[] data, int w) {
+        return fastpfor(new BlockStatistics(data, w));
+    }
+
+    public static long fastpfor(BlockStatistics stats) {
+        return fastpfor(stats, null);
+    }
+
+    // counters (if not null) receives the number of blocks with each number
+    // of exceptions of each width
+    public static long fastpfor(BlockStatistics stats, Map<String, Long> counters) {
+        long[] buffer = new long[33];
+        // [exceptionWidth][numExceptions], only kept for the counters
+        int[][] used = (counters != null) ? new int[33][stats.blockSize() + 1] : null;
+        long cost = fastpforblocks(stats, buffer, used);
+        if (counters != null)
+            for (int i = 0; i < used.length; ++i)
+                for (int j = 0; j < used[i].length; ++j)
+                    if (used[i][j] > 0)
+                        counters.merge("fastpfor blocks with " + j + " exceptions of " + i + " bits",
+                                (long) used[i][j], Long::sum);
+        return cost + fastpforpages(buffer);
+    }
+
+    // cost of the blocks, without the exception pages: buffer[k] is
+    // incremented by the number of exceptions of width k, and
+    // used[k][numExceptions] (if used is not null) by one for each block
+    static long fastpforblocks(BlockStatistics stats, long[] buffer, int[][] used) {
+        long cost = 0;
+        final int w = stats.blockSize();
+        for (int block = 0; block < stats.blocks(); ++block) {
+            int maxbit = stats.maxbits(block);
+            int ab = fastpforbestb(stats, block, maxbit);
+            int nofe = stats.exceptions(block, ab);
             buffer[maxbit - ab] += nofe;
             if (nofe == 0)
                 cost += 2;
@@ -532,41 +665,36 @@ public class RunCostModels {
             }
 
             // increment used[exceptionWidth][numExceptions]
-            used[maxbit - ab][nofe] += 1;
+            if (used != null)
+                used[maxbit - ab][nofe] += 1;
 
             cost += (ab * w + 7) / 8;
         }
+        return cost;
+    }
 
-        if (false) {
-            for (int i = 0; i < 8; i += 1)  {
-                System.out.print( "Width " + i + ": ");
-                for (int j = 0; j < 32; j += 1) {
-                    System.out.print(used[i][j] + " ");
-                }
-                System.out.println();
-            }
-        }
-
-
+    // cost of the exception pages: exceptions are packed by 32
+    static long fastpforpages(long[] buffer) {
+        long cost = 0;
         for (int k = 0; k < buffer.length; ++k) {
             cost += (buffer[k] + 31) / 32 * 32 * k / 8;
         }
         return cost;
     }
-    public static int natepfor(int[] data) {
-        int cost = 0;
-        int w = 32;
-        for (int k = 0; k + w <= data.length; k += w) {
-            int maxbit = Util.maxbits(data, k, w);
+    public static long natepfor(int[] data) {
+        return natepfor(new BlockStatistics(data, 32));
+    }
+
+    public static long natepfor(BlockStatistics stats) {
+        long cost = 0;
+        final int w = stats.blockSize();
+        for (int block = 0; block < stats.blocks(); ++block) {
+            int maxbit = stats.maxbits(block);
             int lowestcost = maxbit * w;
             int ab = maxbit;
             int nofe = 0;
             for (int b = Math.max(0,maxbit-3); b <= maxbit; ++b) {
-                int numberofexceptions = 0;
-                for (int z = k; z < k + w; ++z) {
-                    if (Util.bits(data[z]) > b)
-                        ++numberofexceptions;
-                }
+                int numberofexceptions = stats.exceptions(block, b);
                 int thiscost = b * w + numberofexceptions * 8;
                 if (thiscost < lowestcost) {
                     lowestcost = thiscost;
@@ -580,26 +708,24 @@ public class RunCostModels {
         return cost;
     }
 
-    public static int blockedfastpfor(int[] data, int w) {
-        int cost = 0;
-        for (int k = 0; k + w <= data.length; k += w) {
-            int maxbit = Util.maxbits(data, k, w);
-            int lowestcost = maxbit * w;
-            int ab = maxbit;
-            int nofe = 0;
-            for (int b = 0; b <= maxbit; ++b) {
-                int numberofexceptions = 0;
-                for (int z = k; z < k + w; ++z) {
-                    if (Util.bits(data[z]) > b)
-                        ++numberofexceptions;
-                }
-                int thiscost = b * w + numberofexceptions * (8 + maxbit - b);
-                if (thiscost < lowestcost) {
-                    lowestcost = thiscost;
-                    ab = b;
-                    nofe = numberofexceptions;
-                }
-            }
+    // per block of w integers, the cheapest of binary packing, pfor, VByte
+    // and Group Varint plus a tag byte (see AdaptiveCodec); counters (if not
+    // null) receives the number of blocks and bytes of each
+    public static long adaptive(int[] data, int w, Map<String, Long> counters) {
+        return new AdaptiveCodec(w).cost(data, counters);
+    }
+
+    public static long blockedfastpfor(int[] data, int w) {
+        return blockedfastpfor(new BlockStatistics(data, w));
+    }
+
+    public static long blockedfastpfor(BlockStatistics stats) {
+        long cost = 0;
+        final int w = stats.blockSize();
+        for (int block = 0; block < stats.blocks(); ++block) {
+            int maxbit = stats.maxbits(block);
+            int ab = fastpforbestb(stats, block, maxbit);
+            int nofe = stats.exceptions(block, ab);
             cost += (nofe * (8 + maxbit - ab) + 7) / 8;
             if (nofe == 0)
                 cost += 2;
@@ -617,19 +743,18 @@ public class RunCostModels {
     }
 
     // inspired by https://github.com/powturbo/TurboPFor/
-    public static int turbopfor(int[] data, int w) {
-        int cost = 0;
-        for (int k = 0; k + w <= data.length; k += w) {
-            int maxbit = Util.maxbits(data, k, w);
+    public static long turbopfor(int[] data, int w) {
+        return turbopfor(new BlockStatistics(data, w));
+    }
+
+    public static long turbopfor(BlockStatistics stats) {
+        long cost = 0;
+        final int w = stats.blockSize();
+        for (int block = 0; block < stats.blocks(); ++block) {
+            int maxbit = stats.maxbits(block);
             int lowestcost = d8(maxbit * w) + 1;//No exceptions, means only bitpacking is used. We store 6 bits for the bits width + 1 bit indicating bit packing
-            int ab = maxbit;
-            int nofe = 0;
             for (int b = 0; b <= maxbit; ++b) {
-                int numberofexceptions = 0;
-                for (int z = k; z < k + w; ++z) {
-                    if (Util.bits(data[z]) > b)
-                        ++numberofexceptions;
-                }
+                int numberofexceptions = stats.exceptions(block, b);
                 int thiscost = 2 + d8(w) + d8(b * w)  + d8(numberofexceptions * ( maxbit - b ) ) ;// with exceptions, we store the second bits width in another byte. We have also 16 bytes bitmap (for 128 values) Total: 2 bytes + 16 bytes + PAD8(n*bx) + PAD8(n*b) 
 /**
 
@@ -641,8 +766,6 @@ b : bit with for the n values
 */
                 if (thiscost < lowestcost) {
                     lowestcost = thiscost;
-                    ab = b;
-                    nofe = numberofexceptions;
                 }
             }
             cost += lowestcost;
@@ -651,100 +774,234 @@ b : bit with for the n values
     }
 
 
-    public static void process(int[] data, int Max) {
+    // prints the table, with details if -timing is set, and keeps it for the
+    // export
+    static void report(String dataset, CostTable table) {
+        if (timing)
+            table.printDetails(System.out);
+        else
+            table.print(System.out);
+        tables.put(dataset, table);
+    }
+
+    // the registry, with the bitmap over [0,Max) and, if -patched is set, the
+    // patched schemes
+    private static List<CostModel> models(long Max) {
+        List<CostModel> models = new ArrayList<CostModel>(CostModels.all());
+        models.add(models.indexOf(CostModels.get("Blocked rice (128)")) + 1,
+                CostModels.bitmap(Max));
+        if (patched)
+            models.addAll(CostModels.patched(false));
+        return models;
+    }
+
+    public static void process(String dataset, int[] data, int Max) {
         int N = data.length;
         if(N<4*256) {
             System.out.println("==Some models do not support very small arrays.");
         }
-        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        CostTable table = runner.run(models(Max), data);
+        report(dataset, table);
+        System.out.println("Roaring containers: "
+                + RoaringCost.mix(table.row("Roaring").counters));
+
+        System.out.println();
+    }
+
+    // same report, the gaps being drawn from the sampler chunk by chunk: the
+    // universe may be as large as 2^31 since no array of gaps is built
+    public static void process(String dataset, SequentialSampler sampler, long Max) {
+        CostModelRunner.Stream s = runner.stream(models(Max));
+        int[] chunk = new int[CostSinks.CHUNK];
+        while (sampler.hasNext()) {
+            int n = 0;
+            while ((n < chunk.length) && sampler.hasNext())
+                chunk[n++] = sampler.nextGap();
+            s.accept(chunk, 0, n);
+        }
+        CostTable table = s.finish();
+        report(dataset, table);
+        System.out.println("Roaring containers: "
+                + RoaringCost.mix(table.row("Roaring").counters));
+
+        System.out.println();
+    }
+
+    // same report, the gaps being mapped from the dataset cache
+    public static void process(String dataset, GapSegment gaps, long Max) {
+        CostTable table = runner.run(models(Max), gaps);
+        report(dataset, table);
+        System.out.println("Roaring containers: "
+                + RoaringCost.mix(table.row("Roaring").counters));
 
-        System.out.println("reasonable lower bound "
-                + df.format(binarypackinglowerbound(data) * 8.0 / N));
-        System.out.println("binary interpolative coding (128) "
-                + df.format(binaryinterpolativecoding(data,128) * 8.0 / N));
-        System.out.println("lazy binary interpolative coding (128) "
-                + df.format(binaryinterpolativecodinglazy (data,128) * 8.0 / N));
-        System.out.println("Blocked rice (128) "+df.format(blockedRice (data,128) * 8.0 / N));
-        System.out.println("using a bitmap " + df.format(Max * 1.0 / N));
-        System.out.println("hybridvbyte " + df.format(hybridvbyte(data) * 8.0 / N));
-        System.out.println("bibinary packing (32) "
-                + df.format(bibinarypacking(data, 32) * 8.0 / N));
-        System.out.println("bibinary packing (128) "
-                + df.format(bibinarypacking(data, 128) * 8.0 / N));
-        System.out.println("binary packing (8) "
-                + df.format(binarypacking(data, 8) * 8.0 / N));
-        System.out.println("binary packing (32) "
-                + df.format(binarypacking(data, 32) * 8.0 / N));
-        System.out.println("binary packing (128) "
-                + df.format(binarypacking(data, 128) * 8.0 / N));
-        System.out.println("binary packing (8-nooverhead) "
-                + df.format(binarypackingnooverhead(data, 8) * 8.0 / N));
-        System.out.println("binary packing (32-nooverhead) "
-                + df.format(binarypackingnooverhead(data, 32) * 8.0 / N));
-        System.out.println("binary packing (128-nooverhead) "
-                + df.format(binarypackingnooverhead(data, 128) * 8.0 / N));
-        System.out.println("fastpfor (128) "
-                + df.format(fastpfor(data, 128) * 8.0 / N));
-        System.out.println("fastpfor (256) "
-                + df.format(fastpfor(data, 256) * 8.0 / N));
-        System.out.println("blockedfastpfor (128) "
-                + df.format(fastpfor(data, 128) * 8.0 / N));
-        System.out.println("blockedfastpfor (256) "
-                + df.format(fastpfor(data, 256) * 8.0 / N));
-        System.out.println("turbopfor (128) "
-                + df.format(turbopfor(data, 128) * 8.0 / N));
-        System.out.println("exppfor (256) "
-                + df.format(exppfor(data) * 8.0 / N));
-        System.out.println("natepfor (32) "
-                + df.format(natepfor(data) * 8.0 / N));
-        System.out.println("varint " + df.format(varint(data) * 8.0 / N));
-        System.out.println("idealvarint "
-                + df.format(idealvarint(data) * 8.0 / N));
-        System.out.println("simple4b " + df.format(simple4b(data) * 8.0 / N));
-        System.out.println("simple8b " + df.format(simple8b(data) * 8.0 / N));
-        System.out.println("simple16b " + df.format(simple16b(data) * 8.0 / N));
-        System.out.println("simplealt " + df.format(simplealt(data) * 8.0 / N));
-        System.out.println("packedvarint4 "
-                + df.format(packedvarint(data, 4) * 8.0 / N));
-        System.out.println("packedvarint8 "
-                + df.format(packedvarint(data, 8) * 8.0 / N));
-        System.out.println("varintgb " + df.format(varintgb(data) * 8.0 / N));
+        System.out.println();
+    }
 
+    // reports, for every power-of-two block size, the cost of the block models
+    // that can be computed from one scan of the data, and the best size
+    public static void sweep(int[] data) {
+        int N = data.length;
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        MaxBitsPyramid pyramid = new MaxBitsPyramid(data);
+        String[] names = { "binary packing", "binary packing (nooverhead)",
+                "bibinary packing", "fastpfor" };
+        // fastpfor stores exception positions in one byte: w <= 256
+        BlockStatistics stats = new BlockStatistics(data, MaxBitsPyramid.MINWIDTH);
+        for (String name : names) {
+            StringBuilder line = new StringBuilder(name + ":");
+            int bestw = 0;
+            long bestcost = Long.MAX_VALUE;
+            BlockStatistics s = stats;
+            for (int w = MaxBitsPyramid.MINWIDTH; w <= MaxBitsPyramid.MAXWIDTH; w *= 2) {
+                long cost;
+                if (name.equals("binary packing"))
+                    cost = binarypacking(pyramid, w);
+                else if (name.equals("binary packing (nooverhead)"))
+                    cost = binarypackingnooverhead(pyramid, w);
+                else if (name.equals("bibinary packing")) {
+                    if (w == MaxBitsPyramid.MINWIDTH)
+                        continue;
+                    cost = bibinarypacking(pyramid, w);
+                } else {
+                    if (w > 256)
+                        break;
+                    if (w > s.blockSize())
+                        s = s.coarsen();
+                    cost = fastpfor(s);
+                }
+                if (pyramid.blocks(w) == 0)
+                    break;
+                line.append(" " + w + ":" + df.format(cost * 8.0 / N));
+                if (cost < bestcost) {
+                    bestcost = cost;
+                    bestw = w;
+                }
+            }
+            System.out.println(line + " best w=" + bestw + " ("
+                    + df.format(bestcost * 8.0 / N) + ")");
+        }
         System.out.println();
     }
 
-    public static void main(String[] args) {
+    // to make things fun, I will add a few jumps...
+    static void addjumps(int[] data, java.util.SplittableRandom r) {
+        for (int k = 0; k < data.length * 0.01; ++k) {
+            int loc = r.nextInt(data.length);
+            data[loc] += r.nextInt(1 << 8);
+        }
+    }
+
+    // value following the option, or null
+    private static String option(String[] args, String name) {
+        for (int k = 0; k + 1 < args.length; ++k)
+            if (args[k].equals(name))
+                return args[k + 1];
+        return null;
+    }
+
+    public static void main(String[] args) throws java.io.IOException {
+        // "-timing" shows the time, the allocations and the counters of each
+        // model, "-threads n" evaluates the models on n threads (1 for
+        // comparable times), "-csv file" and "-json file" export all tables,
+        // "-patched" adds the patched BP8 schemes of checkCompression.pl,
+        // "-cache dir" keeps the generated data in dir for the next runs,
+        // deleting the data used least recently beyond "-cachebudget" MB
+        // (default 4096); it needs "-seed", the data of a random seed never
+        // being generated again
+        timing = java.util.Arrays.asList(args).contains("-timing");
+        patched = java.util.Arrays.asList(args).contains("-patched");
+        if (option(args, "-threads") != null)
+            runner = new CostModelRunner(new ForkJoinPool(Integer.parseInt(option(args, "-threads"))));
+        if ((option(args, "-cache") != null) && (option(args, "-seed") == null))
+            throw new IllegalArgumentException("-cache needs -seed: the data of a random seed is never reused");
+        if (option(args, "-cache") != null)
+            cache = new DatasetCache(java.nio.file.Paths.get(option(args, "-cache")),
+                    (option(args, "-cachebudget") != null)
+                            ? Long.parseLong(option(args, "-cachebudget")) << 20 : 4096L << 20);
+        run(args);
+        if (option(args, "-csv") != null)
+            try (java.io.PrintStream out = new java.io.PrintStream(option(args, "-csv"))) {
+                CostTable.writeCsv(tables, out);
+            }
+        if (option(args, "-json") != null)
+            try (java.io.PrintStream out = new java.io.PrintStream(option(args, "-json"))) {
+                CostTable.writeJson(tables, out);
+            }
+    }
+
+    private static void run(String[] args) throws java.io.IOException {
+        if ((args.length > 1) && args[0].equals("stream")) {
+            // gaps stored in a file as 32-bit little-endian integers, mapped
+            // and read chunk by chunk so that the file may be larger than
+            // memory and hold more than 2^31 integers
+            GapSegment gaps = GapSegment.map(java.nio.file.Paths.get(args[1]));
+            CostTable table = runner.run(CostModels.all(), gaps);
+            System.out.println("N=" + table.size());
+            report(args[1], table);
+            return;
+        }
+        // "sweep" reports the block-size sweep instead of all models
+        boolean sweep = (args.length > 0) && args[0].equals("sweep");
+        // "uniform [logMax]" reports uniform data of every density instead
+        // of cluster data
+        boolean uniform = (args.length > 0) && args[0].equals("uniform");
+        // "-seed s" makes the run reproducible
+        long seed = (option(args, "-seed") != null) ? Long.parseLong(option(args, "-seed"))
+                : new java.util.SplittableRandom().nextLong();
+        java.util.SplittableRandom r = new java.util.SplittableRandom(seed);
         int Max = 1 << 24;
         System.out.println("We estimate the number of bits per int.");
-        System.out.println("First with uniform data.");
+        System.out.println("seed=" + seed);
+        if (uniform) {
+            long universe = 1L << ((args.length > 1) && !args[1].startsWith("-")
+                    ? Integer.parseInt(args[1]) : 24);
+            System.out.println("With uniform data, Max=" + universe + ".");
+            double[] P = { 0.99, 0.95, .90, .85, .80, .75, .70, .65, .60, .55, .5, .45, .40, .35, .30, .25, .20,
+                           .15, 0.1, .05, .04, .03, .02, .01, .001, .0001, .00001, .000001 };
+            for (double p : P) {
+                System.out.println("uniform distribution with density = " + p);
+                SequentialSampler sampler = new SequentialSampler(r.split(),
+                        Math.round(universe * p), universe);
+                GapSegment gaps = null;
+                if (cache != null) {
+                    String key = "uniform density=" + p + " Max=" + universe + " seed=" + seed;
+                    gaps = cache.get(key);
+                    if (gaps == null)
+                        gaps = cache.put(key, sampler.remaining(), sampler::nextGap);
+                }
+                if (gaps != null)
+                    process("uniform density=" + p, gaps, universe);
+                else
+                    process("uniform density=" + p, sampler, universe);
+            }
+            return;
+        }
 
         Max = 1 << 25;
-        System.out.println("Next with cluster data.");
-        ClusteredDataGenerator cdg = new ClusteredDataGenerator();
+        System.out.println("With cluster data.");
         for (int N = 131072; N <= 1048576; N *= 2) {
             System.out.println("N=" + N);
-            int[] data = cdg.generateClustered(N, Max);
-            for (int k = data.length - 1; k > 0; --k)
-                data[k] -= data[k - 1] + 1;
-            // to make things fun, I will add a few jumps...
-            java.util.Random r = new java.util.Random();
-            for (int k = 0; k < N * 0.01; ++k) {
-                int loc = Math.abs(r.nextInt()) % data.length;
-                data[loc] += Math.abs(r.nextInt()) % (1 << 8);
+            // each N has its own generator, so that its data does not depend
+            // on whether the data of the previous N came from the cache
+            java.util.SplittableRandom rn = r.split();
+            String key = "cluster N=" + N + " Max=" + Max + " seed=" + seed + " jumps=0.01x256";
+            GapSegment cached = (cache != null) ? cache.get(key) : null;
+            int[] data;
+            if (cached != null) {
+                data = new int[N];
+                cached.get(0, data, 0, N);
+            } else {
+                data = new ClusteredDataGenerator(rn.nextLong()).generateClustered(N, Max);
+                for (int k = data.length - 1; k > 0; --k)
+                    data[k] -= data[k - 1] + 1;
+                addjumps(data, rn);
+                if (cache != null)
+                    cache.put(key, data);
             }
-            process(data, Max);
-        }
-        if(false) {
-        UniformDataGenerator udg = new UniformDataGenerator();
-        double[] P = { 0.99, 0.95, .90, .85, .80, .75, .70, .65, .60, .55, .5, .45, .40, .35, .30, .25, .20,
-                       .15, 0.1, .05, .04, .03, .02, .01, .001, .0001, .00001, .000001 };
-        for (double p : P) {
-            System.out.println("uniform distribution with density = " + p);
-            int[] array = udg.generateUniform((int) Math.round(Max * p), Max);
-            for (int k = array.length - 1; k > 0; --k)
-                array[k] -= array[k - 1] + 1;
-            process(array, Max);
-        }
+            if (sweep)
+                sweep(data);
+            else
+                process("cluster N=" + N, data, Max);
         }
     }
 
@@ -0,0 +1,196 @@
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Draws n distinct integers uniformly at random from [0,Max), in increasing
+ * order, one at a time, in O(n) expected time and O(1) memory: nothing is
+ * stored but the position in the range.
+ *
+ * The skips between selected integers follow Vitter's Method D, switching to
+ * Method A once more than one integer in 13 of the remaining range is
+ * selected. When more than half of the range is selected, the complement is
+ * sampled instead and the integers are produced lazily around it.
+ *
+ * Reference: Jeffrey Scott Vitter. 1987. An efficient algorithm for sequential
+ * random sampling. ACM Trans. Math. Softw. 13, 1 (March 1987), 58-67.
+ */
+public class SequentialSampler {
+
+    private final SplittableRandom rand;
+
+    // state of the sampling: n integers remain to be selected among the N
+    // integers starting at current
+    private long n;
+    private long N;
+    private long current;
+    private double Vprime;
+    private boolean methodA;
+
+    // when sampling the complement: next excluded integer (or Max), next
+    // integer to consider, number of integers still to produce
+    private final boolean complement;
+    private long excluded;
+    private long candidate;
+    private long remaining;
+
+    private long previous = -1;
+
+    /**
+     * @param rand
+     *                source of randomness
+     * @param n
+     *                number of integers to draw
+     * @param Max
+     *                bound on the integers (exclusive)
+     */
+    public SequentialSampler(SplittableRandom rand, long n, long Max) {
+        if ((n < 0) || (n > Max))
+            throw new IllegalArgumentException("cannot draw " + n + " integers from [0," + Max + ")");
+        this.rand = rand;
+        this.complement = 2 * n > Max;
+        this.remaining = n;
+        this.n = this.complement ? Max - n : n;
+        this.N = Max;
+        this.current = 0;
+        this.Vprime = Math.exp(Math.log(uniform()) / this.n);
+        if (this.complement) {
+            this.excluded = (this.n > 0) ? select() : Max;
+            this.candidate = 0;
+        }
+    }
+
+    // uniform in (0,1]: the logarithm is finite
+    private double uniform() {
+        return 1.0 - this.rand.nextDouble();
+    }
+
+    /**
+     * @return number of integers not yet drawn
+     */
+    public long remaining() {
+        return this.remaining;
+    }
+
+    /**
+     * @return whether some integers remain to be drawn
+     */
+    public boolean hasNext() {
+        return this.remaining > 0;
+    }
+
+    /**
+     * @return the next integer, larger than the previous one
+     */
+    public long next() {
+        if (this.remaining == 0)
+            throw new NoSuchElementException();
+        --this.remaining;
+        long v;
+        if (this.complement) {
+            v = this.candidate;
+            while (v == this.excluded) {
+                ++v;
+                this.excluded = (this.n > 0) ? select() : Long.MAX_VALUE;
+            }
+            this.candidate = v + 1;
+        } else {
+            v = select();
+        }
+        this.previous = v;
+        return v;
+    }
+
+    /**
+     * @return the next integer minus the previous one minus one (the first
+     *         integer itself on the first call)
+     */
+    public int nextGap() {
+        long p = this.previous;
+        return (int) (next() - p - 1);
+    }
+
+    // selects the next of the n integers among the remaining N
+    private long select() {
+        long S;
+        if (!this.methodA && (this.n > 1) && (13 * this.n >= this.N))
+            this.methodA = true; // Vprime is no longer maintained
+        if (this.methodA)
+            S = skipA();
+        else if (this.n > 1)
+            S = skipD();
+        else
+            // last one: Vprime is uniform
+            S = Math.min(this.N - 1, (long) (this.N * this.Vprime));
+        long v = this.current + S;
+        this.current = v + 1;
+        this.N -= S + 1;
+        --this.n;
+        return v;
+    }
+
+    private long skipA() {
+        double top = this.N - this.n;
+        double Nreal = this.N;
+        final double V = this.rand.nextDouble();
+        long S = 0;
+        double quot = top / Nreal;
+        while (quot > V) {
+            ++S;
+            --top;
+            --Nreal;
+            quot = quot * top / Nreal;
+        }
+        return S;
+    }
+
+    private long skipD() {
+        final double nreal = this.n;
+        final double ninv = 1.0 / nreal;
+        final double nmin1inv = 1.0 / (nreal - 1.0);
+        final double Nreal = this.N;
+        final long qu1 = this.N - this.n + 1;
+        final double qu1real = Nreal - nreal + 1.0;
+        long S;
+        while (true) {
+            double X;
+            // Step D2: generate U and X
+            while (true) {
+                X = Nreal * (1.0 - this.Vprime);
+                S = (long) X;
+                if (S < qu1)
+                    break;
+                this.Vprime = Math.exp(Math.log(uniform()) * ninv);
+            }
+            final double U = uniform();
+            final double negSreal = -S;
+            // Step D3: accept?
+            final double y1 = Math.exp(Math.log(U * Nreal / qu1real) * nmin1inv);
+            this.Vprime = y1 * (1.0 - X / Nreal) * (qu1real / (negSreal + qu1real));
+            if (this.Vprime <= 1.0)
+                break; // the test (2.8) is true, Vprime is reused
+            // Step D4: accept?
+            double y2 = 1.0;
+            double top = Nreal - 1.0;
+            double bottom;
+            long limit;
+            if (this.n - 1 > S) {
+                bottom = Nreal - nreal;
+                limit = this.N - S;
+            } else {
+                bottom = Nreal + negSreal - 1.0;
+                limit = qu1;
+            }
+            for (long t = this.N - 1; t >= limit; --t) {
+                y2 = (y2 * top) / bottom;
+                --top;
+                --bottom;
+            }
+            if (Nreal / (Nreal - X) >= y1 * Math.exp(Math.log(y2) * nmin1inv)) {
+                this.Vprime = Math.exp(Math.log(uniform()) * nmin1inv);
+                break;
+            }
+            this.Vprime = Math.exp(Math.log(uniform()) * ninv);
+        }
+        return S;
+    }
+}
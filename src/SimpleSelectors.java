@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * Greedy parse shared by the Simple family (simple4b, simple8b, simple16b,
+ * simplealt). A variant is declared as a list of selectors, tried in order:
+ * a selector applies at position k when the next count integers (or all the
+ * integers left, if fewer) are at most width bits wide; the parse then moves
+ * forward by advance integers and pays cost bytes.
+ *
+ * Every selector needs at least the next mincount integers to fit, so the
+ * width of these few integers, computed once per word, rules out in constant
+ * time all the selectors that are too narrow, without scanning their counts.
+ */
+final class SimpleSelectors {
+
+    // count, width, advance and counter of each selector, flattened
+    private int[] table = new int[0];
+    private double[] cost = new double[0];
+    // smallest count
+    private int mincount = Integer.MAX_VALUE;
+
+    /**
+     * Adds a selector, tried after those already added.
+     *
+     * @param count
+     *                number of integers that must fit
+     * @param width
+     *                bit width they must fit in
+     * @param advance
+     *                number of integers consumed
+     * @param cost
+     *                bytes paid
+     * @param counter
+     *                index of the ParseState counter incremented when the
+     *                selector is used, or -1
+     * @return this
+     */
+    SimpleSelectors add(int count, int width, int advance, double cost, int counter) {
+        final int s = this.cost.length;
+        this.table = Arrays.copyOf(this.table, 4 * s + 4);
+        this.table[4 * s] = count;
+        this.table[4 * s + 1] = Math.min(width, 32);
+        this.table[4 * s + 2] = advance;
+        this.table[4 * s + 3] = counter;
+        this.cost = Arrays.copyOf(this.cost, s + 1);
+        this.cost[s] = cost;
+        this.mincount = Math.min(this.mincount, count);
+        return this;
+    }
+
+    /**
+     * Parses from k while k < stop, looking no further than end.
+     *
+     * @return the position where the parse stopped
+     */
+    int parse(int[] data, int k, int stop, int end, RunCostModels.ParseState state) {
+        final int[] table = this.table;
+        final double[] cost = this.cost;
+        final long[] counters = state.counters;
+        double total = 0;
+        while (k < stop) {
+            final int left = end - k;
+            final int least = Util.maxbits(data, k, Math.min(left, this.mincount));
+            int s = 0;
+            for (; s < cost.length; ++s) {
+                final int b = table[4 * s + 1];
+                if (b < least)
+                    continue;
+                if ((b == 32) || (Util.maxbits(data, k, Math.min(left, table[4 * s])) <= b))
+                    break;
+            }
+            if (s == cost.length)
+                throw new IllegalStateException("no selector can store " + data[k]);
+            k += table[4 * s + 2];
+            total += cost[s];
+            if (table[4 * s + 3] >= 0)
+                ++counters[table[4 * s + 3]];
+        }
+        state.cost += total;
+        return k;
+    }
+}
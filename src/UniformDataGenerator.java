@@ -0,0 +1,91 @@
+import java.util.SplittableRandom;
+
+/**
+ * This class will generate lists of distinct random integers, uniformly
+ * distributed, sorted in increasing order.
+ */
+public class UniformDataGenerator {
+        /**
+         * construct generator of random arrays.
+         */
+        public UniformDataGenerator() {
+                this.rand = new SplittableRandom();
+        }
+
+        /**
+         * @param seed
+         *                random seed
+         */
+        public UniformDataGenerator(final int seed) {
+                this.rand = new SplittableRandom(seed);
+        }
+
+        /**
+         * @param rand
+         *                source of randomness
+         */
+        public UniformDataGenerator(final SplittableRandom rand) {
+                this.rand = rand;
+        }
+
+        /**
+         * generates randomly N distinct integers from 0 to Max.
+         * 
+         * @param N
+         *                number of integers to generate
+         * @param Max
+         *                bound on the value of integers
+         * @return an array containing randomly selected integers
+         */
+        public int[] generateUniform(int N, int Max) {
+                return generateUniform(this.rand, N, Max);
+        }
+
+        /**
+         * generates randomly N distinct integers from 0 to Max.
+         * 
+         * @param rand
+         *                source of randomness
+         * @param N
+         *                number of integers to generate
+         * @param Max
+         *                bound on the value of integers
+         * @return an array containing randomly selected integers
+         */
+        public static int[] generateUniform(SplittableRandom rand, int N,
+                int Max) {
+                int[] ans = new int[N];
+                fillUniform(ans, 0, N, 0, Max, rand);
+                return ans;
+        }
+
+        /**
+         * writes randomly length distinct sorted integers from [Min,Max) to
+         * array, starting at offset. Nothing but the array is allocated.
+         * 
+         * @param array
+         *                destination
+         * @param offset
+         *                index of the first integer
+         * @param length
+         *                number of integers to generate
+         * @param Min
+         *                lower bound on the value of integers
+         * @param Max
+         *                bound on the value of integers
+         * @param rand
+         *                source of randomness
+         */
+        static void fillUniform(int[] array, int offset, int length, int Min,
+                int Max, SplittableRandom rand) {
+                if (length > Max - Min)
+                        throw new RuntimeException("not possible");
+                SequentialSampler s = new SequentialSampler(rand, length, Max
+                        - Min);
+                for (int k = offset; k < offset + length; ++k)
+                        array[k] = Min + (int) s.next();
+        }
+
+        final SplittableRandom rand;
+
+}
@@ -1,5 +1,16 @@
 public class Util {
+        /**
+         * Whether the kernels use the Vector API: the jdk.incubator.vector
+         * module must be present (java --add-modules jdk.incubator.vector),
+         * and -Dutil.scalar=true forces the scalar code.
+         */
+        public static final boolean VECTOR = ModuleLayer.boot()
+                .findModule("jdk.incubator.vector").isPresent()
+                && !Boolean.getBoolean("util.scalar");
+
         public static int maxbits(int[] i, int pos, int length) {
+                if (VECTOR)
+                        return bits(VectorUtil.or(i, pos, length));
                 int mask = 0;
                 for (int k = pos; k < pos + length; ++k)
                         mask |= i[k];
@@ -7,6 +18,8 @@ public class Util {
         }
 
         public static int maxbits32(int[] i, int pos) {
+                if (VECTOR)
+                        return bits(VectorUtil.or(i, pos, 32));
                 int mask = i[pos];
                 mask |= i[pos + 1];
                 mask |= i[pos + 2];
@@ -44,6 +57,9 @@ public class Util {
 
         public static int maxdiffbits(int initoffset, int[] i, int pos,
                 int length) {
+                if (VECTOR)
+                        return bits(VectorUtil.diffor(initoffset, i, pos,
+                                length));
                 int mask = 0;
                 mask |= (i[pos] - initoffset);
                 for (int k = pos + 1; k < pos + length; ++k) {
@@ -52,8 +68,39 @@ public class Util {
                 return bits(mask);
         }
 
+        /**
+         * Adds to histogram[b] the number of integers among i[pos], ...,
+         * i[pos + length - 1] that are exactly b bits wide. There is no
+         * vector version: Java 17 lacks the lanewise LEADING_ZEROS_COUNT
+         * operator, and computing the widths from float exponents then
+         * incrementing the histogram lane by lane is slower than this loop.
+         */
+        public static void widths(int[] i, int pos, int length,
+                int[] histogram) {
+                for (int k = pos; k < pos + length; ++k)
+                        ++histogram[bits(i[k])];
+        }
+
         public static int bits(int i) {
                 return 32 - Integer.numberOfLeadingZeros(i);
         }
 
+        /**
+         * Seed of the data of a self-check: the value following "-seed" in
+         * args, or a random one. It is printed, so that a failing check can
+         * be run again on the same data.
+         *
+         * @param args
+         *                arguments of the check
+         * @return the seed
+         */
+        static long seed(String[] args) {
+                long seed = new java.util.SplittableRandom().nextLong();
+                for (int k = 0; k + 1 < args.length; ++k)
+                        if (args[k].equals("-seed"))
+                                seed = Long.parseLong(args[k + 1]);
+                System.out.println("seed=" + seed);
+                return seed;
+        }
+
 }
\ No newline at end of file
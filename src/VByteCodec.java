@@ -0,0 +1,207 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Classic VByte (varint): each integer is written 7 bits at a time, least
+ * significant group first, the most significant bit of each byte telling
+ * whether more bytes follow. An integer takes 1 to 5 bytes: the size is that
+ * of RunCostModels.varint.
+ *
+ * Masked VByte uses this very layout but decodes it differently: decode reads
+ * 8 bytes at once, gathers their 8 continuation bits into a byte, and looks
+ * up in a 256-entry table how many integers end within these bytes and how
+ * long each one is. decodeBytewise is the usual loop, one branch per byte.
+ *
+ * Reference: Jeff Plaisance, Nathan Kurz, Daniel Lemire. Vectorized VByte
+ * Decoding. International Symposium on Web Algorithms 2015.
+ */
+public class VByteCodec {
+
+    // for each pattern of continuation bits: number of integers ending in the
+    // 8 bytes (bits 0-3) and bytes they use (bits 4-7)
+    private static final int[] TABLE = new int[256];
+
+    // for each pattern of continuation bits: first byte (bits 0-3) and length
+    // (bits 4-7) of each integer ending in the 8 bytes, 8 bits per integer
+    private static final long[] SLOTS = new long[256];
+
+    // keeps the first L bytes of a long
+    private static final long[] BYTES = new long[9];
+
+    static {
+        for (int m = 0; m < 256; ++m) {
+            long slots = 0;
+            int count = 0;
+            int start = 0;
+            for (int j = 0; j < 8; ++j)
+                if ((m & (1 << j)) == 0) {
+                    slots |= (long) (start | ((j + 1 - start) << 4)) << (8 * count);
+                    ++count;
+                    start = j + 1;
+                }
+            TABLE[m] = count | (start << 4);
+            SLOTS[m] = slots;
+        }
+        for (int L = 0; L < 8; ++L)
+            BYTES[L] = (1L << (8 * L)) - 1;
+        BYTES[8] = -1L;
+    }
+
+    /**
+     * @param length
+     *                number of integers
+     * @return upper bound on the number of bytes used to encode them
+     */
+    public int maxCompressedBytes(int length) {
+        return 5 * length;
+    }
+
+    /**
+     * Encodes integers starting at the position of the buffer, and advances
+     * the position.
+     *
+     * @param in
+     *                source array
+     * @param inpos
+     *                index of the first integer
+     * @param length
+     *                number of integers
+     * @param out
+     *                destination buffer
+     * @return number of bytes written
+     */
+    public int encode(int[] in, int inpos, int length, ByteBuffer out) {
+        final int start = out.position();
+        int pos = start;
+        for (int k = inpos; k < inpos + length; ++k) {
+            int v = in[k];
+            while ((v & ~0x7F) != 0) {
+                out.put(pos++, (byte) (v | 0x80));
+                v >>>= 7;
+            }
+            out.put(pos++, (byte) v);
+        }
+        out.position(pos);
+        return pos - start;
+    }
+
+    /**
+     * Decodes integers starting at the position of the buffer, and advances
+     * the position. The buffer must be little endian.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers to decode
+     */
+    public void decode(ByteBuffer in, int[] out, int outpos, int length) {
+        int pos = in.position();
+        int k = outpos;
+        final int end = outpos + length;
+        final int limit = in.limit() - 8;
+        // at most 8 integers end within 8 bytes, 8 are written
+        while ((pos <= limit) && (k + 8 <= end)) {
+            long x = in.getLong(pos);
+            final int m = (int) ((((x >>> 7) & 0x0101010101010101L) * 0x0102040810204080L) >>> 56);
+            if (m == 0) {
+                // 8 integers of one byte each
+                for (int c = 0; c < 8; ++c)
+                    out[k + c] = (int) (x >>> (8 * c)) & 0xFF;
+                k += 8;
+                pos += 8;
+                continue;
+            }
+            final int e = TABLE[m];
+            final int count = e & 15;
+            if (count == 0)
+                throw new IllegalStateException("not a VByte stream at byte " + pos);
+            // all 8 slots are decoded, without branching on the count: the
+            // extra ones are overwritten next
+            long slots = SLOTS[m];
+            for (int c = 0; c < 8; ++c) {
+                final int slot = (int) slots & 0xFF;
+                final long y = (x >>> (8 * (slot & 15))) & BYTES[slot >>> 4];
+                out[k + c] = (int) ((y & 0x7F) | ((y >>> 1) & 0x3F80) | ((y >>> 2) & 0x1FC000)
+                        | ((y >>> 3) & 0xFE00000) | ((y >>> 4) & 0xF0000000L));
+                slots >>>= 8;
+            }
+            k += count;
+            pos += e >>> 4;
+        }
+        in.position(pos);
+        decodeBytewise(in, out, k, end - k);
+    }
+
+    /**
+     * Same as decode, one byte at a time.
+     *
+     * @param in
+     *                source buffer
+     * @param out
+     *                destination array
+     * @param outpos
+     *                index where the first integer is written
+     * @param length
+     *                number of integers to decode
+     */
+    public void decodeBytewise(ByteBuffer in, int[] out, int outpos, int length) {
+        int pos = in.position();
+        for (int k = outpos; k < outpos + length; ++k) {
+            int v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get(pos++);
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            out[k] = v;
+        }
+        in.position(pos);
+    }
+
+    /**
+     * Checks that the encoded size matches RunCostModels.varint and that
+     * decoding gives back the data, and reports the decoding speed.
+     *
+     * @param args
+     *                "-seed s" for the data of an earlier run (the seed is
+     *                printed)
+     */
+    public static void main(String[] args) {
+        java.text.DecimalFormat df = new java.text.DecimalFormat("0.00");
+        final int N = 1 << 20;
+        int[] data = new ClusteredDataGenerator(Util.seed(args)).generateClustered(N, 1 << 25);
+        for (int k = data.length - 1; k > 0; --k)
+            data[k] -= data[k - 1] + 1;
+        VByteCodec codec = new VByteCodec();
+        ByteBuffer buf = ByteBuffer.allocateDirect(codec.maxCompressedBytes(N))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int bytes = codec.encode(data, 0, N, buf);
+        if (bytes != RunCostModels.varint(data))
+            throw new RuntimeException("size does not match the model");
+        int[] back = new int[N];
+        for (boolean masked : new boolean[] { false, true }) {
+            long best = Long.MAX_VALUE;
+            for (int t = 0; t < 50; ++t) {
+                java.util.Arrays.fill(back, 0);
+                buf.position(0);
+                long bef = System.nanoTime();
+                if (masked)
+                    codec.decode(buf, back, 0, N);
+                else
+                    codec.decodeBytewise(buf, back, 0, N);
+                best = Math.min(best, System.nanoTime() - bef);
+            }
+            if (!java.util.Arrays.equals(data, back))
+                throw new RuntimeException("bug");
+            System.out.println((masked ? "masked VByte " : "VByte ")
+                    + df.format(bytes * 8.0 / N) + " bits/int, decoding "
+                    + df.format(N * 1.0 / best) + " ints/ns");
+        }
+    }
+}
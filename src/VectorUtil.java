@@ -0,0 +1,59 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Versions of the Util kernels using the Vector API. Util only calls them
+ * when the jdk.incubator.vector module is present (java --add-modules
+ * jdk.incubator.vector), otherwise this class is never loaded.
+ */
+final class VectorUtil {
+
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+        private static final int LANES = SPECIES.length();
+
+        private VectorUtil() {
+        }
+
+        /**
+         * @return OR of i[pos], ..., i[pos + length - 1]
+         */
+        static int or(int[] i, int pos, int length) {
+                final int end = pos + length;
+                final int upper = pos + SPECIES.loopBound(length);
+                int k = pos;
+                int mask = 0;
+                if (k < upper) {
+                        IntVector acc = IntVector.fromArray(SPECIES, i, k);
+                        for (k += LANES; k < upper; k += LANES)
+                                acc = acc.or(IntVector.fromArray(SPECIES, i, k));
+                        mask = acc.reduceLanes(VectorOperators.OR);
+                }
+                for (; k < end; ++k)
+                        mask |= i[k];
+                return mask;
+        }
+
+        /**
+         * @return OR of i[pos] - initoffset, i[pos + 1] - i[pos], ...
+         */
+        static int diffor(int initoffset, int[] i, int pos, int length) {
+                final int end = pos + length;
+                int mask = i[pos] - initoffset;
+                int k = pos + 1;
+                final int upper = k + SPECIES.loopBound(length - 1);
+                if (k < upper) {
+                        IntVector acc = IntVector.fromArray(SPECIES, i, k)
+                                .sub(IntVector.fromArray(SPECIES, i, k - 1));
+                        for (k += LANES; k < upper; k += LANES)
+                                acc = acc.or(IntVector.fromArray(SPECIES, i, k)
+                                        .sub(IntVector.fromArray(SPECIES, i,
+                                                k - 1)));
+                        mask |= acc.reduceLanes(VectorOperators.OR);
+                }
+                for (; k < end; ++k)
+                        mask |= i[k] - i[k - 1];
+                return mask;
+        }
+}